@@ -15,11 +15,19 @@
  */
 package com.ibm.eventautomation.demos.loosehangerjeans;
 
-import java.time.Instant;
+import java.nio.file.Paths;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 
 import org.apache.kafka.common.config.AbstractConfig;
 import org.apache.kafka.connect.source.SourceRecord;
@@ -33,7 +41,6 @@ import com.ibm.eventautomation.demos.loosehangerjeans.data.BadgeIn;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.Cancellation;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.ClickEvent;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.LoosehangerData;
-import com.ibm.eventautomation.demos.loosehangerjeans.data.NewCustomer;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.OnlineActivityData;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.OnlineOrder;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.Order;
@@ -51,23 +58,28 @@ import com.ibm.eventautomation.demos.loosehangerjeans.generators.NewCustomerGene
 import com.ibm.eventautomation.demos.loosehangerjeans.generators.OnlineActivityGenerator;
 import com.ibm.eventautomation.demos.loosehangerjeans.generators.OrderGenerator;
 import com.ibm.eventautomation.demos.loosehangerjeans.generators.OutOfStockGenerator;
-import com.ibm.eventautomation.demos.loosehangerjeans.generators.ProductGenerator;
 import com.ibm.eventautomation.demos.loosehangerjeans.generators.ProductReviewGenerator;
 import com.ibm.eventautomation.demos.loosehangerjeans.generators.ReturnRequestGenerator;
 import com.ibm.eventautomation.demos.loosehangerjeans.generators.SensorReadingGenerator;
 import com.ibm.eventautomation.demos.loosehangerjeans.generators.StockMovementGenerator;
 import com.ibm.eventautomation.demos.loosehangerjeans.generators.SuspiciousOrderGenerator;
 import com.ibm.eventautomation.demos.loosehangerjeans.generators.TransactionGenerator;
+import com.ibm.eventautomation.demos.loosehangerjeans.history.HistoryCursor;
+import com.ibm.eventautomation.demos.loosehangerjeans.history.HistoryMerge;
+import com.ibm.eventautomation.demos.loosehangerjeans.history.HistoryProgress;
+import com.ibm.eventautomation.demos.loosehangerjeans.history.HistoryRecord;
+import com.ibm.eventautomation.demos.loosehangerjeans.history.HistorySnapshot;
+import com.ibm.eventautomation.demos.loosehangerjeans.history.HistoryWindow;
+import com.ibm.eventautomation.demos.loosehangerjeans.history.PrefetchingCursor;
 import com.ibm.eventautomation.demos.loosehangerjeans.tasks.FalsePositivesTask;
 import com.ibm.eventautomation.demos.loosehangerjeans.tasks.NewCustomerTask;
 import com.ibm.eventautomation.demos.loosehangerjeans.tasks.NormalOrdersTask;
 import com.ibm.eventautomation.demos.loosehangerjeans.tasks.OnlineActivityTask;
 import com.ibm.eventautomation.demos.loosehangerjeans.tasks.SuspiciousOrdersTask;
-import com.ibm.eventautomation.demos.loosehangerjeans.tasks.TransactionTask;
 import com.ibm.eventautomation.demos.loosehangerjeans.utils.Generators;
 
 /**
- * Generates a historical week of Loosehanger events.
+ * Generates a history of Loosehanger events.
  *
  *  The intention is that this is used the first time the connector
  *  is run, to provide an instant history of events for processing,
@@ -75,242 +87,456 @@ import com.ibm.eventautomation.demos.loosehangerjeans.utils.Generators;
  *  be naturally generated.
  *
  *  The timestamp of these historical events will be artificially
- *  set to times within the last seven days, to give the appearance
- *  of a Kafka topic that has been receiving events steadily over
- *  the previous week.
+ *  set to times within the last few days (a week, by default), to
+ *  give the appearance of a Kafka topic that has been receiving
+ *  events steadily over that time.
  *
  *  It isn't appropriate to use this function with topics that already
  *  have events, as this will result in a large batch of historical
  *  events appearing to be out of sequence in the topic.
+ *
+ *  Events are generated as they are needed, with the events from
+ *  each generator merged into a single stream in timestamp order,
+ *  so the memory needed does not depend on how many events there
+ *  are in the history.
+ *
+ *  The generators do not share any state, so each one generates
+ *  its events in parallel with the others, using its own stream
+ *  of random numbers.
  */
 public class DatagenHistoryGenerator {
 
     private static final Logger log = LoggerFactory.getLogger(DatagenHistoryGenerator.class);
 
+    /** Number of events that each generator creates at a time */
+    private static final int CHUNK_SIZE = 1_000;
+
     /**
-     * Create a list containing seven days' worth of Loosehanger events.
+     * Create a list containing the history of Loosehanger events.
+     *
+     *  This holds every event in memory at once, so {@link #history(AbstractConfig)}
+     *  should be preferred where the events can be processed one at a time.
      */
     public List<SourceRecord> generateHistory(AbstractConfig config)
     {
+        final ForkJoinPool executor = new ForkJoinPool();
+        try {
+            List<SourceRecord> historicalRecords = new ArrayList<>();
+            history(config, executor).forEachRemaining(record -> historicalRecords.add(record.toSourceRecord()));
+            return historicalRecords;
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the history of Loosehanger events, in timestamp order.
+     *
+     *  Events are generated ahead of when they are needed, using the
+     *  provided executor. The executor should not be shut down until
+     *  the iterator has returned all of the events.
+     *
+     *  If a snapshot directory is configured, the history is replayed
+     *  from a snapshot of a previous history with the same config if
+     *  there is one, or saved as a snapshot otherwise. The iterator
+     *  should be closed if it is not used to the end.
+     */
+    public Iterator<HistoryRecord> history(AbstractConfig config, Executor executor)
+    {
+        return history(config, executor, newHistoryProgress(config));
+    }
+
+    /**
+     * Returns the history of Loosehanger events that has not yet been
+     *  delivered, in timestamp order.
+     *
+     *  If some of the history was delivered before the task stopped,
+     *  the events are generated again using the same window and seed
+     *  (or replayed again from the same snapshot), and the events up
+     *  to the last one that was delivered are skipped. Otherwise, this
+     *  is the same as {@link #history(AbstractConfig, Executor)}.
+     *
+     *  The progress of an interrupted history should come from
+     *  {@link #resumeProgress(AbstractConfig, HistoryProgress)}.
+     */
+    public Iterator<HistoryRecord> history(AbstractConfig config, Executor executor, HistoryProgress progress)
+    {
+        final HistoryWindow window = progress.window(ZoneId.systemDefault());
+        final String snapshotDir = config.getString(DatagenSourceConfig.CONFIG_BEHAVIOR_STARTUPHISTORY_SNAPSHOT_DIR);
+        if (progress.isResuming()) {
+            log.info("Resuming delivery of historical events after {}", progress.resumePoint());
+            if (progress.isFromSnapshot()) {
+                final Iterator<HistoryRecord> replay = snapshotDir.isEmpty() ?
+                    null :
+                    new HistorySnapshot(Paths.get(snapshotDir), config).replay(progress);
+                if (replay == null) {
+                    log.warn("Unable to replay the rest of the history from its snapshot");
+                    return Collections.emptyIterator();
+                }
+                return progress.track(replay);
+            }
+            return progress.track(generate(config, executor, window, progress.seed()));
+        }
+
+        if (snapshotDir.isEmpty()) {
+            log.info("Generating historical events to warm up the topics");
+            return progress.track(generate(config, executor, window, progress.seed()));
+        }
+
+        final HistorySnapshot snapshot = new HistorySnapshot(Paths.get(snapshotDir), config);
+        if (snapshot.exists()) {
+            final Iterator<HistoryRecord> replay = snapshot.replay(progress);
+            if (replay != null) {
+                log.info("Replaying historical events from snapshot {}", snapshot.file());
+                return progress.track(replay);
+            }
+        }
+
         log.info("Generating historical events to warm up the topics");
+        return progress.track(snapshot.record(generate(config, executor, window, progress.seed()),
+                                              window.end().toInstant().toEpochMilli()));
+    }
+
+    /**
+     * Returns the progress for delivering a new history, covering the
+     *  configured number of days up to now.
+     */
+    public HistoryProgress newHistoryProgress(AbstractConfig config)
+    {
+        final String partitionName = new DatagenTaskShard(config).partitionName(HistoryProgress.PARTITION);
+        final HistoryWindow window = HistoryWindow.days(ZonedDateTime.now(), historyDays(config));
+        return HistoryProgress.start(partitionName, Generators.randomLong(), window);
+    }
 
-        DatagenHistory historicalRecords = new DatagenHistory(Instant.now());
+    /**
+     * Returns the progress to carry on delivering an interrupted history
+     *  with. This is the provided progress, unless the history was being
+     *  replayed from a snapshot that is no longer available, in which
+     *  case a new history is started instead. (Generating the history
+     *  from the seed would not give the events that were being replayed.)
+     */
+    public HistoryProgress resumeProgress(AbstractConfig config, HistoryProgress progress)
+    {
+        if (progress.isFromSnapshot()) {
+            final String snapshotDir = config.getString(DatagenSourceConfig.CONFIG_BEHAVIOR_STARTUPHISTORY_SNAPSHOT_DIR);
+            if (snapshotDir.isEmpty() || !new HistorySnapshot(Paths.get(snapshotDir), config).exists()) {
+                log.info("The snapshot that the history was replayed from is not available, so starting a new history");
+                return newHistoryProgress(config);
+            }
+        }
+        return progress;
+    }
 
-        addNewCustomerRecords(historicalRecords, config);
-        addStockMovementRecords(historicalRecords, config);
-        addBadgeInRecords(historicalRecords, config);
-        addSensorReadingRecords(historicalRecords, config);
-        addOnlineActivityRecords(historicalRecords, config);
-        addOrderAndCancellationRecords(historicalRecords, config);
-        addReturnsRecords(historicalRecords, config);
-        addTransactionRecords(historicalRecords, config);
+    /**
+     * Returns the progress of delivering the history, from the offset
+     *  stored by Kafka Connect for the last historical event that was
+     *  delivered, or null if no historical events have been delivered.
+     */
+    public HistoryProgress historyProgress(SourceTaskContext context, AbstractConfig config)
+    {
+        if (context == null || context.offsetStorageReader() == null) {
+            return null;
+        }
+        final String partitionName = new DatagenTaskShard(config).partitionName(HistoryProgress.PARTITION);
+        return HistoryProgress.fromOffset(partitionName,
+                                          context.offsetStorageReader().offset(LoosehangerData.partition(partitionName)));
+    }
 
-        Collections.sort(historicalRecords, (r1, r2) -> {
-            return Math.toIntExact(r1.timestamp() - r2.timestamp());
-        });
+    /**
+     * Returns the Loosehanger events that would have been generated
+     *  since the connector last ran, in timestamp order.
+     *
+     *  This is used when the connector is restarted after it was
+     *  stopped or paused for a while, so that there is no gap in
+     *  the events. The events for each source partition continue
+     *  from the timestamp of the last event that was generated for
+     *  it, up to a maximum of the number of days of history.
+     *
+     * @param lastTimestamps - timestamp of the last event generated
+     *                          for each origin, such as from
+     *                          {@link #lastTimestamps(SourceTaskContext, AbstractConfig)}
+     */
+    public Iterator<HistoryRecord> backfill(AbstractConfig config, Executor executor, Map<String, Long> lastTimestamps)
+    {
+        final HistoryWindow window = HistoryWindow.since(lastTimestamps, ZonedDateTime.now(), historyDays(config));
+        if (window.isEmpty()) {
+            return Collections.emptyIterator();
+        }
+        log.info("Generating events for the time since the connector last ran");
+        return generate(config, executor, window, Generators.randomLong());
+    }
 
-        return historicalRecords;
+    private Iterator<HistoryRecord> generate(AbstractConfig config, Executor executor, HistoryWindow window, long seed)
+    {
+        final SplittableRandom seeds = new SplittableRandom(seed);
+
+        // the order of the generators is used to decide the
+        //  order of events with the same timestamp
+        final List<Supplier<Iterator<HistoryRecord>>> generators = List.of(
+            () -> newCustomerRecords(config, window),
+            () -> stockMovementRecords(config, window),
+            () -> badgeInRecords(config, window),
+            () -> sensorReadingRecords(config, window),
+            () -> highSensorReadingRecords(config, window),
+            () -> onlineActivityRecords(config, window),
+            () -> orderAndCancellationRecords(config, window),
+            () -> suspiciousOrderRecords(config, window),
+            () -> returnsRecords(config, window),
+            () -> productReviewRecords(config, window),
+            () -> transactionRecords(config, window));
+
+        final List<Iterator<HistoryRecord>> cursors = new ArrayList<>();
+        for (Supplier<Iterator<HistoryRecord>> generator : generators) {
+            cursors.add(new PrefetchingCursor(generator, seeds.split(), executor, CHUNK_SIZE));
+        }
+        return new HistoryMerge(cursors);
     }
 
 
 
-    private void addBadgeInRecords(List<SourceRecord> historicalRecords, AbstractConfig config) {
+    private static int historyDays(AbstractConfig config) {
+        return config.getInt(DatagenSourceConfig.CONFIG_BEHAVIOR_STARTUPHISTORY_DAYS);
+    }
+
+
+    private Iterator<HistoryRecord> badgeInRecords(AbstractConfig config, HistoryWindow window) {
         log.debug("generating historical badgein records");
         final String TOPIC = config.getString(DatagenSourceConfig.CONFIG_TOPICNAME_BADGEINS);
+        final String PARTITION = new DatagenTaskShard(config).partitionName(BadgeIn.PARTITION);
 
-        for (BadgeIn badgein : new BadgeInGenerator(config).generateHistory()) {
-            SourceRecord record = badgein.createSourceRecord(TOPIC);
-            historicalRecords.add(record);
-        }
+        return new HistoryCursor<>(new BadgeInGenerator(config).historyIterator(window.start(PARTITION), window.end()),
+            (badgein, records) -> records.accept(HistoryRecord.of(badgein, TOPIC, PARTITION)),
+            window);
     }
 
-    private void addNewCustomerRecords(List<SourceRecord> historicalRecords, AbstractConfig config) {
+    private Iterator<HistoryRecord> newCustomerRecords(AbstractConfig config, HistoryWindow window) {
         log.debug("generating historical customer records");
         final String TOPIC = config.getString(DatagenSourceConfig.CONFIG_TOPICNAME_CUSTOMERS);
+        final String ORIGIN = new DatagenTaskShard(config).partitionName(NewCustomerTask.class.getName());
 
-        for (NewCustomer customer : new NewCustomerGenerator(config).generateHistory()) {
-            SourceRecord record = customer.createSourceRecord(TOPIC, NewCustomerTask.class.getName());
-            historicalRecords.add(record);
-        }
+        return new HistoryCursor<>(new NewCustomerGenerator(config).historyIterator(window.start(ORIGIN), window.end()),
+            (customer, records) -> records.accept(HistoryRecord.of(customer, TOPIC, ORIGIN)),
+            window);
     }
 
-    private void addSensorReadingRecords(List<SourceRecord> historicalRecords, AbstractConfig config) {
+    private Iterator<HistoryRecord> sensorReadingRecords(AbstractConfig config, HistoryWindow window) {
         log.debug("generating historical sensor records");
         final String TOPIC = config.getString(DatagenSourceConfig.CONFIG_TOPICNAME_SENSORREADINGS);
+        final String PARTITION = new DatagenTaskShard(config).partitionName(SensorReading.PARTITION);
 
-        List<SensorReading> readings = new SensorReadingGenerator(config).generateHistory();
-        List<SensorReading> highReadings = new HighSensorReadingGenerator(config).generateHistory();
-        readings.addAll(highReadings);
-        Collections.sort(readings, (r1, r2) -> {
-            return r1.recordTimestamp().compareTo(r2.recordTimestamp());
-        });
+        return new HistoryCursor<>(new SensorReadingGenerator(config).historyIterator(window.start(PARTITION), window.end()),
+            (reading, records) -> records.accept(HistoryRecord.of(reading, TOPIC, PARTITION)),
+            window);
+    }
 
-        for (SensorReading reading : readings) {
-            SourceRecord record = reading.createSourceRecord(TOPIC);
-            historicalRecords.add(record);
-        }
+    private Iterator<HistoryRecord> highSensorReadingRecords(AbstractConfig config, HistoryWindow window) {
+        log.debug("generating historical high sensor records");
+        final String TOPIC = config.getString(DatagenSourceConfig.CONFIG_TOPICNAME_SENSORREADINGS);
+        final String PARTITION = new DatagenTaskShard(config).partitionName(SensorReading.PARTITION);
+
+        return new HistoryCursor<>(new HighSensorReadingGenerator(config).historyIterator(window.start(PARTITION), window.end()),
+            (reading, records) -> records.accept(HistoryRecord.of(reading, TOPIC, PARTITION)),
+            window);
     }
 
-    private void addTransactionRecords(List<SourceRecord> historicalRecords, AbstractConfig config) {
+    private Iterator<HistoryRecord> transactionRecords(AbstractConfig config, HistoryWindow window) {
     	log.debug("generating historical transaction records");
     	final String TOPIC = config.getString(DatagenSourceConfig.CONFIG_TOPICNAME_TRANSACTIONS);
+    	final String PARTITION = new DatagenTaskShard(config).partitionName(Transaction.PARTITION);
 
-    	for (Transaction transaction : new TransactionGenerator(config).generateHistory()) {
-    		SourceRecord record = transaction.createSourceRecord(TOPIC, TransactionTask.class.getName());
-    		historicalRecords.add(record);
-    	}
+    	return new HistoryCursor<>(new TransactionGenerator(config).historyIterator(window.start(PARTITION), window.end()),
+    		(transaction, records) -> records.accept(HistoryRecord.of(transaction, TOPIC, PARTITION)),
+    		window);
     }
 
-    private void addStockMovementRecords(List<SourceRecord> historicalRecords, AbstractConfig config) {
+    private Iterator<HistoryRecord> stockMovementRecords(AbstractConfig config, HistoryWindow window) {
         log.debug("generating historical stock movement records");
         final String TOPIC = config.getString(DatagenSourceConfig.CONFIG_TOPICNAME_STOCKMOVEMENTS);
+        final String PARTITION = new DatagenTaskShard(config).partitionName(StockMovement.PARTITION);
 
-        for (StockMovement movement : new StockMovementGenerator(config).generateHistory()) {
-            SourceRecord record = movement.createSourceRecord(TOPIC);
-            historicalRecords.add(record);
-        }
+        return new HistoryCursor<>(new StockMovementGenerator(config).historyIterator(window.start(PARTITION), window.end()),
+            (movement, records) -> records.accept(HistoryRecord.of(movement, TOPIC, PARTITION)),
+            window);
     }
 
-    private void addOrderAndCancellationRecords(List<SourceRecord> historicalRecords, AbstractConfig config) {
+    private Iterator<HistoryRecord> orderAndCancellationRecords(AbstractConfig config, HistoryWindow window) {
         log.debug("generating historical order records");
         final String ORDERS_TOPIC = config.getString(DatagenSourceConfig.CONFIG_TOPICNAME_ORDERS);
         final String CANCELLATIONS_TOPIC = config.getString(DatagenSourceConfig.CONFIG_TOPICNAME_CANCELLATIONS);
+        final String NORMAL_ORIGIN = new DatagenTaskShard(config).partitionName(NormalOrdersTask.class.getName());
 
-        // normal orders
         int cancellationMinDelay = config.getInt(DatagenSourceConfig.CONFIG_CANCELLATIONS_MIN_DELAY);
         int cancellationMaxDelay = config.getInt(DatagenSourceConfig.CONFIG_CANCELLATIONS_MAX_DELAY);
 
         OrderGenerator orderGenerator = new OrderGenerator(config);
         CancellationGenerator cancellationGenerator = new CancellationGenerator(config);
 
-        for (Order order : orderGenerator.generateHistory()) {
-            SourceRecord orderRecord = order.createSourceRecord(ORDERS_TOPIC, NormalOrdersTask.class.getName());
-            historicalRecords.add(orderRecord);
+        return new HistoryCursor<>(orderGenerator.historyIterator(window.start(NORMAL_ORIGIN), window.end()),
+            (order, records) -> {
+                records.accept(HistoryRecord.of(order, ORDERS_TOPIC, NORMAL_ORIGIN));
 
-            if (orderGenerator.shouldCancel()) {
-                int delayMs = Generators.randomInt(cancellationMinDelay, cancellationMaxDelay);
-                Cancellation cancellationRecord = cancellationGenerator.generate(
-                    order.recordTimestamp().plusNanos(delayMs * 1_000_000L),
-                    order);
-                historicalRecords.add(cancellationRecord.createSourceRecord(CANCELLATIONS_TOPIC, NormalOrdersTask.class.getName()));
-            }
-        }
+                if (orderGenerator.shouldCancel()) {
+                    int delayMs = Generators.randomInt(cancellationMinDelay, cancellationMaxDelay);
+                    Cancellation cancellationRecord = cancellationGenerator.generate(
+                        order.recordTimestamp().plusNanos(delayMs * 1_000_000L),
+                        order);
+                    records.accept(HistoryRecord.of(cancellationRecord, CANCELLATIONS_TOPIC, NORMAL_ORIGIN));
+                }
+            },
+            window);
+    }
 
-        // suspicious orders
-        for (LoosehangerData data : SuspiciousOrderGenerator.generateHistory(config, orderGenerator, cancellationGenerator)) {
-            SourceRecord record = null;
-            if (data instanceof Order) {
-                record = data.createSourceRecord(ORDERS_TOPIC, SuspiciousOrdersTask.class.getName());
-            }
-            else if (data instanceof Cancellation) {
-                record = data.createSourceRecord(CANCELLATIONS_TOPIC, SuspiciousOrdersTask.class.getName());
-            }
-            historicalRecords.add(record);
-        }
+    private Iterator<HistoryRecord> suspiciousOrderRecords(AbstractConfig config, HistoryWindow window) {
+        log.debug("generating historical suspicious order records");
+        final String ORDERS_TOPIC = config.getString(DatagenSourceConfig.CONFIG_TOPICNAME_ORDERS);
+        final String CANCELLATIONS_TOPIC = config.getString(DatagenSourceConfig.CONFIG_TOPICNAME_CANCELLATIONS);
+        final String SUSPICIOUS_ORIGIN = new DatagenTaskShard(config).partitionName(SuspiciousOrdersTask.class.getName());
+
+        // there is only one suspicious activity a day, so these
+        //  are small enough to generate in one go and then sort
+        List<LoosehangerData> suspiciousActivity = SuspiciousOrderGenerator.generateHistory(config,
+                                                                                            new OrderGenerator(config),
+                                                                                            new CancellationGenerator(config),
+                                                                                            window.start(SUSPICIOUS_ORIGIN), window.end());
+        Collections.sort(suspiciousActivity, (d1, d2) -> {
+            return Long.compare(d1.timestampMs(), d2.timestampMs());
+        });
+
+        return new HistoryCursor<>(suspiciousActivity.iterator(),
+            (data, records) -> {
+                if (data instanceof Order) {
+                    records.accept(HistoryRecord.of(data, ORDERS_TOPIC, SUSPICIOUS_ORIGIN));
+                }
+                else if (data instanceof Cancellation) {
+                    records.accept(HistoryRecord.of(data, CANCELLATIONS_TOPIC, SUSPICIOUS_ORIGIN));
+                }
+            },
+            window);
     }
 
-    private void addReturnsRecords(List<SourceRecord> historicalRecords, AbstractConfig config) {
+    private Iterator<HistoryRecord> returnsRecords(AbstractConfig config, HistoryWindow window) {
         log.debug("generating historical returns records");
         String RETURN_TOPIC = config.getString(DatagenSourceConfig.CONFIG_TOPICNAME_RETURNREQUESTS);
         String REVIEW_TOPIC = config.getString(DatagenSourceConfig.CONFIG_TOPICNAME_PRODUCTREVIEWS);
 
+        DatagenTaskShard shard = new DatagenTaskShard(config);
+        String RETURN_PARTITION = shard.partitionName(ReturnRequest.PARTITION);
+        String REVIEW_PARTITION = shard.partitionName(ProductReview.PARTITION);
+
         int reviewMinDelay = config.getInt(DatagenSourceConfig.CONFIG_PRODUCTREVIEWS_MIN_DELAY);
         int reviewMaxDelay = config.getInt(DatagenSourceConfig.CONFIG_PRODUCTREVIEWS_MAX_DELAY);
 
-        Map<String, Product> productsWithSizeIssue = new ProductGenerator(config).generate(config.getInt(DatagenSourceConfig.CONFIG_PRODUCTREVIEWS_PRODUCTS_WITH_SIZE_ISSUE_COUNT));
-        ProductReviewGenerator productReviewGenerator = new ProductReviewGenerator(config, productsWithSizeIssue);
+        ProductReviewGenerator productReviewGenerator = productReviewGenerator(config);
         ReturnRequestGenerator returnRequestGenerator = new ReturnRequestGenerator(config, productReviewGenerator.getProductsWithSizeIssue());
 
-        for (ReturnRequest returnRequest : returnRequestGenerator.generateHistory()) {
-            SourceRecord returnRecord = returnRequest.createSourceRecord(RETURN_TOPIC);
-            historicalRecords.add(returnRecord);
+        return new HistoryCursor<>(returnRequestGenerator.historyIterator(window.start(RETURN_PARTITION), window.end()),
+            (returnRequest, records) -> {
+                records.accept(HistoryRecord.of(returnRequest, RETURN_TOPIC, RETURN_PARTITION));
 
-            if (returnRequestGenerator.shouldReview()) {
-                Product product = Generators.randomItem(returnRequest.getReturns()).getProduct();
-                if (product != null) {
-                    int delay = Generators.randomInt(reviewMinDelay, reviewMaxDelay);
-                    ZonedDateTime timestamp = returnRequest.recordTimestamp().plusNanos(delay * 1_000_000L);
+                if (returnRequestGenerator.shouldReview()) {
+                    Product product = Generators.randomItem(returnRequest.getReturns()).getProduct();
+                    if (product != null) {
+                        int delay = Generators.randomInt(reviewMinDelay, reviewMaxDelay);
+                        ZonedDateTime timestamp = returnRequest.recordTimestamp().plusNanos(delay * 1_000_000L);
 
-                    ProductReview review = productReviewGenerator.generate(product, timestamp);
-                    SourceRecord reviewRecord = review.createSourceRecord(REVIEW_TOPIC);
-                    historicalRecords.add(reviewRecord);
+                        ProductReview review = productReviewGenerator.generate(product, timestamp);
+                        HistoryRecord reviewRecord = HistoryRecord.of(review, REVIEW_TOPIC, REVIEW_PARTITION);
+                        records.accept(reviewRecord);
 
-                    if (productReviewGenerator.shouldDuplicate()) {
-                        historicalRecords.add(reviewRecord);
+                        if (productReviewGenerator.shouldDuplicate()) {
+                            records.accept(reviewRecord);
+                        }
                     }
                 }
-            }
-        }
+            },
+            window);
+    }
 
-        for (ProductReview review : productReviewGenerator.generateHistory()) {
-            SourceRecord reviewRecord = review.createSourceRecord(REVIEW_TOPIC);
-            historicalRecords.add(reviewRecord);
-        }
+    private Iterator<HistoryRecord> productReviewRecords(AbstractConfig config, HistoryWindow window) {
+        log.debug("generating historical product review records");
+        String REVIEW_TOPIC = config.getString(DatagenSourceConfig.CONFIG_TOPICNAME_PRODUCTREVIEWS);
+        String REVIEW_PARTITION = new DatagenTaskShard(config).partitionName(ProductReview.PARTITION);
+
+        return new HistoryCursor<>(productReviewGenerator(config).historyIterator(window.start(REVIEW_PARTITION), window.end()),
+            (review, records) -> records.accept(HistoryRecord.of(review, REVIEW_TOPIC, REVIEW_PARTITION)),
+            window);
+    }
+
+    private ProductReviewGenerator productReviewGenerator(AbstractConfig config) {
+        return new ProductReviewGenerator(config, ProductReviewGenerator.productsWithSizeIssue(config));
     }
 
 
-    private void addOnlineActivityRecords(List<SourceRecord> historicalRecords, AbstractConfig config) {
+    private Iterator<HistoryRecord> onlineActivityRecords(AbstractConfig config, HistoryWindow window) {
         log.debug("generating historical online activity records");
         String CLICK_TOPIC = config.getString(DatagenSourceConfig.CONFIG_TOPICNAME_CLICKTRACKING);
         String ORDER_TOPIC = config.getString(DatagenSourceConfig.CONFIG_TOPICNAME_ONLINEORDERS);
         String ABANDON_TOPIC = config.getString(DatagenSourceConfig.CONFIG_TOPICNAME_ABANDONEDORDERS);
         String OOS_TOPIC = config.getString(DatagenSourceConfig.CONFIG_TOPICNAME_OUTOFSTOCKS);
 
+        DatagenTaskShard shard = new DatagenTaskShard(config);
+        String ORIGIN = shard.partitionName(OnlineActivityTask.class.getName());
+        String OOS_PARTITION = shard.partitionName(OutOfStock.PARTITION);
+
         int sessionInterval = config.getInt(DatagenSourceConfig.CONFIG_TIMES_ONLINEORDERS) / 1000;
         int clickInterval = config.getInt(DatagenSourceConfig.CONFIG_TIMES_CLICKTRACKING) / 1000;
 
         OnlineActivityGenerator onlineActivityGenerator = new OnlineActivityGenerator(config);
         OutOfStockGenerator outOfStockGenerator = new OutOfStockGenerator(config);
 
-        for (OnlineActivityData activity : onlineActivityGenerator.generateHistory(sessionInterval, clickInterval)) {
-            if (activity == null) {
-                continue;
-            }
-
-            if (activity instanceof ClickEvent) {
-                SourceRecord clickRecord = activity.createSourceRecord(CLICK_TOPIC, OnlineActivityTask.class.getName());
-                historicalRecords.add(clickRecord);
-            }
-            else if (activity instanceof OnlineOrder) {
-                SourceRecord orderRecord = activity.createSourceRecord(ORDER_TOPIC, OnlineActivityTask.class.getName());
-                historicalRecords.add(orderRecord);
-
-                if (onlineActivityGenerator.shouldGenerateOutOfStockEvent()) {
-                    SourceRecord outOfStockRecord = outOfStockGenerator.generate((OnlineOrder)activity).createSourceRecord(OOS_TOPIC);
-                    historicalRecords.add(outOfStockRecord);
+        return new HistoryCursor<OnlineActivityData>(onlineActivityGenerator.historyIterator(sessionInterval, clickInterval, window.start(ORIGIN), window.end()),
+            (activity, records) -> {
+                if (activity instanceof ClickEvent) {
+                    records.accept(HistoryRecord.of(activity, CLICK_TOPIC, ORIGIN));
                 }
-            }
-            else if (activity instanceof AbandonedOrder) {
-                SourceRecord abandonRecord = activity.createSourceRecord(ABANDON_TOPIC, OnlineActivityTask.class.getName());
-                historicalRecords.add(abandonRecord);
-            }
-            else {
-                log.error("Unexpected activity type {}", activity.getClass().getCanonicalName());
-            }
-        }
+                else if (activity instanceof OnlineOrder) {
+                    records.accept(HistoryRecord.of(activity, ORDER_TOPIC, ORIGIN));
+
+                    if (onlineActivityGenerator.shouldGenerateOutOfStockEvent()) {
+                        OutOfStock outOfStock = outOfStockGenerator.generate((OnlineOrder)activity);
+                        if (outOfStock != null) {
+                            records.accept(HistoryRecord.of(outOfStock, OOS_TOPIC, OOS_PARTITION));
+                        }
+                    }
+                }
+                else if (activity instanceof AbandonedOrder) {
+                    records.accept(HistoryRecord.of(activity, ABANDON_TOPIC, ORIGIN));
+                }
+                else {
+                    log.error("Unexpected activity type {}", activity.getClass().getCanonicalName());
+                }
+            },
+            window);
     }
 
 
-    private List<Map<String, Object>> getExpectedPartitions() {
+    /**
+     * Returns the source partitions that new events from this task are
+     *  delivered with - one for each origin that the tasks write events
+     *  under. Historical events for each stream use the same origin as
+     *  the new events, so that filling a gap can carry on from where
+     *  each stream stopped.
+     */
+    private List<Map<String, Object>> getExpectedPartitions(DatagenTaskShard shard) {
         return List.of(
-            LoosehangerData.partition(NormalOrdersTask.class.getName()),
-            LoosehangerData.partition(NewCustomerTask.class.getName()),
-            LoosehangerData.partition(SuspiciousOrdersTask.class.getName()),
-            LoosehangerData.partition(FalsePositivesTask.class.getName()),
-            LoosehangerData.partition(BadgeIn.PARTITION),
-            LoosehangerData.partition(OnlineOrder.PARTITION),
-            LoosehangerData.partition(OutOfStock.PARTITION),
-            LoosehangerData.partition(ProductReview.PARTITION),
-            LoosehangerData.partition(ReturnRequest.PARTITION),
-            LoosehangerData.partition(SensorReading.PARTITION),
-            LoosehangerData.partition(StockMovement.PARTITION),
-            LoosehangerData.partition(AbandonedOrder.PARTITION),
-            LoosehangerData.partition(ClickEvent.PARTITION)
+            LoosehangerData.partition(shard.partitionName(NormalOrdersTask.class.getName())),
+            LoosehangerData.partition(shard.partitionName(NewCustomerTask.class.getName())),
+            LoosehangerData.partition(shard.partitionName(SuspiciousOrdersTask.class.getName())),
+            LoosehangerData.partition(shard.partitionName(FalsePositivesTask.class.getName())),
+            LoosehangerData.partition(shard.partitionName(OnlineActivityTask.class.getName())),
+            LoosehangerData.partition(shard.partitionName(BadgeIn.PARTITION)),
+            LoosehangerData.partition(shard.partitionName(OutOfStock.PARTITION)),
+            LoosehangerData.partition(shard.partitionName(ProductReview.PARTITION)),
+            LoosehangerData.partition(shard.partitionName(ReturnRequest.PARTITION)),
+            LoosehangerData.partition(shard.partitionName(SensorReading.PARTITION)),
+            LoosehangerData.partition(shard.partitionName(StockMovement.PARTITION)),
+            LoosehangerData.partition(shard.partitionName(Transaction.PARTITION))
         );
     }
 
     /**
-     * Optionally, the Connector can generate a week's worth of historical
+     * Optionally, the Connector can generate a few days' worth of historical
      *  events when it starts for the first time, so that events are
      *  immediately available for demos, without needing to wait for events
      *  to be generated over time.
@@ -323,8 +549,16 @@ public class DatagenHistoryGenerator {
      *  restarting the connector with a different name or administratively
      *  deleting it's offset will appear as if the connector is starting
      *  for the first time.
+     *
+     * When the workload is shared between multiple tasks, each task
+     *  looks for the offsets of its own source partitions.
+     *
+     * Historical events have a source partition of their own, so
+     *  this also looks for the offset of a history that was being
+     *  delivered - see {@link #historyProgress(SourceTaskContext, AbstractConfig)}
+     *  for carrying on with it.
      */
-    public boolean startingForFirstTime(SourceTaskContext context) {
+    public boolean startingForFirstTime(SourceTaskContext context, AbstractConfig config) {
         if (context == null) {
             log.debug("No context");
             return true;
@@ -336,7 +570,10 @@ public class DatagenHistoryGenerator {
 
         OffsetStorageReader offsetReader = context.offsetStorageReader();
 
-        final List<Map<String, Object>> EXPECTED_PARTITIONS = getExpectedPartitions();
+        final DatagenTaskShard shard = new DatagenTaskShard(config);
+        final List<Map<String, Object>> EXPECTED_PARTITIONS = new ArrayList<>(getExpectedPartitions(shard));
+        EXPECTED_PARTITIONS.add(LoosehangerData.partition(shard.partitionName(HistoryProgress.PARTITION)));
+        EXPECTED_PARTITIONS.add(LoosehangerData.partition(shard.partitionName(DatagenOffsets.HEARTBEAT_PARTITION)));
         Map<Map<String, Object>, Map<String, Object>> allOffsets = offsetReader.offsets(EXPECTED_PARTITIONS);
         if (allOffsets.isEmpty()) {
             log.debug("No offsets found");
@@ -354,4 +591,53 @@ public class DatagenHistoryGenerator {
         log.debug("No offsets found for any partition");
         return true;
     }
+
+    /**
+     * Returns the timestamp of the last event that was generated for
+     *  each of the source partitions used by this task, identified by
+     *  their origin, using the offsets stored by Kafka Connect.
+     *
+     * Source partitions without a stored offset are not included, so
+     *  an empty map is returned if the connector is starting for the
+     *  first time.
+     *
+     * If the connector was only storing heartbeat offsets (see
+     *  {@link DatagenOffsets}), the heartbeat is used for the source
+     *  partitions that do not have a more recent offset of their own.
+     */
+    public Map<String, Long> lastTimestamps(SourceTaskContext context, AbstractConfig config) {
+        final Map<String, Long> lastTimestamps = new HashMap<>();
+        if (context == null || context.offsetStorageReader() == null) {
+            return lastTimestamps;
+        }
+
+        final DatagenTaskShard shard = new DatagenTaskShard(config);
+        final List<Map<String, Object>> EXPECTED_PARTITIONS = getExpectedPartitions(shard);
+        final Map<String, Object> HEARTBEAT = LoosehangerData.partition(shard.partitionName(DatagenOffsets.HEARTBEAT_PARTITION));
+        final List<Map<String, Object>> partitions = new ArrayList<>(EXPECTED_PARTITIONS);
+        partitions.add(HEARTBEAT);
+        Map<Map<String, Object>, Map<String, Object>> allOffsets = context.offsetStorageReader().offsets(partitions);
+        if (allOffsets == null) {
+            return lastTimestamps;
+        }
+
+        final Long heartbeat = offsetTimestamp(allOffsets.get(HEARTBEAT));
+        for (Map<String, Object> partition : EXPECTED_PARTITIONS) {
+            Long lastTimestamp = offsetTimestamp(allOffsets.get(partition));
+            if (heartbeat != null && (lastTimestamp == null || heartbeat > lastTimestamp)) {
+                lastTimestamp = heartbeat;
+            }
+            if (lastTimestamp != null) {
+                lastTimestamps.put((String) partition.get("partition"), lastTimestamp);
+            }
+        }
+        return lastTimestamps;
+    }
+
+    private static Long offsetTimestamp(Map<String, Object> offset) {
+        if (offset != null && offset.get("offset") instanceof Number) {
+            return ((Number) offset.get("offset")).longValue();
+        }
+        return null;
+    }
 }
@@ -0,0 +1,97 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans;
+
+import org.apache.kafka.common.config.AbstractConfig;
+import org.apache.kafka.connect.header.ConnectHeaders;
+import org.apache.kafka.connect.header.Header;
+import org.apache.kafka.connect.header.Headers;
+import org.apache.kafka.connect.source.SourceRecord;
+
+import com.ibm.eventautomation.demos.loosehangerjeans.data.GeneratedRecord;
+
+/**
+ * Adds headers to records for measuring the latency between generating
+ *  an event and a consumer receiving it:
+ *
+ *   latency.task         - index of the task that generated the record
+ *   latency.sequence     - position of the record in the sequence of
+ *                           records delivered by the task, starting at 1,
+ *                           for spotting gaps or reordering
+ *   latency.generated.ms - wall-clock time that the record was generated
+ *   latency.polled.ms    - wall-clock time that poll() handed the record
+ *                           to Kafka Connect
+ *
+ *  Historical events are created as they are delivered, so their
+ *  generated time is when poll() created them.
+ *
+ *  This is only used by the thread that calls poll().
+ */
+public class DatagenLatencyHeaders {
+
+    public static final String TASK_HEADER = "latency.task";
+    public static final String SEQUENCE_HEADER = "latency.sequence";
+    public static final String GENERATED_HEADER = "latency.generated.ms";
+    public static final String POLLED_HEADER = "latency.polled.ms";
+
+    private final boolean enabled;
+
+    /** Header with the task index, which is the same for every record */
+    private final Header taskHeader;
+
+    /** Sequence number of the last record delivered */
+    private long sequence = 0;
+
+
+    public DatagenLatencyHeaders(AbstractConfig config) {
+        this(config.getBoolean(DatagenSourceConfig.CONFIG_PERFORMANCE_LATENCY_HEADERS),
+             new DatagenTaskShard(config));
+    }
+
+    public DatagenLatencyHeaders(boolean enabled, DatagenTaskShard shard) {
+        this.enabled = enabled;
+        this.taskHeader = new ConnectHeaders().addInt(TASK_HEADER, shard.index()).lastWithName(TASK_HEADER);
+    }
+
+
+    /**
+     * Returns the record to deliver: either the provided record, or a
+     *  copy of it with the latency headers.
+     *
+     * @param polledMs - time that poll() is handing the record to Kafka Connect
+     */
+    public SourceRecord apply(SourceRecord record, long polledMs) {
+        if (!enabled) {
+            return record;
+        }
+
+        final long generatedMs = record instanceof GeneratedRecord ? ((GeneratedRecord) record).generatedMs() : polledMs;
+
+        // headers can be shared between records, so are copied rather than added to
+        final Headers headers = record.headers().isEmpty() ? new ConnectHeaders() : record.headers().duplicate();
+        headers.add(taskHeader)
+               .addLong(SEQUENCE_HEADER, ++sequence)
+               .addLong(GENERATED_HEADER, generatedMs)
+               .addLong(POLLED_HEADER, polledMs);
+
+        return new SourceRecord(record.sourcePartition(), record.sourceOffset(),
+                                record.topic(), record.kafkaPartition(),
+                                record.keySchema(), record.key(),
+                                record.valueSchema(), record.value(),
+                                record.timestamp(),
+                                headers);
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.kafka.common.config.AbstractConfig;
+import org.apache.kafka.connect.source.SourceRecord;
+
+import com.ibm.eventautomation.demos.loosehangerjeans.data.LoosehangerData;
+import com.ibm.eventautomation.demos.loosehangerjeans.history.HistoryProgress;
+
+/**
+ * Decides which records carry a source offset.
+ *
+ *  The offsets of new events are only used when the connector restarts:
+ *  to find out whether it has run before, and the time that it stopped
+ *  (for filling the gap since then). Neither needs an offset on every
+ *  record, so the offsets can be limited to cut down on the work of
+ *  tracking and committing them.
+ *
+ *  Records without an offset are delivered with no source partition or
+ *  offset. Historical events always keep their offsets, as these are
+ *  needed to carry on delivering an interrupted history.
+ *
+ *  This is only used by the thread that calls poll().
+ */
+public class DatagenOffsets {
+
+    /** Name of the source partition used for heartbeat offsets */
+    public static final String HEARTBEAT_PARTITION = "heartbeat";
+
+    /**
+     * Which records carry a source offset.
+     */
+    public enum OffsetMode {
+        /** every record has an offset for its origin */
+        RECORD,
+        /** a record from each origin has an offset at most once per interval */
+        PERIODIC,
+        /** a record has an offset for a single heartbeat partition at most once per interval */
+        HEARTBEAT;
+
+        /** Returns the mode identified by a config value, such as "periodic" */
+        public static OffsetMode fromConfig(String value) {
+            return valueOf(value.toUpperCase());
+        }
+    }
+
+    private final OffsetMode mode;
+
+    /** Minimum time between offsets, in milliseconds */
+    private final long intervalMs;
+
+    private final Map<String, Object> historyPartition;
+    private final Map<String, Object> heartbeatPartition;
+
+    /** Time that an offset was last delivered for each source partition */
+    private final Map<Map<String, ?>, Long> lastOffsetTimes = new HashMap<>();
+
+
+    public DatagenOffsets(AbstractConfig config) {
+        // replayable streams need the offset of every event, to carry
+        //  on from the last event delivered
+        this(config.getBoolean(DatagenSourceConfig.CONFIG_BEHAVIOR_REPLAY) ?
+                 OffsetMode.RECORD :
+                 OffsetMode.fromConfig(config.getString(DatagenSourceConfig.CONFIG_PERFORMANCE_OFFSETS_MODE)),
+             config.getInt(DatagenSourceConfig.CONFIG_PERFORMANCE_OFFSETS_INTERVAL) * 1000L,
+             new DatagenTaskShard(config));
+    }
+
+    public DatagenOffsets(OffsetMode mode, long intervalMs, DatagenTaskShard shard) {
+        this.mode = mode;
+        this.intervalMs = intervalMs;
+        this.historyPartition = LoosehangerData.partition(shard.partitionName(HistoryProgress.PARTITION));
+        this.heartbeatPartition = LoosehangerData.partition(shard.partitionName(HEARTBEAT_PARTITION));
+    }
+
+
+    /**
+     * Returns the record to deliver: either the provided record, or a
+     *  copy of it with a different source partition and offset (or with
+     *  none).
+     */
+    public SourceRecord apply(SourceRecord record) {
+        if (mode == OffsetMode.RECORD || historyPartition.equals(record.sourcePartition())) {
+            return record;
+        }
+
+        final Map<String, ?> partition = mode == OffsetMode.HEARTBEAT ? heartbeatPartition : record.sourcePartition();
+        final long now = System.currentTimeMillis();
+        final Long lastOffsetTime = lastOffsetTimes.get(partition);
+        if (lastOffsetTime == null || now - lastOffsetTime >= intervalMs) {
+            lastOffsetTimes.put(partition, now);
+            if (mode == OffsetMode.PERIODIC) {
+                return record;
+            }
+            return withOffset(record, partition, LoosehangerData.offset(record.timestamp() != null ? record.timestamp() : now));
+        }
+        return withOffset(record, null, null);
+    }
+
+    private static SourceRecord withOffset(SourceRecord record, Map<String, ?> partition, Map<String, ?> offset) {
+        return new SourceRecord(partition, offset,
+                                record.topic(), record.kafkaPartition(),
+                                record.keySchema(), record.key(),
+                                record.valueSchema(), record.value(),
+                                record.timestamp(),
+                                record.headers());
+    }
+}
@@ -0,0 +1,152 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import org.apache.kafka.common.config.AbstractConfig;
+import org.apache.kafka.connect.header.ConnectHeaders;
+import org.apache.kafka.connect.header.Headers;
+import org.apache.kafka.connect.source.SourceRecord;
+
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.RecordSize;
+
+/**
+ * Pads records out to a target size, for load-testing Kafka with
+ *  records of sizes that the data model would not produce.
+ *
+ *  The padding is added as a header, so that it works with every value
+ *  format without changing the schemas of the events. When the value
+ *  has already been encoded by the connector, the padding makes up the
+ *  difference between the size of the value and the target size. When
+ *  the value is a Struct, its encoded size depends on the converter, so
+ *  the padding makes up the difference from an estimate of its size
+ *  instead (the same estimate that the queue uses to limit its size).
+ *
+ *  Padding is cut from a pool of text that is prepared once, when the
+ *  task starts. How compressible the pool is depends on the entropy
+ *  level: 1.0 makes the pool random text, and 0.0 makes it the same
+ *  short run of text repeated over and over.
+ *
+ *  This is only used by the thread that calls poll().
+ */
+public class DatagenPadding {
+
+    /** Name of the header containing the padding */
+    public static final String PADDING_HEADER = "padding";
+
+    /** Characters used in the padding - 64 characters, so each is worth 6 bits */
+    private static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+
+    /**
+     * The pool is made of chunks, each of which is either random or a
+     *  copy of an earlier chunk (which compression codecs can spot).
+     */
+    private static final int CHUNK_LENGTH = 32;
+
+    /** How far back copied chunks are taken from, within the window of all of the common codecs */
+    private static final int COPY_WINDOW = 32 * 1024;
+
+    /** Smallest pool, so that padding is cut from a range of places in it */
+    private static final int MIN_POOL_LENGTH = 64 * 1024;
+
+    /** Target sizes for the records on each topic that is padded */
+    private final Map<String, RecordSize> sizes;
+
+    private final RandomGenerator rng;
+
+    /** Text to cut the padding from, or null if no topics are padded */
+    private final String pool;
+
+
+    public DatagenPadding(AbstractConfig config) {
+        this(topicSizes(config),
+             config.getDouble(DatagenSourceConfig.CONFIG_SIZES_ENTROPY),
+             new SplittableRandom());
+    }
+
+    public DatagenPadding(Map<String, RecordSize> sizes, double entropy, RandomGenerator rng) {
+        this.sizes = new HashMap<>(sizes);
+        this.sizes.values().removeIf(RecordSize::isNone);
+        this.rng = rng;
+
+        final int maxSize = this.sizes.values().stream().mapToInt(RecordSize::max).max().orElse(0);
+        this.pool = this.sizes.isEmpty() ? null : createPool(Math.max(maxSize * 2, MIN_POOL_LENGTH), entropy, rng);
+    }
+
+    private static Map<String, RecordSize> topicSizes(AbstractConfig config) {
+        final Map<String, RecordSize> sizes = new HashMap<>();
+        for (Map.Entry<String, String> topicSize : DatagenSourceConfig.TOPIC_SIZES.entrySet()) {
+            final String topic = config.getString(topicSize.getKey());
+            final String sizeConfig = topicSize.getValue();
+            sizes.put(topic, RecordSize.fromConfig(sizeConfig, config.getString(sizeConfig)));
+        }
+        return sizes;
+    }
+
+    private static String createPool(int length, double entropy, RandomGenerator rng) {
+        final char[] pool = new char[length];
+        for (int start = 0; start < length; start += CHUNK_LENGTH) {
+            final int end = Math.min(start + CHUNK_LENGTH, length);
+            if (start == 0 || rng.nextDouble() < entropy) {
+                for (int i = start; i < end; i++) {
+                    pool[i] = ALPHABET.charAt(rng.nextInt(ALPHABET.length()));
+                }
+            }
+            else {
+                final int chunks = Math.min(start, COPY_WINDOW) / CHUNK_LENGTH;
+                final int from = start - (1 + rng.nextInt(chunks)) * CHUNK_LENGTH;
+                System.arraycopy(pool, from, pool, start, end - start);
+            }
+        }
+        return new String(pool);
+    }
+
+
+    /**
+     * Returns the record to deliver: either the provided record, or a
+     *  copy of it with padding.
+     */
+    public SourceRecord apply(SourceRecord record) {
+        if (pool == null) {
+            return record;
+        }
+        final RecordSize size = sizes.get(record.topic());
+        if (size == null) {
+            return record;
+        }
+
+        final int padding = size.sample(rng) - (int) DatagenQueue.estimateSize(record.value());
+        if (padding <= 0) {
+            return record;
+        }
+
+        // headers can be shared between records, so are copied rather than added to
+        final Headers headers = record.headers().isEmpty() ? new ConnectHeaders() : record.headers().duplicate();
+        final int start = rng.nextInt(pool.length() - padding + 1);
+        headers.addString(PADDING_HEADER, pool.substring(start, start + padding));
+
+        return new SourceRecord(record.sourcePartition(), record.sourceOffset(),
+                                record.topic(), record.kafkaPartition(),
+                                record.keySchema(), record.key(),
+                                record.valueSchema(), record.value(),
+                                record.timestamp(),
+                                headers);
+    }
+}
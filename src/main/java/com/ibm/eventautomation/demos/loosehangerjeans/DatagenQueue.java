@@ -0,0 +1,447 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.kafka.common.config.AbstractConfig;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.StreamPosition;
+
+/**
+ * Queue of messages waiting to be delivered to Kafka.
+ *
+ *  Generators add messages to the queue from the scheduler threads,
+ *  and the task removes them when Kafka Connect calls poll().
+ *
+ *  The queue can be limited to a maximum number of messages and/or
+ *  an approximate total size in bytes, so that generating events
+ *  faster than Kafka can accept them does not use up all of the
+ *  memory in the Connect worker. What happens when the queue is
+ *  full is decided by the {@link OverflowPolicy}.
+ */
+public class DatagenQueue extends AbstractQueue<SourceRecord> {
+
+    private static final Logger log = LoggerFactory.getLogger(DatagenQueue.class);
+
+    /**
+     * What to do with new messages when the queue is full.
+     */
+    public enum OverflowPolicy {
+        /** wait until there is room in the queue */
+        BLOCK,
+        /** discard the oldest message in the queue to make room */
+        DROP_OLDEST,
+        /** discard the new message */
+        DROP_NEWEST,
+        /** stop running the generators until there is room in the queue */
+        PAUSE;
+
+        /** Returns the policy identified by a config value, such as "drop-oldest" */
+        public static OverflowPolicy fromConfig(String value) {
+            return valueOf(value.toUpperCase().replace('-', '_'));
+        }
+    }
+
+    /** Approximate size of a message that does not depend on its contents */
+    private static final int RECORD_OVERHEAD_BYTES = 64;
+
+
+    private final ArrayDeque<SourceRecord> records = new ArrayDeque<>();
+
+    /**
+     * Estimated size of each message in records, in the same order, if
+     *  maxBytes is set. Kept so that a message is only measured once,
+     *  and the total goes back down by exactly what was added for it.
+     */
+    private final ArrayDeque<Long> recordBytes = new ArrayDeque<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    /** Maximum number of messages, or 0 if there is no limit */
+    private final int maxRecords;
+
+    /** Maximum approximate total size of the messages, or 0 if there is no limit */
+    private final long maxBytes;
+
+    private final OverflowPolicy overflowPolicy;
+
+    /** Approximate total size of the messages in the queue, if maxBytes is set */
+    private long bytes = 0;
+
+    /** Number of messages discarded because the queue was full */
+    private final AtomicLong dropped = new AtomicLong();
+
+
+    public DatagenQueue(AbstractConfig config) {
+        this(config.getInt(DatagenSourceConfig.CONFIG_PERFORMANCE_QUEUE_MAX_RECORDS),
+             config.getLong(DatagenSourceConfig.CONFIG_PERFORMANCE_QUEUE_MAX_BYTES),
+             OverflowPolicy.fromConfig(config.getString(DatagenSourceConfig.CONFIG_PERFORMANCE_QUEUE_OVERFLOW_POLICY)));
+    }
+
+    public DatagenQueue(int maxRecords, long maxBytes, OverflowPolicy overflowPolicy) {
+        this.maxRecords = maxRecords;
+        this.maxBytes = maxBytes;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+
+    /**
+     * Adds a message to the queue, applying the overflow policy if the
+     *  queue is full.
+     *
+     * @return false if the message was discarded
+     */
+    @Override
+    public boolean offer(SourceRecord record) {
+        final long size = maxBytes > 0 ? estimateSize(record) : 0;
+
+        lock.lock();
+        try {
+            switch (overflowPolicy) {
+                case BLOCK:
+                    while (isFull(size)) {
+                        try {
+                            notFull.await();
+                        }
+                        catch (InterruptedException e) {
+                            // the task is stopping
+                            Thread.currentThread().interrupt();
+                            dropped.incrementAndGet();
+                            return false;
+                        }
+                    }
+                    break;
+                case DROP_OLDEST:
+                    while (isFull(size)) {
+                        removeFirst();
+                        dropped.incrementAndGet();
+                    }
+                    break;
+                case DROP_NEWEST:
+                    if (isFull(size)) {
+                        dropped.incrementAndGet();
+                        return false;
+                    }
+                    break;
+                case PAUSE:
+                    // generators check isFull() before running, so the
+                    //  events from a run that has already started are
+                    //  kept together, even if that goes over the limit
+                    break;
+            }
+
+            records.addLast(record);
+            if (maxBytes > 0) {
+                recordBytes.addLast(size);
+                bytes += size;
+            }
+            notEmpty.signal();
+            return true;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds a message to the queue, applying the overflow policy if the
+     *  queue is full.
+     *
+     * Unlike most queues, this does not throw an exception when a
+     *  message is discarded, as generators do not need to know.
+     *
+     * @return false if the message was discarded
+     */
+    @Override
+    public boolean add(SourceRecord record) {
+        // a replayable stream that was restarted part-way through a run
+        //  generates the run again, but the events from it that were
+        //  already delivered are not queued again
+        final StreamPosition position = StreamPosition.current();
+        if (position != null && position.isDelivered(record.sourceOffset())) {
+            return true;
+        }
+        return offer(record);
+    }
+
+    @Override
+    public SourceRecord poll() {
+        lock.lock();
+        try {
+            return records.isEmpty() ? null : removeFirst();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the next message from the queue, waiting up to the
+     *  provided time for one to be added if the queue is empty.
+     *
+     * @return null if no message was added in time
+     */
+    public SourceRecord poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long remainingNanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (records.isEmpty()) {
+                if (remainingNanos <= 0) {
+                    return null;
+                }
+                remainingNanos = notEmpty.awaitNanos(remainingNanos);
+            }
+            return removeFirst();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves up to maxItems messages from the queue into the provided
+     *  collection, without waiting.
+     *
+     * @return number of messages moved
+     */
+    public int drainTo(Collection<? super SourceRecord> target, int maxItems) {
+        lock.lock();
+        try {
+            int count = 0;
+            while (count < maxItems && !records.isEmpty()) {
+                target.add(removeFirst());
+                count++;
+            }
+            return count;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public SourceRecord peek() {
+        lock.lock();
+        try {
+            return records.peekFirst();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            records.clear();
+            recordBytes.clear();
+            bytes = 0;
+            notFull.signalAll();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns an iterator over a copy of the messages currently in the
+     *  queue. Changes to the queue are not reflected in the iterator.
+     */
+    @Override
+    public Iterator<SourceRecord> iterator() {
+        lock.lock();
+        try {
+            return new ArrayList<>(records).iterator();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the number of messages in the queue */
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return records.size();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the approximate total size in bytes of the messages in
+     *  the queue. This is only tracked if the queue has a size limit,
+     *  and is always 0 otherwise.
+     */
+    public long sizeInBytes() {
+        lock.lock();
+        try {
+            return bytes;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the number of messages that were discarded because the queue was full */
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    /** Returns true if the queue has reached any of its limits */
+    public boolean isFull() {
+        lock.lock();
+        try {
+            return isFull(0);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wraps a task that generates a stream of events so that it skips
+     *  its scheduled runs while the queue is full, if the overflow
+     *  policy is to pause the generators.
+     *
+     * Other policies are applied to individual messages, so the task
+     *  is returned unchanged.
+     *
+     * @param stream - name of the stream of events, used for logging
+     */
+    public Runnable pausable(String stream, Runnable task) {
+        if (overflowPolicy != OverflowPolicy.PAUSE) {
+            return task;
+        }
+        return new Runnable() {
+            private boolean paused = false;
+
+            @Override
+            public void run() {
+                if (isFull()) {
+                    if (!paused) {
+                        log.debug("Pausing {} events", stream);
+                        paused = true;
+                    }
+                    return;
+                }
+                if (paused) {
+                    log.debug("Resuming {} events", stream);
+                    paused = false;
+                }
+                task.run();
+            }
+        };
+    }
+
+
+    /** must be called while holding the lock */
+    private boolean isFull(long size) {
+        if (maxRecords > 0 && records.size() >= maxRecords) {
+            return true;
+        }
+        // a single message bigger than the limit is allowed into
+        //  an empty queue, otherwise it could never be added
+        return maxBytes > 0 && !records.isEmpty() && bytes + size > maxBytes;
+    }
+
+    /** must be called while holding the lock */
+    private SourceRecord removeFirst() {
+        final SourceRecord record = records.removeFirst();
+        if (maxBytes > 0) {
+            bytes -= recordBytes.removeFirst();
+        }
+        notFull.signal();
+        return record;
+    }
+
+
+    /**
+     * Returns an approximate size for a message, based on the size
+     *  of its key and value. This is cheaper than serializing the
+     *  message, and only needs to be close enough to keep the memory
+     *  used by the queue within sensible limits.
+     */
+    static long estimateSize(SourceRecord record) {
+        return RECORD_OVERHEAD_BYTES + estimateSize(record.key()) + estimateSize(record.value());
+    }
+
+    /**
+     * Returns an approximate encoded size for a key or value. Encoded
+     *  values are measured exactly, and Structs are estimated from the
+     *  sizes of their fields.
+     */
+    static long estimateSize(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        else if (value instanceof String) {
+            return ((String) value).length();
+        }
+        else if (value instanceof Struct) {
+            final Struct struct = (Struct) value;
+            long size = 0;
+            for (Field field : struct.schema().fields()) {
+                size += estimateSize(struct.get(field));
+            }
+            return size;
+        }
+        else if (value instanceof List) {
+            long size = 0;
+            for (Object item : (List<?>) value) {
+                size += estimateSize(item);
+            }
+            return size;
+        }
+        else if (value instanceof Map) {
+            long size = 0;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                size += estimateSize(entry.getKey()) + estimateSize(entry.getValue());
+            }
+            return size;
+        }
+        else if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        }
+        else if (value instanceof ByteBuffer) {
+            return ((ByteBuffer) value).remaining();
+        }
+        // numbers, booleans, timestamps
+        return 8;
+    }
+}
@@ -0,0 +1,157 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.kafka.common.config.AbstractConfig;
+import org.apache.kafka.connect.storage.OffsetStorageReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ibm.eventautomation.demos.loosehangerjeans.data.LoosehangerData;
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.Generators;
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.StreamPosition;
+
+/**
+ * Makes the scheduled streams of events replayable.
+ *
+ *  Each run of a stream is numbered, and uses random numbers seeded
+ *  from the configured seed, the task, the stream, and the number of
+ *  the run - so the events that a run generates do not depend on
+ *  which runs came before it, or on which thread it was run on. The
+ *  timestamps of the events are also based on the number of the run,
+ *  starting from a fixed epoch, rather than on the wall-clock time.
+ *
+ *  The number of the last completed run, and of the event within the
+ *  run after it, are stored in the source offsets of the stream's
+ *  events. A restarted task generates that run again, without queueing
+ *  the events that were already delivered, and carries on from there.
+ */
+public class DatagenReplay {
+
+    private static final Logger log = LoggerFactory.getLogger(DatagenReplay.class);
+
+    /** Prefix for the names of the source partitions used for replayable streams */
+    public static final String PARTITION_PREFIX = "replay.";
+
+    private final boolean enabled;
+
+    /** Seed that the random numbers for every stream are derived from */
+    private final long seed;
+
+    /** Logical time of the first run of each stream, unless one is stored in its offsets */
+    private final long epochMs;
+
+    private final DatagenTaskShard shard;
+
+
+    public DatagenReplay(AbstractConfig config) {
+        this(config.getBoolean(DatagenSourceConfig.CONFIG_BEHAVIOR_REPLAY),
+             seed(config),
+             epochMs(config),
+             new DatagenTaskShard(config));
+    }
+
+    public DatagenReplay(boolean enabled, long seed, long epochMs, DatagenTaskShard shard) {
+        this.enabled = enabled;
+        this.seed = seed;
+        this.epochMs = epochMs;
+        this.shard = shard;
+    }
+
+
+    /** The configured seed, or 0 if one has not been configured */
+    public static long seed(AbstractConfig config) {
+        final Long seed = config.getLong(DatagenSourceConfig.CONFIG_BEHAVIOR_RANDOM_SEED);
+        return seed == null ? 0L : seed;
+    }
+
+    /** The configured epoch, or the current time if one has not been configured */
+    private static long epochMs(AbstractConfig config) {
+        final Long epochMs = config.getLong(DatagenSourceConfig.CONFIG_BEHAVIOR_REPLAY_EPOCH);
+        return epochMs == null ? System.currentTimeMillis() : epochMs;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns a task to schedule for a stream of events, which runs the
+     *  provided task with the random numbers and logical time for each
+     *  run of the stream. If replaying is not enabled, the provided task
+     *  is returned unchanged.
+     *
+     * The task must not be run on more than one thread at a time.
+     *
+     * @param stream - name of the stream, which must be unique within the task
+     * @param periodMs - logical time between each run of the stream
+     * @param offsetReader - used to find the last run that was delivered, or null if there is none
+     */
+    public Runnable stream(String stream, Runnable task, long periodMs, OffsetStorageReader offsetReader) {
+        if (!enabled) {
+            return task;
+        }
+
+        final Map<String, Object> partition = LoosehangerData.partition(shard.partitionName(PARTITION_PREFIX + stream));
+        final Map<String, Object> offset = offsetReader == null ? null : offsetReader.offset(partition);
+        final Long lastCompleted = StreamPosition.completed(offset);
+        final Long lastEvent = StreamPosition.event(offset);
+        final Long lastEpochMs = StreamPosition.epoch(offset);
+
+        final AtomicLong completed = new AtomicLong(lastCompleted == null ? -1L : lastCompleted);
+        final long firstRun = completed.get() + 1;
+        final long delivered = lastEvent == null ? 0L : lastEvent;
+        final long streamEpochMs = lastEpochMs == null ? epochMs : lastEpochMs;
+        final long streamSeed = mix(mix(seed + shard.index()) + stream.hashCode());
+        log.info("Replaying {} events from run {}, after event {}", stream, firstRun, delivered);
+
+        final AtomicLong next = new AtomicLong(firstRun);
+        return () -> {
+            final long run = next.getAndIncrement();
+            final StreamPosition position = new StreamPosition(partition,
+                                                               streamEpochMs, streamEpochMs + (run * periodMs),
+                                                               completed, run,
+                                                               run == firstRun ? delivered : 0L);
+            try {
+                Generators.withRandom(random(streamSeed, run), position.with(task)).run();
+            }
+            finally {
+                position.complete();
+            }
+        };
+    }
+
+    /**
+     * Returns the random number generator for a run of a stream.
+     */
+    private static SplittableRandom random(long streamSeed, long run) {
+        return new SplittableRandom(mix(streamSeed + (run * 0x9e3779b97f4a7c15L)));
+    }
+
+    /**
+     * Scrambles the bits of a seed, so that seeds that are close to
+     *  each other give unrelated sequences of random numbers.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
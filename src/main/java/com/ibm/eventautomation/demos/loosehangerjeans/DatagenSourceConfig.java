@@ -27,15 +27,20 @@ import org.apache.kafka.common.config.ConfigDef.NonEmptyString;
 import org.apache.kafka.common.config.ConfigDef.NonNullValidator;
 import org.apache.kafka.common.config.ConfigDef.Range;
 import org.apache.kafka.common.config.ConfigDef.Type;
+import org.apache.kafka.common.config.ConfigDef.ValidString;
 import org.apache.kafka.common.config.ConfigDef.Validator;
 import org.apache.kafka.common.config.ConfigDef.Width;
 import org.apache.kafka.common.config.ConfigException;
 
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.RecordSize;
+
 public class DatagenSourceConfig {
 
     private static final String CONFIG_GROUP_FORMATS = "Formats";
     public static final String CONFIG_FORMATS_TIMESTAMPS        = "formats.timestamps";
     public static final String CONFIG_FORMATS_TIMESTAMPS_LTZ    = "formats.timestamps.ltz";
+    public static final String CONFIG_FORMATS_VALUES            = "formats.values";
+    public static final String CONFIG_FORMATS_AVRO_HEADER       = "formats.values.avro.header";
 
     private static final String CONFIG_GROUP_TOPICNAMES = "Topic names";
     public static final String CONFIG_TOPICNAME_ORDERS           = "topic.name.orders";
@@ -142,6 +147,45 @@ public class DatagenSourceConfig {
     private static final String CONFIG_GROUP_SENSORREADINGS = "Sensor readings";
     public static final String CONFIG_SENSORREADINGS_OUTLIER_RATIO = "highsensorreadings.outlier.ratio";
 
+    private static final String CONFIG_GROUP_DISTRIBUTIONS = "Distributions";
+    public static final String CONFIG_DISTRIBUTIONS_REGIONS              = "distributions.regions";
+    public static final String CONFIG_DISTRIBUTIONS_PRIORITIES           = "distributions.priorities";
+    public static final String CONFIG_DISTRIBUTIONS_WAREHOUSES           = "distributions.warehouses";
+    public static final String CONFIG_DISTRIBUTIONS_CITIES               = "distributions.cities";
+    public static final String CONFIG_DISTRIBUTIONS_CANCELLATION_REASONS = "distributions.cancellations.reasons";
+    public static final String CONFIG_DISTRIBUTIONS_RETURN_REASONS       = "distributions.returnrequests.reasons";
+    public static final String CONFIG_DISTRIBUTIONS_PRICES               = "distributions.prices";
+    public static final String CONFIG_DISTRIBUTIONS_TRANSACTION_AMOUNTS  = "distributions.transactions.amount";
+
+    private static final String CONFIG_GROUP_IDS = "IDs";
+    public static final String CONFIG_IDS_ORDERS         = "ids.orders";
+    public static final String CONFIG_IDS_STOCKMOVEMENTS = "ids.stockmovements";
+    public static final String CONFIG_IDS_BADGEINS       = "ids.badgeins";
+    public static final String CONFIG_IDS_SENSORREADINGS = "ids.sensorreadings";
+    public static final String CONFIG_IDS_CLICKEVENTS    = "ids.clickevents";
+    public static final String CONFIG_IDS_SESSIONS       = "ids.sessions";
+
+    private static final String CONFIG_GROUP_PROFILES = "Payload profiles";
+    public static final String CONFIG_PROFILES_CLICKEVENTS    = "profiles.clickevents";
+    public static final String CONFIG_PROFILES_ONLINEORDERS   = "profiles.onlineorders";
+    public static final String CONFIG_PROFILES_RETURNREQUESTS = "profiles.returnrequests";
+
+    private static final String CONFIG_GROUP_SIZES = "Record sizes";
+    public static final String CONFIG_SIZES_ORDERS          = "sizes.orders";
+    public static final String CONFIG_SIZES_CANCELLATIONS   = "sizes.cancellations";
+    public static final String CONFIG_SIZES_STOCKMOVEMENTS  = "sizes.stockmovements";
+    public static final String CONFIG_SIZES_BADGEINS        = "sizes.badgeins";
+    public static final String CONFIG_SIZES_CUSTOMERS       = "sizes.newcustomers";
+    public static final String CONFIG_SIZES_SENSORREADINGS  = "sizes.sensorreadings";
+    public static final String CONFIG_SIZES_ONLINEORDERS    = "sizes.onlineorders";
+    public static final String CONFIG_SIZES_OUTOFSTOCKS     = "sizes.outofstocks";
+    public static final String CONFIG_SIZES_RETURNREQUESTS  = "sizes.returnrequests";
+    public static final String CONFIG_SIZES_PRODUCTREVIEWS  = "sizes.productreviews";
+    public static final String CONFIG_SIZES_TRANSACTIONS    = "sizes.transactions";
+    public static final String CONFIG_SIZES_ABANDONEDORDERS = "sizes.abandonedorders";
+    public static final String CONFIG_SIZES_CLICKTRACKING   = "sizes.clicktracking";
+    public static final String CONFIG_SIZES_ENTROPY         = "sizes.entropy";
+
     private static final String CONFIG_GROUP_DELAYS = "Event delays";
     public static final String CONFIG_DELAYS_ORDERS           = "eventdelays.orders.secs.max";
     public static final String CONFIG_DELAYS_CANCELLATIONS    = "eventdelays.cancellations.secs.max";
@@ -186,10 +230,71 @@ public class DatagenSourceConfig {
 
     private static final String CONFIG_GROUP_BEHAVIOR = "Behavior";
     public static final String CONFIG_BEHAVIOR_STARTUPHISTORY = "startup.history.enabled";
+    public static final String CONFIG_BEHAVIOR_STARTUPHISTORY_DAYS = "startup.history.days";
+    public static final String CONFIG_BEHAVIOR_STARTUPHISTORY_INTERLEAVE = "startup.history.interleave";
+    public static final String CONFIG_BEHAVIOR_STARTUPHISTORY_SNAPSHOT_DIR = "startup.history.snapshot.dir";
+    public static final String CONFIG_BEHAVIOR_STARTUPBACKFILL = "startup.backfill.enabled";
+    public static final String CONFIG_BEHAVIOR_RANDOM_SEED = "random.seed";
+    public static final String CONFIG_BEHAVIOR_REPLAY = "replay.enabled";
+    public static final String CONFIG_BEHAVIOR_REPLAY_EPOCH = "replay.epoch.ms";
+
+    private static final String CONFIG_GROUP_PERFORMANCE = "Performance";
+    public static final String CONFIG_PERFORMANCE_SCHEDULER_THREADS = "scheduler.threads";
+    public static final String CONFIG_PERFORMANCE_HISTORY_THREADS   = "history.threads";
+    public static final String CONFIG_PERFORMANCE_POLL_TIMEOUT      = "poll.timeout.ms";
+    public static final String CONFIG_PERFORMANCE_POLL_MAX_RECORDS  = "poll.max.records";
+    public static final String CONFIG_PERFORMANCE_QUEUE_MAX_RECORDS = "queue.max.records";
+    public static final String CONFIG_PERFORMANCE_QUEUE_MAX_BYTES   = "queue.max.bytes";
+    public static final String CONFIG_PERFORMANCE_QUEUE_OVERFLOW_POLICY = "queue.overflow.policy";
+    public static final String CONFIG_PERFORMANCE_BACKFILL_RATE     = "backfill.records.per.second";
+    public static final String CONFIG_PERFORMANCE_OFFSETS_MODE      = "offsets.mode";
+    public static final String CONFIG_PERFORMANCE_OFFSETS_INTERVAL  = "offsets.interval.secs";
+    public static final String CONFIG_PERFORMANCE_LATENCY_HEADERS   = "latency.headers.enabled";
+
+    // set by the connector for each of the tasks it starts - not intended to be provided by users
+    public static final String CONFIG_TASK_INDEX = "task.index";
+    public static final String CONFIG_TASK_COUNT = "task.count";
+    public static final String CONFIG_TASK_SHARED_SEED = "task.shared.seed";
 
     public static final String CONFIG_GROUP_PRIORITIES = "Priorities";
     public static final String CONFIG_PRIORITIES = "priorities.priority";
 
+    /** Names of the distributions that can be used for randomly generated values */
+    private static final ValidString DISTRIBUTIONS = ValidString.in("bell", "uniform", "normal", "lognormal", "zipf");
+    private static final String DISTRIBUTION_DOC = "'bell' favours the middle of the range, 'uniform' treats every value equally, "
+        + "'normal' is a normal distribution centred on the middle of the range, 'lognormal' favours the start of the range with a long tail, "
+        + "and 'zipf' strongly favours the start of the range.";
+
+    /** Names of the formats that can be used for generated IDs */
+    private static final ValidString ID_FORMATS = ValidString.in("default", "uuidv7", "snowflake");
+    private static final String ID_FORMAT_DOC = "'default' keeps the existing format (a random UUID for most events), "
+        + "'uuidv7' uses time-ordered UUIDs, and 'snowflake' uses 64-bit numbers made from the time, the task, and a sequence number, "
+        + "which are unique across all of the connector's tasks.";
+
+    /** Names of the profiles for how much detail to generate for events */
+    private static final ValidString PAYLOAD_PROFILES = ValidString.in("minimal", "standard", "full");
+
+    /** Config for the record sizes for each topic, keyed by the config for the name of the topic */
+    public static final Map<String, String> TOPIC_SIZES = new HashMap<>();
+    static {
+        TOPIC_SIZES.put(CONFIG_TOPICNAME_ORDERS,          CONFIG_SIZES_ORDERS);
+        TOPIC_SIZES.put(CONFIG_TOPICNAME_CANCELLATIONS,   CONFIG_SIZES_CANCELLATIONS);
+        TOPIC_SIZES.put(CONFIG_TOPICNAME_STOCKMOVEMENTS,  CONFIG_SIZES_STOCKMOVEMENTS);
+        TOPIC_SIZES.put(CONFIG_TOPICNAME_BADGEINS,        CONFIG_SIZES_BADGEINS);
+        TOPIC_SIZES.put(CONFIG_TOPICNAME_CUSTOMERS,       CONFIG_SIZES_CUSTOMERS);
+        TOPIC_SIZES.put(CONFIG_TOPICNAME_SENSORREADINGS,  CONFIG_SIZES_SENSORREADINGS);
+        TOPIC_SIZES.put(CONFIG_TOPICNAME_ONLINEORDERS,    CONFIG_SIZES_ONLINEORDERS);
+        TOPIC_SIZES.put(CONFIG_TOPICNAME_OUTOFSTOCKS,     CONFIG_SIZES_OUTOFSTOCKS);
+        TOPIC_SIZES.put(CONFIG_TOPICNAME_RETURNREQUESTS,  CONFIG_SIZES_RETURNREQUESTS);
+        TOPIC_SIZES.put(CONFIG_TOPICNAME_PRODUCTREVIEWS,  CONFIG_SIZES_PRODUCTREVIEWS);
+        TOPIC_SIZES.put(CONFIG_TOPICNAME_TRANSACTIONS,    CONFIG_SIZES_TRANSACTIONS);
+        TOPIC_SIZES.put(CONFIG_TOPICNAME_ABANDONEDORDERS, CONFIG_SIZES_ABANDONEDORDERS);
+        TOPIC_SIZES.put(CONFIG_TOPICNAME_CLICKTRACKING,   CONFIG_SIZES_CLICKTRACKING);
+    }
+    private static final String RECORD_SIZE_DOC = "'none' leaves records at their natural size, 'fixed:SIZE' pads every record to the same size, "
+        + "'uniform:MIN-MAX' pads records to sizes spread evenly across the range, and 'lognormal:MIN-MAX' pads records to sizes that favour "
+        + "the start of the range with a long tail. Sizes are in bytes, up to " + RecordSize.MAX_SIZE + ".";
+
     public static final ConfigDef CONFIG_DEF = new ConfigDef()
         //
         // format to use
@@ -208,6 +313,25 @@ public class DatagenSourceConfig {
                     Importance.LOW,
                     "Format to use for timestamps with local time zone generated for events.",
                     CONFIG_GROUP_FORMATS, 1, Width.LONG, "Timestamp format with local time zone")
+        .define(CONFIG_FORMATS_VALUES,
+                    Type.STRING,
+                    "struct",
+                    ValidString.in("struct", "json", "avro"),
+                    Importance.LOW,
+                    "How the values of events are given to Kafka Connect. 'struct' gives Structs to be encoded by the value converter. "
+                        + "'json' encodes values as JSON in the connector, matching JsonConverter with schemas.enable=false, "
+                        + "and gives them to Kafka Connect as bytes, to be used with ByteArrayConverter as the value converter. "
+                        + "'avro' encodes values as Avro binary in the connector (without schema registry framing), using the "
+                        + "Avro schemas bundled with the connector in the avro/ folder, and gives them to Kafka Connect as bytes.",
+                    CONFIG_GROUP_FORMATS, 2, Width.SHORT, "Value format")
+        .define(CONFIG_FORMATS_AVRO_HEADER,
+                    Type.BOOLEAN,
+                    false,
+                    Importance.LOW,
+                    "If true, Avro-encoded events have an 'avro.schema.fingerprint' header with the 64-bit Rabin fingerprint "
+                        + "of the Avro schema for the event, to identify which of the bundled schemas to decode it with. "
+                        + "Ignored unless " + CONFIG_FORMATS_VALUES + " is 'avro'.",
+                    CONFIG_GROUP_FORMATS, 3, Width.SHORT, "Avro schema header")
         //
         // names of topics to produce messages to
         //
@@ -814,6 +938,247 @@ public class DatagenSourceConfig {
                     "Ratio of sensor readings from one particular sensor ID that will be outliers - generated outside the range of a normal sensor reading - reflecting a glitch or spike in the sensor",
                     CONFIG_GROUP_SENSORREADINGS, 1, Width.SHORT, "Sensor outliers ratio")
 
+        //
+        // how randomly generated values are spread
+        //
+        .define(CONFIG_DISTRIBUTIONS_REGIONS,
+                    Type.STRING,
+                    "bell",
+                    DISTRIBUTIONS,
+                    Importance.LOW,
+                    "How often each of the order regions is chosen, based on its position in the list. " + DISTRIBUTION_DOC,
+                    CONFIG_GROUP_DISTRIBUTIONS, 1, Width.SHORT, "Regions distribution")
+        .define(CONFIG_DISTRIBUTIONS_PRIORITIES,
+                    Type.STRING,
+                    "bell",
+                    DISTRIBUTIONS,
+                    Importance.LOW,
+                    "How often each of the order priorities is chosen, based on its position in the list. " + DISTRIBUTION_DOC,
+                    CONFIG_GROUP_DISTRIBUTIONS, 2, Width.SHORT, "Priorities distribution")
+        .define(CONFIG_DISTRIBUTIONS_WAREHOUSES,
+                    Type.STRING,
+                    "bell",
+                    DISTRIBUTIONS,
+                    Importance.LOW,
+                    "How often each of the warehouses for stock movements is chosen, based on its position in the list. " + DISTRIBUTION_DOC,
+                    CONFIG_GROUP_DISTRIBUTIONS, 3, Width.SHORT, "Warehouses distribution")
+        .define(CONFIG_DISTRIBUTIONS_CITIES,
+                    Type.STRING,
+                    "bell",
+                    DISTRIBUTIONS,
+                    Importance.LOW,
+                    "How often each of the cities for online order addresses is chosen, based on its position in the list. " + DISTRIBUTION_DOC,
+                    CONFIG_GROUP_DISTRIBUTIONS, 4, Width.SHORT, "Cities distribution")
+        .define(CONFIG_DISTRIBUTIONS_CANCELLATION_REASONS,
+                    Type.STRING,
+                    "bell",
+                    DISTRIBUTIONS,
+                    Importance.LOW,
+                    "How often each of the reasons for cancelling orders is chosen, based on its position in the list. " + DISTRIBUTION_DOC,
+                    CONFIG_GROUP_DISTRIBUTIONS, 5, Width.SHORT, "Cancellation reasons distribution")
+        .define(CONFIG_DISTRIBUTIONS_RETURN_REASONS,
+                    Type.STRING,
+                    "bell",
+                    DISTRIBUTIONS,
+                    Importance.LOW,
+                    "How often each of the reasons for returning products is chosen, based on its position in the list. " + DISTRIBUTION_DOC,
+                    CONFIG_GROUP_DISTRIBUTIONS, 6, Width.SHORT, "Return reasons distribution")
+        .define(CONFIG_DISTRIBUTIONS_PRICES,
+                    Type.STRING,
+                    "bell",
+                    DISTRIBUTIONS,
+                    Importance.LOW,
+                    "How the unit prices of orders are spread between prices.min and prices.max. " + DISTRIBUTION_DOC,
+                    CONFIG_GROUP_DISTRIBUTIONS, 7, Width.SHORT, "Prices distribution")
+        .define(CONFIG_DISTRIBUTIONS_TRANSACTION_AMOUNTS,
+                    Type.STRING,
+                    "bell",
+                    DISTRIBUTIONS,
+                    Importance.LOW,
+                    "How the transaction amounts are spread between transactions.amount.min and transactions.amount.max. " + DISTRIBUTION_DOC,
+                    CONFIG_GROUP_DISTRIBUTIONS, 8, Width.SHORT, "Transaction amounts distribution")
+
+        //
+        // format of generated IDs
+        //
+        .define(CONFIG_IDS_ORDERS,
+                    Type.STRING,
+                    "default",
+                    ID_FORMATS,
+                    Importance.LOW,
+                    "Format of the IDs for orders (and the suspicious and false-positive orders). " + ID_FORMAT_DOC,
+                    CONFIG_GROUP_IDS, 1, Width.SHORT, "Order IDs")
+        .define(CONFIG_IDS_STOCKMOVEMENTS,
+                    Type.STRING,
+                    "default",
+                    ID_FORMATS,
+                    Importance.LOW,
+                    "Format of the IDs for stock movements. " + ID_FORMAT_DOC,
+                    CONFIG_GROUP_IDS, 2, Width.SHORT, "Stock movement IDs")
+        .define(CONFIG_IDS_BADGEINS,
+                    Type.STRING,
+                    "default",
+                    ID_FORMATS,
+                    Importance.LOW,
+                    "Format of the IDs for door badge-in events. " + ID_FORMAT_DOC,
+                    CONFIG_GROUP_IDS, 3, Width.SHORT, "Badge-in IDs")
+        .define(CONFIG_IDS_SENSORREADINGS,
+                    Type.STRING,
+                    "default",
+                    ID_FORMATS,
+                    Importance.LOW,
+                    "Format of the IDs for sensor readings. " + ID_FORMAT_DOC,
+                    CONFIG_GROUP_IDS, 4, Width.SHORT, "Sensor reading IDs")
+        .define(CONFIG_IDS_CLICKEVENTS,
+                    Type.STRING,
+                    "default",
+                    ID_FORMATS,
+                    Importance.LOW,
+                    "Format of the IDs for click tracking events. " + ID_FORMAT_DOC,
+                    CONFIG_GROUP_IDS, 5, Width.SHORT, "Click event IDs")
+        .define(CONFIG_IDS_SESSIONS,
+                    Type.STRING,
+                    "default",
+                    ID_FORMATS,
+                    Importance.LOW,
+                    "Format of the IDs for online sessions, used by click tracking events. " + ID_FORMAT_DOC,
+                    CONFIG_GROUP_IDS, 6, Width.SHORT, "Session IDs")
+
+        //
+        // how much detail to generate for events with large payloads
+        //
+        .define(CONFIG_PROFILES_CLICKEVENTS,
+                    Type.STRING,
+                    "full",
+                    PAYLOAD_PROFILES,
+                    Importance.LOW,
+                    "How much detail to generate for click tracking events. 'full' generates every field. "
+                        + "'standard' leaves out the user context (device, browser, and IP address). "
+                        + "'minimal' only includes the session and event IDs, type of event, product and timestamp.",
+                    CONFIG_GROUP_PROFILES, 1, Width.SHORT, "Click event profile")
+        .define(CONFIG_PROFILES_ONLINEORDERS,
+                    Type.STRING,
+                    "full",
+                    PAYLOAD_PROFILES,
+                    Importance.LOW,
+                    "How much detail to generate for online orders. 'full' generates every field. "
+                        + "'standard' leaves out the phone numbers from the addresses. "
+                        + "'minimal' leaves out the shipping and billing addresses.",
+                    CONFIG_GROUP_PROFILES, 2, Width.SHORT, "Online order profile")
+        .define(CONFIG_PROFILES_RETURNREQUESTS,
+                    Type.STRING,
+                    "full",
+                    PAYLOAD_PROFILES,
+                    Importance.LOW,
+                    "How much detail to generate for return requests. 'full' generates every field. "
+                        + "'standard' leaves out the phone numbers from the addresses. "
+                        + "'minimal' leaves out the addresses.",
+                    CONFIG_GROUP_PROFILES, 3, Width.SHORT, "Return request profile")
+
+        //
+        // padding records out to target sizes
+        //
+        .define(CONFIG_SIZES_ORDERS,
+                    Type.STRING,
+                    "none",
+                    new ValidRecordSize(),
+                    Importance.LOW,
+                    "Target size for records on the orders topic. " + RECORD_SIZE_DOC,
+                    CONFIG_GROUP_SIZES, 1, Width.SHORT, "Orders sizes")
+        .define(CONFIG_SIZES_CANCELLATIONS,
+                    Type.STRING,
+                    "none",
+                    new ValidRecordSize(),
+                    Importance.LOW,
+                    "Target size for records on the cancellations topic. " + RECORD_SIZE_DOC,
+                    CONFIG_GROUP_SIZES, 2, Width.SHORT, "Cancellations sizes")
+        .define(CONFIG_SIZES_STOCKMOVEMENTS,
+                    Type.STRING,
+                    "none",
+                    new ValidRecordSize(),
+                    Importance.LOW,
+                    "Target size for records on the stock movements topic. " + RECORD_SIZE_DOC,
+                    CONFIG_GROUP_SIZES, 3, Width.SHORT, "Stock movements sizes")
+        .define(CONFIG_SIZES_BADGEINS,
+                    Type.STRING,
+                    "none",
+                    new ValidRecordSize(),
+                    Importance.LOW,
+                    "Target size for records on the door badge-ins topic. " + RECORD_SIZE_DOC,
+                    CONFIG_GROUP_SIZES, 4, Width.SHORT, "Door badge-ins sizes")
+        .define(CONFIG_SIZES_CUSTOMERS,
+                    Type.STRING,
+                    "none",
+                    new ValidRecordSize(),
+                    Importance.LOW,
+                    "Target size for records on the new customers topic. " + RECORD_SIZE_DOC,
+                    CONFIG_GROUP_SIZES, 5, Width.SHORT, "New customers sizes")
+        .define(CONFIG_SIZES_SENSORREADINGS,
+                    Type.STRING,
+                    "none",
+                    new ValidRecordSize(),
+                    Importance.LOW,
+                    "Target size for records on the sensor readings topic. " + RECORD_SIZE_DOC,
+                    CONFIG_GROUP_SIZES, 6, Width.SHORT, "Sensor readings sizes")
+        .define(CONFIG_SIZES_ONLINEORDERS,
+                    Type.STRING,
+                    "none",
+                    new ValidRecordSize(),
+                    Importance.LOW,
+                    "Target size for records on the online orders topic. " + RECORD_SIZE_DOC,
+                    CONFIG_GROUP_SIZES, 7, Width.SHORT, "Online orders sizes")
+        .define(CONFIG_SIZES_OUTOFSTOCKS,
+                    Type.STRING,
+                    "none",
+                    new ValidRecordSize(),
+                    Importance.LOW,
+                    "Target size for records on the out-of-stocks topic. " + RECORD_SIZE_DOC,
+                    CONFIG_GROUP_SIZES, 8, Width.SHORT, "Out-of-stocks sizes")
+        .define(CONFIG_SIZES_RETURNREQUESTS,
+                    Type.STRING,
+                    "none",
+                    new ValidRecordSize(),
+                    Importance.LOW,
+                    "Target size for records on the return requests topic. " + RECORD_SIZE_DOC,
+                    CONFIG_GROUP_SIZES, 9, Width.SHORT, "Return requests sizes")
+        .define(CONFIG_SIZES_PRODUCTREVIEWS,
+                    Type.STRING,
+                    "none",
+                    new ValidRecordSize(),
+                    Importance.LOW,
+                    "Target size for records on the product reviews topic. " + RECORD_SIZE_DOC,
+                    CONFIG_GROUP_SIZES, 10, Width.SHORT, "Product reviews sizes")
+        .define(CONFIG_SIZES_TRANSACTIONS,
+                    Type.STRING,
+                    "none",
+                    new ValidRecordSize(),
+                    Importance.LOW,
+                    "Target size for records on the transactions topic. " + RECORD_SIZE_DOC,
+                    CONFIG_GROUP_SIZES, 11, Width.SHORT, "Transactions sizes")
+        .define(CONFIG_SIZES_ABANDONEDORDERS,
+                    Type.STRING,
+                    "none",
+                    new ValidRecordSize(),
+                    Importance.LOW,
+                    "Target size for records on the abandoned orders topic. " + RECORD_SIZE_DOC,
+                    CONFIG_GROUP_SIZES, 12, Width.SHORT, "Abandoned orders sizes")
+        .define(CONFIG_SIZES_CLICKTRACKING,
+                    Type.STRING,
+                    "none",
+                    new ValidRecordSize(),
+                    Importance.LOW,
+                    "Target size for records on the click tracking events topic. " + RECORD_SIZE_DOC,
+                    CONFIG_GROUP_SIZES, 13, Width.SHORT, "Click tracking events sizes")
+        .define(CONFIG_SIZES_ENTROPY,
+                    Type.DOUBLE,
+                    1.0,
+                    Range.between(0.0, 1.0),
+                    Importance.LOW,
+                    "How random the padding added to records is, between 0 and 1. 1 makes the padding random text, which "
+                        + "compression codecs can do little with. Lower values make more of the padding repeat earlier text, "
+                        + "so that it compresses better, until 0 repeats the same short run of text.",
+                    CONFIG_GROUP_SIZES, 14, Width.SHORT, "Padding entropy")
+
         //
         // how long to delay messages before producing them to Kafka
         //
@@ -1083,8 +1448,174 @@ public class DatagenSourceConfig {
                     Type.BOOLEAN,
                     false, // disabled by default
                     Importance.LOW,
-                    "If enabled, the connector will generate a week of historical events on startup for the first time.",
-                    CONFIG_GROUP_BEHAVIOR, 1, Width.SHORT, "Generate history on first start");
+                    "If enabled, the connector will generate historical events on startup for the first time.",
+                    CONFIG_GROUP_BEHAVIOR, 1, Width.SHORT, "Generate history on first start")
+        .define(CONFIG_BEHAVIOR_STARTUPHISTORY_DAYS,
+                    Type.INT,
+                    7,   // one week
+                    Range.between(1, 365),
+                    Importance.LOW,
+                    "Number of days of historical events to generate on startup for the first time.",
+                    CONFIG_GROUP_BEHAVIOR, 2, Width.SHORT, "Days of history")
+        .define(CONFIG_BEHAVIOR_STARTUPHISTORY_INTERLEAVE,
+                    Type.STRING,
+                    "history-first",
+                    ValidString.in("history-first", "live-first", "shared"),
+                    Importance.LOW,
+                    "How historical events generated on startup are delivered alongside new events, which start being generated straight away. "
+                        + "'history-first' delivers all of the historical events before any new events, 'live-first' delivers new events as soon as they are generated, "
+                        + "and 'shared' uses up to half of each batch of events for historical events.",
+                    CONFIG_GROUP_BEHAVIOR, 3, Width.SHORT, "Delivering history alongside new events")
+        .define(CONFIG_BEHAVIOR_STARTUPHISTORY_SNAPSHOT_DIR,
+                    Type.STRING,
+                    "",  // no snapshots by default
+                    Importance.LOW,
+                    "Directory for snapshots of the historical events generated on startup. If set, historical events are saved to a snapshot file "
+                        + "identified by the connector config, and later first starts with the same config replay the snapshot instead of generating "
+                        + "the events again, with the timestamps moved forward to the current time.",
+                    CONFIG_GROUP_BEHAVIOR, 4, Width.LONG, "History snapshot directory")
+        .define(CONFIG_BEHAVIOR_STARTUPBACKFILL,
+                    Type.BOOLEAN,
+                    false, // disabled by default
+                    Importance.LOW,
+                    "If enabled, the connector will generate the events that it missed while it was not running when it restarts, "
+                        + "continuing from the timestamps stored in its offsets, up to the number of days of history.",
+                    CONFIG_GROUP_BEHAVIOR, 5, Width.SHORT, "Fill gaps on restart")
+        .define(CONFIG_BEHAVIOR_RANDOM_SEED,
+                    Type.LONG,
+                    null, // different events every time by default
+                    Importance.LOW,
+                    "Seed for the random numbers used to generate events. If set, the connector generates the same "
+                        + "events each time it is started with the same config, apart from their timestamps and unique IDs.",
+                    CONFIG_GROUP_BEHAVIOR, 6, Width.MEDIUM, "Random seed")
+        .define(CONFIG_BEHAVIOR_REPLAY,
+                    Type.BOOLEAN,
+                    false,
+                    Importance.LOW,
+                    "If true, each stream of new events can be replayed exactly. Every run of a stream uses random "
+                        + "numbers derived from " + CONFIG_BEHAVIOR_RANDOM_SEED + " (0 if not set) and the number of "
+                        + "the run, and timestamps based on the number of the run rather than the current time. The "
+                        + "number of the last completed run, and of the event within the run after it, are stored in the "
+                        + "offsets, so that a restarted task generates that run again without the events already delivered. "
+                        + "Every event has an offset, whatever "
+                        + CONFIG_PERFORMANCE_OFFSETS_MODE + " is set to.",
+                    CONFIG_GROUP_BEHAVIOR, 7, Width.SHORT, "Replayable streams")
+        .define(CONFIG_BEHAVIOR_REPLAY_EPOCH,
+                    Type.LONG,
+                    null, // the time that the task first started
+                    Importance.LOW,
+                    "Timestamp (in milliseconds since the epoch) of the first run of each stream when " + CONFIG_BEHAVIOR_REPLAY
+                        + " is true. If not set, the time that the task first started is used, and kept in the offsets.",
+                    CONFIG_GROUP_BEHAVIOR, 8, Width.MEDIUM, "Replay epoch")
+        //
+        // Resources used to generate events
+        //
+        .define(CONFIG_PERFORMANCE_SCHEDULER_THREADS,
+                    Type.INT,
+                    0,   // one thread for each available processor
+                    Range.atLeast(0),
+                    Importance.LOW,
+                    "Number of threads that each task uses to generate events. If 0, one thread is used for each processor available to the worker.",
+                    CONFIG_GROUP_PERFORMANCE, 1, Width.SHORT, "Generator threads")
+        .define(CONFIG_PERFORMANCE_HISTORY_THREADS,
+                    Type.INT,
+                    0,   // one thread for each available processor
+                    Range.atLeast(0),
+                    Importance.LOW,
+                    "Number of threads that each task uses to generate historical events on startup. If 0, one thread is used for each processor available to the worker.",
+                    CONFIG_GROUP_PERFORMANCE, 2, Width.SHORT, "History generator threads")
+        .define(CONFIG_PERFORMANCE_POLL_TIMEOUT,
+                    Type.INT,
+                    1_000, // 1 second
+                    Range.between(0, 60_000),
+                    Importance.LOW,
+                    "Maximum time, in milliseconds, to wait for events to be generated when Kafka Connect asks for events to produce.",
+                    CONFIG_GROUP_PERFORMANCE, 3, Width.SHORT, "Poll timeout")
+        .define(CONFIG_PERFORMANCE_POLL_MAX_RECORDS,
+                    Type.INT,
+                    10_000,
+                    Range.atLeast(1),
+                    Importance.LOW,
+                    "Maximum number of events to return each time that Kafka Connect asks for events to produce.",
+                    CONFIG_GROUP_PERFORMANCE, 4, Width.SHORT, "Max events per poll")
+        .define(CONFIG_PERFORMANCE_QUEUE_MAX_RECORDS,
+                    Type.INT,
+                    100_000,
+                    Range.atLeast(0),
+                    Importance.LOW,
+                    "Maximum number of generated events to hold in memory while waiting for them to be produced to Kafka. If 0, the number of events is not limited.",
+                    CONFIG_GROUP_PERFORMANCE, 5, Width.SHORT, "Max queued events")
+        .define(CONFIG_PERFORMANCE_QUEUE_MAX_BYTES,
+                    Type.LONG,
+                    0L,  // no limit
+                    Range.atLeast(0),
+                    Importance.LOW,
+                    "Approximate maximum total size, in bytes, of generated events to hold in memory while waiting for them to be produced to Kafka. If 0, the size is not limited.",
+                    CONFIG_GROUP_PERFORMANCE, 6, Width.SHORT, "Max queued bytes")
+        .define(CONFIG_PERFORMANCE_QUEUE_OVERFLOW_POLICY,
+                    Type.STRING,
+                    "block",
+                    ValidString.in("block", "drop-oldest", "drop-newest", "pause"),
+                    Importance.LOW,
+                    "What to do when events are generated faster than they can be produced to Kafka, and the maximum number or size of queued events is reached. "
+                        + "'block' makes generators wait until there is room, 'drop-oldest' discards the oldest queued event, "
+                        + "'drop-newest' discards the new event, and 'pause' skips generating each stream of events until there is room.",
+                    CONFIG_GROUP_PERFORMANCE, 7, Width.SHORT, "Queue overflow policy")
+        .define(CONFIG_PERFORMANCE_BACKFILL_RATE,
+                    Type.INT,
+                    10_000,
+                    Range.atLeast(0),
+                    Importance.LOW,
+                    "Maximum number of missed events per second that each task generates when filling gaps on restart. If 0, there is no limit.",
+                    CONFIG_GROUP_PERFORMANCE, 8, Width.SHORT, "Max backfill rate")
+        .define(CONFIG_PERFORMANCE_OFFSETS_MODE,
+                    Type.STRING,
+                    "record",
+                    ValidString.in("record", "periodic", "heartbeat"),
+                    Importance.LOW,
+                    "Which events carry a source offset, which the connector uses when it restarts to find out if it has run before and when it stopped. "
+                        + "'record' gives every event an offset, 'periodic' gives an event from each stream an offset at most once per offsets.interval.secs, "
+                        + "and 'heartbeat' gives an event an offset in a single heartbeat partition at most once per offsets.interval.secs. "
+                        + "With 'periodic' or 'heartbeat', filling the gap on restart can repeat up to offsets.interval.secs of events.",
+                    CONFIG_GROUP_PERFORMANCE, 9, Width.SHORT, "Offsets mode")
+        .define(CONFIG_PERFORMANCE_OFFSETS_INTERVAL,
+                    Type.INT,
+                    60,
+                    Range.atLeast(1),
+                    Importance.LOW,
+                    "Minimum time, in seconds, between events with a source offset, when offsets.mode is 'periodic' or 'heartbeat'.",
+                    CONFIG_GROUP_PERFORMANCE, 10, Width.SHORT, "Offsets interval")
+        .define(CONFIG_PERFORMANCE_LATENCY_HEADERS,
+                    Type.BOOLEAN,
+                    false,
+                    Importance.LOW,
+                    "If true, every event has headers for measuring the latency between generating it and consuming it: "
+                        + "'latency.task' (the index of the task), 'latency.sequence' (a sequence number for the events delivered "
+                        + "by the task, starting at 1), 'latency.generated.ms' (the wall-clock time the event was generated) and "
+                        + "'latency.polled.ms' (the wall-clock time the event was handed to Kafka Connect).",
+                    CONFIG_GROUP_PERFORMANCE, 11, Width.SHORT, "Latency headers")
+        //
+        // Sharing the workload between multiple tasks
+        //
+        .defineInternal(CONFIG_TASK_INDEX,
+                    Type.INT,
+                    0,   // the first (or only) task
+                    Range.atLeast(0),
+                    Importance.LOW,
+                    "Position of the task in the list of tasks that share the workload. Set by the connector.")
+        .defineInternal(CONFIG_TASK_COUNT,
+                    Type.INT,
+                    1,   // a single task generates all events
+                    Range.atLeast(1),
+                    Importance.LOW,
+                    "Number of tasks that share the workload. Set by the connector.")
+        .defineInternal(CONFIG_TASK_SHARED_SEED,
+                    Type.LONG,
+                    null, // chosen by the connector
+                    null,
+                    Importance.LOW,
+                    "Seed for random choices that every task needs to agree on, such as which products have "
+                        + "a size issue. Set by the connector.");
 
 
     private static class ValidTermsList implements Validator {
@@ -1108,6 +1639,21 @@ public class DatagenSourceConfig {
         }
     }
 
+    private static class ValidRecordSize implements Validator {
+        @Override
+        public void ensureValid(final String name, final Object value) {
+            if (value == null) {
+                throw new ConfigException(name, value, "must not be null");
+            }
+            RecordSize.fromConfig(name, (String) value);
+        }
+
+        @Override
+        public String toString() {
+            return "none, fixed:SIZE, uniform:MIN-MAX or lognormal:MIN-MAX";
+        }
+    }
+
     private static class ValidRegionToCountriesMap implements Validator {
         @Override
         public void ensureValid(final String name, final Object value) {
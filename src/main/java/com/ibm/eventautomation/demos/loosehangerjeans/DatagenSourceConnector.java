@@ -16,9 +16,11 @@
 package com.ibm.eventautomation.demos.loosehangerjeans;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.kafka.common.config.AbstractConfig;
 import org.apache.kafka.common.config.ConfigDef;
 import org.apache.kafka.connect.connector.Task;
 import org.apache.kafka.connect.source.SourceConnector;
@@ -33,6 +35,30 @@ public class DatagenSourceConnector extends SourceConnector {
 
     private Map<String, String> configProps = null;
 
+    /**
+     * Timings that control how frequently events are generated. When
+     *  running with multiple tasks, these are shared between the tasks
+     *  so that the combined rate matches the configured timing.
+     *
+     * (The clicktracking timing is not included, as it controls the
+     *  interval between events within a single user session, which is
+     *  always generated by a single task.)
+     */
+    private static final List<String> SHARED_TIMINGS = List.of(
+        DatagenSourceConfig.CONFIG_TIMES_ORDERS,
+        DatagenSourceConfig.CONFIG_TIMES_FALSEPOSITIVES,
+        DatagenSourceConfig.CONFIG_TIMES_SUSPICIOUSORDERS,
+        DatagenSourceConfig.CONFIG_TIMES_STOCKMOVEMENTS,
+        DatagenSourceConfig.CONFIG_TIMES_BADGEINS,
+        DatagenSourceConfig.CONFIG_TIMES_NEWCUSTOMERS,
+        DatagenSourceConfig.CONFIG_TIMES_SENSORREADINGS,
+        DatagenSourceConfig.CONFIG_TIMES_HIGHSENSORREADINGS,
+        DatagenSourceConfig.CONFIG_TIMES_ONLINEORDERS,
+        DatagenSourceConfig.CONFIG_TIMES_RETURNREQUESTS,
+        DatagenSourceConfig.CONFIG_TIMES_PRODUCTREVIEWS,
+        DatagenSourceConfig.CONFIG_TIMES_TRANSACTIONS
+    );
+
     @Override
     public ConfigDef config() {
         return DatagenSourceConfig.CONFIG_DEF;
@@ -45,12 +71,27 @@ public class DatagenSourceConnector extends SourceConnector {
 
     @Override
     public List<Map<String, String>> taskConfigs(int maxTasks) {
+        AbstractConfig config = new AbstractConfig(DatagenSourceConfig.CONFIG_DEF, configProps);
+
+        List<Map<String, String>> taskConfigs = new ArrayList<>(maxTasks);
+        for (int taskIndex = 0; taskIndex < maxTasks; taskIndex++) {
+            Map<String, String> taskProps = new HashMap<>(configProps);
+            taskProps.put(DatagenSourceConfig.CONFIG_TASK_INDEX, Integer.toString(taskIndex));
+            taskProps.put(DatagenSourceConfig.CONFIG_TASK_COUNT, Integer.toString(maxTasks));
+            taskProps.put(DatagenSourceConfig.CONFIG_TASK_SHARED_SEED, Long.toString(DatagenTaskShard.sharedSeed(config)));
+
+            // each task generates a share of the events, so it
+            //  needs to wait proportionally longer between them
+            for (String timing : SHARED_TIMINGS) {
+                long taskInterval = (long) config.getInt(timing) * maxTasks;
+                taskProps.put(timing, Long.toString(Math.min(taskInterval, Integer.MAX_VALUE)));
+            }
+
+            taskConfigs.add(taskProps);
+        }
         if (maxTasks > 1) {
-            log.error("Only one task is supported. Ignoring tasks.max which is set to {}", maxTasks);
+            log.info("Sharing the workload between {} tasks", maxTasks);
         }
-
-        List<Map<String, String>> taskConfigs = new ArrayList<>(1);
-        taskConfigs.add(configProps);
         return taskConfigs;
     }
 
@@ -16,16 +16,25 @@
 package com.ibm.eventautomation.demos.loosehangerjeans;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
-import java.util.Timer;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
 
 import com.ibm.eventautomation.demos.loosehangerjeans.data.Product;
-import com.ibm.eventautomation.demos.loosehangerjeans.generators.ProductGenerator;
 import com.ibm.eventautomation.demos.loosehangerjeans.generators.ProductReviewGenerator;
+import com.ibm.eventautomation.demos.loosehangerjeans.history.HistoryProgress;
+import com.ibm.eventautomation.demos.loosehangerjeans.history.HistoryRecord;
+import com.ibm.eventautomation.demos.loosehangerjeans.history.HistoryWarmup;
+import com.ibm.eventautomation.demos.loosehangerjeans.history.HistoryWarmup.InterleavePolicy;
+import com.ibm.eventautomation.demos.loosehangerjeans.history.RateLimitedIterator;
 import com.ibm.eventautomation.demos.loosehangerjeans.tasks.BadgeInTask;
+import com.ibm.eventautomation.demos.loosehangerjeans.tasks.DatagenScheduler;
 import com.ibm.eventautomation.demos.loosehangerjeans.tasks.FalsePositivesTask;
 import com.ibm.eventautomation.demos.loosehangerjeans.tasks.HighSensorReadingTask;
 import com.ibm.eventautomation.demos.loosehangerjeans.tasks.NewCustomerTask;
@@ -36,7 +45,9 @@ import com.ibm.eventautomation.demos.loosehangerjeans.tasks.ReturnRequestsTask;
 import com.ibm.eventautomation.demos.loosehangerjeans.tasks.SensorReadingTask;
 import com.ibm.eventautomation.demos.loosehangerjeans.tasks.StockMovementsTask;
 import com.ibm.eventautomation.demos.loosehangerjeans.tasks.SuspiciousOrdersTask;
+import com.ibm.eventautomation.demos.loosehangerjeans.tasks.ThreadPoolScheduler;
 import com.ibm.eventautomation.demos.loosehangerjeans.tasks.TransactionTask;
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.Generators;
 
 import org.apache.kafka.common.config.AbstractConfig;
 import org.apache.kafka.connect.source.SourceRecord;
@@ -55,7 +66,10 @@ public class DatagenSourceTask extends SourceTask {
     private CancellationGenerator cancellationGenerator;
 
     /** Schedules the random event generators */
-    private final Timer generateTimer = new Timer();
+    private DatagenScheduler scheduler;
+
+    /** Makes the scheduled streams of events replayable, if enabled */
+    private DatagenReplay replay;
 
     /**
      * Queue of messages waiting to be delivered to Kafka.
@@ -66,83 +80,217 @@ public class DatagenSourceTask extends SourceTask {
      *  When the scheduled timers fire to generate randomly created
      *  messages, they will add messages to this queue.
      */
-    private final Queue<SourceRecord> queue = new ConcurrentLinkedQueue<>();
+    private DatagenQueue queue;
+
+    /** Maximum time (in milliseconds) that poll() waits for messages */
+    private long pollTimeoutMs;
+
+    /** Maximum number of messages that poll() returns at once */
+    private int pollMaxRecords;
 
+    /** Decides which messages returned by poll() carry a source offset */
+    private DatagenOffsets offsets;
+
+    /** Encodes the values of messages returned by poll(), if needed */
+    private DatagenValueFormat valueFormat;
+
+    /** Pads messages returned by poll() out to their target sizes, if needed */
+    private DatagenPadding padding;
+
+    /** Adds headers for measuring latency to messages returned by poll(), if needed */
+    private DatagenLatencyHeaders latencyHeaders;
+
+    /**
+     * List of messages returned by poll(), which is reused each time.
+     *
+     *  Kafka Connect has finished with the messages from one call to
+     *  poll() before it calls poll() again, so the same list can be
+     *  refilled rather than allocating a new one each time.
+     */
+    private ArrayList<SourceRecord> currentRecords;
+
+    /**
+     * Generates historical events in the background, or null if
+     *  there are no historical events waiting to be delivered.
+     */
+    private HistoryWarmup history;
+
+    /** How historical events share the batches returned by poll() with new messages */
+    private InterleavePolicy interleavePolicy;
+
+    /** How often to check for historical events while waiting for new messages */
+    private static final long INTERLEAVE_WAIT_MS = 10;
+
+    /** Generates historical events in parallel, or null if there are none */
+    private ForkJoinPool historyExecutor;
 
 
     @Override
     public void start(Map<String, String> props) {
         log.info("Starting task {}", props);
 
-        // optionally, the connector can generate a week of historical events
+        // optionally, the connector can generate days of historical events
         //  when starting for the first time
         AbstractConfig config = new AbstractConfig(DatagenSourceConfig.CONFIG_DEF, props);
-        if (config.getBoolean(DatagenSourceConfig.CONFIG_BEHAVIOR_STARTUPHISTORY)) {
-            DatagenHistoryGenerator historyGenerator = new DatagenHistoryGenerator();
-            if (historyGenerator.startingForFirstTime(context)) {
-                queue.addAll(historyGenerator.generateHistory(config));
-                log.info("Historical events generated");
+
+        pollTimeoutMs = config.getInt(DatagenSourceConfig.CONFIG_PERFORMANCE_POLL_TIMEOUT);
+        pollMaxRecords = config.getInt(DatagenSourceConfig.CONFIG_PERFORMANCE_POLL_MAX_RECORDS);
+        currentRecords = new ArrayList<>(Math.min(pollMaxRecords, 1024));
+
+        queue = new DatagenQueue(config);
+        offsets = new DatagenOffsets(config);
+        valueFormat = new DatagenValueFormat(config);
+        padding = new DatagenPadding(config);
+        latencyHeaders = new DatagenLatencyHeaders(config);
+
+        // the task has its own sequence of random numbers, which the
+        //  history and each of the scheduled generators are given their
+        //  own sequences from
+        Generators.withRandom(taskRandom(config), () -> startGenerating(config)).run();
+    }
+
+    /**
+     * Starts generating historical events (if needed), and schedules
+     *  the tasks that generate new events.
+     */
+    private void startGenerating(AbstractConfig config) {
+        replay = new DatagenReplay(config);
+
+        DatagenHistoryGenerator historyGenerator = new DatagenHistoryGenerator();
+        final boolean historyEnabled = config.getBoolean(DatagenSourceConfig.CONFIG_BEHAVIOR_STARTUPHISTORY);
+        final HistoryProgress historyProgress = historyEnabled ? historyGenerator.historyProgress(context, config) : null;
+        if (historyEnabled && historyGenerator.startingForFirstTime(context, config)) {
+            final HistoryProgress progress = historyGenerator.newHistoryProgress(config);
+            startHistory(config, executor -> historyGenerator.history(config, executor, progress), progress::toSourceRecord);
+        }
+        else if (historyProgress != null && !historyProgress.isComplete()) {
+            // the task stopped before all of the history was delivered,
+            //  so carry on from the last historical event delivered
+            final HistoryProgress progress = historyGenerator.resumeProgress(config, historyProgress);
+            startHistory(config, executor -> historyGenerator.history(config, executor, progress), progress::toSourceRecord);
+        }
+        else if (config.getBoolean(DatagenSourceConfig.CONFIG_BEHAVIOR_STARTUPBACKFILL) && !replay.isEnabled()) {
+            // optionally, the connector can fill the gap since it last ran
+            //  with the events that it would have generated in that time
+            //  (replayable streams instead carry on from their last run)
+            final Map<String, Long> lastTimestamps = historyGenerator.lastTimestamps(context, config);
+            if (!lastTimestamps.isEmpty()) {
+                final int rate = config.getInt(DatagenSourceConfig.CONFIG_PERFORMANCE_BACKFILL_RATE);
+                startHistory(config, executor -> {
+                    final Iterator<HistoryRecord> missed = historyGenerator.backfill(config, executor, lastTimestamps);
+                    return rate > 0 ? new RateLimitedIterator<>(missed, rate) : missed;
+                }, HistoryRecord::toSourceRecord);
             }
         }
 
-        // schedule the timer tasks that will periodically generate
+        // schedule the tasks that will periodically generate
         //  new messages and add them to the queue
+        int threads = getThreads(config, DatagenSourceConfig.CONFIG_PERFORMANCE_SCHEDULER_THREADS);
+        scheduler = new ThreadPoolScheduler(threads, "loosehangerjeans-" + new DatagenTaskShard(config).index());
 
         orderGenerator = new OrderGenerator(config);
         cancellationGenerator = new CancellationGenerator(config);
 
         // new customer registrations
-        NewCustomerTask newCustomers = new NewCustomerTask(config, orderGenerator, queue, generateTimer);
-        generateTimer.scheduleAtFixedRate(newCustomers, 0, config.getInt(DatagenSourceConfig.CONFIG_TIMES_NEWCUSTOMERS));
+        NewCustomerTask newCustomers = new NewCustomerTask(config, orderGenerator, queue, scheduler);
+        scheduleStream("newCustomers", newCustomers, config.getInt(DatagenSourceConfig.CONFIG_TIMES_NEWCUSTOMERS));
 
         // "normal" orders
         //  create regular, innocent, "normal" orders and cancellations
-        NormalOrdersTask normalOrders = new NormalOrdersTask(config, orderGenerator, cancellationGenerator, queue, generateTimer);
-        generateTimer.scheduleAtFixedRate(normalOrders, 0, config.getInt(DatagenSourceConfig.CONFIG_TIMES_ORDERS));
+        NormalOrdersTask normalOrders = new NormalOrdersTask(config, orderGenerator, cancellationGenerator, queue, scheduler);
+        scheduleStream("normalOrders", normalOrders, config.getInt(DatagenSourceConfig.CONFIG_TIMES_ORDERS));
 
         // innocent but unusual-looking orders
         //  create orders and cancellations that are innocent
-        FalsePositivesTask falsePositiveOrders = new FalsePositivesTask(config, orderGenerator, cancellationGenerator, queue, generateTimer);
-        generateTimer.scheduleAtFixedRate(falsePositiveOrders, 0, config.getInt(DatagenSourceConfig.CONFIG_TIMES_FALSEPOSITIVES));
+        FalsePositivesTask falsePositiveOrders = new FalsePositivesTask(config, orderGenerator, cancellationGenerator, queue, scheduler);
+        scheduleStream("falsePositiveOrders", falsePositiveOrders, config.getInt(DatagenSourceConfig.CONFIG_TIMES_FALSEPOSITIVES));
 
         // suspicious, possibly fraudulent orders
-        SuspiciousOrdersTask suspiciousOrders = new SuspiciousOrdersTask(config, orderGenerator, cancellationGenerator, queue, generateTimer);
-        generateTimer.scheduleAtFixedRate(suspiciousOrders, 0, config.getInt(DatagenSourceConfig.CONFIG_TIMES_SUSPICIOUSORDERS));
+        SuspiciousOrdersTask suspiciousOrders = new SuspiciousOrdersTask(config, orderGenerator, cancellationGenerator, queue, scheduler);
+        scheduleStream("suspiciousOrders", suspiciousOrders, config.getInt(DatagenSourceConfig.CONFIG_TIMES_SUSPICIOUSORDERS));
 
         // stock movements
         StockMovementsTask stockMovements = new StockMovementsTask(config, queue);
-        generateTimer.scheduleAtFixedRate(stockMovements, 0, config.getInt(DatagenSourceConfig.CONFIG_TIMES_STOCKMOVEMENTS));
+        scheduleStream("stockMovements", stockMovements, config.getInt(DatagenSourceConfig.CONFIG_TIMES_STOCKMOVEMENTS));
 
         // door-badge events
         BadgeInTask badgeIns = new BadgeInTask(config, queue);
-        generateTimer.scheduleAtFixedRate(badgeIns, 0, config.getInt(DatagenSourceConfig.CONFIG_TIMES_BADGEINS));
+        scheduleStream("badgeIns", badgeIns, config.getInt(DatagenSourceConfig.CONFIG_TIMES_BADGEINS));
 
         // IoT sensor readings
         SensorReadingTask sensorReadings = new SensorReadingTask(config, queue);
-        generateTimer.scheduleAtFixedRate(sensorReadings, 0, config.getInt(DatagenSourceConfig.CONFIG_TIMES_SENSORREADINGS));
+        scheduleStream("sensorReadings", sensorReadings, config.getInt(DatagenSourceConfig.CONFIG_TIMES_SENSORREADINGS));
         HighSensorReadingTask highSensorReadings = new HighSensorReadingTask(config, queue);
-        generateTimer.scheduleAtFixedRate(highSensorReadings, 0, config.getInt(DatagenSourceConfig.CONFIG_TIMES_HIGHSENSORREADINGS));
+        scheduleStream("highSensorReadings", highSensorReadings, config.getInt(DatagenSourceConfig.CONFIG_TIMES_HIGHSENSORREADINGS));
 
         // online orders
         // create online activity events, including clickstreams, orders, and abandoned cart notifications
-        OnlineActivityTask onlineOrders = new OnlineActivityTask(config, queue, generateTimer);
-        generateTimer.scheduleAtFixedRate(onlineOrders, 0, config.getInt(DatagenSourceConfig.CONFIG_TIMES_ONLINEORDERS));
+        OnlineActivityTask onlineOrders = new OnlineActivityTask(config, queue, scheduler);
+        scheduleStream("onlineOrders", onlineOrders, config.getInt(DatagenSourceConfig.CONFIG_TIMES_ONLINEORDERS));
 
         // return requests
         // create return requests and product reviews
-        Map<String, Product> productsWithSizeIssue = new ProductGenerator(config).generate(config.getInt(DatagenSourceConfig.CONFIG_PRODUCTREVIEWS_PRODUCTS_WITH_SIZE_ISSUE_COUNT));
+        Map<String, Product> productsWithSizeIssue = ProductReviewGenerator.productsWithSizeIssue(config);
         log.info("Products that have a size issue: {}", productsWithSizeIssue.values());
         ProductReviewGenerator productReviewGenerator = new ProductReviewGenerator(config, productsWithSizeIssue);
-        ReturnRequestsTask returnRequests = new ReturnRequestsTask(config, queue, generateTimer, productReviewGenerator);
-        generateTimer.scheduleAtFixedRate(returnRequests, 0, config.getInt(DatagenSourceConfig.CONFIG_TIMES_RETURNREQUESTS));
+        ReturnRequestsTask returnRequests = new ReturnRequestsTask(config, queue, scheduler, productReviewGenerator);
+        scheduleStream("returnRequests", returnRequests, config.getInt(DatagenSourceConfig.CONFIG_TIMES_RETURNREQUESTS));
 
         // product reviews
         ProductReviewsTask productReviews = new ProductReviewsTask(config, queue, productReviewGenerator);
-        generateTimer.scheduleAtFixedRate(productReviews, 0, config.getInt(DatagenSourceConfig.CONFIG_TIMES_PRODUCTREVIEWS));
+        scheduleStream("productReviews", productReviews, config.getInt(DatagenSourceConfig.CONFIG_TIMES_PRODUCTREVIEWS));
 
         // transactions
         TransactionTask transactions = new TransactionTask(config, queue);
-        generateTimer.scheduleAtFixedRate(transactions, 0, config.getInt(DatagenSourceConfig.CONFIG_TIMES_TRANSACTIONS));
+        scheduleStream("transactions", transactions, config.getInt(DatagenSourceConfig.CONFIG_TIMES_TRANSACTIONS));
+    }
+
+
+    /**
+     * Schedules a task that generates a stream of new events, which is
+     *  paused while the queue is full (if that is the overflow policy),
+     *  and is replayable (if enabled).
+     *
+     * @param stream - name of the stream of events, used in log messages and offsets
+     */
+    private void scheduleStream(String stream, Runnable task, int periodMs) {
+        final Runnable replayable = replay.stream(stream, task, periodMs, context == null ? null : context.offsetStorageReader());
+        scheduler.scheduleAtFixedRate(queue.pausable(stream, replayable), periodMs);
+    }
+
+    /**
+     * Returns the random number generator for this task, seeded from
+     *  the configured seed if there is one. Each task uses a different
+     *  seed, so that tasks do not generate the same events as each other.
+     *
+     * Replayable streams always use a seed, so that the generators they
+     *  use are set up the same way each time.
+     */
+    private static RandomGenerator taskRandom(AbstractConfig config) {
+        final Long seed = config.getLong(DatagenSourceConfig.CONFIG_BEHAVIOR_RANDOM_SEED);
+        if (seed == null && !config.getBoolean(DatagenSourceConfig.CONFIG_BEHAVIOR_REPLAY)) {
+            return new SplittableRandom();
+        }
+        return new SplittableRandom(DatagenReplay.seed(config) + new DatagenTaskShard(config).index());
+    }
+
+    /**
+     * Starts generating historical events in the background, so that
+     *  new messages can be generated straight away.
+     *
+     * @param events - returns the historical events, generated using the provided executor
+     * @param converter - creates the SourceRecord to deliver for each event
+     */
+    private void startHistory(AbstractConfig config, Function<Executor, Iterator<HistoryRecord>> events, Function<HistoryRecord, SourceRecord> converter) {
+        final ForkJoinPool executor = new ForkJoinPool(getThreads(config, DatagenSourceConfig.CONFIG_PERFORMANCE_HISTORY_THREADS));
+        historyExecutor = executor;
+        interleavePolicy = InterleavePolicy.fromConfig(config.getString(DatagenSourceConfig.CONFIG_BEHAVIOR_STARTUPHISTORY_INTERLEAVE));
+
+        history = new HistoryWarmup(() -> events.apply(executor),
+                                    converter,
+                                    pollMaxRecords * 2,
+                                    "loosehangerjeans-" + new DatagenTaskShard(config).index() + "-history");
+        history.start();
     }
 
 
@@ -150,25 +298,143 @@ public class DatagenSourceTask extends SourceTask {
     public void stop() {
         log.info("Stopping task");
 
-        generateTimer.cancel();
-        queue.clear();
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        if (queue != null) {
+            queue.clear();
+        }
+        stopHistory();
     }
 
 
     @Override
-    public List<SourceRecord> poll() {
-        List<SourceRecord> currentRecords = new ArrayList<>();
+    public List<SourceRecord> poll() throws InterruptedException {
+        currentRecords.clear();
+
+        if (history != null && history.isComplete()) {
+            log.info("Historical events generated");
+            stopHistory();
+        }
+
+        // take as many messages as are ready, up to the limit
+        fillBatch(currentRecords, pollMaxRecords, queue, history, interleavePolicy);
 
-        SourceRecord nextItem = queue.poll();
-        while (nextItem != null) {
+        if (currentRecords.isEmpty()) {
+            // wait for the next message to be generated
+            SourceRecord nextItem = waitForNext(queue, history, interleavePolicy, pollTimeoutMs);
+            if (nextItem == null) {
+                // nothing was generated in time
+                return currentRecords;
+            }
             currentRecords.add(nextItem);
 
-            nextItem = queue.poll();
+            fillBatch(currentRecords, pollMaxRecords, queue, history, interleavePolicy);
+        }
+
+        // the latency headers are added first, as the other changes
+        //  make copies of the records without their generated time
+        final long polledMs = System.currentTimeMillis();
+        for (int i = 0; i < currentRecords.size(); i++) {
+            final SourceRecord record = latencyHeaders.apply(currentRecords.get(i), polledMs);
+            currentRecords.set(i, offsets.apply(padding.apply(valueFormat.apply(record))));
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Returning {} events, {} left in queue ({} bytes), {} dropped",
+                      currentRecords.size(), queue.size(), queue.sizeInBytes(), queue.droppedCount());
         }
         return currentRecords;
     }
 
 
+    /**
+     * Adds messages that are ready to be delivered to the batch, up to
+     *  the limit, sharing the batch between historical events and new
+     *  messages as set by the interleave policy.
+     *
+     * @param history - historical events being delivered, or null if there are none
+     */
+    static void fillBatch(List<SourceRecord> batch, int maxRecords, DatagenQueue queue, HistoryWarmup history, InterleavePolicy interleavePolicy) {
+        if (history == null) {
+            queue.drainTo(batch, maxRecords - batch.size());
+            return;
+        }
+
+        switch (interleavePolicy) {
+            case HISTORY_FIRST:
+                // new messages wait in the queue until the history is complete
+                history.drainTo(batch, maxRecords - batch.size());
+                break;
+            case LIVE_FIRST:
+                queue.drainTo(batch, maxRecords - batch.size());
+                history.drainTo(batch, maxRecords - batch.size());
+                break;
+            case SHARED:
+                history.drainTo(batch, (maxRecords - batch.size() + 1) / 2);
+                queue.drainTo(batch, maxRecords - batch.size());
+                history.drainTo(batch, maxRecords - batch.size());
+                break;
+        }
+    }
+
+    /**
+     * Waits up to the poll timeout for the next message that can be
+     *  delivered.
+     *
+     * @param history - historical events being delivered, or null if there are none
+     * @return null if no message was ready in time
+     */
+    static SourceRecord waitForNext(DatagenQueue queue, HistoryWarmup history, InterleavePolicy interleavePolicy, long pollTimeoutMs) throws InterruptedException {
+        if (history == null) {
+            return queue.poll(pollTimeoutMs, TimeUnit.MILLISECONDS);
+        }
+        if (interleavePolicy == InterleavePolicy.HISTORY_FIRST) {
+            return history.poll(pollTimeoutMs, TimeUnit.MILLISECONDS);
+        }
+
+        // either historical events or new messages can be delivered,
+        //  so check both regularly until the timeout
+        long remainingMs = pollTimeoutMs;
+        do {
+            SourceRecord nextItem = queue.poll();
+            if (nextItem == null) {
+                nextItem = history.poll(Math.min(remainingMs, INTERLEAVE_WAIT_MS), TimeUnit.MILLISECONDS);
+            }
+            if (nextItem != null) {
+                return nextItem;
+            }
+            remainingMs -= INTERLEAVE_WAIT_MS;
+        }
+        while (remainingMs > 0);
+
+        return null;
+    }
+
+    private void stopHistory() {
+        if (history != null) {
+            history.stop();
+            history = null;
+        }
+        if (historyExecutor != null) {
+            historyExecutor.shutdownNow();
+            historyExecutor = null;
+        }
+    }
+
+    /**
+     * Returns the number of threads to use from the provided config
+     *  option, where 0 means one thread for each available processor.
+     */
+    private static int getThreads(AbstractConfig config, String configName) {
+        int threads = config.getInt(configName);
+        if (threads == 0) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+        return threads;
+    }
+
+
     @Override
     public String version() {
         return DatagenSourceConnector.VERSION;
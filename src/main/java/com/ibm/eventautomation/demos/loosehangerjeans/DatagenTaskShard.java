@@ -0,0 +1,143 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import org.apache.kafka.common.config.AbstractConfig;
+
+/**
+ * Identifies the share of the overall workload that a single task
+ *  is responsible for, when the connector is running with more than
+ *  one task.
+ *
+ * The connector splits the configured event rates between its tasks
+ *  (see {@link DatagenSourceConnector#taskConfigs(int)}). Each task
+ *  uses this to keep the identifiers and the source partitions that
+ *  it generates separate from the ones generated by the other tasks.
+ */
+public class DatagenTaskShard {
+
+    /**
+     * Seed for shared random choices when no random seed is configured,
+     *  chosen once so that every task config created by the connector
+     *  has the same one.
+     */
+    private static final long UNSEEDED_SHARED_SEED = new SplittableRandom().nextLong();
+
+    /** Radix used to encode the task index in generated keys. */
+    private static final int KEY_PREFIX_RADIX = 36;
+
+    /** Position of this task, from 0 to (count - 1) */
+    private final int index;
+
+    /** Total number of tasks sharing the workload */
+    private final int count;
+
+    /** Prefix that keeps random keys generated by this task unique */
+    private final String keyPrefix;
+
+
+    public DatagenTaskShard(AbstractConfig config) {
+        this(config.getInt(DatagenSourceConfig.CONFIG_TASK_INDEX),
+             config.getInt(DatagenSourceConfig.CONFIG_TASK_COUNT));
+    }
+
+    public DatagenTaskShard(int index, int count) {
+        if (index < 0 || index >= count) {
+            throw new IllegalArgumentException("Task index " + index + " is not valid for " + count + " tasks");
+        }
+        this.index = index;
+        this.count = count;
+
+        if (count == 1) {
+            this.keyPrefix = "";
+        }
+        else {
+            final int width = Integer.toString(count - 1, KEY_PREFIX_RADIX).length();
+            final String encodedIndex = Integer.toString(index, KEY_PREFIX_RADIX);
+            this.keyPrefix = "0".repeat(width - encodedIndex.length()) + encodedIndex;
+        }
+    }
+
+
+    public int index() {
+        return index;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Returns the name to use for the source partition of events
+     *  from the provided origin.
+     *
+     * The first task keeps the original partition names, so that
+     *  offsets stored by a connector that was previously running
+     *  with a single task are still recognised.
+     */
+    public String partitionName(String origin) {
+        if (index == 0) {
+            return origin;
+        }
+        return origin + "-" + index;
+    }
+
+    /**
+     * Returns a prefix that is unique to this task, to be used at the
+     *  start of randomly-generated keys to guarantee that they cannot
+     *  collide with keys generated by other tasks.
+     *
+     * Returns an empty string when running with a single task, so that
+     *  keys keep their existing format.
+     *
+     * The prefix only uses lower-case letters and digits.
+     */
+    public String keyPrefix() {
+        return keyPrefix;
+    }
+
+    /**
+     * Returns the seed for random choices that every task needs to agree
+     *  on, for the connector to pass to its tasks. This is the configured
+     *  random seed if there is one.
+     */
+    public static long sharedSeed(AbstractConfig config) {
+        final boolean seeded = config.getLong(DatagenSourceConfig.CONFIG_BEHAVIOR_RANDOM_SEED) != null ||
+                               config.getBoolean(DatagenSourceConfig.CONFIG_BEHAVIOR_REPLAY);
+        return seeded ? DatagenReplay.seed(config) : UNSEEDED_SHARED_SEED;
+    }
+
+    /**
+     * Returns random numbers that are the same in every task, for making
+     *  random choices that every task needs to agree on - such as which
+     *  products have a size issue.
+     */
+    public static RandomGenerator sharedRandom(AbstractConfig config) {
+        final Long seed = config.getLong(DatagenSourceConfig.CONFIG_TASK_SHARED_SEED);
+        return new SplittableRandom(seed == null ? sharedSeed(config) : seed);
+    }
+
+    /**
+     * Returns true if the item at the provided position in a keyspace
+     *  that is shared between all of the tasks belongs to this task.
+     */
+    public boolean owns(int position) {
+        return position % count == index;
+    }
+}
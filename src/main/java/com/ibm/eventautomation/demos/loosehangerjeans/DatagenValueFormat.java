@@ -0,0 +1,139 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.kafka.common.config.AbstractConfig;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.header.ConnectHeaders;
+import org.apache.kafka.connect.header.Headers;
+import org.apache.kafka.connect.source.SourceRecord;
+
+import com.ibm.eventautomation.demos.loosehangerjeans.data.SharedHeaders;
+import com.ibm.eventautomation.demos.loosehangerjeans.formats.AvroEncoder;
+import com.ibm.eventautomation.demos.loosehangerjeans.formats.JsonEncoder;
+
+/**
+ * Decides how the values of records are given to Kafka Connect.
+ *
+ *  By default, values are Structs, which the converter configured for
+ *  the connector turns into bytes. Alternatively, values can be encoded
+ *  by the connector, and given to Kafka Connect as bytes (to be used
+ *  with ByteArrayConverter) so that the converter has nothing to do.
+ *
+ *  This is only used by the thread that calls poll(), which is the same
+ *  thread that Kafka Connect runs the converter on, so the encoders can
+ *  reuse their buffers.
+ */
+public class DatagenValueFormat {
+
+    /**
+     * How values are given to Kafka Connect.
+     */
+    public enum ValueFormat {
+        /** Structs, for the converter to encode */
+        STRUCT,
+        /** JSON bytes, matching JsonConverter with schemas.enable=false */
+        JSON,
+        /** Avro binary, using the Avro schemas bundled with the connector */
+        AVRO;
+
+        /** Returns the format identified by a config value, such as "json" */
+        public static ValueFormat fromConfig(String value) {
+            return valueOf(value.toUpperCase());
+        }
+    }
+
+    /** Name of the header identifying the Avro schema for an event */
+    public static final String AVRO_FINGERPRINT_HEADER = "avro.schema.fingerprint";
+
+    private final ValueFormat format;
+
+    private final JsonEncoder json;
+    private final AvroEncoder avro;
+
+    /** Set if Avro-encoded events should have the fingerprint header */
+    private final boolean avroHeader;
+
+    /**
+     * Headers for events that have no other headers, for each Avro schema
+     *  fingerprint. These are shared between records, so cannot be modified.
+     */
+    private final Map<Long, ConnectHeaders> fingerprintHeaders = new HashMap<>();
+
+
+    public DatagenValueFormat(AbstractConfig config) {
+        this(ValueFormat.fromConfig(config.getString(DatagenSourceConfig.CONFIG_FORMATS_VALUES)),
+             config.getBoolean(DatagenSourceConfig.CONFIG_FORMATS_AVRO_HEADER));
+    }
+
+    public DatagenValueFormat(ValueFormat format) {
+        this(format, false);
+    }
+
+    public DatagenValueFormat(ValueFormat format, boolean avroHeader) {
+        this.format = format;
+        this.json = format == ValueFormat.JSON ? new JsonEncoder() : null;
+        this.avro = format == ValueFormat.AVRO ? new AvroEncoder() : null;
+        this.avroHeader = avroHeader;
+    }
+
+
+    /**
+     * Returns the record to deliver: either the provided record, or a
+     *  copy of it with an encoded value.
+     */
+    public SourceRecord apply(SourceRecord record) {
+        if (format == ValueFormat.STRUCT || record.valueSchema() == null) {
+            return record;
+        }
+
+        final byte[] value;
+        Headers headers = record.headers();
+        if (format == ValueFormat.JSON) {
+            value = json.encode(record.valueSchema(), record.value());
+        }
+        else {
+            value = avro.encode(record.valueSchema(), record.value());
+            if (avroHeader) {
+                headers = withFingerprint(headers, avro.fingerprint(record.valueSchema()));
+            }
+        }
+
+        return new SourceRecord(record.sourcePartition(), record.sourceOffset(),
+                                record.topic(), record.kafkaPartition(),
+                                record.keySchema(), record.key(),
+                                Schema.BYTES_SCHEMA, value,
+                                record.timestamp(),
+                                headers);
+    }
+
+
+    /**
+     * Returns the headers with the Avro fingerprint header added. Headers
+     *  can be shared between records, so a copy is added to rather than
+     *  the provided headers.
+     */
+    private Headers withFingerprint(Headers headers, long fingerprint) {
+        if (headers.isEmpty()) {
+            return fingerprintHeaders.computeIfAbsent(fingerprint,
+                fp -> new SharedHeaders(new ConnectHeaders().addLong(AVRO_FINGERPRINT_HEADER, fp)));
+        }
+        return headers.duplicate().addLong(AVRO_FINGERPRINT_HEADER, fingerprint);
+    }
+}
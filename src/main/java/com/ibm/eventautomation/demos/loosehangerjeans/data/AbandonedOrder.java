@@ -24,7 +24,8 @@ import org.apache.kafka.connect.source.SourceRecord;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.List;
-import java.util.UUID;
+
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.IdGenerator;
 
 /**
  * Represents an event for an abandoned order.
@@ -49,14 +50,14 @@ public class AbandonedOrder extends OnlineActivityData {
     private final List<String> products;
 
     /** Schema for the events - all fields are required. */
-    private static final Schema SCHEMA = SchemaBuilder.struct()
-            .name("abandonedorder")
+    private static final StructWriter<AbandonedOrder> WRITER = StructWriter.<AbandonedOrder>struct("abandonedorder")
             .version(1)
-            .field("cartid",        Schema.STRING_SCHEMA)
-            .field("customer",      OnlineCustomer.SCHEMA)
-            .field("products",      SchemaBuilder.array(Schema.STRING_SCHEMA).build())
-            .field("abandonedtime", Schema.STRING_SCHEMA)
+            .field("cartid",        Schema.STRING_SCHEMA,                              order -> order.cartId)
+            .field("customer",      OnlineCustomer.SCHEMA,                             order -> order.customer.toStruct(false))
+            .field("products",      SchemaBuilder.array(Schema.STRING_SCHEMA).build(), order -> order.products)
+            .field("abandonedtime", Schema.STRING_SCHEMA,                              order -> order.abandonedTimestamp)
             .build();
+    private static final Schema SCHEMA = WRITER.schema();
 
     /** Creates an {@link AbandonedOrder} using the provided details */
     public AbandonedOrder(String cartId, String abandonedTimestamp, OnlineCustomer customer, List<String> products, ZonedDateTime recordTimestamp) {
@@ -71,7 +72,7 @@ public class AbandonedOrder extends OnlineActivityData {
      * The ID is generated randomly.
      * */
     public AbandonedOrder(String abandonedTimestamp, OnlineCustomer customer, List<String> products, ZonedDateTime recordTimestamp) {
-        this(UUID.randomUUID().toString(), abandonedTimestamp, customer, products, recordTimestamp);
+        this(IdGenerator.randomUUID(), abandonedTimestamp, customer, products, recordTimestamp);
     }
 
     public String getAbandonedTimestamp() {
@@ -106,12 +107,7 @@ public class AbandonedOrder extends OnlineActivityData {
 
     @Override
     protected Struct getValue() {
-        Struct struct = new Struct(SCHEMA);
-        struct.put(SCHEMA.field("cartid"),      cartId);
-        struct.put(SCHEMA.field("customer"),    customer.toStruct(false));
-        struct.put(SCHEMA.field("products"),    products);
-        struct.put(SCHEMA.field("abandonedtime"), abandonedTimestamp);
-        return struct;
+        return WRITER.write(this);
     }
 
     @Override
@@ -48,17 +48,23 @@ public class Address {
     /** A list of phone numbers. */
     private final List<String> phones;
 
+    /**
+     * Struct for the address, created the first time that it is needed.
+     *  (Orders that ship to their billing address use it twice.)
+     */
+    private volatile Struct struct;
+
     /** Schema for the events - the number, street and phones fields are optional. */
-    public static final Schema SCHEMA = SchemaBuilder.struct()
-            .name("address")
+    private static final StructWriter<Address> WRITER = StructWriter.<Address>struct("address")
             .version(1)
-            .field("number",    Schema.OPTIONAL_INT32_SCHEMA)
-            .field("street",    Schema.OPTIONAL_STRING_SCHEMA)
-            .field("city",      Schema.STRING_SCHEMA)
-            .field("zipcode",   Schema.STRING_SCHEMA)
-            .field("country",   Country.SCHEMA)
-            .field("phones",    SchemaBuilder.array(Schema.STRING_SCHEMA).optional().build())
+            .field("number",    Schema.OPTIONAL_INT32_SCHEMA,                                 address -> address.number)
+            .field("street",    Schema.OPTIONAL_STRING_SCHEMA,                                address -> address.street)
+            .field("city",      Schema.STRING_SCHEMA,                                         address -> address.city)
+            .field("zipcode",   Schema.STRING_SCHEMA,                                         address -> address.zipcode)
+            .field("country",   Country.SCHEMA,                                               address -> address.country.toStruct())
+            .field("phones",    SchemaBuilder.array(Schema.STRING_SCHEMA).optional().build(), address -> address.phones)
             .build();
+    public static final Schema SCHEMA = WRITER.schema();
 
     /** Creates an address using the provided details. */
     public Address(Integer number, String street, String city, String zipcode, Country country, List<String> phones) {
@@ -108,6 +114,7 @@ public class Address {
 
     public void setCity(String city) {
         this.city = city;
+        this.struct = null;
     }
 
     public String getZipcode() {
@@ -124,14 +131,12 @@ public class Address {
 
     /** Creates a structure record to use in a Kafka event. */
     public Struct toStruct() {
-        Struct struct = new Struct(SCHEMA);
-        struct.put(SCHEMA.field("number"),      number);
-        struct.put(SCHEMA.field("street"),      street);
-        struct.put(SCHEMA.field("city"),        city);
-        struct.put(SCHEMA.field("zipcode"),     zipcode);
-        struct.put(SCHEMA.field("country"),     country.toStruct());
-        struct.put(SCHEMA.field("phones"),      phones);
-        return struct;
+        Struct result = struct;
+        if (result == null) {
+            result = WRITER.write(this);
+            struct = result;
+        }
+        return result;
     }
 
     @Override
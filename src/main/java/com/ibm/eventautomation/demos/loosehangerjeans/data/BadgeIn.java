@@ -18,7 +18,6 @@ package com.ibm.eventautomation.demos.loosehangerjeans.data;
 import java.time.ZonedDateTime;
 
 import org.apache.kafka.connect.data.Schema;
-import org.apache.kafka.connect.data.SchemaBuilder;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.connect.source.SourceRecord;
 
@@ -43,14 +42,14 @@ public class BadgeIn extends LoosehangerData {
     private String employee;
 
     /** schema for the events - all fields are required */
-    private static final Schema SCHEMA = SchemaBuilder.struct()
-        .name("badgein")
+    private static final StructWriter<BadgeIn> WRITER = StructWriter.<BadgeIn>struct("badgein")
         .version(1)
-            .field("recordid",  Schema.STRING_SCHEMA)
-            .field("door",      Schema.STRING_SCHEMA)
-            .field("employee",  Schema.STRING_SCHEMA)
-            .field("badgetime", Schema.STRING_SCHEMA)
+            .field("recordid",  Schema.STRING_SCHEMA, badgein -> badgein.recordId)
+            .field("door",      Schema.STRING_SCHEMA, badgein -> badgein.doorLocation)
+            .field("employee",  Schema.STRING_SCHEMA, badgein -> badgein.employee)
+            .field("badgetime", Schema.STRING_SCHEMA, badgein -> badgein.timestamp)
         .build();
+    private static final Schema SCHEMA = WRITER.schema();
 
     public BadgeIn(String id, String timestamp, String door, String employee, ZonedDateTime recordTimestamp) {
         super(recordTimestamp);
@@ -77,12 +76,7 @@ public class BadgeIn extends LoosehangerData {
 
     @Override
     protected Struct getValue() {
-        Struct struct = new Struct(SCHEMA);
-        struct.put(SCHEMA.field("recordid"),  recordId);
-        struct.put(SCHEMA.field("door"),      doorLocation);
-        struct.put(SCHEMA.field("employee"),  employee);
-        struct.put(SCHEMA.field("badgetime"), timestamp);
-        return struct;
+        return WRITER.write(this);
     }
 
 
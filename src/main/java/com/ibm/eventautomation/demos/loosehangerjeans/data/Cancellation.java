@@ -16,12 +16,12 @@
 package com.ibm.eventautomation.demos.loosehangerjeans.data;
 
 import java.time.ZonedDateTime;
-import java.util.UUID;
 
 import org.apache.kafka.connect.data.Schema;
-import org.apache.kafka.connect.data.SchemaBuilder;
 import org.apache.kafka.connect.data.Struct;
 
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.IdGenerator;
+
 /**
  * Represents an event capturing a customer cancelling an order.
  */
@@ -40,19 +40,19 @@ public class Cancellation extends LoosehangerData {
     private String reason;
 
     /** schema for the events - all fields are required */
-    private static final Schema SCHEMA = SchemaBuilder.struct()
-        .name("cancellation")
+    private static final StructWriter<Cancellation> WRITER = StructWriter.<Cancellation>struct("cancellation")
         .version(1)
-            .field("id",         Schema.STRING_SCHEMA)
-            .field("orderid",    Schema.STRING_SCHEMA)
-            .field("canceltime", Schema.STRING_SCHEMA)
-            .field("reason",     Schema.STRING_SCHEMA)
+            .field("id",         Schema.STRING_SCHEMA, cancellation -> cancellation.id)
+            .field("orderid",    Schema.STRING_SCHEMA, cancellation -> cancellation.order.getId())
+            .field("canceltime", Schema.STRING_SCHEMA, cancellation -> cancellation.timestamp)
+            .field("reason",     Schema.STRING_SCHEMA, cancellation -> cancellation.reason)
         .build();
+    private static final Schema SCHEMA = WRITER.schema();
 
     public Cancellation(Order order, String reason, String timestamp, ZonedDateTime recordTimestamp) {
         super(recordTimestamp);
 
-        this.id = UUID.randomUUID().toString();
+        this.id = IdGenerator.randomUUID();
         this.order = order;
         this.reason = reason;
         this.timestamp = timestamp;
@@ -70,12 +70,7 @@ public class Cancellation extends LoosehangerData {
 
     @Override
     protected Struct getValue() {
-        Struct struct = new Struct(SCHEMA);
-        struct.put(SCHEMA.field("id"),         id);
-        struct.put(SCHEMA.field("orderid"),    order.getId());
-        struct.put(SCHEMA.field("canceltime"), timestamp);
-        struct.put(SCHEMA.field("reason"),     reason);
-        return struct;
+        return WRITER.write(this);
     }
 
     @Override
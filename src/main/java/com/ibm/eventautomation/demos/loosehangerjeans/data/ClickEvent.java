@@ -19,10 +19,9 @@ import java.net.URL;
 import java.time.ZonedDateTime;
 
 import org.apache.kafka.connect.data.Schema;
-import org.apache.kafka.connect.data.SchemaBuilder;
 import org.apache.kafka.connect.data.Struct;
 
-import com.ibm.eventautomation.demos.loosehangerjeans.utils.Generators;
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.IdGenerator;
 
 /**
  * Record of a single user action on the Loosehanger website.
@@ -43,7 +42,7 @@ public class ClickEvent extends OnlineActivityData {
     /** Logged in user that has performed some online activity. Can be null if user is not logged in. */
     private final OnlineCustomer customer;
 
-    /** Context for the user, such as their device and IP address. */
+    /** Context for the user, such as their device and IP address. Null unless the event has the full profile. */
     private final UserContext context;
 
     /** URL for the page that was the origin of the online activity. */
@@ -58,57 +57,89 @@ public class ClickEvent extends OnlineActivityData {
     /** String representation of the timestamp for the event */
     private final String timestamp;
 
-    /** Schema for the events */
-    private static final Schema SCHEMA = SchemaBuilder.struct()
-        .name("clickstream")
+    /** Creates the Struct values for the profile that the event was generated with */
+    private final StructWriter<ClickEvent> writer;
+
+    /** Schema for the events with every field */
+    private static final StructWriter<ClickEvent> WRITER = StructWriter.<ClickEvent>struct("clickstream")
         .version(1)
-        .field("sessionid", Schema.STRING_SCHEMA)
-        .field("eventid",   Schema.STRING_SCHEMA)
-        .field("type",      Schema.STRING_SCHEMA)
-        .field("context",   UserContext.SCHEMA)
-        .field("referrer",  Schema.OPTIONAL_STRING_SCHEMA)
-        .field("customer",  OnlineCustomer.OPTIONAL_SCHEMA)
-        .field("url",       Schema.STRING_SCHEMA)
-        .field("product",   Schema.OPTIONAL_STRING_SCHEMA)
-        .field("timestamp", Schema.STRING_SCHEMA)
+        .field("sessionid", Schema.STRING_SCHEMA,           event -> event.sessionId)
+        .field("eventid",   Schema.STRING_SCHEMA,           event -> event.eventId)
+        .field("type",      Schema.STRING_SCHEMA,           event -> event.type.name())
+        .field("context",   UserContext.SCHEMA,             event -> event.context.toStruct())
+        .field("referrer",  Schema.OPTIONAL_STRING_SCHEMA,  event -> event.referrer == null ? null : event.referrer.toString())
+        .field("customer",  OnlineCustomer.OPTIONAL_SCHEMA, event -> event.customer == null ? null : event.customer.toStruct(true))
+        .field("url",       Schema.STRING_SCHEMA,           event -> event.url)
+        .field("product",   Schema.OPTIONAL_STRING_SCHEMA,  event -> event.product)
+        .field("timestamp", Schema.STRING_SCHEMA,           event -> event.timestamp)
         .build();
 
+    /** Schema for the events without the user context */
+    private static final StructWriter<ClickEvent> STANDARD_WRITER = StructWriter.<ClickEvent>struct("clickstream_standard")
+        .version(1)
+        .field("sessionid", Schema.STRING_SCHEMA,           event -> event.sessionId)
+        .field("eventid",   Schema.STRING_SCHEMA,           event -> event.eventId)
+        .field("type",      Schema.STRING_SCHEMA,           event -> event.type.name())
+        .field("referrer",  Schema.OPTIONAL_STRING_SCHEMA,  event -> event.referrer == null ? null : event.referrer.toString())
+        .field("customer",  OnlineCustomer.OPTIONAL_SCHEMA, event -> event.customer == null ? null : event.customer.toStruct(true))
+        .field("url",       Schema.STRING_SCHEMA,           event -> event.url)
+        .field("product",   Schema.OPTIONAL_STRING_SCHEMA,  event -> event.product)
+        .field("timestamp", Schema.STRING_SCHEMA,           event -> event.timestamp)
+        .build();
 
-    public ClickEvent(ClickEventType type, String timestamp, ZonedDateTime recordTimestamp, String sessionId, UserContext context, OnlineCustomer customer, String url, String product) {
+    /** Schema for the events with only the IDs, type of event, and product */
+    private static final StructWriter<ClickEvent> MINIMAL_WRITER = StructWriter.<ClickEvent>struct("clickstream_minimal")
+        .version(1)
+        .field("sessionid", Schema.STRING_SCHEMA,           event -> event.sessionId)
+        .field("eventid",   Schema.STRING_SCHEMA,           event -> event.eventId)
+        .field("type",      Schema.STRING_SCHEMA,           event -> event.type.name())
+        .field("product",   Schema.OPTIONAL_STRING_SCHEMA,  event -> event.product)
+        .field("timestamp", Schema.STRING_SCHEMA,           event -> event.timestamp)
+        .build();
+
+
+    /**
+     * Creates a click event. The user context is only needed for the
+     *  full profile, and the referrer is ignored for the minimal profile.
+     */
+    public ClickEvent(PayloadProfile profile, ClickEventType type, String timestamp, ZonedDateTime recordTimestamp, String sessionId, String eventId, UserContext context, OnlineCustomer customer, String url, String product, URL referrer) {
         super(recordTimestamp);
+        this.writer = writer(profile);
         this.type = type;
         this.sessionId = sessionId;
-        this.eventId = Generators.randomString(VALID_EVENTID_CHARS, 12);
+        this.eventId = eventId;
         this.timestamp = timestamp;
         this.context = context;
         this.customer = customer;
         this.url = url;
         this.product = product;
-        this.referrer = null;
-    }
-    public ClickEvent(ClickEventType type, String timestamp, ZonedDateTime recordTimestamp, String sessionId, UserContext context, OnlineCustomer customer, String url, URL referrer) {
-        super(recordTimestamp);
-        this.type = type;
-        this.sessionId = sessionId;
-        this.eventId = Generators.randomString(VALID_EVENTID_CHARS, 12);
-        this.timestamp = timestamp;
-        this.context = context;
-        this.customer = customer;
-        this.url = url;
-        this.product = null;
         this.referrer = referrer;
     }
-    public ClickEvent(ClickEventType type, String timestamp, ZonedDateTime recordTimestamp, String sessionId, UserContext context, OnlineCustomer customer, String url) {
-        super(recordTimestamp);
-        this.type = type;
-        this.sessionId = sessionId;
-        this.eventId = Generators.randomString(VALID_EVENTID_CHARS, 12);
-        this.timestamp = timestamp;
-        this.context = context;
-        this.customer = customer;
-        this.url = url;
-        this.product = null;
-        this.referrer = null;
+    public ClickEvent(PayloadProfile profile, ClickEventType type, String timestamp, ZonedDateTime recordTimestamp, String sessionId, String eventId, UserContext context, OnlineCustomer customer, String url, String product) {
+        this(profile, type, timestamp, recordTimestamp, sessionId, eventId, context, customer, url, product, null);
+    }
+    public ClickEvent(PayloadProfile profile, ClickEventType type, String timestamp, ZonedDateTime recordTimestamp, String sessionId, String eventId, UserContext context, OnlineCustomer customer, String url, URL referrer) {
+        this(profile, type, timestamp, recordTimestamp, sessionId, eventId, context, customer, url, null, referrer);
+    }
+    public ClickEvent(PayloadProfile profile, ClickEventType type, String timestamp, ZonedDateTime recordTimestamp, String sessionId, String eventId, UserContext context, OnlineCustomer customer, String url) {
+        this(profile, type, timestamp, recordTimestamp, sessionId, eventId, context, customer, url, null, null);
+    }
+
+
+    private static StructWriter<ClickEvent> writer(PayloadProfile profile) {
+        switch (profile) {
+            case MINIMAL:
+                return MINIMAL_WRITER;
+            case STANDARD:
+                return STANDARD_WRITER;
+            default:
+                return WRITER;
+        }
+    }
+
+    /** Returns the schema for click events generated with the provided profile */
+    public static Schema schema(PayloadProfile profile) {
+        return writer(profile).schema();
     }
 
     @Override
@@ -118,33 +149,18 @@ public class ClickEvent extends OnlineActivityData {
 
     @Override
     protected Schema getValueSchema() {
-        return SCHEMA;
+        return writer.schema();
     }
 
     @Override
     protected Struct getValue() {
-        final Struct struct = new Struct(SCHEMA);
-        struct.put(SCHEMA.field("sessionid"), sessionId);
-        struct.put(SCHEMA.field("eventid"), eventId);
-        struct.put(SCHEMA.field("type"), type.name());
-        struct.put(SCHEMA.field("context"), context.toStruct());
-        if (referrer != null) {
-            struct.put(SCHEMA.field("referrer"), referrer.toString());
-        }
-        if (customer != null) {
-            struct.put(SCHEMA.field("customer"), customer.toStruct(true));
-        }
-        struct.put(SCHEMA.field("url"), url);
-        if (product != null) {
-            struct.put(SCHEMA.field("product"), product);
-        }
-        struct.put(SCHEMA.field("timestamp"), timestamp);
-        return struct;
+        return writer.write(this);
     }
 
     @Override
     public String toString() {
-        return "ClickEvent[type=" + type + ", sessionid=" + sessionId + ", eventid=" + eventId + ", url=" + url + ", context=" + context +
+        return "ClickEvent[type=" + type + ", sessionid=" + sessionId + ", eventid=" + eventId + ", url=" + url +
+            (context == null ? "" : ", context=" + context) +
             (product == null ? "" : ", product=" + product) +
             (customer == null ? "" : ", customer=" + customer) +
             "]";
@@ -154,6 +170,11 @@ public class ClickEvent extends OnlineActivityData {
 
     private static final String VALID_EVENTID_CHARS = "abcdefghijklmnopqrstuvwxyz0123456789";
 
+    /** Returns a random string of the characters used in event IDs in the default format */
+    public static String randomEventId(int length) {
+        return IdGenerator.randomString(VALID_EVENTID_CHARS, length);
+    }
+
     public enum ClickEventType {
         PAGE_VIEW,
         SEARCH,
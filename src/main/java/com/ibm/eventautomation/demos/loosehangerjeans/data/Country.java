@@ -16,7 +16,6 @@
 package com.ibm.eventautomation.demos.loosehangerjeans.data;
 
 import org.apache.kafka.connect.data.Schema;
-import org.apache.kafka.connect.data.SchemaBuilder;
 import org.apache.kafka.connect.data.Struct;
 
 /**
@@ -30,13 +29,19 @@ public class Country {
     /** The name of the country */
     private final String name;
 
+    /**
+     * Struct for the country. The same country is used for every
+     *  address, so this is only created once.
+     */
+    private volatile Struct struct;
+
     /** Schema for the events - all fields are required. */
-    public static final Schema SCHEMA = SchemaBuilder.struct()
-            .name("country")
+    private static final StructWriter<Country> WRITER = StructWriter.<Country>struct("country")
             .version(1)
-            .field("code",      Schema.STRING_SCHEMA)
-            .field("name",      Schema.STRING_SCHEMA)
+            .field("code",      Schema.STRING_SCHEMA, country -> country.code)
+            .field("name",      Schema.STRING_SCHEMA, country -> country.name)
             .build();
+    public static final Schema SCHEMA = WRITER.schema();
 
     /** Creates a country object using the provided code and name. */
     public Country(String code, String name) {
@@ -46,10 +51,12 @@ public class Country {
 
     /** Creates a structure record to use in a Kafka event. */
     public Struct toStruct() {
-        Struct struct = new Struct(SCHEMA);
-        struct.put(SCHEMA.field("code"),    code);
-        struct.put(SCHEMA.field("name"),    name);
-        return struct;
+        Struct result = struct;
+        if (result == null) {
+            result = WRITER.write(this);
+            struct = result;
+        }
+        return result;
     }
 
     public String getCode() {
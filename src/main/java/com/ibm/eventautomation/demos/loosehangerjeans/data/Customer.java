@@ -15,10 +15,11 @@
  */
 package com.ibm.eventautomation.demos.loosehangerjeans.data;
 
-import java.util.UUID;
 
 import net.datafaker.Faker;
 
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.IdGenerator;
+
 /**
  * Information about a customer.
  */
@@ -40,14 +41,14 @@ public class Customer {
      *  provided name. Generates an uuid for the customer id.
      */
     public Customer(String name) {
-        this(UUID.randomUUID().toString(), name);
+        this(IdGenerator.randomUUID(), name);
     }
     /**
      * Uses the provided faker object to create a
      *  customer.
      */
     public Customer(Faker faker) {
-        this(UUID.randomUUID().toString(), faker.name().fullName());
+        this(IdGenerator.randomUUID(), faker.name().fullName());
     }
 
     public String getId() {
@@ -0,0 +1,53 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.data;
+
+import java.util.Map;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.header.Header;
+import org.apache.kafka.connect.source.SourceRecord;
+
+/**
+ * SourceRecord for a generated event, which remembers when it was
+ *  created so that the time between generating an event and delivering
+ *  it can be measured.
+ *
+ *  (The timestamp of a record is the time of the event, which is
+ *  deliberately skewed for some types of events, so it can't be used
+ *  for this.)
+ */
+public class GeneratedRecord extends SourceRecord {
+
+    /** Wall-clock time that the record was created, in milliseconds since the epoch */
+    private final long generatedMs;
+
+
+    public GeneratedRecord(Map<String, ?> sourcePartition, Map<String, ?> sourceOffset,
+                           String topic, Integer partition,
+                           Schema keySchema, Object key,
+                           Schema valueSchema, Object value,
+                           Long timestamp, Iterable<Header> headers)
+    {
+        super(sourcePartition, sourceOffset, topic, partition, keySchema, key, valueSchema, value, timestamp, headers);
+        this.generatedMs = System.currentTimeMillis();
+    }
+
+
+    public long generatedMs() {
+        return generatedMs;
+    }
+}
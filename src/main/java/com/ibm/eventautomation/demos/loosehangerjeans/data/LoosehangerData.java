@@ -15,15 +15,20 @@
  */
 package com.ibm.eventautomation.demos.loosehangerjeans.data;
 
+import java.io.IOException;
 import java.time.ZonedDateTime;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.connect.header.ConnectHeaders;
+import org.apache.kafka.connect.header.Headers;
 import org.apache.kafka.connect.source.SourceRecord;
 
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.StreamPosition;
+
 /**
  * Data that will be submitted to Kafka Connect for producing
  *  to a Kafka topic.
@@ -43,20 +48,63 @@ public abstract class LoosehangerData {
     /** Message timestamp */
     private ZonedDateTime recordTimestamp;
 
+    /**
+     * Partition maps, shared by every record from the same origin.
+     *  There are only a few origins for each task.
+     */
+    private static final Map<String, Map<String, Object>> PARTITIONS = new ConcurrentHashMap<>();
+
+    /**
+     * Most recent offset map. Events are often generated in bursts
+     *  with the same timestamp (particularly when generating a
+     *  history) so they can share the same offset map.
+     */
+    private static volatile Map<String, Object> lastOffset = Collections.singletonMap("offset", 0L);
+
     protected LoosehangerData(ZonedDateTime timestamp) {
         this.recordTimestamp = timestamp;
     }
 
     public SourceRecord createSourceRecord(String topicName, String origin) {
+        final long timestamp = timestampMs();
+        final StreamPosition position = StreamPosition.current();
+        if (position != null) {
+            return createSourceRecord(topicName, position.partition(), position.nextOffset(timestamp));
+        }
+        return createSourceRecord(topicName, partition(origin), offset(timestamp));
+    }
+
+    /**
+     * Creates the SourceRecord for the event, with the provided source
+     *  partition and offset.
+     */
+    public SourceRecord createSourceRecord(String topicName, Map<String, ?> sourcePartition, Map<String, ?> sourceOffset) {
         final Integer topicPartition = null;
-        final long timestamp = recordTimestamp.toEpochSecond() * 1000L;
-        return new SourceRecord(partition(origin),
-                                Collections.singletonMap("offset", timestamp),
-                                topicName, topicPartition,
-                                Schema.STRING_SCHEMA, getKey(),
-                                getValueSchema(), getValue(),
-                                timestamp,
-                                getHeaders());
+        final long timestamp = timestampMs();
+        return new GeneratedRecord(sourcePartition,
+                                   sourceOffset,
+                                   topicName, topicPartition,
+                                   Schema.STRING_SCHEMA, getKey(),
+                                   getValueSchema(), getValue(),
+                                   timestamp,
+                                   getHeaders());
+    }
+
+    /**
+     * Passes the key, value and headers of the record to the provided
+     *  writer, for writing the record somewhere other than Kafka without
+     *  creating a SourceRecord.
+     */
+    public void writeTo(RecordWriter writer) throws IOException {
+        writer.write(Schema.STRING_SCHEMA, getKey(), getValueSchema(), getValue(), getHeaders());
+    }
+
+    /**
+     * Receives the parts of a record - see {@link LoosehangerData#writeTo(RecordWriter)}.
+     */
+    @FunctionalInterface
+    public interface RecordWriter {
+        void write(Schema keySchema, Object key, Schema valueSchema, Object value, Headers headers) throws IOException;
     }
 
     /**
@@ -67,12 +115,33 @@ public abstract class LoosehangerData {
         return recordTimestamp;
     }
 
+    /**
+     * Timestamp that will be applied to the SourceRecord delivered
+     *  to Kafka, in milliseconds since the epoch.
+     */
+    public long timestampMs() {
+        return recordTimestamp.toEpochSecond() * 1000L;
+    }
+
     public static Map<String, Object> partition(String origin) {
-        return Collections.singletonMap("partition", origin);
+        return PARTITIONS.computeIfAbsent(origin, name -> Collections.singletonMap("partition", name));
     }
 
-    /** Headers for the message */
+    public static Map<String, Object> offset(long timestamp) {
+        Map<String, Object> offset = lastOffset;
+        if ((Long) offset.get("offset") != timestamp) {
+            offset = Collections.singletonMap("offset", timestamp);
+            lastOffset = offset;
+        }
+        return offset;
+    }
+
+    /**
+     * Headers for the message. The headers returned may be shared
+     *  with other records, so cannot be modified - use duplicate()
+     *  to get a copy that can be.
+     */
     public ConnectHeaders getHeaders() {
-        return new ConnectHeaders();
+        return SharedHeaders.NONE;
     }
 }
@@ -30,17 +30,17 @@ public class NamedAddress extends Address {
     private final String name;
 
     /** Schema for the events - the number, street and phones fields are optional. */
-    public static final Schema SCHEMA = SchemaBuilder.struct()
-            .name("namedaddress")
+    private static final StructWriter<NamedAddress> WRITER = StructWriter.<NamedAddress>struct("namedaddress")
             .version(1)
-            .field("name",      Schema.STRING_SCHEMA)
-            .field("number",    Schema.OPTIONAL_INT32_SCHEMA)
-            .field("street",    Schema.OPTIONAL_STRING_SCHEMA)
-            .field("city",      Schema.STRING_SCHEMA)
-            .field("zipcode",   Schema.STRING_SCHEMA)
-            .field("country",   Country.SCHEMA)
-            .field("phones",    SchemaBuilder.array(Schema.STRING_SCHEMA).optional().build())
+            .field("name",      Schema.STRING_SCHEMA,                                         address -> address.name)
+            .field("number",    Schema.OPTIONAL_INT32_SCHEMA,                                 address -> address.getNumber())
+            .field("street",    Schema.OPTIONAL_STRING_SCHEMA,                                address -> address.getStreet())
+            .field("city",      Schema.STRING_SCHEMA,                                         address -> address.getCity())
+            .field("zipcode",   Schema.STRING_SCHEMA,                                         address -> address.getZipcode())
+            .field("country",   Country.SCHEMA,                                               address -> address.getCountry().toStruct())
+            .field("phones",    SchemaBuilder.array(Schema.STRING_SCHEMA).optional().build(), address -> address.getPhones())
             .build();
+    public static final Schema SCHEMA = WRITER.schema();
 
     /** Creates a named address using the provided details. */
     public NamedAddress(String name, Integer number, String street, String city, String zipcode, Country country, List<String> phones) {
@@ -59,15 +59,7 @@ public class NamedAddress extends Address {
 
     /** Creates a structure record to use in a Kafka event. */
     public Struct toStruct() {
-        Struct struct = new Struct(SCHEMA);
-        struct.put(SCHEMA.field("name"),        name);
-        struct.put(SCHEMA.field("number"),      getNumber());
-        struct.put(SCHEMA.field("street"),      getStreet());
-        struct.put(SCHEMA.field("city"),        getCity());
-        struct.put(SCHEMA.field("zipcode"),     getZipcode());
-        struct.put(SCHEMA.field("country"),     getCountry().toStruct());
-        struct.put(SCHEMA.field("phones"),      getPhones());
-        return struct;
+        return WRITER.write(this);
     }
 
     @Override
@@ -18,7 +18,6 @@ package com.ibm.eventautomation.demos.loosehangerjeans.data;
 import java.time.ZonedDateTime;
 
 import org.apache.kafka.connect.data.Schema;
-import org.apache.kafka.connect.data.SchemaBuilder;
 import org.apache.kafka.connect.data.Struct;
 
 /**
@@ -34,13 +33,13 @@ public class NewCustomer extends LoosehangerData {
     private Customer customer;
 
     /** schema for the events - all fields are required */
-    private static final Schema SCHEMA = SchemaBuilder.struct()
-        .name("customer")
+    private static final StructWriter<NewCustomer> WRITER = StructWriter.<NewCustomer>struct("customer")
         .version(1)
-            .field("customerid",   Schema.STRING_SCHEMA)
-            .field("customername", Schema.STRING_SCHEMA)
-            .field("registered",   Schema.STRING_SCHEMA)
+            .field("customerid",   Schema.STRING_SCHEMA, event -> event.customer.getId())
+            .field("customername", Schema.STRING_SCHEMA, event -> event.customer.getName())
+            .field("registered",   Schema.STRING_SCHEMA, event -> event.timestamp)
         .build();
+    private static final Schema SCHEMA = WRITER.schema();
 
     public NewCustomer(String timestamp, Customer customer, ZonedDateTime recordTimestamp) {
         super(recordTimestamp);
@@ -61,11 +60,7 @@ public class NewCustomer extends LoosehangerData {
 
     @Override
     protected Struct getValue() {
-        Struct struct = new Struct(SCHEMA);
-        struct.put(SCHEMA.field("customerid"),   customer.getId());
-        struct.put(SCHEMA.field("customername"), customer.getName());
-        struct.put(SCHEMA.field("registered"),   timestamp);
-        return struct;
+        return WRITER.write(this);
     }
 
     public Customer getCustomer() {
@@ -16,7 +16,6 @@
 package com.ibm.eventautomation.demos.loosehangerjeans.data;
 
 import org.apache.kafka.connect.data.Schema;
-import org.apache.kafka.connect.data.SchemaBuilder;
 import org.apache.kafka.connect.data.Struct;
 
 /**
@@ -31,12 +30,12 @@ public class OnlineAddress {
     private final Address billingAddress;
 
     /** Schema for the events - all fields are required. */
-    static final Schema SCHEMA = SchemaBuilder.struct()
-            .name("onlineaddress")
+    private static final StructWriter<OnlineAddress> WRITER = StructWriter.<OnlineAddress>struct("onlineaddress")
             .version(1)
-            .field("shippingaddress", Address.SCHEMA)
-            .field("billingaddress", Address.SCHEMA)
+            .field("shippingaddress", Address.SCHEMA, address -> address.shippingAddress.toStruct())
+            .field("billingaddress", Address.SCHEMA,  address -> address.billingAddress.toStruct())
             .build();
+    static final Schema SCHEMA = WRITER.schema();
 
     /** Creates a new OnlineAddress object with the given shipping and billing addresses. */
     public OnlineAddress(Address shippingAddress, Address billingAddress) {
@@ -54,10 +53,7 @@ public class OnlineAddress {
 
     /** Creates a structure record to use in a Kafka event. */
     public Struct toStruct() {
-        Struct struct = new Struct(SCHEMA);
-        struct.put(SCHEMA.field("shippingaddress"), shippingAddress.toStruct());
-        struct.put(SCHEMA.field("billingaddress"), billingAddress.toStruct());
-        return struct;
+        return WRITER.write(this);
     }
 
     @Override
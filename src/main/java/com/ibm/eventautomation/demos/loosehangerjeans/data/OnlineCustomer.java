@@ -17,6 +17,7 @@ package com.ibm.eventautomation.demos.loosehangerjeans.data;
 
 import net.datafaker.Faker;
 import com.ibm.eventautomation.demos.loosehangerjeans.utils.Generators;
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.IdGenerator;
 import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.SchemaBuilder;
 import org.apache.kafka.connect.data.Struct;
@@ -24,7 +25,6 @@ import org.apache.kafka.connect.data.Struct;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.UUID;
 
 /**
  * Information about a customer who makes an online order.
@@ -34,23 +34,28 @@ public class OnlineCustomer extends Customer {
     /** Emails of the customer. */
     private final List<String> emails;
 
+    /**
+     * Structs for this customer (where the customer is required, and
+     *  where it is optional), created the first time that they are
+     *  needed and then shared by every event that includes the customer.
+     */
+    private volatile Struct struct;
+    private volatile Struct optionalStruct;
+
     /** Schema for the events - all fields are required. */
-    public static final Schema SCHEMA = SchemaBuilder.struct()
-        .name("onlinecustomer")
-        .version(1)
-        .field("id",        Schema.STRING_SCHEMA)
-        .field("name",      Schema.STRING_SCHEMA)
-        .field("emails",    SchemaBuilder.array(Schema.STRING_SCHEMA).build())
-        .build();
-
-    public static final Schema OPTIONAL_SCHEMA = SchemaBuilder.struct()
-        .name("onlinecustomer")
-        .version(1)
-        .field("id",        Schema.STRING_SCHEMA)
-        .field("name",      Schema.STRING_SCHEMA)
-        .field("emails",    SchemaBuilder.array(Schema.STRING_SCHEMA).build())
-        .optional()
-        .build();
+    private static final StructWriter<OnlineCustomer> WRITER = fields().build();
+    public static final Schema SCHEMA = WRITER.schema();
+
+    private static final StructWriter<OnlineCustomer> OPTIONAL_WRITER = fields().optional().build();
+    public static final Schema OPTIONAL_SCHEMA = OPTIONAL_WRITER.schema();
+
+    private static StructWriter.Builder<OnlineCustomer> fields() {
+        return StructWriter.<OnlineCustomer>struct("onlinecustomer")
+            .version(1)
+            .field("id",        Schema.STRING_SCHEMA,                              customer -> customer.getId())
+            .field("name",      Schema.STRING_SCHEMA,                              customer -> customer.getName())
+            .field("emails",    SchemaBuilder.array(Schema.STRING_SCHEMA).build(), customer -> customer.emails);
+    }
 
 
     /** Creates a customer using the provided details. */
@@ -64,7 +69,7 @@ public class OnlineCustomer extends Customer {
      *  provided name and emails. Generates an uuid for the customer id.
      */
     public OnlineCustomer(String name, List<String> emails) {
-        this(UUID.randomUUID().toString(), name, emails);
+        this(IdGenerator.randomUUID(), name, emails);
     }
 
     /**
@@ -102,11 +107,18 @@ public class OnlineCustomer extends Customer {
      *                      where it is optional, false if it was required
      */
     public Struct toStruct(boolean isOptional) {
-        Struct struct = new Struct(isOptional ? OPTIONAL_SCHEMA : SCHEMA);
-        struct.put(SCHEMA.field("id"),      getId());
-        struct.put(SCHEMA.field("name"),    getName());
-        struct.put(SCHEMA.field("emails"),  emails);
-        return struct;
+        Struct result = isOptional ? optionalStruct : struct;
+        if (result == null) {
+            if (isOptional) {
+                result = OPTIONAL_WRITER.write(this);
+                optionalStruct = result;
+            }
+            else {
+                result = WRITER.write(this);
+                struct = result;
+            }
+        }
+        return result;
     }
 
     @Override
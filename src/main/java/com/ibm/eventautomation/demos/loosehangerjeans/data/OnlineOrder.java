@@ -23,7 +23,8 @@ import org.apache.kafka.connect.source.SourceRecord;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.List;
-import java.util.UUID;
+
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.IdGenerator;
 
 /**
  * Represents an event for a new online order that has been placed by
@@ -47,29 +48,54 @@ public class OnlineOrder extends OnlineActivityData {
     /** Descriptions of the ordered products. */
     private final List<String> products;
 
-    /** Details about the address used for the order. */
+    /** Details about the address used for the order. Null for the minimal profile. */
     private final OnlineAddress address;
 
-    /** Schema for the events - all fields are required. */
-    private static final Schema SCHEMA = SchemaBuilder.struct()
-            .name("onlineorder")
+    /** Creates the Struct values for the profile that the order was generated with */
+    private final StructWriter<OnlineOrder> writer;
+
+    /**
+     * Schema for the events - all fields are required. This is also used
+     *  for the standard profile, which leaves out the phone numbers (which
+     *  are optional) from the addresses.
+     */
+    private static final StructWriter<OnlineOrder> WRITER = StructWriter.<OnlineOrder>struct("onlineorder")
+            .version(1)
+            .field("id",          Schema.STRING_SCHEMA,                              order -> order.id)
+            .field("customer",    OnlineCustomer.SCHEMA,                             order -> order.customer.toStruct(false))
+            .field("products",    SchemaBuilder.array(Schema.STRING_SCHEMA).build(), order -> order.products)
+            .field("address",     OnlineAddress.SCHEMA,                              order -> order.address.toStruct())
+            .field("ordertime",   Schema.STRING_SCHEMA,                              order -> order.timestamp)
+            .build();
+
+    /** Schema for the events with the minimal profile, which have no addresses. */
+    private static final StructWriter<OnlineOrder> MINIMAL_WRITER = StructWriter.<OnlineOrder>struct("onlineorder_minimal")
             .version(1)
-            .field("id",          Schema.STRING_SCHEMA)
-            .field("customer",    OnlineCustomer.SCHEMA)
-            .field("products",    SchemaBuilder.array(Schema.STRING_SCHEMA).build())
-            .field("address",     OnlineAddress.SCHEMA)
-            .field("ordertime",   Schema.STRING_SCHEMA)
+            .field("id",          Schema.STRING_SCHEMA,                              order -> order.id)
+            .field("customer",    OnlineCustomer.SCHEMA,                             order -> order.customer.toStruct(false))
+            .field("products",    SchemaBuilder.array(Schema.STRING_SCHEMA).build(), order -> order.products)
+            .field("ordertime",   Schema.STRING_SCHEMA,                              order -> order.timestamp)
             .build();
 
     /** Creates an {@link OnlineOrder} using the provided details. */
-    public OnlineOrder(String timestamp, OnlineCustomer customer, List<String> products, OnlineAddress address, ZonedDateTime recordTimestamp) {
+    public OnlineOrder(PayloadProfile profile, String timestamp, OnlineCustomer customer, List<String> products, OnlineAddress address, ZonedDateTime recordTimestamp) {
         super(recordTimestamp);
 
-        this.id = UUID.randomUUID().toString();
+        this.id = IdGenerator.randomUUID();
         this.timestamp = timestamp;
         this.customer = customer;
         this.products = products;
         this.address = address;
+        this.writer = writer(profile);
+    }
+
+    private static StructWriter<OnlineOrder> writer(PayloadProfile profile) {
+        return profile == PayloadProfile.MINIMAL ? MINIMAL_WRITER : WRITER;
+    }
+
+    /** Returns the schema for online orders generated with the provided profile */
+    public static Schema schema(PayloadProfile profile) {
+        return writer(profile).schema();
     }
 
     public String getId() {
@@ -103,18 +129,12 @@ public class OnlineOrder extends OnlineActivityData {
 
     @Override
     protected Schema getValueSchema() {
-        return SCHEMA;
+        return writer.schema();
     }
 
     @Override
     protected Struct getValue() {
-        Struct struct = new Struct(SCHEMA);
-        struct.put(SCHEMA.field("id"),          id);
-        struct.put(SCHEMA.field("customer"),    customer.toStruct(false));
-        struct.put(SCHEMA.field("products"),    products);
-        struct.put(SCHEMA.field("address"),     address.toStruct());
-        struct.put(SCHEMA.field("ordertime"),   timestamp);
-        return struct;
+        return writer.write(this);
     }
 
     @Override
@@ -16,9 +16,10 @@
 package com.ibm.eventautomation.demos.loosehangerjeans.data;
 
 import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.kafka.connect.data.Schema;
-import org.apache.kafka.connect.data.SchemaBuilder;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.connect.header.ConnectHeaders;
 
@@ -59,19 +60,26 @@ public class Order extends LoosehangerData {
 
     private String storeId;
 
+    /**
+     * Headers for each combination of priority and store ID. Priorities
+     *  come from a short list and store IDs are four-digit numbers, so
+     *  orders share the same headers rather than creating new ones.
+     */
+    private static final Map<String, Map<String, ConnectHeaders>> HEADERS = new ConcurrentHashMap<>();
+
     /** schema for the events - all fields are required */
-    private static final Schema SCHEMA = SchemaBuilder.struct()
-        .name("order")
+    private static final StructWriter<Order> WRITER = StructWriter.<Order>struct("order")
         .version(1)
-            .field("id",          Schema.STRING_SCHEMA)
-            .field("customer",    Schema.STRING_SCHEMA)
-            .field("customerid",  Schema.STRING_SCHEMA)
-            .field("description", Schema.STRING_SCHEMA)
-            .field("price",       Schema.FLOAT64_SCHEMA)
-            .field("quantity",    Schema.INT32_SCHEMA)
-            .field("region",      Schema.STRING_SCHEMA)
-            .field("ordertime",   Schema.STRING_SCHEMA)
+            .field("id",          Schema.STRING_SCHEMA,  order -> order.id)
+            .field("customer",    Schema.STRING_SCHEMA,  order -> order.customer.getName())
+            .field("customerid",  Schema.STRING_SCHEMA,  order -> order.customer.getId())
+            .field("description", Schema.STRING_SCHEMA,  order -> order.description)
+            .field("price",       Schema.FLOAT64_SCHEMA, order -> order.unitPrice)
+            .field("quantity",    Schema.INT32_SCHEMA,   order -> order.quantity)
+            .field("region",      Schema.STRING_SCHEMA,  order -> order.region)
+            .field("ordertime",   Schema.STRING_SCHEMA,  order -> order.timestamp)
         .build();
+    private static final Schema SCHEMA = WRITER.schema();
 
     public Order(String id, String timestamp, Customer customer, String description, double unitPrice, int quantity, String region, ZonedDateTime recordTimestamp, String countryCode, String priority, String storeId) {
         super(recordTimestamp);
@@ -95,10 +103,13 @@ public class Order extends LoosehangerData {
 
     @Override
     public ConnectHeaders getHeaders() {
-        ConnectHeaders headers = new ConnectHeaders();
-        headers.addString("priority", priority);
-        headers.addString("storeid", storeId);
-        return headers;
+        return HEADERS.computeIfAbsent(priority, p -> new ConcurrentHashMap<>())
+                      .computeIfAbsent(storeId, s -> {
+                          ConnectHeaders headers = new ConnectHeaders();
+                          headers.addString("priority", priority);
+                          headers.addString("storeid", storeId);
+                          return new SharedHeaders(headers);
+                      });
     }
 
     @Override
@@ -108,16 +119,7 @@ public class Order extends LoosehangerData {
 
     @Override
     protected Struct getValue() {
-        Struct struct = new Struct(SCHEMA);
-        struct.put(SCHEMA.field("id"),          id);
-        struct.put(SCHEMA.field("customer"),    customer.getName());
-        struct.put(SCHEMA.field("customerid"),  customer.getId());
-        struct.put(SCHEMA.field("description"), description);
-        struct.put(SCHEMA.field("price"),       unitPrice);
-        struct.put(SCHEMA.field("quantity"),    quantity);
-        struct.put(SCHEMA.field("region"),      region);
-        struct.put(SCHEMA.field("ordertime"),   timestamp);
-        return struct;
+        return WRITER.write(this);
     }
 
 
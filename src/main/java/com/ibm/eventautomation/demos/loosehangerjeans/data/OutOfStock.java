@@ -16,7 +16,6 @@
 package com.ibm.eventautomation.demos.loosehangerjeans.data;
 
 import org.apache.kafka.connect.data.Schema;
-import org.apache.kafka.connect.data.SchemaBuilder;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.connect.source.SourceRecord;
 
@@ -24,7 +23,8 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.UUID;
+
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.IdGenerator;
 
 /**
  * Represents an event for a product that runs out-of-stock.
@@ -50,14 +50,14 @@ public class OutOfStock extends LoosehangerData {
     private final int restockingDate;
 
     /** Schema for the events - all fields are required. */
-    private static final Schema SCHEMA = SchemaBuilder.struct()
-            .name("outofstock")
+    private static final StructWriter<OutOfStock> WRITER = StructWriter.<OutOfStock>struct("outofstock")
             .version(1)
-            .field("id",                        Schema.STRING_SCHEMA)
-            .field("product",                   Product.SCHEMA)
-            .field("restockingdate",            Schema.INT32_SCHEMA)
-            .field("outofstocktime",            Schema.INT64_SCHEMA)
+            .field("id",                        Schema.STRING_SCHEMA, event -> event.id)
+            .field("product",                   Product.SCHEMA,       event -> event.product.toStruct())
+            .field("restockingdate",            Schema.INT32_SCHEMA,  event -> event.restockingDate)
+            .field("outofstocktime",            Schema.INT64_SCHEMA,  event -> event.timestamp)
             .build();
+    private static final Schema SCHEMA = WRITER.schema();
 
     /** Creates an {@link OutOfStock} object using the provided details. */
     public OutOfStock(String id, long timestamp, Product product, int restockingDate, ZonedDateTime recordTimestamp) {
@@ -73,7 +73,7 @@ public class OutOfStock extends LoosehangerData {
      * The ID is generated randomly.
      * */
     public OutOfStock(long timestamp, Product product, int restockingDate, ZonedDateTime recordTimestamp) {
-        this(UUID.randomUUID().toString(), timestamp, product, restockingDate, recordTimestamp);
+        this(IdGenerator.randomUUID(), timestamp, product, restockingDate, recordTimestamp);
     }
 
     public String getId() {
@@ -108,12 +108,7 @@ public class OutOfStock extends LoosehangerData {
 
     @Override
     protected Struct getValue() {
-        Struct struct = new Struct(SCHEMA);
-        struct.put(SCHEMA.field("id"),                  id);
-        struct.put(SCHEMA.field("product"),             product.toStruct());
-        struct.put(SCHEMA.field("restockingdate"),      restockingDate);
-        struct.put(SCHEMA.field("outofstocktime"),      timestamp);
-        return struct;
+        return WRITER.write(this);
     }
 
     @Override
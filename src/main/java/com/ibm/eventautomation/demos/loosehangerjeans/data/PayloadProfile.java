@@ -0,0 +1,44 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.data;
+
+/**
+ * How much detail is generated for the events in a stream with large,
+ *  nested payloads.
+ *
+ *  Fields that a profile leaves out are not generated at all (rather
+ *  than generated and then dropped), so that smaller profiles save the
+ *  work of creating the data as well as serializing it. Events with a
+ *  profile that leaves out fields use a schema of their own, named
+ *  after the profile (such as "clickstream_minimal").
+ */
+public enum PayloadProfile {
+
+    /** Only the IDs, timestamps and a few key values */
+    MINIMAL,
+
+    /** Leaves out the largest nested values */
+    STANDARD,
+
+    /** Every field - the events as they have always been generated */
+    FULL;
+
+
+    /** Returns the profile identified by a config value, such as "minimal" */
+    public static PayloadProfile fromConfig(String value) {
+        return valueOf(value.toUpperCase());
+    }
+}
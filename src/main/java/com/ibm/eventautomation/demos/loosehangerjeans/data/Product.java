@@ -16,7 +16,6 @@
 package com.ibm.eventautomation.demos.loosehangerjeans.data;
 
 import org.apache.kafka.connect.data.Schema;
-import org.apache.kafka.connect.data.SchemaBuilder;
 import org.apache.kafka.connect.data.Struct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,15 +39,18 @@ public class Product {
     /** The name of the product. */
     private final String name;
 
+    /** Struct for the product, created the first time that it is needed */
+    private volatile Struct struct;
+
     /** Schema for the events - all fields are required. */
-    public static final Schema SCHEMA = SchemaBuilder.struct()
-            .name("product")
+    private static final StructWriter<Product> WRITER = StructWriter.<Product>struct("product")
             .version(1)
-            .field("size",          Schema.STRING_SCHEMA)
-            .field("material",      Schema.STRING_SCHEMA)
-            .field("style",         Schema.STRING_SCHEMA)
-            .field("name",          Schema.STRING_SCHEMA)
+            .field("size",          Schema.STRING_SCHEMA, product -> product.size)
+            .field("material",      Schema.STRING_SCHEMA, product -> product.material)
+            .field("style",         Schema.STRING_SCHEMA, product -> product.style)
+            .field("name",          Schema.STRING_SCHEMA, product -> product.name)
             .build();
+    public static final Schema SCHEMA = WRITER.schema();
 
     /** Creates a product from the provided description.
      * NULL is returned if the product cannot be created from the provided description.
@@ -111,12 +113,12 @@ public class Product {
 
     /** Creates a structure record to use in a Kafka event. */
     public Struct toStruct() {
-        Struct struct = new Struct(SCHEMA);
-        struct.put(SCHEMA.field("size"),        size);
-        struct.put(SCHEMA.field("material"),    material);
-        struct.put(SCHEMA.field("style"),       style);
-        struct.put(SCHEMA.field("name"),        name);
-        return struct;
+        Struct result = struct;
+        if (result == null) {
+            result = WRITER.write(this);
+            struct = result;
+        }
+        return result;
     }
 
     @Override
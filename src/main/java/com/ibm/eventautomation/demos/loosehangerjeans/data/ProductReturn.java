@@ -16,7 +16,6 @@
 package com.ibm.eventautomation.demos.loosehangerjeans.data;
 
 import org.apache.kafka.connect.data.Schema;
-import org.apache.kafka.connect.data.SchemaBuilder;
 import org.apache.kafka.connect.data.Struct;
 
 /**
@@ -33,21 +32,20 @@ public class ProductReturn {
     /** Reason that the customer gave for returning the product. */
     private final String reason;
 
-    private static final Schema PRODUCT_INFO_SCHEMA = SchemaBuilder.struct()
-            .name("productinfo")
+    private static final StructWriter<Product> PRODUCT_INFO = StructWriter.<Product>struct("productinfo")
             .version(1)
-            .field("id",        Schema.STRING_SCHEMA)
-            .field("size",      Schema.STRING_SCHEMA)
+            .field("id",        Schema.STRING_SCHEMA, product -> product.getShortDescription())
+            .field("size",      Schema.STRING_SCHEMA, product -> product.getSize())
             .build();
 
     /** Schema for the events - all fields are required. */
-    public static final Schema SCHEMA = SchemaBuilder.struct()
-            .name("productreturn")
+    private static final StructWriter<ProductReturn> WRITER = StructWriter.<ProductReturn>struct("productreturn")
             .version(1)
-            .field("product",       PRODUCT_INFO_SCHEMA)
-            .field("quantity",      Schema.INT32_SCHEMA)
-            .field("reason",        Schema.STRING_SCHEMA)
+            .field("product",       PRODUCT_INFO.schema(), productReturn -> PRODUCT_INFO.write(productReturn.product))
+            .field("quantity",      Schema.INT32_SCHEMA,   productReturn -> productReturn.quantity)
+            .field("reason",        Schema.STRING_SCHEMA,  productReturn -> productReturn.reason)
             .build();
+    public static final Schema SCHEMA = WRITER.schema();
 
     /** Creates a product return with the provided details. */
     public ProductReturn(Product product, int quantity, String reason) {
@@ -70,14 +68,7 @@ public class ProductReturn {
 
     /** Creates a structure record to use in a Kafka event. */
     public Struct toStruct() {
-        Struct productInfoStruct = new Struct(PRODUCT_INFO_SCHEMA);
-        productInfoStruct.put(PRODUCT_INFO_SCHEMA.field("id"),      product.getShortDescription());
-        productInfoStruct.put(PRODUCT_INFO_SCHEMA.field("size"),    product.getSize());
-        Struct struct = new Struct(SCHEMA);
-        struct.put(SCHEMA.field("product"),     productInfoStruct);
-        struct.put(SCHEMA.field("quantity"),    quantity);
-        struct.put(SCHEMA.field("reason"),      reason);
-        return struct;
+        return WRITER.write(this);
     }
 
     @Override
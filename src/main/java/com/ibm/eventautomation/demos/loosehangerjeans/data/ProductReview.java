@@ -16,12 +16,12 @@
 package com.ibm.eventautomation.demos.loosehangerjeans.data;
 
 import org.apache.kafka.connect.data.Schema;
-import org.apache.kafka.connect.data.SchemaBuilder;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.connect.source.SourceRecord;
 
 import java.time.ZonedDateTime;
-import java.util.UUID;
+
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.IdGenerator;
 
 /**
  * Represents an event for a product review.
@@ -46,15 +46,15 @@ public class ProductReview extends LoosehangerData {
     private final Review review;
 
     /** Schema for the events - the size is optional. */
-    private static final Schema SCHEMA = SchemaBuilder.struct()
-            .name("productreview")
+    private static final StructWriter<ProductReview> WRITER = StructWriter.<ProductReview>struct("productreview")
             .version(1)
-            .field("id",            Schema.STRING_SCHEMA)
-            .field("product",       Schema.STRING_SCHEMA)
-            .field("size",          Schema.OPTIONAL_STRING_SCHEMA)
-            .field("review",        Review.SCHEMA)
-            .field("reviewtime",    Schema.STRING_SCHEMA)
+            .field("id",            Schema.STRING_SCHEMA,          review -> review.id)
+            .field("product",       Schema.STRING_SCHEMA,          review -> review.product)
+            .field("size",          Schema.OPTIONAL_STRING_SCHEMA, review -> review.size)
+            .field("review",        Review.SCHEMA,                 review -> review.review.toStruct())
+            .field("reviewtime",    Schema.STRING_SCHEMA,          review -> review.timestamp)
             .build();
+    private static final Schema SCHEMA = WRITER.schema();
 
     /** Creates a {@link ProductReview} object using the provided details. */
     public ProductReview(String id, String timestamp, String product, String size, Review review, ZonedDateTime recordTimestamp) {
@@ -71,7 +71,7 @@ public class ProductReview extends LoosehangerData {
      * The ID is generated randomly.
      * */
     public ProductReview(String timestamp, String product, String size, Review review, ZonedDateTime recordTimestamp) {
-        this(UUID.randomUUID().toString(), timestamp, product, size, review, recordTimestamp);
+        this(IdGenerator.randomUUID(), timestamp, product, size, review, recordTimestamp);
     }
 
     public String getId() {
@@ -110,13 +110,7 @@ public class ProductReview extends LoosehangerData {
 
     @Override
     protected Struct getValue() {
-        Struct struct = new Struct(SCHEMA);
-        struct.put(SCHEMA.field("id"),              id);
-        struct.put(SCHEMA.field("product"),         product);
-        struct.put(SCHEMA.field("size"),            size);
-        struct.put(SCHEMA.field("review"),          review.toStruct());
-        struct.put(SCHEMA.field("reviewtime"),      timestamp);
-        return struct;
+        return WRITER.write(this);
     }
 
     @Override
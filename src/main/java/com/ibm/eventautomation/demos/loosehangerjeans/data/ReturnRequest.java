@@ -23,9 +23,10 @@ import org.apache.kafka.connect.source.SourceRecord;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.List;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.IdGenerator;
+
 /**
  * Represents an event for a product return request.
  * Several products can be returned in the same request.
@@ -47,25 +48,41 @@ public class ReturnRequest extends LoosehangerData {
      * There should be at least one address (that is the billing address) and there
      * may be an additional address (that is the shipping address) if the shipping
      * address is different from the billing address.
+     * Null for the minimal profile.
      */
     private final List<NamedAddress> addresses;
 
     /** Requested product returns. */
     private final List<ProductReturn> returns;
 
-    /** Schema for the events - all fields are required. */
-    private static final Schema SCHEMA = SchemaBuilder.struct()
-            .name("returnrequest")
+    /** Creates the Struct values for the profile that the request was generated with */
+    private final StructWriter<ReturnRequest> writer;
+
+    /**
+     * Schema for the events - all fields are required. This is also used
+     *  for the standard profile, which leaves out the phone numbers (which
+     *  are optional) from the addresses.
+     */
+    private static final StructWriter<ReturnRequest> WRITER = StructWriter.<ReturnRequest>struct("returnrequest")
+            .version(1)
+            .field("id",            Schema.STRING_SCHEMA,                      request -> request.id)
+            .field("customer",      OnlineCustomer.SCHEMA,                     request -> request.customer.toStruct(false))
+            .field("addresses",     SchemaBuilder.array(NamedAddress.SCHEMA),  request -> request.addresses.stream().map(NamedAddress::toStruct).collect(Collectors.toList()))
+            .field("returns",       SchemaBuilder.array(ProductReturn.SCHEMA), request -> request.returns.stream().map(ProductReturn::toStruct).collect(Collectors.toList()))
+            .field("returntime",    Schema.STRING_SCHEMA,                      request -> request.timestamp)
+            .build();
+
+    /** Schema for the events with the minimal profile, which have no addresses. */
+    private static final StructWriter<ReturnRequest> MINIMAL_WRITER = StructWriter.<ReturnRequest>struct("returnrequest_minimal")
             .version(1)
-            .field("id",            Schema.STRING_SCHEMA)
-            .field("customer",      OnlineCustomer.SCHEMA)
-            .field("addresses",     SchemaBuilder.array(NamedAddress.SCHEMA))
-            .field("returns",       SchemaBuilder.array(ProductReturn.SCHEMA))
-            .field("returntime",    Schema.STRING_SCHEMA)
+            .field("id",            Schema.STRING_SCHEMA,                      request -> request.id)
+            .field("customer",      OnlineCustomer.SCHEMA,                     request -> request.customer.toStruct(false))
+            .field("returns",       SchemaBuilder.array(ProductReturn.SCHEMA), request -> request.returns.stream().map(ProductReturn::toStruct).collect(Collectors.toList()))
+            .field("returntime",    Schema.STRING_SCHEMA,                      request -> request.timestamp)
             .build();
 
     /** Creates a {@link ReturnRequest} using the provided details. */
-    public ReturnRequest(String id, String timestamp, OnlineCustomer customer, List<NamedAddress> addresses, List<ProductReturn> returns, ZonedDateTime recordTimestamp) {
+    public ReturnRequest(PayloadProfile profile, String id, String timestamp, OnlineCustomer customer, List<NamedAddress> addresses, List<ProductReturn> returns, ZonedDateTime recordTimestamp) {
         super(recordTimestamp);
 
         this.id = id;
@@ -73,13 +90,23 @@ public class ReturnRequest extends LoosehangerData {
         this.customer = customer;
         this.addresses = addresses;
         this.returns = returns;
+        this.writer = writer(profile);
     }
 
     /** Creates a {@link ReturnRequest} using the provided details.
      * The ID is generated randomly.
      * */
-    public ReturnRequest(String timestamp, OnlineCustomer customer, List<NamedAddress> addresses, List<ProductReturn> returns, ZonedDateTime recordTimestamp) {
-        this(UUID.randomUUID().toString(),timestamp, customer, addresses, returns, recordTimestamp);
+    public ReturnRequest(PayloadProfile profile, String timestamp, OnlineCustomer customer, List<NamedAddress> addresses, List<ProductReturn> returns, ZonedDateTime recordTimestamp) {
+        this(profile, IdGenerator.randomUUID(), timestamp, customer, addresses, returns, recordTimestamp);
+    }
+
+    private static StructWriter<ReturnRequest> writer(PayloadProfile profile) {
+        return profile == PayloadProfile.MINIMAL ? MINIMAL_WRITER : WRITER;
+    }
+
+    /** Returns the schema for return requests generated with the provided profile */
+    public static Schema schema(PayloadProfile profile) {
+        return writer(profile).schema();
     }
 
     public String getId() {
@@ -113,24 +140,18 @@ public class ReturnRequest extends LoosehangerData {
 
     @Override
     protected Schema getValueSchema() {
-        return SCHEMA;
+        return writer.schema();
     }
 
     @Override
     protected Struct getValue() {
-        Struct struct = new Struct(SCHEMA);
-        struct.put(SCHEMA.field("id"),              id);
-        struct.put(SCHEMA.field("customer"),        customer.toStruct(false));
-        struct.put(SCHEMA.field("addresses"),       addresses.stream().map(NamedAddress::toStruct).collect(Collectors.toList()));
-        struct.put(SCHEMA.field("returns"),         returns.stream().map(ProductReturn::toStruct).collect(Collectors.toList()));
-        struct.put(SCHEMA.field("returntime"),      timestamp);
-        return struct;
+        return writer.write(this);
     }
 
     @Override
     public String toString() {
         return "ReturnRequest [id=" + id + ", timestamp=" + timestamp + ", customer=" + customer
-                + ", addresses=" + Arrays.toString(addresses.toArray()) + ", returns="
+                + (addresses == null ? "" : ", addresses=" + Arrays.toString(addresses.toArray())) + ", returns="
                 + Arrays.toString(returns.toArray()) + "]";
     }
 }
@@ -38,13 +38,13 @@ public class Review {
     private final List<Characteristic> characteristics;
 
     /** Schema for the events - the comment is optional. */
-    public static final Schema SCHEMA = SchemaBuilder.struct()
-            .name("review")
+    private static final StructWriter<Review> WRITER = StructWriter.<Review>struct("review")
             .version(1)
-            .field("rating",                Schema.INT32_SCHEMA)
-            .field("comment",               Schema.OPTIONAL_STRING_SCHEMA)
-            .field("characteristics",       SchemaBuilder.array(Characteristic.SCHEMA).build())
+            .field("rating",                Schema.INT32_SCHEMA,                                review -> review.rating)
+            .field("comment",               Schema.OPTIONAL_STRING_SCHEMA,                      review -> review.comment)
+            .field("characteristics",       SchemaBuilder.array(Characteristic.SCHEMA).build(), review -> review.characteristics.stream().map(Characteristic::toStruct).collect(Collectors.toList()))
             .build();
+    public static final Schema SCHEMA = WRITER.schema();
 
     /** Creates a review using the provided details. */
     public Review(int rating, String comment, List<Characteristic> characteristics) {
@@ -67,11 +67,7 @@ public class Review {
 
     /** Creates a structure record to use in a Kafka event. */
     public Struct toStruct() {
-        Struct struct = new Struct(SCHEMA);
-        struct.put(SCHEMA.field("rating"),              rating);
-        struct.put(SCHEMA.field("comment"),             comment);
-        struct.put(SCHEMA.field("characteristics"),     characteristics.stream().map(Characteristic::toStruct).collect(Collectors.toList()));
-        return struct;
+        return WRITER.write(this);
     }
 
     @Override
@@ -95,12 +91,12 @@ public class Review {
         private final Integer ranking;
 
         /** Schema for the events - the ranking is optional. */
-        public static final Schema SCHEMA = SchemaBuilder.struct()
-                .name("characteristic")
+        private static final StructWriter<Characteristic> WRITER = StructWriter.<Characteristic>struct("characteristic")
                 .version(1)
-                .field("id",            Schema.STRING_SCHEMA)
-                .field("ranking",       Schema.OPTIONAL_INT32_SCHEMA)
+                .field("id",            Schema.STRING_SCHEMA,         characteristic -> characteristic.id)
+                .field("ranking",       Schema.OPTIONAL_INT32_SCHEMA, characteristic -> characteristic.ranking)
                 .build();
+        public static final Schema SCHEMA = WRITER.schema();
 
         /** Creates a characteristic using the provided details. */
         public Characteristic(String id, Integer ranking) {
@@ -123,10 +119,7 @@ public class Review {
 
         /** Creates a structure record to use in a Kafka event. */
         public Struct toStruct() {
-            Struct struct = new Struct(SCHEMA);
-            struct.put(SCHEMA.field("id"),          id);
-            struct.put(SCHEMA.field("ranking"),     ranking);
-            return struct;
+            return WRITER.write(this);
         }
 
         @Override
@@ -18,7 +18,6 @@ package com.ibm.eventautomation.demos.loosehangerjeans.data;
 import java.time.ZonedDateTime;
 
 import org.apache.kafka.connect.data.Schema;
-import org.apache.kafka.connect.data.SchemaBuilder;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.connect.source.SourceRecord;
 
@@ -42,14 +41,14 @@ public class SensorReading extends LoosehangerData {
     private int humidity;
 
     /** schema for the events - all fields are required */
-    private static final Schema SCHEMA = SchemaBuilder.struct()
-        .name("sensorreading")
+    private static final StructWriter<SensorReading> WRITER = StructWriter.<SensorReading>struct("sensorreading")
         .version(1)
-            .field("sensortime",  Schema.STRING_SCHEMA)
-            .field("sensorid",    Schema.STRING_SCHEMA)
-            .field("temperature", Schema.FLOAT64_SCHEMA)
-            .field("humidity",    Schema.INT32_SCHEMA)
+            .field("sensortime",  Schema.STRING_SCHEMA,  reading -> reading.timestamp)
+            .field("sensorid",    Schema.STRING_SCHEMA,  reading -> reading.sensorid)
+            .field("temperature", Schema.FLOAT64_SCHEMA, reading -> reading.temperature)
+            .field("humidity",    Schema.INT32_SCHEMA,   reading -> reading.humidity)
         .build();
+    private static final Schema SCHEMA = WRITER.schema();
 
     public SensorReading(String id, String timestamp, String sensor, double temp, int humidity, ZonedDateTime recordTimestamp) {
         super(recordTimestamp);
@@ -77,12 +76,7 @@ public class SensorReading extends LoosehangerData {
 
     @Override
     protected Struct getValue() {
-        Struct struct = new Struct(SCHEMA);
-        struct.put(SCHEMA.field("sensorid"),    sensorid);
-        struct.put(SCHEMA.field("sensortime"),  timestamp);
-        struct.put(SCHEMA.field("temperature"), temperature);
-        struct.put(SCHEMA.field("humidity"),    humidity);
-        return struct;
+        return WRITER.write(this);
     }
 
     @Override
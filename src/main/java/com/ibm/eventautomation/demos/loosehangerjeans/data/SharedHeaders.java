@@ -0,0 +1,97 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.data;
+
+import java.util.Iterator;
+
+import org.apache.kafka.connect.header.ConnectHeaders;
+import org.apache.kafka.connect.header.Header;
+import org.apache.kafka.connect.header.Headers;
+
+/**
+ * Headers that are shared by many records, so cannot be modified.
+ *
+ *  Transformations are expected to copy the headers of a record
+ *  before changing them, but nothing stops one adding a header to
+ *  the record it was given. A shared set of headers would then leak
+ *  that header into every later record that uses it, so any attempt
+ *  to modify these fails instead. Copies made with duplicate() are
+ *  ordinary headers that can be modified.
+ */
+public final class SharedHeaders extends ConnectHeaders {
+
+    /** Shared headers for records that do not have any. */
+    public static final SharedHeaders NONE = new SharedHeaders(new ConnectHeaders());
+
+    public SharedHeaders(Headers headers) {
+        super(headers);
+    }
+
+    @Override
+    public Headers add(Header header) {
+        throw unsupported();
+    }
+
+    @Override
+    public Headers clear() {
+        throw unsupported();
+    }
+
+    @Override
+    public Headers remove(String key) {
+        throw unsupported();
+    }
+
+    @Override
+    public Headers retainLatest() {
+        throw unsupported();
+    }
+
+    @Override
+    public Headers retainLatest(String key) {
+        throw unsupported();
+    }
+
+    @Override
+    public Headers apply(HeaderTransform transform) {
+        throw unsupported();
+    }
+
+    @Override
+    public Headers apply(String key, HeaderTransform transform) {
+        throw unsupported();
+    }
+
+    @Override
+    public Iterator<Header> iterator() {
+        final Iterator<Header> headers = super.iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return headers.hasNext();
+            }
+
+            @Override
+            public Header next() {
+                return headers.next();
+            }
+        };
+    }
+
+    private static UnsupportedOperationException unsupported() {
+        return new UnsupportedOperationException("Headers are shared with other records. Use duplicate() to get a copy that can be modified.");
+    }
+}
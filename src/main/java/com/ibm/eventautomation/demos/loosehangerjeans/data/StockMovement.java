@@ -18,7 +18,6 @@ package com.ibm.eventautomation.demos.loosehangerjeans.data;
 import java.time.ZonedDateTime;
 
 import org.apache.kafka.connect.data.Schema;
-import org.apache.kafka.connect.data.SchemaBuilder;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.connect.source.SourceRecord;
 
@@ -46,15 +45,15 @@ public class StockMovement extends LoosehangerData {
     private int quantity;
 
     /** schema for the events - all fields are required */
-    private static final Schema SCHEMA = SchemaBuilder.struct()
-        .name("stockmovement")
+    private static final StructWriter<StockMovement> WRITER = StructWriter.<StockMovement>struct("stockmovement")
         .version(1)
-            .field("movementid", Schema.STRING_SCHEMA)
-            .field("warehouse",  Schema.STRING_SCHEMA)
-            .field("product",    Schema.STRING_SCHEMA)
-            .field("quantity",   Schema.INT32_SCHEMA)
-            .field("updatetime", Schema.STRING_SCHEMA)
+            .field("movementid", Schema.STRING_SCHEMA, movement -> movement.movementid)
+            .field("warehouse",  Schema.STRING_SCHEMA, movement -> movement.warehouse)
+            .field("product",    Schema.STRING_SCHEMA, movement -> movement.productDescription)
+            .field("quantity",   Schema.INT32_SCHEMA,  movement -> movement.quantity)
+            .field("updatetime", Schema.STRING_SCHEMA, movement -> movement.timestamp)
         .build();
+    private static final Schema SCHEMA = WRITER.schema();
 
     public StockMovement(String id, String timestamp, String warehouse, String product, int quantity, ZonedDateTime recordTimestamp) {
         super(recordTimestamp);
@@ -82,13 +81,7 @@ public class StockMovement extends LoosehangerData {
 
     @Override
     protected Struct getValue() {
-        Struct struct = new Struct(SCHEMA);
-        struct.put(SCHEMA.field("movementid"), movementid);
-        struct.put(SCHEMA.field("warehouse"),  warehouse);
-        struct.put(SCHEMA.field("product"),    productDescription);
-        struct.put(SCHEMA.field("quantity"),   quantity);
-        struct.put(SCHEMA.field("updatetime"), timestamp);
-        return struct;
+        return WRITER.write(this);
     }
 
     @Override
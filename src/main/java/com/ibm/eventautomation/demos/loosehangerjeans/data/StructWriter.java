@@ -0,0 +1,114 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+
+/**
+ * Creates the Struct values for a type of data.
+ *
+ *  Each field is declared once, with its schema and a function that
+ *  gets the value of the field from the data, so the schema and the
+ *  code that fills in a Struct cannot get out of step.
+ *
+ *  The fields of the schema are looked up once, when the writer is
+ *  built, and values are written to a new Struct by their position
+ *  rather than by looking up each field by name.
+ *
+ *  Each value is still checked against the schema of its field as it
+ *  is written. Struct has no way to set a field without that check,
+ *  and it is what catches a getter that returns the wrong type, with
+ *  the name of the field, before the record reaches a converter.
+ */
+public final class StructWriter<T> {
+
+    private final Schema schema;
+    private final Field[] fields;
+    private final List<Function<? super T, ?>> getters;
+
+
+    private StructWriter(Schema schema, List<Function<? super T, ?>> getters) {
+        this.schema = schema;
+        this.fields = schema.fields().toArray(new Field[0]);
+        this.getters = List.copyOf(getters);
+    }
+
+
+    /**
+     * Starts declaring the fields for a struct schema.
+     *
+     * @param name - name of the schema
+     */
+    public static <T> Builder<T> struct(String name) {
+        return new Builder<>(name);
+    }
+
+
+    public Schema schema() {
+        return schema;
+    }
+
+    /** Creates a Struct containing the values of the fields for the provided data */
+    public Struct write(T data) {
+        final Struct struct = new Struct(schema);
+        for (int i = 0; i < fields.length; i++) {
+            struct.put(fields[i], getters.get(i).apply(data));
+        }
+        return struct;
+    }
+
+
+    public static final class Builder<T> {
+        private final SchemaBuilder schema;
+        private final List<Function<? super T, ?>> getters = new ArrayList<>();
+
+        private Builder(String name) {
+            this.schema = SchemaBuilder.struct().name(name);
+        }
+
+        public Builder<T> version(int version) {
+            schema.version(version);
+            return this;
+        }
+
+        public Builder<T> optional() {
+            schema.optional();
+            return this;
+        }
+
+        /**
+         * Adds a field to the schema.
+         *
+         * @param getter - gets the value of the field from the data
+         */
+        public Builder<T> field(String name, Schema fieldSchema, Function<? super T, ?> getter) {
+            schema.field(name, fieldSchema);
+            getters.add(getter);
+            return this;
+        }
+
+        public StructWriter<T> build() {
+            return new StructWriter<>(schema.build(), getters);
+        }
+    }
+}
@@ -16,7 +16,6 @@
 package com.ibm.eventautomation.demos.loosehangerjeans.data;
 
 import org.apache.kafka.connect.data.Schema;
-import org.apache.kafka.connect.data.SchemaBuilder;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.connect.source.SourceRecord;
 
@@ -50,14 +49,14 @@ public class Transaction extends LoosehangerData {
     private String timestamp;
 
     /** Schema for the events - all fields are required. */
-    private static final Schema SCHEMA = SchemaBuilder.struct()
-            .name("transaction")
+    private static final StructWriter<Transaction> WRITER = StructWriter.<Transaction>struct("transaction")
             .version(1)
-                .field("id",          Schema.STRING_SCHEMA)
-                .field("state",       Schema.STRING_SCHEMA)
-                .field("amount",      Schema.FLOAT64_SCHEMA)
-                .field("timestamp",   Schema.STRING_SCHEMA)
+                .field("id",          Schema.STRING_SCHEMA,  transaction -> transaction.id)
+                .field("state",       Schema.STRING_SCHEMA,  transaction -> transaction.state)
+                .field("amount",      Schema.FLOAT64_SCHEMA, transaction -> transaction.amount)
+                .field("timestamp",   Schema.STRING_SCHEMA,  transaction -> transaction.timestamp)
             .build();
+    private static final Schema SCHEMA = WRITER.schema();
 
     public Transaction(String id, String state, Double amount, String timestamp, ZonedDateTime recordTimestamp) {
         super(recordTimestamp);
@@ -88,12 +87,7 @@ public class Transaction extends LoosehangerData {
 
     @Override
     protected Struct getValue() {
-        Struct struct = new Struct(SCHEMA);
-        struct.put(SCHEMA.field("id"),        id);
-        struct.put(SCHEMA.field("state"),     state);
-        struct.put(SCHEMA.field("amount"),    amount);
-        struct.put(SCHEMA.field("timestamp"), timestamp);
-        return struct;
+        return WRITER.write(this);
     }
     @Override
     public String toString() {
@@ -16,7 +16,6 @@
 package com.ibm.eventautomation.demos.loosehangerjeans.data;
 
 import org.apache.kafka.connect.data.Schema;
-import org.apache.kafka.connect.data.SchemaBuilder;
 import org.apache.kafka.connect.data.Struct;
 
 import com.ibm.eventautomation.demos.datafaker.LoosehangerFaker;
@@ -39,6 +38,13 @@ public class UserContext {
     private final boolean donottrack;
     private final boolean cookies;
 
+    /**
+     * Struct for the user context. The context does not change during
+     *  a session, so this is created for the first click event in the
+     *  session and shared by the rest.
+     */
+    private volatile Struct struct;
+
     public UserContext(LoosehangerFaker faker) {
         WebUserAgent webUserAgent = faker.webUserAgent();
         Internet internet = faker.internet();
@@ -55,62 +61,44 @@ public class UserContext {
         cookies = webUserAgent.cookiesEnabled();
     }
 
-    private static final Schema DEVICE_SCHEMA = SchemaBuilder.struct()
-        .name("device")
+    private static final StructWriter<UserContext> DEVICE = StructWriter.<UserContext>struct("device")
         .version(1)
-        .field("type",       Schema.STRING_SCHEMA)
-        .field("os",         Schema.STRING_SCHEMA)
-        .field("resolution", Schema.STRING_SCHEMA)
+        .field("type",       Schema.STRING_SCHEMA, context -> context.deviceType)
+        .field("os",         Schema.STRING_SCHEMA, context -> context.deviceOperatingSystem)
+        .field("resolution", Schema.STRING_SCHEMA, context -> context.screenResolution)
         .build();
 
-    private static final Schema ENABLED_SCHEMA = SchemaBuilder.struct()
-        .name("browserenabled")
+    private static final StructWriter<UserContext> ENABLED = StructWriter.<UserContext>struct("browserenabled")
         .version(1)
-        .field("cookies",    Schema.BOOLEAN_SCHEMA)
-        .field("javascript", Schema.BOOLEAN_SCHEMA)
+        .field("cookies",    Schema.BOOLEAN_SCHEMA, context -> context.cookies)
+        .field("javascript", Schema.BOOLEAN_SCHEMA, context -> context.javascript)
         .build();
 
-    private static final Schema BROWSER_SCHEMA = SchemaBuilder.struct()
-        .name("browser")
+    private static final StructWriter<UserContext> BROWSER = StructWriter.<UserContext>struct("browser")
         .version(1)
-        .field("name",      Schema.STRING_SCHEMA)
-        .field("version",   Schema.STRING_SCHEMA)
-        .field("useragent", Schema.STRING_SCHEMA)
-        .field("enabled",   ENABLED_SCHEMA)
+        .field("name",      Schema.STRING_SCHEMA,  context -> context.browserName)
+        .field("version",   Schema.STRING_SCHEMA,  context -> context.browserVersion)
+        .field("useragent", Schema.STRING_SCHEMA,  context -> context.userAgent)
+        .field("enabled",   ENABLED.schema(),      ENABLED::write)
         .build();
 
-    public static final Schema SCHEMA = SchemaBuilder.struct()
-        .name("usercontext")
+    private static final StructWriter<UserContext> WRITER = StructWriter.<UserContext>struct("usercontext")
         .version(1)
-        .field("device",     DEVICE_SCHEMA)
-        .field("browser",    BROWSER_SCHEMA)
-        .field("ipaddress",  Schema.STRING_SCHEMA)
-        .field("donottrack", Schema.BOOLEAN_SCHEMA)
+        .field("device",     DEVICE.schema(),       DEVICE::write)
+        .field("browser",    BROWSER.schema(),      BROWSER::write)
+        .field("ipaddress",  Schema.STRING_SCHEMA,  context -> context.ipAddress)
+        .field("donottrack", Schema.BOOLEAN_SCHEMA, context -> context.donottrack)
         .build();
+    public static final Schema SCHEMA = WRITER.schema();
 
 
     public Struct toStruct() {
-        final Struct device = new Struct(DEVICE_SCHEMA);
-        device.put(DEVICE_SCHEMA.field("type"),       deviceType);
-        device.put(DEVICE_SCHEMA.field("os"),         deviceOperatingSystem);
-        device.put(DEVICE_SCHEMA.field("resolution"), screenResolution);
-
-        final Struct enabled = new Struct(ENABLED_SCHEMA);
-        enabled.put(ENABLED_SCHEMA.field("cookies"),    cookies);
-        enabled.put(ENABLED_SCHEMA.field("javascript"), javascript);
-
-        final Struct browser = new Struct(BROWSER_SCHEMA);
-        browser.put(BROWSER_SCHEMA.field("name"),      browserName);
-        browser.put(BROWSER_SCHEMA.field("version"),   browserVersion);
-        browser.put(BROWSER_SCHEMA.field("useragent"), userAgent);
-        browser.put(BROWSER_SCHEMA.field("enabled"),   enabled);
-
-        final Struct struct = new Struct(SCHEMA);
-        struct.put(SCHEMA.field("device"),     device);
-        struct.put(SCHEMA.field("browser"),    browser);
-        struct.put(SCHEMA.field("ipaddress"),  ipAddress);
-        struct.put(SCHEMA.field("donottrack"), donottrack);
-        return struct;
+        Struct result = struct;
+        if (result == null) {
+            result = WRITER.write(this);
+            struct = result;
+        }
+        return result;
     }
 
 
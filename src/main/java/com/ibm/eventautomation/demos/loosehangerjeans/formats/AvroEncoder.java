@@ -0,0 +1,182 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.formats;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.errors.DataException;
+
+/**
+ * Encodes Kafka Connect values as Avro binary, using the Avro schemas
+ *  derived from their Connect schemas by {@link AvroSchemas}.
+ *
+ *  Only the value is written - there is no container file header or
+ *  registry framing, so consumers need the .avsc file for the schema
+ *  (which can be identified from its fingerprint).
+ *
+ *  Values are written straight into a reused buffer, without creating
+ *  Avro GenericRecords first.
+ *
+ *  Not thread-safe - each thread that encodes values needs its own.
+ */
+public class AvroEncoder {
+
+    private final EncodingBuffer buffer = new EncodingBuffer(1024);
+
+    /** Fingerprints of the schemas that have been encoded, which are all constants */
+    private final Map<Schema, Long> fingerprints = new IdentityHashMap<>();
+
+
+    /** Returns the Avro binary encoding of a value with the provided schema */
+    public byte[] encode(Schema schema, Object value) {
+        buffer.reset();
+        writeValue(schema, value);
+        return buffer.toByteArray();
+    }
+
+    /** Returns the fingerprint of the Avro schema for the provided schema */
+    public long fingerprint(Schema schema) {
+        return fingerprints.computeIfAbsent(schema, AvroSchemas::fingerprint);
+    }
+
+
+    private void writeValue(Schema schema, Object value) {
+        if (value == null && schema.defaultValue() != null) {
+            value = schema.defaultValue();
+        }
+        if (schema.isOptional()) {
+            // index of the branch of the ["null", type] union
+            if (value == null) {
+                writeLong(0);
+                return;
+            }
+            writeLong(1);
+        }
+        else if (value == null) {
+            throw new DataException("Missing value for required schema " + schema);
+        }
+
+        switch (schema.type()) {
+            case INT8:
+                writeLong((Byte) value);
+                break;
+            case INT16:
+                writeLong((Short) value);
+                break;
+            case INT32:
+                writeLong((Integer) value);
+                break;
+            case INT64:
+                writeLong((Long) value);
+                break;
+            case FLOAT32:
+                writeFixed(Float.floatToIntBits((Float) value), 4);
+                break;
+            case FLOAT64:
+                writeFixed(Double.doubleToLongBits((Double) value), 8);
+                break;
+            case BOOLEAN:
+                buffer.write((Boolean) value ? 1 : 0);
+                break;
+            case STRING:
+                writeString((String) value);
+                break;
+            case BYTES:
+                writeBytes(value);
+                break;
+            case ARRAY:
+                writeArray(schema, (Collection<?>) value);
+                break;
+            case MAP:
+                writeMap(schema, (Map<?, ?>) value);
+                break;
+            case STRUCT:
+                for (Field field : schema.fields()) {
+                    writeValue(field.schema(), ((Struct) value).get(field));
+                }
+                break;
+            default:
+                throw new DataException("Unsupported schema type " + schema.type());
+        }
+    }
+
+    /** Writes a zig-zag encoded variable-length integer */
+    private void writeLong(long value) {
+        long n = (value << 1) ^ (value >> 63);
+        while ((n & ~0x7FL) != 0) {
+            buffer.write((int) ((n & 0x7F) | 0x80));
+            n >>>= 7;
+        }
+        buffer.write((int) n);
+    }
+
+    /** Writes the low bytes of the value, least significant first */
+    private void writeFixed(long bits, int bytes) {
+        for (int i = 0; i < bytes; i++) {
+            buffer.write((int) (bits >>> (i * 8)));
+        }
+    }
+
+    private void writeString(String value) {
+        writeLong(EncodingBuffer.utf8Length(value));
+        buffer.writeUtf8(value, 0, value.length());
+    }
+
+    private void writeBytes(Object value) {
+        final byte[] bytes;
+        if (value instanceof ByteBuffer) {
+            final ByteBuffer byteBuffer = ((ByteBuffer) value).duplicate();
+            bytes = new byte[byteBuffer.remaining()];
+            byteBuffer.get(bytes);
+        }
+        else {
+            bytes = (byte[]) value;
+        }
+        writeLong(bytes.length);
+        buffer.write(bytes);
+    }
+
+    /** Writes the items as a single block, followed by the empty block that ends the array */
+    private void writeArray(Schema schema, Collection<?> values) {
+        if (!values.isEmpty()) {
+            writeLong(values.size());
+            for (Object item : values) {
+                writeValue(schema.valueSchema(), item);
+            }
+        }
+        writeLong(0);
+    }
+
+    private void writeMap(Schema schema, Map<?, ?> map) {
+        if (schema.keySchema().type() != Schema.Type.STRING) {
+            throw new DataException("Avro maps must have string keys");
+        }
+        if (!map.isEmpty()) {
+            writeLong(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeString((String) entry.getKey());
+                writeValue(schema.valueSchema(), entry.getValue());
+            }
+        }
+        writeLong(0);
+    }
+}
@@ -0,0 +1,218 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.formats;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.errors.DataException;
+
+/**
+ * Derives Avro schemas from Kafka Connect schemas.
+ *
+ *  Structs become records (named after the Connect schema), optional
+ *  values become unions of null and the value with a null default, and
+ *  maps must have string keys. 8 and 16-bit integers become Avro ints.
+ *
+ *  The Avro schemas for the events are bundled with the connector in
+ *  the avro/ resources folder, as {@code <schema name>.avsc} files, so
+ *  that consumers can decode the events without a schema registry.
+ */
+public class AvroSchemas {
+
+    private AvroSchemas() {}
+
+
+    /** Returns the Avro schema, formatted as an .avsc file */
+    public static String toAvsc(Schema schema) {
+        final StringBuilder out = new StringBuilder();
+        writeJson(out, toAvro(schema, new HashSet<>()), "", true);
+        return out.append('\n').toString();
+    }
+
+    /**
+     * Returns the Parsing Canonical Form of the Avro schema, which is
+     *  what its fingerprint is calculated from.
+     */
+    public static String canonicalForm(Schema schema) {
+        final StringBuilder out = new StringBuilder();
+        writeJson(out, toAvro(schema, new HashSet<>()), null, false);
+        return out.toString();
+    }
+
+    /**
+     * Returns the 64-bit Rabin fingerprint of the Avro schema, as
+     *  calculated by Avro's SchemaNormalization.parsingFingerprint64.
+     */
+    public static long fingerprint(Schema schema) {
+        long fp = EMPTY;
+        for (byte b : canonicalForm(schema).getBytes(StandardCharsets.UTF_8)) {
+            fp = (fp >>> 8) ^ FP_TABLE[(int) (fp ^ b) & 0xff];
+        }
+        return fp;
+    }
+
+
+    /**
+     * Returns the Avro schema as a tree of maps, lists and strings.
+     *
+     * @param defined - names of the records already defined, which
+     *                   must be referred to by name if used again
+     */
+    private static Object toAvro(Schema schema, Set<String> defined) {
+        final Object type = toAvroType(schema, defined);
+        if (schema.isOptional()) {
+            return List.of("null", type);
+        }
+        return type;
+    }
+
+    private static Object toAvroType(Schema schema, Set<String> defined) {
+        switch (schema.type()) {
+            case INT8:
+            case INT16:
+            case INT32:
+                return "int";
+            case INT64:
+                return "long";
+            case FLOAT32:
+                return "float";
+            case FLOAT64:
+                return "double";
+            case BOOLEAN:
+                return "boolean";
+            case STRING:
+                return "string";
+            case BYTES:
+                return "bytes";
+            case ARRAY: {
+                final Map<String, Object> array = new LinkedHashMap<>();
+                array.put("type", "array");
+                array.put("items", toAvro(schema.valueSchema(), defined));
+                return array;
+            }
+            case MAP: {
+                if (schema.keySchema().type() != Schema.Type.STRING) {
+                    throw new DataException("Avro maps must have string keys");
+                }
+                final Map<String, Object> map = new LinkedHashMap<>();
+                map.put("type", "map");
+                map.put("values", toAvro(schema.valueSchema(), defined));
+                return map;
+            }
+            case STRUCT: {
+                if (!defined.add(schema.name())) {
+                    return schema.name();
+                }
+                final List<Object> fields = new ArrayList<>();
+                for (Field field : schema.fields()) {
+                    final Map<String, Object> avroField = new LinkedHashMap<>();
+                    avroField.put("name", field.name());
+                    avroField.put("type", toAvro(field.schema(), defined));
+                    if (field.schema().isOptional()) {
+                        avroField.put("default", null);
+                    }
+                    fields.add(avroField);
+                }
+                final Map<String, Object> record = new LinkedHashMap<>();
+                record.put("name", schema.name());
+                record.put("type", "record");
+                record.put("fields", fields);
+                return record;
+            }
+            default:
+                throw new DataException("Unsupported schema type " + schema.type());
+        }
+    }
+
+
+    /**
+     * Writes the schema tree as JSON.
+     *
+     * @param indent - indentation for pretty-printing, or null for compact JSON
+     * @param defaults - true to include the default values of fields
+     */
+    private static void writeJson(StringBuilder out, Object value, String indent, boolean defaults) {
+        if (value == null) {
+            out.append("null");
+        }
+        else if (value instanceof String) {
+            out.append('"').append(value).append('"');
+        }
+        else if (value instanceof List) {
+            final List<?> list = (List<?>) value;
+            // unions are short, so are kept on one line
+            final boolean nested = indent != null && list.stream().anyMatch(item -> !(item instanceof String));
+            out.append('[');
+            for (int i = 0; i < list.size(); i++) {
+                if (i > 0) {
+                    out.append(indent != null && !nested ? ", " : ",");
+                }
+                if (nested) {
+                    out.append('\n').append(indent).append("  ");
+                }
+                writeJson(out, list.get(i), nested ? indent + "  " : indent, defaults);
+            }
+            if (nested) {
+                out.append('\n').append(indent);
+            }
+            out.append(']');
+        }
+        else {
+            final Map<?, ?> map = (Map<?, ?>) value;
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!defaults && "default".equals(entry.getKey())) {
+                    continue;
+                }
+                if (!first) {
+                    out.append(',');
+                }
+                if (indent != null) {
+                    out.append('\n').append(indent).append("  ");
+                }
+                out.append('"').append(entry.getKey()).append('"').append(indent != null ? ": " : ":");
+                writeJson(out, entry.getValue(), indent != null ? indent + "  " : null, defaults);
+                first = false;
+            }
+            if (indent != null) {
+                out.append('\n').append(indent);
+            }
+            out.append('}');
+        }
+    }
+
+
+    private static final long EMPTY = 0xc15d213aa4d7a795L;
+    private static final long[] FP_TABLE = new long[256];
+    static {
+        for (int i = 0; i < 256; i++) {
+            long fp = i;
+            for (int j = 0; j < 8; j++) {
+                fp = (fp >>> 1) ^ (EMPTY & -(fp & 1L));
+            }
+            FP_TABLE[i] = fp;
+        }
+    }
+}
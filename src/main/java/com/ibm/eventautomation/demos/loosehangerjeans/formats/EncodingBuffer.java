@@ -0,0 +1,134 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.formats;
+
+import java.util.Arrays;
+
+/**
+ * Growable buffer that values are encoded into, which is reused for
+ *  each value so that only the final byte array needs to be allocated.
+ *
+ *  Not thread-safe - each thread that encodes values needs its own.
+ */
+public class EncodingBuffer {
+
+    private byte[] bytes;
+    private int size;
+
+
+    public EncodingBuffer(int initialCapacity) {
+        this.bytes = new byte[initialCapacity];
+    }
+
+
+    /** Empties the buffer, ready to encode the next value */
+    public void reset() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Returns a copy of the bytes written since the buffer was reset */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+
+    public void write(int b) {
+        ensureCapacity(1);
+        bytes[size++] = (byte) b;
+    }
+
+    public void write(byte[] b) {
+        ensureCapacity(b.length);
+        System.arraycopy(b, 0, bytes, size, b.length);
+        size += b.length;
+    }
+
+    /** Writes the ASCII characters of the provided string */
+    public void writeAscii(String s) {
+        final int length = s.length();
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            bytes[size++] = (byte) s.charAt(i);
+        }
+    }
+
+    /**
+     * Writes the UTF-8 encoding of part of a string, without creating
+     *  an intermediate byte array.
+     */
+    public void writeUtf8(String s, int start, int end) {
+        ensureCapacity((end - start) * 3);
+        for (int i = start; i < end; i++) {
+            final char c = s.charAt(i);
+            if (c < 0x80) {
+                bytes[size++] = (byte) c;
+            }
+            else if (c < 0x800) {
+                bytes[size++] = (byte) (0xC0 | (c >> 6));
+                bytes[size++] = (byte) (0x80 | (c & 0x3F));
+            }
+            else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(s.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(c, s.charAt(++i));
+                bytes[size++] = (byte) (0xF0 | (codePoint >> 18));
+                bytes[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                bytes[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                bytes[size++] = (byte) (0x80 | (codePoint & 0x3F));
+            }
+            else if (Character.isSurrogate(c)) {
+                // unpaired surrogate
+                bytes[size++] = (byte) '?';
+            }
+            else {
+                bytes[size++] = (byte) (0xE0 | (c >> 12));
+                bytes[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[size++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    /** Returns the number of bytes in the UTF-8 encoding of a string */
+    public static int utf8Length(String s) {
+        final int length = s.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            final char c = s.charAt(i);
+            if (c >= 0x800) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    bytes += 2;
+                    i++;
+                }
+                else if (!Character.isSurrogate(c)) {
+                    bytes += 2;
+                }
+            }
+            else if (c >= 0x80) {
+                bytes += 1;
+            }
+        }
+        return bytes;
+    }
+
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+        }
+    }
+}
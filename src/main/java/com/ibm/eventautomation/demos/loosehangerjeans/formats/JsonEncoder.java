@@ -0,0 +1,225 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.formats;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Map;
+
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.errors.DataException;
+
+/**
+ * Encodes Kafka Connect values as UTF-8 JSON, in the same shape that
+ *  JsonConverter produces with schemas.enable=false: structs become
+ *  objects with every field in schema order (including nulls), maps
+ *  with string keys become objects, and bytes become base64 strings.
+ *
+ *  Values are written straight into a reused buffer, without building
+ *  a tree of JSON nodes first.
+ *
+ *  Not thread-safe - each thread that encodes values needs its own.
+ */
+public class JsonEncoder {
+
+    private static final byte[] NULL = { 'n', 'u', 'l', 'l' };
+    private static final byte[] TRUE = { 't', 'r', 'u', 'e' };
+    private static final byte[] FALSE = { 'f', 'a', 'l', 's', 'e' };
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private final EncodingBuffer buffer = new EncodingBuffer(1024);
+
+
+    /** Returns the JSON encoding of a value with the provided schema */
+    public byte[] encode(Schema schema, Object value) {
+        buffer.reset();
+        writeValue(schema, value);
+        return buffer.toByteArray();
+    }
+
+
+    private void writeValue(Schema schema, Object value) {
+        if (value == null) {
+            if (schema != null && schema.defaultValue() != null) {
+                value = schema.defaultValue();
+            }
+            else {
+                buffer.write(NULL);
+                return;
+            }
+        }
+
+        switch (schema.type()) {
+            case INT8:
+            case INT16:
+            case INT32:
+            case INT64:
+                buffer.writeAscii(value.toString());
+                break;
+            case FLOAT32:
+                writeFloatingPoint((Float) value, Float.toString((Float) value));
+                break;
+            case FLOAT64:
+                writeFloatingPoint((Double) value, Double.toString((Double) value));
+                break;
+            case BOOLEAN:
+                buffer.write((Boolean) value ? TRUE : FALSE);
+                break;
+            case STRING:
+                writeString((String) value);
+                break;
+            case BYTES:
+                writeBytes(value);
+                break;
+            case ARRAY:
+                writeArray(schema, (Collection<?>) value);
+                break;
+            case MAP:
+                writeMap(schema, (Map<?, ?>) value);
+                break;
+            case STRUCT:
+                writeStruct((Struct) value);
+                break;
+            default:
+                throw new DataException("Unsupported schema type " + schema.type());
+        }
+    }
+
+    private void writeFloatingPoint(double value, String text) {
+        if (Double.isFinite(value)) {
+            buffer.writeAscii(text);
+        }
+        else {
+            // written as strings, as JSON has no representation for them
+            buffer.write('"');
+            buffer.writeAscii(text);
+            buffer.write('"');
+        }
+    }
+
+    private void writeBytes(Object value) {
+        final byte[] bytes;
+        if (value instanceof ByteBuffer) {
+            final ByteBuffer byteBuffer = ((ByteBuffer) value).duplicate();
+            bytes = new byte[byteBuffer.remaining()];
+            byteBuffer.get(bytes);
+        }
+        else {
+            bytes = (byte[]) value;
+        }
+        buffer.write('"');
+        buffer.write(Base64.getEncoder().encode(bytes));
+        buffer.write('"');
+    }
+
+    private void writeArray(Schema schema, Collection<?> values) {
+        buffer.write('[');
+        boolean first = true;
+        for (Object item : values) {
+            if (!first) {
+                buffer.write(',');
+            }
+            writeValue(schema.valueSchema(), item);
+            first = false;
+        }
+        buffer.write(']');
+    }
+
+    private void writeMap(Schema schema, Map<?, ?> map) {
+        if (schema.keySchema().type() == Schema.Type.STRING) {
+            buffer.write('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!first) {
+                    buffer.write(',');
+                }
+                writeString((String) entry.getKey());
+                buffer.write(':');
+                writeValue(schema.valueSchema(), entry.getValue());
+                first = false;
+            }
+            buffer.write('}');
+        }
+        else {
+            // maps with other types of keys are written as an array of [key, value] pairs
+            buffer.write('[');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!first) {
+                    buffer.write(',');
+                }
+                buffer.write('[');
+                writeValue(schema.keySchema(), entry.getKey());
+                buffer.write(',');
+                writeValue(schema.valueSchema(), entry.getValue());
+                buffer.write(']');
+                first = false;
+            }
+            buffer.write(']');
+        }
+    }
+
+    private void writeStruct(Struct struct) {
+        buffer.write('{');
+        boolean first = true;
+        for (Field field : struct.schema().fields()) {
+            if (!first) {
+                buffer.write(',');
+            }
+            writeString(field.name());
+            buffer.write(':');
+            writeValue(field.schema(), struct.get(field));
+            first = false;
+        }
+        buffer.write('}');
+    }
+
+    /** Writes a quoted string, escaping characters in the same way as Jackson */
+    private void writeString(String value) {
+        buffer.write('"');
+        final int length = value.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                continue;
+            }
+            buffer.writeUtf8(value, start, i);
+            buffer.write('\\');
+            switch (c) {
+                case '"':  buffer.write('"'); break;
+                case '\\': buffer.write('\\'); break;
+                case '\b': buffer.write('b'); break;
+                case '\t': buffer.write('t'); break;
+                case '\n': buffer.write('n'); break;
+                case '\f': buffer.write('f'); break;
+                case '\r': buffer.write('r'); break;
+                default:
+                    buffer.write('u');
+                    buffer.write('0');
+                    buffer.write('0');
+                    buffer.write(HEX[c >> 4]);
+                    buffer.write(HEX[c & 0xF]);
+            }
+            start = i + 1;
+        }
+        buffer.writeUtf8(value, start, length);
+        buffer.write('"');
+    }
+}
@@ -15,7 +15,6 @@
  */
 package com.ibm.eventautomation.demos.loosehangerjeans.generators;
 
-import java.util.UUID;
 import java.time.ZonedDateTime;
 
 import org.apache.kafka.common.config.AbstractConfig;
@@ -24,23 +23,29 @@ import com.ibm.eventautomation.demos.loosehangerjeans.DatagenSourceConfig;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.BadgeIn;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.Locations;
 import com.ibm.eventautomation.demos.loosehangerjeans.utils.Generators;
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.IdGenerator;
 
 /**
  * Generates a {@link BadgeIn} event using randomly generated data.
  */
 public class BadgeInGenerator extends Generator<BadgeIn> {
 
+    /** generates the IDs for badge-in events */
+    private final IdGenerator ids;
+
     public BadgeInGenerator(AbstractConfig config)
     {
         super(config.getInt(DatagenSourceConfig.CONFIG_TIMES_BADGEINS),
               config.getInt(DatagenSourceConfig.CONFIG_DELAYS_BADGEINS),
               config.getDouble(DatagenSourceConfig.CONFIG_DUPLICATE_BADGEINS),
               config.getString(DatagenSourceConfig.CONFIG_FORMATS_TIMESTAMPS));
+
+        this.ids = idGenerator(config, DatagenSourceConfig.CONFIG_IDS_BADGEINS);
     }
 
     @Override
     protected BadgeIn generateEvent(ZonedDateTime timestamp) {
-        return new BadgeIn(UUID.randomUUID().toString(),
+        return new BadgeIn(ids.next(),
                            formatTimestamp(timestamp),
                            generateDoorId(),
                            faker.credentials().username(),
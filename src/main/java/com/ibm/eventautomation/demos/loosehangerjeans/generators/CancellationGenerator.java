@@ -16,22 +16,26 @@
 package com.ibm.eventautomation.demos.loosehangerjeans.generators;
 
 import java.time.ZonedDateTime;
-import java.util.List;
 
 import org.apache.kafka.common.config.AbstractConfig;
 
 import com.ibm.eventautomation.demos.loosehangerjeans.DatagenSourceConfig;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.Cancellation;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.Order;
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.Distribution;
 import com.ibm.eventautomation.demos.loosehangerjeans.utils.Generators;
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.ItemSampler;
 
 /**
  * Generates a {@link Cancellation} event using randomly generated data.
+ *
+ * A single CancellationGenerator is shared by multiple tasks, so it
+ *  must be safe to call from multiple threads at once.
  */
 public class CancellationGenerator extends Generator<Cancellation> {
 
     /** reasons for cancelling an order will be chosen from this list */
-    private final List<String> reasons;
+    private final ItemSampler<String> reasons;
 
     public CancellationGenerator(AbstractConfig config)
     {
@@ -40,7 +44,8 @@ public class CancellationGenerator extends Generator<Cancellation> {
               config.getDouble(DatagenSourceConfig.CONFIG_DUPLICATE_CANCELLATIONS),
               config.getString(DatagenSourceConfig.CONFIG_FORMATS_TIMESTAMPS));
 
-        this.reasons = config.getList(DatagenSourceConfig.CONFIG_CANCELLATIONS_REASONS);
+        this.reasons = new ItemSampler<>(config.getList(DatagenSourceConfig.CONFIG_CANCELLATIONS_REASONS),
+                                         Distribution.fromConfig(config.getString(DatagenSourceConfig.CONFIG_DISTRIBUTIONS_CANCELLATION_REASONS)));
     }
 
     public Cancellation generate(Order order) {
@@ -49,7 +54,7 @@ public class CancellationGenerator extends Generator<Cancellation> {
 
     public Cancellation generate(ZonedDateTime timestamp, Order order) {
         return new Cancellation(order,
-                                Generators.randomItem(reasons),
+                                reasons.sample(),
                                 formatTimestamp(timestamp),
                                 timestamp);
     }
@@ -18,12 +18,16 @@ package com.ibm.eventautomation.demos.loosehangerjeans.generators;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAccessor;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Iterator;
 import java.util.Locale;
+import java.util.NoSuchElementException;
+
+import org.apache.kafka.common.config.AbstractConfig;
 
 import com.ibm.eventautomation.demos.datafaker.LoosehangerFaker;
+import com.ibm.eventautomation.demos.loosehangerjeans.DatagenTaskShard;
 import com.ibm.eventautomation.demos.loosehangerjeans.utils.Generators;
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.IdGenerator;
 
 
 public abstract class Generator<T> {
@@ -32,7 +36,7 @@ public abstract class Generator<T> {
     protected static final Locale DEFAULT_LOCALE = Locale.US;
 
     /** Faker utility available for generators to use. */
-    protected final LoosehangerFaker faker = new LoosehangerFaker(DEFAULT_LOCALE);
+    protected final LoosehangerFaker faker = new LoosehangerFaker(DEFAULT_LOCALE, Generators.random());
 
     /**
      * How frequently (on average) the generator should
@@ -100,6 +104,26 @@ public abstract class Generator<T> {
              DateTimeFormatter.ofPattern(timestampFormat));
     }
 
+    /**
+     * Returns a generator for unique IDs, in the format chosen by the
+     *  provided config option, with random UUIDs as the default format.
+     */
+    protected static IdGenerator idGenerator(AbstractConfig config, String configName) {
+        return idGenerator(config, configName, IdGenerator::randomUUID);
+    }
+
+    /**
+     * Returns a generator for unique IDs, in the format chosen by the
+     *  provided config option.
+     *
+     * @param defaultIds - generates IDs in the default format for the event
+     */
+    protected static IdGenerator idGenerator(AbstractConfig config, String configName, IdGenerator defaultIds) {
+        return IdGenerator.fromConfig(config.getString(configName),
+                                      new DatagenTaskShard(config).index(),
+                                      defaultIds);
+    }
+
     /**
      * Generates an event for the provided timestamp.
      *
@@ -117,30 +141,46 @@ public abstract class Generator<T> {
 
 
     /**
-     * Generates one week's worth of events to create a fake history.
-     *  This is intended to be used on the first run of the connector
-     *  to create an instant history of events that can be used for
-     *  historical aggregations.
+     * Generates events to create a fake history between the provided
+     *  times, in timestamp order.
+     *
+     * Events are generated one at a time as the iterator is used, so
+     *  that the whole history does not need to be held in memory.
+     *
+     * @param start - timestamp for the first event
+     * @param end - all events will be before this time
      */
-    public List<T> generateHistory() {
-        final List<T> history = new ArrayList<T>();
-
-        final ZonedDateTime now = ZonedDateTime.now();
-        ZonedDateTime timestamp = ZonedDateTime.now().minusDays(7);
-
-        while (timestamp.isBefore(now)) {
-            T event = generateEvent(timestamp);
-
-            history.add(event);
-
-            if (shouldDuplicate()) {
-                history.add(event);
+    public Iterator<T> historyIterator(ZonedDateTime start, ZonedDateTime end) {
+        return new Iterator<T>() {
+            private ZonedDateTime timestamp = start;
+            private T duplicate = null;
+
+            @Override
+            public boolean hasNext() {
+                return duplicate != null || timestamp.isBefore(end);
             }
 
-            timestamp = timestamp.plusNanos(INTERVAL_MS * 1_000_000L);
-        }
-
-        return history;
+            @Override
+            public T next() {
+                if (duplicate != null) {
+                    final T event = duplicate;
+                    duplicate = null;
+                    return event;
+                }
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                final T event = generateEvent(timestamp);
+
+                if (shouldDuplicate()) {
+                    duplicate = event;
+                }
+
+                timestamp = timestamp.plusNanos(INTERVAL_MS * 1_000_000L);
+                return event;
+            }
+        };
     }
 
     /**
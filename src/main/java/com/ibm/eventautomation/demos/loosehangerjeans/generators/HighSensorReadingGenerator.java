@@ -16,13 +16,13 @@
 package com.ibm.eventautomation.demos.loosehangerjeans.generators;
 
 import java.time.ZonedDateTime;
-import java.util.UUID;
 
 import org.apache.kafka.common.config.AbstractConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.ibm.eventautomation.demos.loosehangerjeans.DatagenSourceConfig;
+import com.ibm.eventautomation.demos.loosehangerjeans.DatagenTaskShard;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.SensorReading;
 import com.ibm.eventautomation.demos.loosehangerjeans.utils.Generators;
 
@@ -42,8 +42,13 @@ public class HighSensorReadingGenerator extends SensorReadingGenerator {
 
     private final Logger log = LoggerFactory.getLogger(HighSensorReadingGenerator.class);
 
-    /** sensor ID for the sensor that will report high values */
-    private final static String SENSOR_ID = generateSensorId();
+    /**
+     * sensor ID for the sensor that will report high values
+     *  (chosen using random numbers that are the same for every task,
+     *  so that historical and new events from all of the tasks report
+     *  the same sensor)
+     */
+    private final String sensorId;
 
     /** minimum temperature used when reporting high temperatures */
     private final static double HIGH_TEMP_MIN = 23.0;
@@ -82,14 +87,17 @@ public class HighSensorReadingGenerator extends SensorReadingGenerator {
     {
         super(config.getInt(DatagenSourceConfig.CONFIG_TIMES_HIGHSENSORREADINGS),
               config.getInt(DatagenSourceConfig.CONFIG_DELAYS_SENSORREADINGS),
-              config.getDouble(DatagenSourceConfig.CONFIG_DUPLICATE_SENSORREADINGS));
+              config.getDouble(DatagenSourceConfig.CONFIG_DUPLICATE_SENSORREADINGS),
+              idGenerator(config, DatagenSourceConfig.CONFIG_IDS_SENSORREADINGS));
 
         OUTLIER_RATIO = config.getDouble(DatagenSourceConfig.CONFIG_SENSORREADINGS_OUTLIER_RATIO);
 
+        sensorId = Generators.withRandom(DatagenTaskShard.sharedRandom(config), SensorReadingGenerator::generateSensorId);
+
         resetHighTemperatureSeries();
         resetHighHumiditySeries();
 
-        log.info("high readings to be reported for {}", SENSOR_ID);
+        log.info("high readings to be reported for {}", sensorId);
     }
 
 
@@ -142,9 +150,9 @@ public class HighSensorReadingGenerator extends SensorReadingGenerator {
             }
         }
 
-        return new SensorReading(UUID.randomUUID().toString(),
+        return new SensorReading(ids.next(),
                                  formatTimestamp(timestamp),
-                                 SENSOR_ID,
+                                 sensorId,
                                  temp,
                                  humidity,
                                  timestamp);
@@ -24,9 +24,11 @@ import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.stream.Collectors;
@@ -37,6 +39,7 @@ import org.slf4j.LoggerFactory;
 
 import com.ibm.eventautomation.demos.datafaker.LoosehangerFaker;
 import com.ibm.eventautomation.demos.loosehangerjeans.DatagenSourceConfig;
+import com.ibm.eventautomation.demos.loosehangerjeans.DatagenTaskShard;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.AbandonedOrder;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.Address;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.ClickEvent;
@@ -47,8 +50,12 @@ import com.ibm.eventautomation.demos.loosehangerjeans.data.OnlineActivityData;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.OnlineAddress;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.OnlineCustomer;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.OnlineOrder;
+import com.ibm.eventautomation.demos.loosehangerjeans.data.PayloadProfile;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.UserContext;
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.Distribution;
 import com.ibm.eventautomation.demos.loosehangerjeans.utils.Generators;
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.IdGenerator;
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.ItemSampler;
 
 public class OnlineActivityGenerator {
 
@@ -57,7 +64,7 @@ public class OnlineActivityGenerator {
     // ------------------------------------------------------------
     // HELPER CLASSES - used to generate data
     // ------------------------------------------------------------
-    private final LoosehangerFaker faker = new LoosehangerFaker(DEFAULT_LOCALE);
+    private final LoosehangerFaker faker = new LoosehangerFaker(DEFAULT_LOCALE, Generators.random());
     private ProductGenerator productGenerator;
     private final Country COUNTRY = new Country(DEFAULT_LOCALE.getCountry(), DEFAULT_LOCALE.getDisplayCountry(DEFAULT_LOCALE));
 
@@ -88,6 +95,15 @@ public class OnlineActivityGenerator {
     private final int minPhones;
     /** Maximum number of phones in an address for the given order. */
     private final int maxPhones;
+    /**
+     * Prefix for session IDs that keeps them unique when the workload is
+     *  shared between multiple tasks. (Empty when running a single task.)
+     */
+    private final String sessionIdPrefix;
+    /** Generates the IDs for user sessions */
+    private final IdGenerator sessionIds;
+    /** Generates the IDs for click events */
+    private final IdGenerator clickEventIds;
     /** Likelihood that a user will abandon their cart at each step during a session. */
     private final double abandonmentRate;
     /**
@@ -100,7 +116,7 @@ public class OnlineActivityGenerator {
      */
     private final double reuseAddressRatio;
     /** Custom list of cities to be used instead of faker generated */
-    private final List<String> cities;
+    private final ItemSampler<String> cities;
     /**
      * Ratio of orders that have at least one product that runs out-of-stock after the order has been placed.
      * Must be between 0.0 and 1.0.
@@ -109,9 +125,16 @@ public class OnlineActivityGenerator {
      * Setting this to 1 will mean that one out-of-stock event will be generated for each new order.
      */
     private final double outOfStockRatio;
+    /** How much detail to generate for click tracking events */
+    private final PayloadProfile clickEventProfile;
+    /** How much detail to generate for online orders */
+    private final PayloadProfile onlineOrderProfile;
 
     // ------------------------------------------------------------
     // CURRENT STATE - helps to generate series of events over time
+    //
+    //  the events in a session can be generated by different threads
+    //   so methods that use this state are synchronized
     // ------------------------------------------------------------
     /** Current active user sessions that could generate future events. */
     private final Map<String, SessionState> currentSessions = new HashMap<>();
@@ -130,13 +153,28 @@ public class OnlineActivityGenerator {
         this.minPhones = config.getInt(DatagenSourceConfig.CONFIG_ONLINEORDERS_ADDRESS_PHONES_MIN);
         this.maxPhones = config.getInt(DatagenSourceConfig.CONFIG_ONLINEORDERS_ADDRESS_PHONES_MAX);
         this.reuseAddressRatio = config.getDouble(DatagenSourceConfig.CONFIG_ONLINEORDERS_REUSE_ADDRESS_RATIO);
-        this.cities = config.getList(DatagenSourceConfig.CONFIG_ONLINEORDERS_CITIES);
+        this.cities = new ItemSampler<>(config.getList(DatagenSourceConfig.CONFIG_ONLINEORDERS_CITIES),
+                                        Distribution.fromConfig(config.getString(DatagenSourceConfig.CONFIG_DISTRIBUTIONS_CITIES)));
         this.baseUrl = config.getString(DatagenSourceConfig.CONFIG_ONLINEORDERS_URL);
         this.maxEvents = config.getInt(DatagenSourceConfig.CONFIG_ONLINEORDERS_CLICKEVENTS_MAX);
         this.abandonmentRate = config.getDouble(DatagenSourceConfig.CONFIG_ONLINEORDERS_ABANDONED_RATIO);
         this.alreadyLoggedInRate = config.getDouble(DatagenSourceConfig.CONFIG_ONLINEORDERS_LOGGEDIN_RATIO);
         this.marketingCampaignRate = config.getDouble(DatagenSourceConfig.CONFIG_ONLINEORDERS_MARKETING_RATIO);
         this.outOfStockRatio = config.getDouble(DatagenSourceConfig.CONFIG_ONLINEORDERS_OUTOFSTOCK_RATIO);
+        this.sessionIdPrefix = new DatagenTaskShard(config).keyPrefix();
+        this.sessionIds = idGenerator(config, DatagenSourceConfig.CONFIG_IDS_SESSIONS,
+                                      () -> sessionIdPrefix + IdGenerator.randomString(VALID_SESSIONID_CHARS, 16 - sessionIdPrefix.length()));
+        this.clickEventIds = idGenerator(config, DatagenSourceConfig.CONFIG_IDS_CLICKEVENTS,
+                                         () -> sessionIdPrefix + ClickEvent.randomEventId(12 - sessionIdPrefix.length()));
+        this.clickEventProfile = PayloadProfile.fromConfig(config.getString(DatagenSourceConfig.CONFIG_PROFILES_CLICKEVENTS));
+        this.onlineOrderProfile = PayloadProfile.fromConfig(config.getString(DatagenSourceConfig.CONFIG_PROFILES_ONLINEORDERS));
+    }
+
+
+    private static IdGenerator idGenerator(AbstractConfig config, String configName, IdGenerator defaultIds) {
+        return IdGenerator.fromConfig(config.getString(configName),
+                                      new DatagenTaskShard(config).index(),
+                                      defaultIds);
     }
 
 
@@ -144,13 +182,13 @@ public class OnlineActivityGenerator {
      * Prepare a new online customer that could be used in future clicktracking events.
      * This allows for correlation with new customer events.
      */
-    public NewCustomer registerNewOnlineCustomer() {
+    public synchronized NewCustomer registerNewOnlineCustomer() {
         try {
             if (recentNewCustomers.size() < 3) {
                 OnlineCustomer newCustomer = OnlineCustomer.create(faker, minEmails, maxEmails);
 
                 if (recentNewCustomers.add(newCustomer)) {
-                    ZonedDateTime regTs = ZonedDateTime.now();
+                    ZonedDateTime regTs = Generators.now();
                     return new NewCustomer(formatTimestamp(regTs), newCustomer, regTs);
                 }
             }
@@ -166,7 +204,7 @@ public class OnlineActivityGenerator {
      *
      * @return session id
      */
-    public String startNewSession() {
+    public synchronized String startNewSession() {
         if (currentSessions.size() >= maxSessions) {
             return null;
         }
@@ -183,7 +221,7 @@ public class OnlineActivityGenerator {
     }
 
     /** Is the specified session still active? */
-    public boolean hasMore(String sessionid) {
+    public synchronized boolean hasMore(String sessionid) {
         SessionState session = currentSessions.get(sessionid);
         if (session != null) {
             if (!session.hasMoreEvents) {
@@ -195,7 +233,7 @@ public class OnlineActivityGenerator {
     }
 
     /** Generate and return the next event for an active user session. */
-    public OnlineActivityData nextActivity(ZonedDateTime timestamp, String sessionid) {
+    public synchronized OnlineActivityData nextActivity(ZonedDateTime timestamp, String sessionid) {
         SessionState session = currentSessions.get(sessionid);
 
         if (session == null || !session.hasMoreEvents) {
@@ -210,7 +248,8 @@ public class OnlineActivityGenerator {
             //  initialise new set of activity by returning an initial page view
             session.currentEventType = ClickEventType.PAGE_VIEW;
             session.currentPage = createPageUrl(session);
-            return Generators.randomBoolean() ?
+            // referrers are left out of minimal events, so are not generated for them
+            return Generators.randomBoolean() || clickEventProfile == PayloadProfile.MINIMAL ?
                 createClickTrackingEvent(timestamp, session) :
                 createClickTrackingEventWithReferrer(timestamp, session);
         }
@@ -279,10 +318,12 @@ public class OnlineActivityGenerator {
 
     private OnlineActivityData createClickTrackingEvent(ZonedDateTime timestamp, SessionState session) {
         return new ClickEvent(
+            clickEventProfile,
             session.currentEventType,
             formatTimestamp(timestamp),
             timestamp,
             session.sessionId,
+            clickEventIds.next(),
             session.userContext,
             session.loggedInUser,
             session.currentPage);
@@ -291,10 +332,12 @@ public class OnlineActivityGenerator {
     private OnlineActivityData createClickTrackingEventWithReferrer(ZonedDateTime timestamp, SessionState session) {
         try {
             return new ClickEvent(
+                clickEventProfile,
                 session.currentEventType,
                 formatTimestamp(timestamp),
                 timestamp,
                 session.sessionId,
+                clickEventIds.next(),
                 session.userContext,
                 session.loggedInUser,
                 session.currentPage,
@@ -307,23 +350,32 @@ public class OnlineActivityGenerator {
     }
 
     private OnlineActivityData createOnlineOrder(ZonedDateTime timestamp, SessionState session) {
-        Address shippingAddress = Address.create(faker, COUNTRY, minPhones, maxPhones);
-        if (cities.size() > 0) {
+        return new OnlineOrder(
+            onlineOrderProfile,
+            formatTimestamp(timestamp),
+            session.loggedInUser,
+            new ArrayList<>(session.currentCart),
+            onlineOrderProfile == PayloadProfile.MINIMAL ? null : createOnlineAddress(),
+            timestamp);
+    }
+
+    private OnlineAddress createOnlineAddress() {
+        // phone numbers are left out of the addresses for the standard profile
+        int minAddressPhones = onlineOrderProfile == PayloadProfile.FULL ? minPhones : 0;
+        int maxAddressPhones = onlineOrderProfile == PayloadProfile.FULL ? maxPhones : 0;
+
+        Address shippingAddress = Address.create(faker, COUNTRY, minAddressPhones, maxAddressPhones);
+        if (!cities.isEmpty()) {
             // override the faker-generated city name with one provided in config
-            String city = Generators.randomItem(cities);
+            String city = cities.sample();
             shippingAddress.setCity(city);
         }
 
         Address billingAddress = Generators.shouldDo(reuseAddressRatio)
                 ? shippingAddress
-                : Address.create(faker, COUNTRY, minPhones, maxPhones);
+                : Address.create(faker, COUNTRY, minAddressPhones, maxAddressPhones);
 
-        return new OnlineOrder(
-            formatTimestamp(timestamp),
-            session.loggedInUser,
-            new ArrayList<>(session.currentCart),
-            new OnlineAddress(shippingAddress, billingAddress),
-            timestamp);
+        return new OnlineAddress(shippingAddress, billingAddress);
     }
 
     private OnlineActivityData createAbandonedOrder(ZonedDateTime timestamp, SessionState session) {
@@ -346,10 +398,12 @@ public class OnlineActivityGenerator {
 
     private OnlineActivityData createCartEvent(ZonedDateTime timestamp, SessionState session, String product) {
         return new ClickEvent(
+            clickEventProfile,
             session.currentEventType,
             formatTimestamp(timestamp),
             timestamp,
             session.sessionId,
+            clickEventIds.next(),
             session.userContext,
             session.loggedInUser,
             session.currentPage,
@@ -493,8 +547,9 @@ public class OnlineActivityGenerator {
 
         private SessionState(LoosehangerFaker faker) {
             // initialise state for a new user session
-            sessionId = "sess_" + Generators.randomString(VALID_SESSIONID_CHARS, 16);
-            userContext = new UserContext(faker);
+            sessionId = "sess_" + sessionIds.next();
+            // the user context is only included in events with the full profile
+            userContext = clickEventProfile == PayloadProfile.FULL ? new UserContext(faker) : null;
             currentCart = new HashSet<>();
             currentLoggedInStatus = false;
             loggedInUser = null;
@@ -572,33 +627,57 @@ public class OnlineActivityGenerator {
     // ------------------------------------------------------------
 
     /**
-     * Generates one week's worth of events to create a fake history.
-     *  This is intended to be used on the first run of the connector
-     *  to create an instant history of events that can be used for
-     *  historical aggregations.
+     * Generates events to create a fake history between the provided
+     *  times, in timestamp order.
+     *
+     * Sessions are generated one at a time as the iterator is used, so
+     *  that the whole history does not need to be held in memory.
+     *
+     * @param start - time that the first session starts
+     * @param end - no events will be generated after this time
      */
-    public List<OnlineActivityData> generateHistory(int sessionIntervalSecs, int eventIntervalSecs)
+    public Iterator<OnlineActivityData> historyIterator(int sessionIntervalSecs, int eventIntervalSecs, ZonedDateTime start, ZonedDateTime end)
     {
-        final List<OnlineActivityData> history = new ArrayList<>();
-
-        final ZonedDateTime now = ZonedDateTime.now();
-        ZonedDateTime timestamp = ZonedDateTime.now().minusDays(7);
-
-        String historicalSessionId = startNewSession();
-        while (timestamp.isBefore(now)) {
-            while (hasMore(historicalSessionId) && timestamp.isBefore(now)) {
-                timestamp = timestamp.plusSeconds(eventIntervalSecs);
-                OnlineActivityData event = nextActivity(timestamp, historicalSessionId);
-                if (event != null) {
-                    history.add(event);
+        return new Iterator<OnlineActivityData>() {
+            private ZonedDateTime timestamp = start;
+            private String historicalSessionId = startNewSession();
+            private OnlineActivityData nextEvent = generateNextEvent();
+
+            private OnlineActivityData generateNextEvent() {
+                synchronized (OnlineActivityGenerator.this) {
+                    while (timestamp.isBefore(end)) {
+                        if (hasMore(historicalSessionId)) {
+                            timestamp = timestamp.plusSeconds(eventIntervalSecs);
+                            OnlineActivityData event = nextActivity(timestamp, historicalSessionId);
+                            if (event != null) {
+                                return event;
+                            }
+                        }
+                        else {
+                            timestamp = timestamp.plusSeconds(sessionIntervalSecs);
+                            historicalSessionId = startNewSession();
+                        }
+                    }
+
+                    currentSessions.clear();
+                    return null;
                 }
             }
 
-            timestamp = timestamp.plusSeconds(sessionIntervalSecs);
-            historicalSessionId = startNewSession();
-        }
+            @Override
+            public boolean hasNext() {
+                return nextEvent != null;
+            }
 
-        currentSessions.clear();
-        return history;
+            @Override
+            public OnlineActivityData next() {
+                if (nextEvent == null) {
+                    throw new NoSuchElementException();
+                }
+                final OnlineActivityData event = nextEvent;
+                nextEvent = generateNextEvent();
+                return event;
+            }
+        };
     }
 }
@@ -17,7 +17,6 @@ package com.ibm.eventautomation.demos.loosehangerjeans.generators;
 
 import java.time.ZonedDateTime;
 import java.util.List;
-import java.util.UUID;
 import java.util.Map;
 
 import org.apache.kafka.common.config.AbstractConfig;
@@ -26,34 +25,46 @@ import com.ibm.eventautomation.demos.loosehangerjeans.DatagenSourceConfig;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.Cancellation;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.Customer;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.Order;
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.Distribution;
 import com.ibm.eventautomation.demos.loosehangerjeans.utils.Generators;
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.IdGenerator;
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.ItemSampler;
 
 /**
  * Generates an {@link Order} event using randomly generated data.
+ *
+ * A single OrderGenerator is shared by multiple tasks, so it must
+ *  not keep any state between generated events, to keep it safe to
+ *  call from multiple threads at once.
  */
 public class OrderGenerator extends Generator<Order> {
 
     /** order regions (e.g. NA, EMEA) will be chosen at random from this list */
-    private final List<String> regions;
+    private final ItemSampler<String> regions;
 
     /** order country codes for different regions */
     private final Map<String, List<String>> regionToCountryCodeMap;
 
     /** priorities list for orders */
-    private final List<String> priorities;
+    private final ItemSampler<String> priorities;
 
     /** minimum price for randomly selected unit price for generated orders */
     private final double minPrice;
     /** maximum price for randomly selected unit price for generated orders */
     private final double maxPrice;
+    /** how unit prices are spread between the minimum and maximum */
+    private final Distribution priceDistribution;
 
     /** helper class to randomly generate the name of a product */
-    private ProductGenerator productGenerator;
+    private final ProductGenerator productGenerator;
+
+    /** generates the IDs for orders */
+    private final IdGenerator orderIds;
 
     /** minimum number of items to order */
-    private int minOrders;
+    private final int minOrders;
     /** maximum number of items to order */
-    private int maxOrders;
+    private final int maxOrders;
 
     /**
      * Proportion of {@link Order} events that should have an associated
@@ -64,7 +75,7 @@ public class OrderGenerator extends Generator<Order> {
      * Set this to 0.0 for no cancellation events.
      * Set this to 1.0 for every order to have a corresponding cancellation.
      */
-    private double cancellationRatio;
+    private final double cancellationRatio;
 
 
     public OrderGenerator(AbstractConfig config)
@@ -75,15 +86,19 @@ public class OrderGenerator extends Generator<Order> {
               config.getString(DatagenSourceConfig.CONFIG_FORMATS_TIMESTAMPS));
 
         this.productGenerator = new ProductGenerator(config);
+        this.orderIds = idGenerator(config, DatagenSourceConfig.CONFIG_IDS_ORDERS);
 
-        this.regions = config.getList(DatagenSourceConfig.CONFIG_LOCATIONS_REGIONS);
+        this.regions = new ItemSampler<>(config.getList(DatagenSourceConfig.CONFIG_LOCATIONS_REGIONS),
+                                         Distribution.fromConfig(config.getString(DatagenSourceConfig.CONFIG_DISTRIBUTIONS_REGIONS)));
 
         this.regionToCountryCodeMap = DatagenSourceConfig.parseCountriesList(config.getString(DatagenSourceConfig.CONFIG_LOCATIONS_REGIONS_COUNTRIES_MAP));
 
         this.minPrice = config.getDouble(DatagenSourceConfig.CONFIG_PRODUCTS_MIN_PRICE);
         this.maxPrice = config.getDouble(DatagenSourceConfig.CONFIG_PRODUCTS_MAX_PRICE);
+        this.priceDistribution = Distribution.fromConfig(config.getString(DatagenSourceConfig.CONFIG_DISTRIBUTIONS_PRICES));
 
-        this.priorities = config.getList(DatagenSourceConfig.CONFIG_PRIORITIES);
+        this.priorities = new ItemSampler<>(config.getList(DatagenSourceConfig.CONFIG_PRIORITIES),
+                                            Distribution.fromConfig(config.getString(DatagenSourceConfig.CONFIG_DISTRIBUTIONS_PRIORITIES)));
 
         this.minOrders = config.getInt(DatagenSourceConfig.CONFIG_ORDERS_SMALL_MIN);
         this.maxOrders = config.getInt(DatagenSourceConfig.CONFIG_ORDERS_LARGE_MAX);
@@ -94,20 +109,20 @@ public class OrderGenerator extends Generator<Order> {
 
     /** generates a random order */
     public Order generate(int minItems, int maxItems) {
-        return generate(minItems, maxItems, ZonedDateTime.now());
+        return generate(minItems, maxItems, Generators.now());
     }
 
     public Order generate(int minItems, int maxItems, ZonedDateTime timestamp) {
         int quantity = Generators.randomInt(minItems, maxItems);
-        double unitPrice = Generators.randomPrice(minPrice, maxPrice);
+        double unitPrice = Generators.randomPrice(minPrice, maxPrice, priceDistribution);
         String description = productGenerator.generate().getDescription();
-        String region = Generators.randomItem(regions);
+        String region = regions.sample();
         String countryCode = generateCountryCode(region);
         String storeID = String.valueOf(Generators.randomInt(1000,9999));
-        String priority = Generators.randomItem(priorities);
+        String priority = priorities.sample();
         Customer customer = new Customer(faker);
 
-        return new Order(UUID.randomUUID().toString(),
+        return new Order(orderIds.next(),
                          formatTimestamp(timestamp),
                          customer,
                          description,
@@ -127,11 +142,11 @@ public class OrderGenerator extends Generator<Order> {
     public Order generate(Customer customer) {
         int minItems = 1;
         int maxItems = 1;
-        double unitPrice = Generators.randomPrice(minPrice, maxPrice);
+        double unitPrice = Generators.randomPrice(minPrice, maxPrice, priceDistribution);
         String description = productGenerator.generate().getDescription();
-        String region = Generators.randomItem(regions);
+        String region = regions.sample();
         String countryCode = generateCountryCode(region);
-        String priority = Generators.randomItem(priorities);
+        String priority = priorities.sample();
         String storeID = String.valueOf(Generators.randomInt(1000,9999));
 
         return generate(minItems, maxItems,
@@ -159,7 +174,7 @@ public class OrderGenerator extends Generator<Order> {
                         region,
                         description,
                         customer,
-                        ZonedDateTime.now(),
+                        Generators.now(),
                         countryCode,
                         priority,
                         storeID);
@@ -180,7 +195,7 @@ public class OrderGenerator extends Generator<Order> {
             customer = new Customer(faker);
         }
 
-        return new Order(UUID.randomUUID().toString(),
+        return new Order(orderIds.next(),
                          formatTimestamp(timestamp),
                          customer,
                          description,
@@ -195,17 +210,17 @@ public class OrderGenerator extends Generator<Order> {
 
     @Override
     protected Order generateEvent(ZonedDateTime timestamp) {
-        double unitPrice = Generators.randomPrice(minPrice, maxPrice);
+        double unitPrice = Generators.randomPrice(minPrice, maxPrice, priceDistribution);
         String description = productGenerator.generate().getDescription();
-        String region = Generators.randomItem(regions);
+        String region = regions.sample();
         String countryCode = generateCountryCode(region);
         Customer customer = new Customer(faker);
-        String priority = Generators.randomItem(priorities);
+        String priority = priorities.sample();
         String storeID = String.valueOf(Generators.randomInt(1000,9999));
 
         int quantity = Generators.randomInt(minOrders, maxOrders);
 
-        return new Order(UUID.randomUUID().toString(),
+        return new Order(orderIds.next(),
                          formatTimestamp(timestamp),
                          customer,
                          description,
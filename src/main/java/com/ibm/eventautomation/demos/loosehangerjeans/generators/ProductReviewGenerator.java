@@ -16,6 +16,7 @@
 package com.ibm.eventautomation.demos.loosehangerjeans.generators;
 
 import com.ibm.eventautomation.demos.loosehangerjeans.DatagenSourceConfig;
+import com.ibm.eventautomation.demos.loosehangerjeans.DatagenTaskShard;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.Product;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.ProductReview;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.Review;
@@ -37,6 +38,9 @@ import java.util.stream.Collectors;
 
 /**
  * Generates a {@link ProductReview} event for a given product using randomly generated data.
+ *
+ * A single ProductReviewGenerator is shared by multiple tasks, so it
+ *  must be safe to call from multiple threads at once.
  */
 public class ProductReviewGenerator extends Generator<ProductReview> {
 
@@ -100,6 +104,17 @@ public class ProductReviewGenerator extends Generator<ProductReview> {
                                  timestamp);
     }
 
+    /**
+     * Chooses the products that have a size issue. These are chosen using
+     *  random numbers that are the same for every task, so that the
+     *  historical and new reviews from all of the tasks single out the
+     *  same products.
+     */
+    public static Map<String, Product> productsWithSizeIssue(AbstractConfig config) {
+        final int count = config.getInt(DatagenSourceConfig.CONFIG_PRODUCTREVIEWS_PRODUCTS_WITH_SIZE_ISSUE_COUNT);
+        return Generators.withRandom(DatagenTaskShard.sharedRandom(config), () -> new ProductGenerator(config).generate(count));
+    }
+
     public List<Product> getProductsWithSizeIssue() {
         return new ArrayList<>(productsWithSizeIssue.values());
     }
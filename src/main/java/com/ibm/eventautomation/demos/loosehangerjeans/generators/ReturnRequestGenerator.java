@@ -20,10 +20,13 @@ import com.ibm.eventautomation.demos.loosehangerjeans.data.Address;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.Country;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.NamedAddress;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.OnlineCustomer;
+import com.ibm.eventautomation.demos.loosehangerjeans.data.PayloadProfile;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.Product;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.ProductReturn;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.ReturnRequest;
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.Distribution;
 import com.ibm.eventautomation.demos.loosehangerjeans.utils.Generators;
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.ItemSampler;
 import org.apache.kafka.common.config.AbstractConfig;
 
 import java.time.ZonedDateTime;
@@ -38,6 +41,9 @@ public class ReturnRequestGenerator extends Generator<ReturnRequest> {
     /** Helper class to randomly generate the details of a product. */
     private final ProductGenerator productGenerator;
 
+    /** Country for the addresses. */
+    private final Country country = new Country(DEFAULT_LOCALE.getCountry(), DEFAULT_LOCALE.getDisplayCountry(DEFAULT_LOCALE));
+
     /**
      * Ratio of products in a return request that have a size issue.
      * Must be between 0.0 and 1.0.
@@ -63,7 +69,7 @@ public class ReturnRequestGenerator extends Generator<ReturnRequest> {
     private final int maxQuantity;
 
     /** Reasons for returning a product will be chosen from this list. */
-    private final List<String> reasons;
+    private final ItemSampler<String> reasons;
 
     /** Minimum number of emails for the customer who makes the return request. */
     private final int minEmails;
@@ -98,6 +104,9 @@ public class ReturnRequestGenerator extends Generator<ReturnRequest> {
      */
     private final double reviewRatio;
 
+    /** How much detail to generate for the return requests. */
+    private final PayloadProfile profile;
+
 
     /** Creates an {@link ReturnRequestGenerator} using the provided configuration. */
     public ReturnRequestGenerator(AbstractConfig config,
@@ -120,7 +129,8 @@ public class ReturnRequestGenerator extends Generator<ReturnRequest> {
         this.minQuantity = config.getInt(DatagenSourceConfig.CONFIG_RETURNREQUESTS_PRODUCT_QUANTITY_MIN);
         this.maxQuantity = config.getInt(DatagenSourceConfig.CONFIG_RETURNREQUESTS_PRODUCT_QUANTITY_MAX);
 
-        this.reasons = config.getList(DatagenSourceConfig.CONFIG_RETURNREQUESTS_REASONS);
+        this.reasons = new ItemSampler<>(config.getList(DatagenSourceConfig.CONFIG_RETURNREQUESTS_REASONS),
+                                         Distribution.fromConfig(config.getString(DatagenSourceConfig.CONFIG_DISTRIBUTIONS_RETURN_REASONS)));
 
         this.minEmails = config.getInt(DatagenSourceConfig.CONFIG_RETURNREQUESTS_CUSTOMER_EMAILS_MIN);
         this.maxEmails = config.getInt(DatagenSourceConfig.CONFIG_RETURNREQUESTS_CUSTOMER_EMAILS_MAX);
@@ -130,6 +140,7 @@ public class ReturnRequestGenerator extends Generator<ReturnRequest> {
 
         this.reuseAddressRatio = config.getDouble(DatagenSourceConfig.CONFIG_RETURNREQUESTS_REUSE_ADDRESS_RATIO);
         this.reviewRatio = config.getDouble(DatagenSourceConfig.CONFIG_RETURNREQUESTS_REVIEW_RATIO);
+        this.profile = PayloadProfile.fromConfig(config.getString(DatagenSourceConfig.CONFIG_PROFILES_RETURNREQUESTS));
     }
 
     @Override
@@ -137,24 +148,8 @@ public class ReturnRequestGenerator extends Generator<ReturnRequest> {
         // Generate a random customer.
         OnlineCustomer customer = OnlineCustomer.create(faker, minEmails, maxEmails);
 
-        // Generate the country for the addresses.
-        Country country = new Country(DEFAULT_LOCALE.getCountry(), DEFAULT_LOCALE.getDisplayCountry(DEFAULT_LOCALE));
-
-        // Generate a random billing address.
-        Address billingAddress = Address.create(faker, country, minPhones, maxPhones);
-
-        List<NamedAddress> addresses = new ArrayList<>();
-        // Add the billing address to the addresses.
-        addresses.add(NamedAddress.create("Billing address", billingAddress));
-
-        // A shipping address is added to the addresses only if we should not reuse the address
-        // used as billing address.
-        if (!Generators.shouldDo(reuseAddressRatio)) {
-            // Generate a random shipping address that is different from the billing address.
-            Address shippingAddress = Address.create(faker, country, minPhones, maxPhones);
-            // Add the shipping address to the addresses.
-            addresses.add(NamedAddress.create("Shipping address", shippingAddress));
-        }
+        // Addresses are left out of return requests with the minimal profile.
+        List<NamedAddress> addresses = profile == PayloadProfile.MINIMAL ? null : generateAddresses();
 
         // Generate some product returns randomly.
         int productCount = Generators.randomInt(minProducts, maxProducts);
@@ -164,16 +159,40 @@ public class ReturnRequestGenerator extends Generator<ReturnRequest> {
             Product product = Generators.shouldDo(productWithSizeIssueRatio)
                     ? Generators.randomItem(productsWithSizeIssue)
                     : productGenerator.generate();
-            returns.add(new ProductReturn(product, quantity, Generators.randomItem(reasons)));
+            returns.add(new ProductReturn(product, quantity, reasons.sample()));
         }
 
-        return new ReturnRequest(formatTimestamp(timestamp),
+        return new ReturnRequest(profile,
+                                 formatTimestamp(timestamp),
                                  customer,
                                  addresses,
                                  returns,
                                  timestamp);
     }
 
+    private List<NamedAddress> generateAddresses() {
+        // Phone numbers are left out of the addresses for the standard profile.
+        int minAddressPhones = profile == PayloadProfile.FULL ? minPhones : 0;
+        int maxAddressPhones = profile == PayloadProfile.FULL ? maxPhones : 0;
+
+        // Generate a random billing address.
+        Address billingAddress = Address.create(faker, country, minAddressPhones, maxAddressPhones);
+
+        List<NamedAddress> addresses = new ArrayList<>();
+        // Add the billing address to the addresses.
+        addresses.add(NamedAddress.create("Billing address", billingAddress));
+
+        // A shipping address is added to the addresses only if we should not reuse the address
+        // used as billing address.
+        if (!Generators.shouldDo(reuseAddressRatio)) {
+            // Generate a random shipping address that is different from the billing address.
+            Address shippingAddress = Address.create(faker, country, minAddressPhones, maxAddressPhones);
+            // Add the shipping address to the addresses.
+            addresses.add(NamedAddress.create("Shipping address", shippingAddress));
+        }
+        return addresses;
+    }
+
     /**
      * Returns a random decision of whether an return request should be
      *  followed by a review.
@@ -18,7 +18,6 @@ package com.ibm.eventautomation.demos.loosehangerjeans.generators;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.UUID;
 
 import org.apache.kafka.common.config.AbstractConfig;
 
@@ -26,6 +25,7 @@ import com.ibm.eventautomation.demos.loosehangerjeans.DatagenSourceConfig;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.Locations;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.SensorReading;
 import com.ibm.eventautomation.demos.loosehangerjeans.utils.Generators;
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.IdGenerator;
 
 /**
  * Generates a {@link SensorReading} event using randomly generated data.
@@ -36,7 +36,7 @@ public class SensorReadingGenerator extends Generator<SensorReading> {
      * timestamp format used for sensor readings, ignoring config for the
      *  timestamps for other events
      */
-    private static final String TIMESTAMP_FORMAT = "EEE MMM dd HH:mm:ss zzz yyyy";
+    public static final String TIMESTAMP_FORMAT = "EEE MMM dd HH:mm:ss zzz yyyy";
 
     /** minimum temperature for randomly selected temperature reading */
     protected final static double TEMP_MIN = 19.5;
@@ -48,22 +48,27 @@ public class SensorReadingGenerator extends Generator<SensorReading> {
     /** maximum humidity percentage for randomly selected humidity reading */
     protected final static int HUMIDITY_MAX = 58;
 
+    /** generates the IDs for sensor readings */
+    protected final IdGenerator ids;
+
 
     public SensorReadingGenerator(AbstractConfig config)
     {
         this(config.getInt(DatagenSourceConfig.CONFIG_TIMES_SENSORREADINGS),
              config.getInt(DatagenSourceConfig.CONFIG_DELAYS_SENSORREADINGS),
-             config.getDouble(DatagenSourceConfig.CONFIG_DUPLICATE_SENSORREADINGS));
+             config.getDouble(DatagenSourceConfig.CONFIG_DUPLICATE_SENSORREADINGS),
+             idGenerator(config, DatagenSourceConfig.CONFIG_IDS_SENSORREADINGS));
     }
 
-    protected SensorReadingGenerator(int intervalMs, int delaySecs, double duplicatesRatio) {
+    protected SensorReadingGenerator(int intervalMs, int delaySecs, double duplicatesRatio, IdGenerator ids) {
         super(intervalMs, delaySecs, duplicatesRatio,
               DateTimeFormatter.ofPattern(TIMESTAMP_FORMAT).withZone(ZoneId.systemDefault()));
+        this.ids = ids;
     }
 
     @Override
     protected SensorReading generateEvent(ZonedDateTime timestamp) {
-        return new SensorReading(UUID.randomUUID().toString(),
+        return new SensorReading(ids.next(),
                                  formatTimestamp(timestamp),
                                  generateSensorId(),
                                  Generators.randomDouble(TEMP_MIN, TEMP_MAX),
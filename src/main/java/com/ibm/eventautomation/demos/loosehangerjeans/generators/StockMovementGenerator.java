@@ -16,14 +16,15 @@
 package com.ibm.eventautomation.demos.loosehangerjeans.generators;
 
 import java.time.ZonedDateTime;
-import java.util.List;
-import java.util.UUID;
 
 import org.apache.kafka.common.config.AbstractConfig;
 
 import com.ibm.eventautomation.demos.loosehangerjeans.DatagenSourceConfig;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.StockMovement;
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.Distribution;
 import com.ibm.eventautomation.demos.loosehangerjeans.utils.Generators;
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.IdGenerator;
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.ItemSampler;
 
 /**
  * Generates a {@link StockMovement} event using randomly generated data.
@@ -31,11 +32,14 @@ import com.ibm.eventautomation.demos.loosehangerjeans.utils.Generators;
 public class StockMovementGenerator extends Generator<StockMovement> {
 
     /** warehouse codes will be randomly selected from this list */
-    private final List<String> warehouses;
+    private final ItemSampler<String> warehouses;
 
     /** helper class to randomly generate the name of a product */
     private ProductGenerator productGenerator;
 
+    /** generates the IDs for stock movements */
+    private final IdGenerator ids;
+
 
     public StockMovementGenerator(AbstractConfig config)
     {
@@ -46,16 +50,19 @@ public class StockMovementGenerator extends Generator<StockMovement> {
 
         this.productGenerator = new ProductGenerator(config);
 
-        this.warehouses = config.getList(DatagenSourceConfig.CONFIG_LOCATIONS_WAREHOUSES);
+        this.ids = idGenerator(config, DatagenSourceConfig.CONFIG_IDS_STOCKMOVEMENTS);
+
+        this.warehouses = new ItemSampler<>(config.getList(DatagenSourceConfig.CONFIG_LOCATIONS_WAREHOUSES),
+                                            Distribution.fromConfig(config.getString(DatagenSourceConfig.CONFIG_DISTRIBUTIONS_WAREHOUSES)));
     }
 
     @Override
     protected StockMovement generateEvent(ZonedDateTime timestamp) {
         int quantity = Generators.randomInt(20, 500);
 
-        return new StockMovement(UUID.randomUUID().toString(),
+        return new StockMovement(ids.next(),
                                  formatTimestamp(timestamp),
-                                 Generators.randomItem(warehouses),
+                                 warehouses.sample(),
                                  productGenerator.generate().getDescription(),
                                  // stock movement quantities are always
                                  //  multiples of ten
@@ -31,7 +31,9 @@ public class SuspiciousOrderGenerator {
 
     public static List<LoosehangerData> generateHistory(AbstractConfig config,
                                                         OrderGenerator orderGenerator,
-                                                        CancellationGenerator cancellationGenerator)
+                                                        CancellationGenerator cancellationGenerator,
+                                                        ZonedDateTime start,
+                                                        ZonedDateTime end)
     {
         int smallOrderMinItems = config.getInt(DatagenSourceConfig.CONFIG_ORDERS_SMALL_MIN);
         int smallOrderMaxItems = config.getInt(DatagenSourceConfig.CONFIG_ORDERS_SMALL_MAX);
@@ -49,10 +51,9 @@ public class SuspiciousOrderGenerator {
 
         final List<LoosehangerData> history = new ArrayList<LoosehangerData>();
 
-        final ZonedDateTime now = ZonedDateTime.now();
-        ZonedDateTime timestamp = ZonedDateTime.now().minusDays(7);
+        ZonedDateTime timestamp = start;
 
-        while (timestamp.isBefore(now)) {
+        while (timestamp.isBefore(end)) {
 
             // random start for the suspicious activity
             ZonedDateTime nextTimestamp = timestamp.plusMinutes(Generators.randomInt(1, 120));
@@ -65,7 +66,7 @@ public class SuspiciousOrderGenerator {
             {
                 // random offset
                 nextTimestamp = nextTimestamp.plusSeconds(Generators.randomInt(60, 300));
-                if (nextTimestamp.isAfter(now)) {
+                if (nextTimestamp.isAfter(end)) {
                     // stop creating events once we no longer have a historical timestamp
                     break;
                 }
@@ -86,7 +87,7 @@ public class SuspiciousOrderGenerator {
                 int minDelay = Generators.randomInt(1000, cancellationMinDelay);
                 int delayMs = Generators.randomInt(minDelay, cancellationMaxDelay);
                 nextTimestamp = nextTimestamp.plusNanos(delayMs * 1_000_000L);
-                if (nextTimestamp.isAfter(now)) {
+                if (nextTimestamp.isAfter(end)) {
                     // stop creating events once we no longer have a historical timestamp
                     break;
                 }
@@ -97,7 +98,7 @@ public class SuspiciousOrderGenerator {
 
             // make a small order at the reduced price
             nextTimestamp = nextTimestamp.plusSeconds(Generators.randomInt(60, 300));
-            if (nextTimestamp.isBefore(now)) {
+            if (nextTimestamp.isBefore(end)) {
                 Order smallOrder = orderGenerator.generate(
                             smallOrderMinItems, smallOrderMaxItems,
                             Generators.randomPrice(initialOrder.getUnitPrice() - maxPriceVariation,
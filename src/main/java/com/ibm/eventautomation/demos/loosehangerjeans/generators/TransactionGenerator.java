@@ -16,7 +16,9 @@
 package com.ibm.eventautomation.demos.loosehangerjeans.generators;
 
 import com.ibm.eventautomation.demos.loosehangerjeans.DatagenSourceConfig;
+import com.ibm.eventautomation.demos.loosehangerjeans.DatagenTaskShard;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.Transaction;
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.Distribution;
 import com.ibm.eventautomation.demos.loosehangerjeans.utils.Generators;
 
 import org.apache.kafka.common.config.AbstractConfig;
@@ -51,6 +53,9 @@ public class TransactionGenerator extends Generator<Transaction> {
     /** maximum amount for randomly selected transaction. */
     protected final double maxAmount;
 
+    /** how amounts are spread between the minimum and maximum. */
+    protected final Distribution amountDistribution;
+
     /** ratio of transactions that should be complete and valid */
     protected final double validTransactionsRatio;
 
@@ -60,12 +65,25 @@ public class TransactionGenerator extends Generator<Transaction> {
               config.getDouble(DatagenSourceConfig.CONFIG_DUPLICATE_TRANSACTIONS),
               config.getString(DatagenSourceConfig.CONFIG_FORMATS_TIMESTAMPS));
 
-        this.transactionIds = IntStream.rangeClosed(1, config.getInt(DatagenSourceConfig.CONFIG_TRANSACTIONS_IDS))
-                                       .mapToObj(number -> "T" + number)
-                                       .collect(Collectors.toList());
+        // when the workload is shared between multiple tasks, each task
+        //  uses a separate subset of the transaction identifiers, so that
+        //  the sequence of events for a transaction comes from one task
+        final DatagenTaskShard shard = new DatagenTaskShard(config);
+        final int numIds = config.getInt(DatagenSourceConfig.CONFIG_TRANSACTIONS_IDS);
+        List<String> ids = IntStream.rangeClosed(1, numIds)
+                                    .filter(number -> shard.owns(number - 1))
+                                    .mapToObj(number -> "T" + number)
+                                    .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            // more tasks than transaction identifiers - so use an
+            //  identifier outside of the configured range
+            ids = List.of("T" + (numIds + shard.index() + 1));
+        }
+        this.transactionIds = ids;
 
         this.minAmount = config.getDouble(DatagenSourceConfig.CONFIG_TRANSACTIONS_AMOUNT_MIN);
         this.maxAmount = config.getDouble(DatagenSourceConfig.CONFIG_TRANSACTIONS_AMOUNT_MAX);
+        this.amountDistribution = Distribution.fromConfig(config.getString(DatagenSourceConfig.CONFIG_DISTRIBUTIONS_TRANSACTION_AMOUNTS));
         this.validTransactionsRatio = config.getDouble(DatagenSourceConfig.CONFIG_TRANSACTIONS_VALID_RATIO);
     }
 
@@ -135,7 +153,7 @@ public class TransactionGenerator extends Generator<Transaction> {
 
         transaction = new Transaction(id,
                                       newState.name(),
-                                      Generators.randomDouble(minAmount, maxAmount),
+                                      Generators.randomDouble(minAmount, maxAmount, amountDistribution),
                                       formatTimestamp(timestamp),
                                       timestamp);
         return transaction;
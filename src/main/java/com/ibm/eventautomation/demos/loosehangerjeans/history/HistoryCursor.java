@@ -0,0 +1,116 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.history;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+import com.ibm.eventautomation.demos.loosehangerjeans.data.LoosehangerData;
+
+/**
+ * Turns a stream of historical events from a generator into the
+ *  records to deliver, in timestamp order.
+ *
+ *  The generator must provide events in timestamp order. Each
+ *  event can result in more than one record - such as an order,
+ *  and the cancellation of that order a few minutes later. These
+ *  follow-up records are held until no earlier record can be
+ *  generated, so that the records from the cursor are always
+ *  in timestamp order.
+ *
+ *  Records that are outside of the window of time that the history
+ *  is for are discarded.
+ */
+public class HistoryCursor<T extends LoosehangerData> implements Iterator<HistoryRecord> {
+
+    /**
+     * Creates the records for a generated event.
+     */
+    @FunctionalInterface
+    public interface RecordMapper<T> {
+        /**
+         * @param event - generated event
+         * @param records - accepts the records for the event, and for
+         *                   any follow-up events that it triggers, which
+         *                   must not be earlier than the generated event
+         */
+        void map(T event, Consumer<HistoryRecord> records);
+    }
+
+
+    private final Iterator<T> events;
+    private final RecordMapper<T> mapper;
+
+    /** Records must be within this window to be included in the history */
+    private final HistoryWindow window;
+
+    /** Records waiting for events that could be earlier to be generated */
+    private final PriorityQueue<PendingRecord> pending = new PriorityQueue<>(
+        Comparator.comparingLong((PendingRecord pendingRecord) -> pendingRecord.record.timestamp())
+                  .thenComparingLong(pendingRecord -> pendingRecord.sequence));
+
+    /** Used to keep records with the same timestamp in the order they were generated */
+    private long sequence = 0;
+
+    /** No records earlier than this can still be generated */
+    private long watermark = Long.MIN_VALUE;
+
+
+    public HistoryCursor(Iterator<T> events, RecordMapper<T> mapper, HistoryWindow window) {
+        this.events = events;
+        this.mapper = mapper;
+        this.window = window;
+    }
+
+
+    @Override
+    public boolean hasNext() {
+        while (events.hasNext() && (pending.isEmpty() || pending.peek().record.timestamp() > watermark)) {
+            final T event = events.next();
+            watermark = event.timestampMs();
+            mapper.map(event, this::add);
+        }
+        return !pending.isEmpty();
+    }
+
+    @Override
+    public HistoryRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return pending.poll().record;
+    }
+
+
+    private void add(HistoryRecord record) {
+        if (window.includes(record)) {
+            pending.add(new PendingRecord(sequence++, record));
+        }
+    }
+
+    private static class PendingRecord {
+        private final long sequence;
+        private final HistoryRecord record;
+
+        private PendingRecord(long sequence, HistoryRecord record) {
+            this.sequence = sequence;
+            this.record = record;
+        }
+    }
+}
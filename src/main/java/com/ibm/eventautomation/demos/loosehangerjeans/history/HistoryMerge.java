@@ -0,0 +1,85 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.history;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Merges the records from multiple cursors into a single stream
+ *  of records, in timestamp order.
+ *
+ *  Each cursor must provide records in timestamp order. Only the
+ *  next record from each cursor is held at a time, so the memory
+ *  used does not depend on how many records there are in total.
+ *
+ *  Records with the same timestamp are returned in the order of
+ *  the cursors in the list that the merge was created with.
+ */
+public class HistoryMerge implements Iterator<HistoryRecord> {
+
+    private final PriorityQueue<Head> heads = new PriorityQueue<>(
+        Comparator.comparingLong((Head head) -> head.record.timestamp())
+                  .thenComparingInt(head -> head.position));
+
+
+    public HistoryMerge(List<? extends Iterator<HistoryRecord>> cursors) {
+        for (int i = 0; i < cursors.size(); i++) {
+            final Iterator<HistoryRecord> cursor = cursors.get(i);
+            if (cursor.hasNext()) {
+                heads.add(new Head(i, cursor, cursor.next()));
+            }
+        }
+    }
+
+
+    @Override
+    public boolean hasNext() {
+        return !heads.isEmpty();
+    }
+
+    @Override
+    public HistoryRecord next() {
+        final Head head = heads.poll();
+        if (head == null) {
+            throw new NoSuchElementException();
+        }
+
+        final HistoryRecord record = head.record;
+        if (head.cursor.hasNext()) {
+            head.record = head.cursor.next();
+            heads.add(head);
+        }
+        return record;
+    }
+
+
+    /** The next record from one of the cursors */
+    private static class Head {
+        private final int position;
+        private final Iterator<HistoryRecord> cursor;
+        private HistoryRecord record;
+
+        private Head(int position, Iterator<HistoryRecord> cursor, HistoryRecord record) {
+            this.position = position;
+            this.cursor = cursor;
+            this.record = record;
+        }
+    }
+}
@@ -0,0 +1,303 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.history;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.apache.kafka.connect.source.SourceRecord;
+
+import com.ibm.eventautomation.demos.loosehangerjeans.data.LoosehangerData;
+
+/**
+ * Keeps track of how much of the history has been delivered, so that
+ *  delivering the history can carry on from where it stopped if the
+ *  task is restarted before it is complete.
+ *
+ *  Historical events are delivered using a source partition of their
+ *  own, and the offset of each event records what is needed to carry
+ *  on from just after it: the window and seed that the history was
+ *  generated with, the timestamp of the event, and how many of the
+ *  events with that timestamp had been delivered. The offset of the
+ *  last event in the history also records that it is complete.
+ *
+ *  A history replayed from a snapshot was not generated from the seed,
+ *  so its offsets also record how far the timestamps in the snapshot
+ *  were moved. Carrying on means replaying the same snapshot, moved by
+ *  the same amount.
+ *
+ *  Kafka Connect only commits the offset of an event once it, and
+ *  every event before it in the same source partition, has been
+ *  written to Kafka.
+ */
+public class HistoryProgress {
+
+    /** Name of the source partition used for historical events */
+    public static final String PARTITION = "history";
+
+    private static final String OFFSET_TIMESTAMP = "offset";
+    private static final String OFFSET_DELIVERED = "delivered";
+    private static final String OFFSET_SEED = "seed";
+    private static final String OFFSET_START = "start";
+    private static final String OFFSET_END = "end";
+    private static final String OFFSET_COMPLETE = "complete";
+    private static final String OFFSET_SNAPSHOT = "snapshot";
+
+    private final Map<String, Object> partition;
+
+    /** Seed for the random numbers used to generate the history */
+    private final long seed;
+
+    /** Window that the history was generated for, in milliseconds */
+    private final long startMs;
+    private final long endMs;
+
+    /**
+     * Point to carry on from - the timestamp of the last event that was
+     *  delivered, and the number of events delivered with that timestamp
+     */
+    private final long resumeTimestamp;
+    private final long resumeDelivered;
+
+    /** Set if the whole history had been delivered */
+    private final boolean complete;
+
+    /**
+     * Time added to the timestamps of the history replayed from a snapshot,
+     *  or null if the history is generated. This is set before the history
+     *  is handed to the thread that calls poll().
+     */
+    private volatile Long snapshotShiftMs;
+
+    /**
+     * How far delivery has got since the task started. These are only
+     *  updated by the thread that calls poll().
+     */
+    private long lastTimestamp;
+    private long deliveredAtLastTimestamp;
+
+    /**
+     * The last event in the history, once it has been generated. This
+     *  is set before the event is handed to the thread that calls poll().
+     */
+    private volatile HistoryRecord lastRecord;
+
+
+    private HistoryProgress(String partitionName, long seed, long startMs, long endMs, long resumeTimestamp, long resumeDelivered, boolean complete, Long snapshotShiftMs) {
+        this.partition = LoosehangerData.partition(partitionName);
+        this.seed = seed;
+        this.startMs = startMs;
+        this.endMs = endMs;
+        this.resumeTimestamp = resumeTimestamp;
+        this.resumeDelivered = resumeDelivered;
+        this.complete = complete;
+        this.snapshotShiftMs = snapshotShiftMs;
+
+        this.lastTimestamp = resumeTimestamp;
+        this.deliveredAtLastTimestamp = resumeDelivered;
+    }
+
+
+    /**
+     * Returns the progress for a history that has not started being
+     *  delivered yet.
+     *
+     * @param partitionName - name of the source partition for historical events
+     */
+    public static HistoryProgress start(String partitionName, long seed, HistoryWindow window) {
+        final long startMs = window.start(PARTITION).toInstant().toEpochMilli();
+        final long endMs = window.end().toInstant().toEpochMilli();
+        return new HistoryProgress(partitionName, seed, startMs, endMs, startMs, 0, false, null);
+    }
+
+    /**
+     * Returns the progress recorded in the offset of the last historical
+     *  event that was delivered, or null if the offset does not contain
+     *  a recognised checkpoint.
+     */
+    public static HistoryProgress fromOffset(String partitionName, Map<String, Object> offset) {
+        if (offset == null ||
+            !(offset.get(OFFSET_TIMESTAMP) instanceof Number) ||
+            !(offset.get(OFFSET_DELIVERED) instanceof Number) ||
+            !(offset.get(OFFSET_SEED) instanceof Number) ||
+            !(offset.get(OFFSET_START) instanceof Number) ||
+            !(offset.get(OFFSET_END) instanceof Number))
+        {
+            return null;
+        }
+        return new HistoryProgress(partitionName,
+                                   ((Number) offset.get(OFFSET_SEED)).longValue(),
+                                   ((Number) offset.get(OFFSET_START)).longValue(),
+                                   ((Number) offset.get(OFFSET_END)).longValue(),
+                                   ((Number) offset.get(OFFSET_TIMESTAMP)).longValue(),
+                                   ((Number) offset.get(OFFSET_DELIVERED)).longValue(),
+                                   Boolean.TRUE.equals(offset.get(OFFSET_COMPLETE)),
+                                   offset.get(OFFSET_SNAPSHOT) instanceof Number ?
+                                       ((Number) offset.get(OFFSET_SNAPSHOT)).longValue() :
+                                       null);
+    }
+
+
+    public Map<String, Object> partition() {
+        return partition;
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    /** Returns true if all of the history had already been delivered */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /** Returns true if the history is replayed from a snapshot */
+    public boolean isFromSnapshot() {
+        return snapshotShiftMs != null;
+    }
+
+    /** Time added to the timestamps of the history replayed from a snapshot */
+    public long snapshotShiftMs() {
+        return snapshotShiftMs;
+    }
+
+    /**
+     * Records that the history is replayed from a snapshot, with the
+     *  provided time added to its timestamps.
+     */
+    void replayingSnapshot(long shiftMs) {
+        snapshotShiftMs = shiftMs;
+    }
+
+    /** Returns true if some of the history has already been delivered */
+    public boolean isResuming() {
+        return resumeTimestamp > startMs || resumeDelivered > 0;
+    }
+
+    /**
+     * Returns the window that the history was generated for.
+     *
+     *  Each generator spaces its events from the start of the window,
+     *  so carrying on with an interrupted history means generating it
+     *  again from the start, with the same seed, and skipping the
+     *  events that were already delivered (see {@link #track(Iterator)}).
+     */
+    public HistoryWindow window(ZoneId zone) {
+        return HistoryWindow.between(Instant.ofEpochMilli(startMs).atZone(zone),
+                                     Instant.ofEpochMilli(endMs).atZone(zone));
+    }
+
+    /** Timestamp of the last event that was delivered before the task stopped */
+    public Instant resumePoint() {
+        return Instant.ofEpochMilli(resumeTimestamp);
+    }
+
+    /**
+     * Skips the events from the history that have already been delivered,
+     *  and looks out for the last event so that its offset can record
+     *  that the history is complete.
+     *
+     *  The history must be generated in the same order as before, so that
+     *  the events skipped at the timestamp of the last event delivered
+     *  are the ones that were delivered.
+     */
+    public Iterator<HistoryRecord> track(Iterator<HistoryRecord> history) {
+        return new TrackingIterator(history);
+    }
+
+    /**
+     * Creates the SourceRecord to deliver for a historical event, using
+     *  the history source partition with an offset that records the
+     *  progress up to and including this event.
+     */
+    public SourceRecord toSourceRecord(HistoryRecord record) {
+        if (record.timestamp() == lastTimestamp) {
+            deliveredAtLastTimestamp++;
+        }
+        else {
+            lastTimestamp = record.timestamp();
+            deliveredAtLastTimestamp = 1;
+        }
+
+        final Map<String, Object> offset = new HashMap<>(8);
+        offset.put(OFFSET_TIMESTAMP, lastTimestamp);
+        offset.put(OFFSET_DELIVERED, deliveredAtLastTimestamp);
+        offset.put(OFFSET_SEED, seed);
+        offset.put(OFFSET_START, startMs);
+        offset.put(OFFSET_END, endMs);
+        if (snapshotShiftMs != null) {
+            offset.put(OFFSET_SNAPSHOT, snapshotShiftMs);
+        }
+        if (record == lastRecord) {
+            offset.put(OFFSET_COMPLETE, true);
+        }
+
+        return record.toSourceRecord(partition, offset);
+    }
+
+
+    /**
+     * Drops the events from before the checkpoint, and the number of
+     *  events with the checkpoint timestamp that were already delivered.
+     */
+    private class TrackingIterator implements Iterator<HistoryRecord>, AutoCloseable {
+        private final Iterator<HistoryRecord> history;
+        private long toSkip = resumeDelivered;
+        private HistoryRecord next;
+
+        private TrackingIterator(Iterator<HistoryRecord> history) {
+            this.history = history;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && history.hasNext()) {
+                final HistoryRecord candidate = history.next();
+                if (candidate.timestamp() < resumeTimestamp) {
+                    continue;
+                }
+                if (candidate.timestamp() == resumeTimestamp && toSkip > 0) {
+                    toSkip--;
+                    continue;
+                }
+                next = candidate;
+            }
+            return next != null;
+        }
+
+        @Override
+        public HistoryRecord next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final HistoryRecord record = next;
+            next = null;
+            if (!hasNext()) {
+                lastRecord = record;
+            }
+            return record;
+        }
+
+        @Override
+        public void close() {
+            HistoryWarmup.close(history);
+        }
+    }
+}
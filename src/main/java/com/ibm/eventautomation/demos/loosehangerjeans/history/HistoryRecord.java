@@ -0,0 +1,104 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.history;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.apache.kafka.connect.source.SourceRecord;
+
+import com.ibm.eventautomation.demos.loosehangerjeans.data.LoosehangerData;
+
+/**
+ * A historical event waiting to be delivered.
+ *
+ *  Building the SourceRecord for an event (with its Struct value,
+ *  headers, and partition and offset maps) is left until the event
+ *  is about to be delivered, so that the historical events waiting
+ *  to be delivered take up as little memory as possible.
+ */
+public abstract class HistoryRecord {
+
+    /** Timestamp that will be applied to the SourceRecord */
+    private final long timestamp;
+
+    /** Identifies the source partition that the record belongs to */
+    private final String origin;
+
+    protected HistoryRecord(long timestamp, String origin) {
+        this.timestamp = timestamp;
+        this.origin = origin;
+    }
+
+
+    public long timestamp() {
+        return timestamp;
+    }
+
+    public String origin() {
+        return origin;
+    }
+
+    /**
+     * Creates the SourceRecord to deliver to Kafka Connect, with the
+     *  source partition for its origin.
+     */
+    public SourceRecord toSourceRecord() {
+        return toSourceRecord(LoosehangerData.partition(origin), LoosehangerData.offset(timestamp));
+    }
+
+    /**
+     * Creates the SourceRecord to deliver to Kafka Connect, with the
+     *  provided source partition and offset.
+     */
+    public abstract SourceRecord toSourceRecord(Map<String, ?> sourcePartition, Map<String, ?> sourceOffset);
+
+    /** Writes the record to a history snapshot */
+    void writeTo(SnapshotWriter writer) throws IOException {
+        writer.write(toSourceRecord());
+    }
+
+
+    /**
+     * Returns a record for a generated event, which will be delivered
+     *  to the provided topic.
+     */
+    public static HistoryRecord of(LoosehangerData event, String topicName, String origin) {
+        return new EventRecord(event, topicName, origin);
+    }
+
+    private static class EventRecord extends HistoryRecord {
+        private final LoosehangerData event;
+        private final String topicName;
+
+        private EventRecord(LoosehangerData event, String topicName, String origin) {
+            super(event.timestampMs(), origin);
+            this.event = event;
+            this.topicName = topicName;
+        }
+
+        @Override
+        public SourceRecord toSourceRecord(Map<String, ?> sourcePartition, Map<String, ?> sourceOffset) {
+            return event.createSourceRecord(topicName, sourcePartition, sourceOffset);
+        }
+
+        @Override
+        void writeTo(SnapshotWriter writer) throws IOException {
+            event.writeTo((keySchema, key, valueSchema, value, headers) ->
+                writer.write(topicName, origin(), timestamp(), keySchema, key, valueSchema, value, headers));
+        }
+    }
+}
@@ -0,0 +1,317 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.history;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.kafka.common.config.AbstractConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ibm.eventautomation.demos.loosehangerjeans.DatagenSourceConfig;
+import com.ibm.eventautomation.demos.loosehangerjeans.generators.SensorReadingGenerator;
+
+/**
+ * Snapshot file of the historical events generated for a config,
+ *  which can be replayed instead of generating the history again.
+ *
+ *  Snapshots are identified by a hash of the config options that
+ *  affect the events that are generated, so a snapshot is only
+ *  replayed for a config that would have generated the same kind
+ *  of events. Timestamps in the replayed events are moved forward
+ *  so that the history ends at the time that it is replayed.
+ *
+ *  A snapshot is written to a temporary file while the history is
+ *  generated, and only given its final name once all of the events
+ *  have been written, so an incomplete history is never replayed.
+ */
+public class HistorySnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(HistorySnapshot.class);
+
+    static final int MAGIC = 0x4c484853; // "LHHS"
+    static final int VERSION = 1;
+
+    static final byte ENTRY_NAME = 1;
+    static final byte ENTRY_SCHEMA = 2;
+    static final byte ENTRY_RECORD = 3;
+    static final byte ENTRY_END = 4;
+
+    static final byte STRING_TEXT = 0;
+    static final byte STRING_TIMESTAMP = 1;
+
+    /**
+     * Config options that do not change which events are generated, so
+     *  are left out of the hash that identifies a snapshot. This covers
+     *  options that only change how events are delivered (the snapshot
+     *  holds the events before their values are encoded or padded), and
+     *  the shared seed, which is random for every worker unless
+     *  random.seed is set (which is hashed itself).
+     */
+    private static final Set<String> IGNORED_CONFIG = new HashSet<>(List.of(
+        DatagenSourceConfig.CONFIG_BEHAVIOR_STARTUPHISTORY,
+        DatagenSourceConfig.CONFIG_BEHAVIOR_STARTUPHISTORY_INTERLEAVE,
+        DatagenSourceConfig.CONFIG_BEHAVIOR_STARTUPHISTORY_SNAPSHOT_DIR,
+        DatagenSourceConfig.CONFIG_BEHAVIOR_STARTUPBACKFILL,
+        DatagenSourceConfig.CONFIG_PERFORMANCE_SCHEDULER_THREADS,
+        DatagenSourceConfig.CONFIG_PERFORMANCE_HISTORY_THREADS,
+        DatagenSourceConfig.CONFIG_PERFORMANCE_POLL_TIMEOUT,
+        DatagenSourceConfig.CONFIG_PERFORMANCE_POLL_MAX_RECORDS,
+        DatagenSourceConfig.CONFIG_PERFORMANCE_QUEUE_MAX_RECORDS,
+        DatagenSourceConfig.CONFIG_PERFORMANCE_QUEUE_MAX_BYTES,
+        DatagenSourceConfig.CONFIG_PERFORMANCE_QUEUE_OVERFLOW_POLICY,
+        DatagenSourceConfig.CONFIG_PERFORMANCE_BACKFILL_RATE,
+        DatagenSourceConfig.CONFIG_PERFORMANCE_OFFSETS_MODE,
+        DatagenSourceConfig.CONFIG_PERFORMANCE_OFFSETS_INTERVAL,
+        DatagenSourceConfig.CONFIG_PERFORMANCE_LATENCY_HEADERS,
+        DatagenSourceConfig.CONFIG_FORMATS_VALUES,
+        DatagenSourceConfig.CONFIG_FORMATS_AVRO_HEADER,
+        DatagenSourceConfig.CONFIG_SIZES_ENTROPY,
+        DatagenSourceConfig.CONFIG_TASK_SHARED_SEED));
+    static {
+        IGNORED_CONFIG.addAll(DatagenSourceConfig.TOPIC_SIZES.values());
+    }
+
+
+    private final Path file;
+
+    /** Formats used for timestamps in string values, identified by their position in the snapshot */
+    private final List<DateTimeFormatter> timestampFormats;
+
+
+    public HistorySnapshot(Path directory, AbstractConfig config) {
+        this.file = directory.resolve("loosehangerjeans-history-" + configHash(config) + ".bin");
+        this.timestampFormats = List.of(
+            DateTimeFormatter.ofPattern(config.getString(DatagenSourceConfig.CONFIG_FORMATS_TIMESTAMPS)),
+            DateTimeFormatter.ofPattern(config.getString(DatagenSourceConfig.CONFIG_FORMATS_TIMESTAMPS_LTZ)),
+            DateTimeFormatter.ofPattern(SensorReadingGenerator.TIMESTAMP_FORMAT).withZone(ZoneId.systemDefault()));
+    }
+
+
+    public Path file() {
+        return file;
+    }
+
+    /** Returns true if there is a complete snapshot that can be replayed */
+    public boolean exists() {
+        return Files.isRegularFile(file);
+    }
+
+    /**
+     * Returns the records from the snapshot, with timestamps moved so
+     *  that the history ends at the current time.
+     *
+     * @return null if the snapshot cannot be read, in which case the
+     *          history should be generated again
+     */
+    public Iterator<HistoryRecord> replay() {
+        try {
+            return new SnapshotReader(file, timestampFormats, System.currentTimeMillis());
+        }
+        catch (IOException e) {
+            log.warn("Unable to replay history snapshot {}", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Returns the records from the snapshot to deliver for the provided
+     *  history.
+     *
+     *  If the history was already being replayed from the snapshot, the
+     *  timestamps are moved by the same amount as before, so that the
+     *  records match the ones that were delivered. Otherwise they are
+     *  moved so that the history ends at the current time, and the
+     *  progress records how far they were moved.
+     *
+     * @return null if the snapshot cannot be read
+     */
+    public Iterator<HistoryRecord> replay(HistoryProgress progress) {
+        if (!exists()) {
+            return null;
+        }
+        try {
+            if (progress.isFromSnapshot()) {
+                return new SnapshotReader(file, timestampFormats, System.currentTimeMillis(), progress.snapshotShiftMs());
+            }
+            final SnapshotReader reader = new SnapshotReader(file, timestampFormats, System.currentTimeMillis());
+            progress.replayingSnapshot(reader.shiftMs());
+            return reader;
+        }
+        catch (IOException e) {
+            log.warn("Unable to replay history snapshot {}", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Returns the provided records unchanged, writing them to the
+     *  snapshot as they are returned. The snapshot is saved once all
+     *  of the records have been returned.
+     *
+     *  Problems writing the snapshot are logged, but do not prevent
+     *  the records from being returned.
+     *
+     *  The iterator should be closed if it is not used to the end, to
+     *  remove the incomplete snapshot.
+     *
+     * @param endMs - end of the time period covered by the history
+     */
+    public Iterator<HistoryRecord> record(Iterator<HistoryRecord> records, long endMs) {
+        try {
+            Files.createDirectories(file.getParent());
+            final Path tempFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try {
+                return new RecordingIterator(records, tempFile,
+                    new SnapshotWriter(Files.newOutputStream(tempFile), timestampFormats, endMs));
+            }
+            catch (IOException e) {
+                Files.deleteIfExists(tempFile);
+                throw e;
+            }
+        }
+        catch (IOException e) {
+            log.warn("Unable to create history snapshot {}", file, e);
+            return records;
+        }
+    }
+
+
+    /**
+     * Writes each record to the snapshot as it is returned.
+     */
+    private class RecordingIterator implements Iterator<HistoryRecord>, AutoCloseable {
+        private final Iterator<HistoryRecord> records;
+        private final Path tempFile;
+
+        /** null once the snapshot has been saved or abandoned */
+        private SnapshotWriter writer;
+
+        private RecordingIterator(Iterator<HistoryRecord> records, Path tempFile, SnapshotWriter writer) {
+            this.records = records;
+            this.tempFile = tempFile;
+            this.writer = writer;
+        }
+
+        @Override
+        public boolean hasNext() {
+            final boolean hasNext = records.hasNext();
+            if (!hasNext && writer != null) {
+                save();
+            }
+            return hasNext;
+        }
+
+        @Override
+        public HistoryRecord next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final HistoryRecord record = records.next();
+            if (writer != null) {
+                try {
+                    record.writeTo(writer);
+                }
+                catch (IOException | RuntimeException e) {
+                    log.warn("Unable to write history snapshot {}", file, e);
+                    close();
+                }
+            }
+            return record;
+        }
+
+        /** Discards the snapshot, unless all of the records have been written */
+        @Override
+        public void close() {
+            if (writer != null) {
+                try {
+                    writer.close();
+                    Files.deleteIfExists(tempFile);
+                }
+                catch (IOException e) {
+                    log.warn("Unable to remove incomplete history snapshot {}", tempFile, e);
+                }
+                writer = null;
+            }
+        }
+
+        private void save() {
+            try {
+                writer.finish();
+                writer.close();
+                writer = null;
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                log.info("Saved history snapshot {}", file);
+            }
+            catch (IOException e) {
+                log.warn("Unable to save history snapshot {}", file, e);
+                writer = null;
+                try {
+                    Files.deleteIfExists(tempFile);
+                }
+                catch (IOException deleteException) {
+                    log.warn("Unable to remove incomplete history snapshot {}", tempFile, deleteException);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Returns a hash of the config options that affect which events
+     *  are generated, including which task the events are for.
+     */
+    static String configHash(AbstractConfig config) {
+        final Map<String, Object> values = new TreeMap<>();
+        for (Map.Entry<String, ?> entry : config.values().entrySet()) {
+            if (!IGNORED_CONFIG.contains(entry.getKey())) {
+                values.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Map.Entry<String, Object> entry : values.entrySet()) {
+                digest.update((entry.getKey() + "=" + entry.getValue() + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            final StringBuilder hash = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hash.append(String.format("%02x", b));
+            }
+            // long enough to avoid collisions between configs
+            return hash.substring(0, 32);
+        }
+        catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
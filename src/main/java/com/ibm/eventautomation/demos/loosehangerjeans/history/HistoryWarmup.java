@@ -0,0 +1,203 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.history;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.apache.kafka.connect.source.SourceRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Generates historical events on a background thread, so that the
+ *  task can start generating new events straight away.
+ *
+ *  Historical events are held in a small buffer until the task is
+ *  ready to deliver them. Generating events is paused while the
+ *  buffer is full. The SourceRecord for each event is only created
+ *  when the event is taken from the buffer to be delivered.
+ */
+public class HistoryWarmup {
+
+    private static final Logger log = LoggerFactory.getLogger(HistoryWarmup.class);
+
+    /** How long stop() waits for the background thread to finish */
+    private static final long STOP_TIMEOUT_MS = 5_000;
+
+    /**
+     * How historical events share the batches of events returned to
+     *  Kafka Connect with newly generated events.
+     */
+    public enum InterleavePolicy {
+        /** deliver all of the historical events before any new events */
+        HISTORY_FIRST,
+        /** deliver new events as soon as they are generated, with historical events filling any remaining space */
+        LIVE_FIRST,
+        /** use up to half of each batch for historical events, and the rest for new events */
+        SHARED;
+
+        /** Returns the policy identified by a config value, such as "history-first" */
+        public static InterleavePolicy fromConfig(String value) {
+            return valueOf(value.toUpperCase().replace('-', '_'));
+        }
+    }
+
+
+    /** Historical events waiting to be delivered */
+    private final BlockingQueue<HistoryRecord> buffer;
+
+    /** Reused for moving events out of the buffer */
+    private final List<HistoryRecord> drained = new ArrayList<>();
+
+    /** Creates the SourceRecord to deliver for each historical event */
+    private final Function<HistoryRecord, SourceRecord> converter;
+
+    private final Thread thread;
+
+    /** Set once all of the historical events have been added to the buffer */
+    private volatile boolean generated = false;
+
+
+    /**
+     * @param history - creates the historical events to deliver, in the order to deliver them
+     * @param bufferSize - maximum number of historical events to hold
+     * @param threadName - name of the thread that will generate events
+     */
+    public HistoryWarmup(Supplier<Iterator<HistoryRecord>> history, int bufferSize, String threadName) {
+        this(history, HistoryRecord::toSourceRecord, bufferSize, threadName);
+    }
+
+    /**
+     * @param history - creates the historical events to deliver, in the order to deliver them
+     * @param converter - creates the SourceRecord for each event, when it is delivered
+     * @param bufferSize - maximum number of historical events to hold
+     * @param threadName - name of the thread that will generate events
+     */
+    public HistoryWarmup(Supplier<Iterator<HistoryRecord>> history, Function<HistoryRecord, SourceRecord> converter, int bufferSize, String threadName) {
+        this.converter = converter;
+        buffer = new ArrayBlockingQueue<>(bufferSize);
+
+        thread = new Thread(() -> {
+            Iterator<HistoryRecord> records = null;
+            try {
+                records = history.get();
+                while (records.hasNext()) {
+                    buffer.put(records.next());
+                }
+            }
+            catch (InterruptedException e) {
+                // the task is stopping
+            }
+            catch (RuntimeException e) {
+                if (!Thread.currentThread().isInterrupted()) {
+                    log.error("Failed to generate historical events", e);
+                }
+                // otherwise the task is stopping, and interrupted a
+                //  wait for events being generated by the executor
+            }
+            finally {
+                close(records);
+                generated = true;
+            }
+        }, threadName);
+        thread.setDaemon(true);
+    }
+
+
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Stops generating historical events, and discards any that
+     *  have not yet been delivered.
+     *
+     *  Waits briefly for the background thread to finish, so that it
+     *  is not still using the executor when the executor is shut down.
+     */
+    public void stop() {
+        thread.interrupt();
+        buffer.clear();
+        try {
+            thread.join(STOP_TIMEOUT_MS);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            log.warn("Historical events are still being generated after {} ms", STOP_TIMEOUT_MS);
+        }
+    }
+
+    /**
+     * Returns true once all of the historical events have been
+     *  delivered.
+     */
+    public boolean isComplete() {
+        return generated && buffer.isEmpty();
+    }
+
+    /**
+     * Moves up to maxItems historical events into the provided
+     *  collection, without waiting.
+     *
+     * @return number of events moved
+     */
+    public int drainTo(Collection<? super SourceRecord> target, int maxItems) {
+        final int count = buffer.drainTo(drained, maxItems);
+        for (HistoryRecord record : drained) {
+            target.add(converter.apply(record));
+        }
+        drained.clear();
+        return count;
+    }
+
+    /**
+     * Returns the next historical event, waiting up to the provided
+     *  time for one to be generated.
+     *
+     * @return null if no event was generated in time
+     */
+    public SourceRecord poll(long timeout, TimeUnit unit) throws InterruptedException {
+        final HistoryRecord record = buffer.poll(timeout, unit);
+        return record == null ? null : converter.apply(record);
+    }
+
+
+    /**
+     * Releases anything held by the history, such as a snapshot file.
+     *  Used by the iterators that wrap the history, so that failures
+     *  are logged in one place.
+     */
+    static void close(Iterator<?> records) {
+        if (records instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) records).close();
+            }
+            catch (Exception e) {
+                log.warn("Failed to close historical events", e);
+            }
+        }
+    }
+}
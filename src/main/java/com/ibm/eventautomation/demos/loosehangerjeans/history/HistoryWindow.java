@@ -0,0 +1,133 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.history;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Period of time to generate historical events for.
+ *
+ *  All of the events in a history end at the same time, but events
+ *  for different origins can start at different times - such as when
+ *  filling the gap since the connector was last running, where each
+ *  origin continues from the last event that it generated.
+ */
+public class HistoryWindow {
+
+    /** Earliest time that any origin can start from */
+    private final ZonedDateTime start;
+    private final ZonedDateTime end;
+
+    /**
+     * Start time for each origin, or null if every origin starts
+     *  at the start of the window
+     */
+    private final Map<String, ZonedDateTime> originStarts;
+
+    /** The same times in milliseconds, for checking record timestamps */
+    private final long startMs;
+    private final long endMs;
+    private final Map<String, Long> originStartsMs = new HashMap<>();
+
+
+    private HistoryWindow(ZonedDateTime start, ZonedDateTime end, Map<String, ZonedDateTime> originStarts) {
+        this.start = start;
+        this.end = end;
+        this.originStarts = originStarts;
+
+        this.startMs = start.toInstant().toEpochMilli();
+        this.endMs = end.toInstant().toEpochMilli();
+        if (originStarts != null) {
+            originStarts.forEach((origin, originStart) -> originStartsMs.put(origin, originStart.toInstant().toEpochMilli()));
+        }
+    }
+
+
+    /**
+     * Returns a window where events for every origin are generated
+     *  for the provided number of days.
+     */
+    public static HistoryWindow days(ZonedDateTime end, int days) {
+        return between(end.minusDays(days), end);
+    }
+
+    /**
+     * Returns a window where events for every origin are generated
+     *  between the provided times.
+     */
+    public static HistoryWindow between(ZonedDateTime start, ZonedDateTime end) {
+        return new HistoryWindow(start, end, null);
+    }
+
+    /**
+     * Returns a window where the events for each origin start after the
+     *  last event that was generated for that origin, but no earlier
+     *  than the provided number of days. No events are generated for
+     *  origins that do not have a previous event.
+     *
+     * @param lastTimestamps - timestamp (in milliseconds since the epoch)
+     *                          of the last event generated for each origin
+     */
+    public static HistoryWindow since(Map<String, Long> lastTimestamps, ZonedDateTime end, int days) {
+        final ZonedDateTime earliest = end.minusDays(days);
+        final Map<String, ZonedDateTime> originStarts = new HashMap<>();
+        for (Map.Entry<String, Long> lastTimestamp : lastTimestamps.entrySet()) {
+            // timestamps are only precise to a second
+            final ZonedDateTime next = Instant.ofEpochMilli(lastTimestamp.getValue())
+                                              .plusSeconds(1)
+                                              .atZone(end.getZone());
+            originStarts.put(lastTimestamp.getKey(), next.isAfter(earliest) ? next : earliest);
+        }
+        return new HistoryWindow(earliest, end, Collections.unmodifiableMap(originStarts));
+    }
+
+
+    /** Returns the time to start generating events for an origin */
+    public ZonedDateTime start(String origin) {
+        if (originStarts == null) {
+            return start;
+        }
+        return originStarts.getOrDefault(origin, end);
+    }
+
+    /** All events must be before this time */
+    public ZonedDateTime end() {
+        return end;
+    }
+
+    /** Returns true if there are no events to generate for any origin */
+    public boolean isEmpty() {
+        if (originStarts == null) {
+            return !start.isBefore(end);
+        }
+        return originStarts.values().stream().noneMatch(originStart -> originStart.isBefore(end));
+    }
+
+    /** Returns true if the record is within the window for its origin */
+    public boolean includes(HistoryRecord record) {
+        if (record.timestamp() >= endMs) {
+            return false;
+        }
+        if (originStarts == null) {
+            return record.timestamp() >= startMs;
+        }
+        return record.timestamp() >= originStartsMs.getOrDefault(record.origin(), endMs);
+    }
+}
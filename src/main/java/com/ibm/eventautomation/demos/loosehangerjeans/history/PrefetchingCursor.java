@@ -0,0 +1,141 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.history;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.Generators;
+
+/**
+ * Generates the records from a cursor in the background, a chunk at
+ *  a time, so that records from different cursors can be generated
+ *  in parallel.
+ *
+ *  The next chunk is generated while the current one is being used,
+ *  so at most two chunks of records are held at once.
+ *
+ *  Records are generated using a random number generator that belongs
+ *  to this cursor, so that they do not depend on what other cursors
+ *  are running at the same time.
+ *
+ *  Waiting for a chunk can be interrupted. The chunk is cancelled and
+ *  a CancellationException is thrown, with the interrupt status of the
+ *  thread left set.
+ */
+public class PrefetchingCursor implements Iterator<HistoryRecord> {
+
+    /** Creates the cursor to generate records from */
+    private final Supplier<Iterator<HistoryRecord>> cursorSupplier;
+
+    /** Created when the first chunk is generated */
+    private Iterator<HistoryRecord> cursor;
+
+    private final RandomGenerator rng;
+    private final Executor executor;
+    private final int chunkSize;
+
+    /** Chunk of records currently being returned */
+    private List<HistoryRecord> chunk = Collections.emptyList();
+    private int position = 0;
+
+    /** Chunk of records being generated, or null if the cursor has no more records */
+    private CompletableFuture<List<HistoryRecord>> nextChunk;
+
+
+    /**
+     * @param cursorSupplier - creates the cursor to generate records from
+     * @param rng - random number generator to use for generating records
+     * @param executor - runs the tasks that generate records
+     * @param chunkSize - number of records to generate in each task
+     */
+    public PrefetchingCursor(Supplier<Iterator<HistoryRecord>> cursorSupplier, RandomGenerator rng, Executor executor, int chunkSize) {
+        this.cursorSupplier = cursorSupplier;
+        this.rng = rng;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+
+        nextChunk = generateNextChunk();
+    }
+
+
+    @Override
+    public boolean hasNext() {
+        while (position >= chunk.size()) {
+            if (nextChunk == null) {
+                return false;
+            }
+
+            try {
+                chunk = nextChunk.get();
+            }
+            catch (InterruptedException e) {
+                // the executor may already have been shut down, in
+                //  which case nothing else would complete the chunk
+                nextChunk.cancel(true);
+                nextChunk = null;
+                Thread.currentThread().interrupt();
+
+                final CancellationException cancelled = new CancellationException("Interrupted while generating historical events");
+                cancelled.initCause(e);
+                throw cancelled;
+            }
+            catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+            position = 0;
+
+            // a chunk that isn't full means the cursor has run out
+            nextChunk = chunk.size() < chunkSize ? null : generateNextChunk();
+        }
+        return true;
+    }
+
+    @Override
+    public HistoryRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return chunk.get(position++);
+    }
+
+
+    private CompletableFuture<List<HistoryRecord>> generateNextChunk() {
+        return CompletableFuture.supplyAsync(() -> Generators.withRandom(rng, () -> {
+            if (cursor == null) {
+                cursor = cursorSupplier.get();
+            }
+
+            final List<HistoryRecord> records = new ArrayList<>(chunkSize);
+            while (records.size() < chunkSize && cursor.hasNext()) {
+                records.add(cursor.next());
+            }
+            return records;
+        }), executor);
+    }
+}
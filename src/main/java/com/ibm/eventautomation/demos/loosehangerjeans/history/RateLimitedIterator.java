@@ -0,0 +1,79 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.history;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Limits how quickly items can be taken from an iterator.
+ *
+ *  Items are allowed through at a steady rate, with up to a second's
+ *  worth of items allowed through at once after the iterator has not
+ *  been used for a while.
+ */
+public class RateLimitedIterator<T> implements Iterator<T>, AutoCloseable {
+
+    private static final long BURST_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Iterator<T> iterator;
+
+    /** Time between items, in nanoseconds */
+    private final long intervalNanos;
+
+    /** Earliest time that the next item is allowed through */
+    private long nextNanos;
+
+
+    /**
+     * @param iterator - iterator to take items from
+     * @param itemsPerSecond - maximum number of items to allow each second
+     */
+    public RateLimitedIterator(Iterator<T> iterator, int itemsPerSecond) {
+        this.iterator = iterator;
+        this.intervalNanos = BURST_NANOS / itemsPerSecond;
+        this.nextNanos = System.nanoTime() - BURST_NANOS;
+    }
+
+
+    @Override
+    public boolean hasNext() {
+        return iterator.hasNext();
+    }
+
+    /**
+     * Returns the next item, waiting until it is allowed through. If the
+     *  thread is interrupted, the item is returned without waiting.
+     */
+    @Override
+    public T next() {
+        final long now = System.nanoTime();
+        nextNanos = Math.max(nextNanos, now - BURST_NANOS) + intervalNanos;
+
+        long waitNanos = nextNanos - now;
+        while (waitNanos > 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(waitNanos);
+            waitNanos = nextNanos - System.nanoTime();
+        }
+        return iterator.next();
+    }
+
+    @Override
+    public void close() {
+        HistoryWarmup.close(iterator);
+    }
+}
@@ -0,0 +1,395 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.history;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.header.ConnectHeaders;
+import org.apache.kafka.connect.source.SourceRecord;
+
+
+/**
+ * Replays the records from a snapshot file written by
+ *  {@link SnapshotWriter}, moving every timestamp forward by the
+ *  time since the snapshot was created.
+ *
+ *  The file is memory-mapped a window at a time, so that snapshots
+ *  of any size can be replayed without reading them into memory.
+ *  Each record is kept in its encoded form until it is delivered,
+ *  when it is decoded into a SourceRecord.
+ *
+ *  Timestamps that are moved include the record timestamps and
+ *  offsets, string values that were recognised as timestamps when
+ *  the snapshot was written, and numeric fields using the naming
+ *  convention of the event data: INT64 fields with names ending in
+ *  "time" are milliseconds since the epoch, and INT32 fields with
+ *  names ending in "date" are days since the epoch.
+ */
+class SnapshotReader implements Iterator<HistoryRecord>, AutoCloseable {
+
+    /** Size of the part of the file that is mapped into memory at once */
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+
+    private static final long MS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    private final FileChannel channel;
+    private final long fileSize;
+
+    /** Part of the file currently mapped into memory */
+    private MappedByteBuffer window;
+    /** Position in the file of the start of the window */
+    private long windowStart = 0;
+
+    /** Formats used for timestamps in string values, identified by their position */
+    private final List<DateTimeFormatter> timestampFormats;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    /** Time to add to each timestamp, in whole seconds */
+    private final long shiftMs;
+    /** Number of days to add to dates, rounded to the nearest day */
+    private final int shiftDays;
+
+    /** Schemas read from the file, identified by their position */
+    private final List<Schema> schemas = new CopyOnWriteArrayList<>();
+    /** Topics, origins and header keys read from the file, identified by their position */
+    private final List<String> names = new CopyOnWriteArrayList<>();
+
+    private HistoryRecord next;
+    private boolean finished = false;
+
+
+    /**
+     * @param file - snapshot file to replay
+     * @param timestampFormats - formats used for timestamps in string values,
+     *                            which must match the formats used to write
+     *                            the snapshot
+     * @param nowMs - time that the end of the snapshot should be moved to
+     */
+    SnapshotReader(Path file, List<DateTimeFormatter> timestampFormats, long nowMs) throws IOException {
+        this(file, timestampFormats, nowMs, null);
+    }
+
+    /**
+     * @param file - snapshot file to replay
+     * @param timestampFormats - formats used for timestamps in string values,
+     *                            which must match the formats used to write
+     *                            the snapshot
+     * @param nowMs - time that the end of the snapshot should be moved to
+     * @param fixedShiftMs - time to add to each timestamp instead, such as
+     *                        when carrying on with an earlier replay of the
+     *                        snapshot, or null to use nowMs
+     */
+    SnapshotReader(Path file, List<DateTimeFormatter> timestampFormats, long nowMs, Long fixedShiftMs) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.timestampFormats = timestampFormats;
+
+        try {
+            map(0, 0);
+            ensure(Integer.BYTES * 2 + Long.BYTES);
+            if (window.getInt() != HistorySnapshot.MAGIC || window.getInt() != HistorySnapshot.VERSION) {
+                throw new IOException("Unrecognised history snapshot " + file);
+            }
+            final long endMs = window.getLong();
+
+            shiftMs = fixedShiftMs != null ? fixedShiftMs : Math.max(0, nowMs - endMs) / 1000 * 1000;
+            shiftDays = (int) ((shiftMs + MS_PER_DAY / 2) / MS_PER_DAY);
+        }
+        catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+
+    /** Time added to each timestamp in the snapshot */
+    long shiftMs() {
+        return shiftMs;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            try {
+                next = readNextRecord();
+            }
+            catch (IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public HistoryRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final HistoryRecord record = next;
+        next = null;
+        return record;
+    }
+
+    @Override
+    public void close() {
+        finished = true;
+        window = null;
+        try {
+            channel.close();
+        }
+        catch (IOException e) {
+            // nothing more to read from the file
+        }
+    }
+
+
+    private HistoryRecord readNextRecord() throws IOException {
+        while (true) {
+            ensure(Integer.BYTES);
+            final int length = window.getInt();
+            ensure(length);
+
+            // entries are copied out of the window, as records are
+            //  decoded later, after the window may have moved on
+            final byte type = window.get();
+            final ByteBuffer in = ByteBuffer.wrap(new byte[length - 1]);
+            window.get(in.array());
+
+            switch (type) {
+                case HistorySnapshot.ENTRY_NAME:
+                    names.add(readString(in));
+                    break;
+                case HistorySnapshot.ENTRY_SCHEMA:
+                    schemas.add(readSchema(in));
+                    break;
+                case HistorySnapshot.ENTRY_RECORD:
+                    return new EncodedRecord(in.getLong(Integer.BYTES * 2) + shiftMs,
+                                             names.get(in.getInt(Integer.BYTES)),
+                                             in.array());
+                case HistorySnapshot.ENTRY_END:
+                    close();
+                    return null;
+                default:
+                    throw new IOException("Unrecognised entry in history snapshot");
+            }
+        }
+    }
+
+    /**
+     * A record from the snapshot, which is only decoded when it is
+     *  about to be delivered.
+     */
+    private class EncodedRecord extends HistoryRecord {
+        private final byte[] entry;
+
+        private EncodedRecord(long timestamp, String origin, byte[] entry) {
+            super(timestamp, origin);
+            this.entry = entry;
+        }
+
+        @Override
+        public SourceRecord toSourceRecord(Map<String, ?> sourcePartition, Map<String, ?> sourceOffset) {
+            return readRecord(ByteBuffer.wrap(entry), sourcePartition, sourceOffset);
+        }
+    }
+
+    private SourceRecord readRecord(ByteBuffer in, Map<String, ?> sourcePartition, Map<String, ?> sourceOffset) {
+        final String topic = names.get(in.getInt());
+        in.getInt(); // origin, which the record already has
+        final long timestamp = in.getLong() + shiftMs;
+
+        final Schema keySchema = schemas.get(in.getInt());
+        final Object key = readValue(in, keySchema, null);
+        final Schema valueSchema = schemas.get(in.getInt());
+        final Object value = readValue(in, valueSchema, null);
+
+        final ConnectHeaders headers = new ConnectHeaders();
+        final int headerCount = in.getInt();
+        for (int i = 0; i < headerCount; i++) {
+            final String headerKey = names.get(in.getInt());
+            final Schema headerSchema = schemas.get(in.getInt());
+            headers.add(headerKey, readValue(in, headerSchema, null), headerSchema);
+        }
+
+        return new SourceRecord(sourcePartition,
+                                sourceOffset,
+                                topic, null,
+                                keySchema, key,
+                                valueSchema, value,
+                                timestamp,
+                                headers);
+    }
+
+    private Schema readSchema(ByteBuffer in) {
+        final Schema.Type type = Schema.Type.valueOf(readString(in));
+        final boolean optional = in.get() != 0;
+        final String name = readNullableString(in);
+
+        final SchemaBuilder builder;
+        switch (type) {
+            case STRUCT:
+                builder = SchemaBuilder.struct();
+                final int fieldCount = in.getInt();
+                for (int i = 0; i < fieldCount; i++) {
+                    final String fieldName = readString(in);
+                    builder.field(fieldName, readSchema(in));
+                }
+                break;
+            case ARRAY:
+                builder = SchemaBuilder.array(readSchema(in));
+                break;
+            case MAP:
+                final Schema keySchema = readSchema(in);
+                builder = SchemaBuilder.map(keySchema, readSchema(in));
+                break;
+            default:
+                builder = SchemaBuilder.type(type);
+                break;
+        }
+        if (optional) {
+            builder.optional();
+        }
+        if (name != null) {
+            builder.name(name);
+        }
+        return builder.build();
+    }
+
+    private Object readValue(ByteBuffer in, Schema schema, String fieldName) {
+        if (schema.isOptional() && in.get() == 0) {
+            return null;
+        }
+
+        switch (schema.type()) {
+            case INT8:
+                return in.get();
+            case INT16:
+                return in.getShort();
+            case INT32:
+                final int intValue = in.getInt();
+                return isDate(fieldName) ? intValue + shiftDays : intValue;
+            case INT64:
+                final long longValue = in.getLong();
+                return isTime(fieldName) ? longValue + shiftMs : longValue;
+            case FLOAT32:
+                return in.getFloat();
+            case FLOAT64:
+                return in.getDouble();
+            case BOOLEAN:
+                return in.get() != 0;
+            case STRING:
+                return readStringValue(in);
+            case BYTES:
+                final byte[] bytes = new byte[in.getInt()];
+                in.get(bytes);
+                return bytes;
+            case ARRAY:
+                final int size = in.getInt();
+                final List<Object> items = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    items.add(readValue(in, schema.valueSchema(), fieldName));
+                }
+                return items;
+            case MAP:
+                final int entries = in.getInt();
+                final Map<Object, Object> map = new HashMap<>();
+                for (int i = 0; i < entries; i++) {
+                    final Object mapKey = readValue(in, schema.keySchema(), null);
+                    map.put(mapKey, readValue(in, schema.valueSchema(), null));
+                }
+                return map;
+            case STRUCT:
+                final Struct struct = new Struct(schema);
+                for (Field field : schema.fields()) {
+                    struct.put(field, readValue(in, field.schema(), field.name()));
+                }
+                return struct;
+            default:
+                throw new IllegalStateException("Unsupported schema type " + schema.type());
+        }
+    }
+
+    private String readStringValue(ByteBuffer in) {
+        if (in.get() == HistorySnapshot.STRING_TIMESTAMP) {
+            final DateTimeFormatter format = timestampFormats.get(in.get());
+            final Instant timestamp = Instant.ofEpochSecond(in.getLong(), in.getInt()).plusMillis(shiftMs);
+            return format.format(timestamp.atZone(zone));
+        }
+        return readString(in);
+    }
+
+    private static String readString(ByteBuffer in) {
+        final int length = in.getInt();
+        final String value = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    private static String readNullableString(ByteBuffer in) {
+        return in.get() != 0 ? readString(in) : null;
+    }
+
+
+    private static boolean isTime(String fieldName) {
+        return fieldName != null && fieldName.endsWith("time");
+    }
+
+    private static boolean isDate(String fieldName) {
+        return fieldName != null && fieldName.endsWith("date");
+    }
+
+
+    /**
+     * Makes sure that the next length bytes of the file are in the
+     *  window, moving the window forward if necessary.
+     */
+    private void ensure(int length) throws IOException {
+        if (window.remaining() < length) {
+            final long position = windowStart + window.position();
+            if (fileSize - position < length) {
+                throw new IOException("History snapshot is truncated");
+            }
+            map(position, length);
+        }
+    }
+
+    private void map(long position, int length) throws IOException {
+        windowStart = position;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(Math.max(WINDOW_SIZE, length), fileSize - position));
+    }
+}
@@ -0,0 +1,349 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.history;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.header.Header;
+import org.apache.kafka.connect.header.Headers;
+import org.apache.kafka.connect.source.SourceRecord;
+
+/**
+ * Writes historical records to a snapshot file, in the format read
+ *  by {@link SnapshotReader}.
+ *
+ *  Each schema, topic, origin and header key is written once, the
+ *  first time a record uses it, and is referred to by its position
+ *  after that.
+ *
+ *  String values that are timestamps in one of the provided formats
+ *  are written as an instant, so that they can be moved to a new time
+ *  when the snapshot is replayed.
+ */
+class SnapshotWriter implements Closeable {
+
+    private final DataOutputStream out;
+
+    /** Formats that string values are checked against to see if they are timestamps */
+    private final List<DateTimeFormatter> timestampFormats;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    /** Schemas already written to the file, and their position */
+    private final Map<Schema, Integer> schemaIds = new IdentityHashMap<>();
+
+    /** Topics, origins and header keys already written to the file, and their position */
+    private final Map<String, Integer> nameIds = new HashMap<>();
+
+    /** Reused to prepare each entry, so that it can be written with its length */
+    private final ByteArrayOutputStream entryBytes = new ByteArrayOutputStream();
+    private final DataOutputStream entry = new DataOutputStream(entryBytes);
+
+    private long recordCount = 0;
+
+
+    /**
+     * @param out - where to write the snapshot
+     * @param timestampFormats - formats used for timestamps in string values
+     * @param endMs - end of the time period covered by the history
+     */
+    SnapshotWriter(OutputStream out, List<DateTimeFormatter> timestampFormats, long endMs) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+        this.timestampFormats = timestampFormats;
+
+        this.out.writeInt(HistorySnapshot.MAGIC);
+        this.out.writeInt(HistorySnapshot.VERSION);
+        this.out.writeLong(endMs);
+    }
+
+
+    void write(SourceRecord record) throws IOException {
+        write(record.topic(), (String) record.sourcePartition().get("partition"), record.timestamp(),
+              record.keySchema(), record.key(),
+              record.valueSchema(), record.value(),
+              record.headers());
+    }
+
+    /**
+     * Writes a record from its parts, so that a SourceRecord does not
+     *  need to be created just to write it.
+     */
+    void write(String topic, String origin, long timestamp,
+               Schema keySchema, Object key,
+               Schema valueSchema, Object value,
+               Headers headers) throws IOException
+    {
+        // schemas need to be written before the first record that uses them
+        //  and the same goes for names
+        final int topicId = nameId(topic);
+        final int originId = nameId(origin);
+        final int keySchemaId = schemaId(keySchema);
+        final int valueSchemaId = schemaId(valueSchema);
+        final int[] headerKeyIds = new int[headers.size()];
+        final int[] headerSchemaIds = new int[headers.size()];
+        int i = 0;
+        for (Header header : headers) {
+            headerKeyIds[i] = nameId(header.key());
+            headerSchemaIds[i++] = schemaId(header.schema());
+        }
+
+        entry.writeByte(HistorySnapshot.ENTRY_RECORD);
+        entry.writeInt(topicId);
+        entry.writeInt(originId);
+        entry.writeLong(timestamp);
+        entry.writeInt(keySchemaId);
+        writeValue(keySchema, null, key);
+        entry.writeInt(valueSchemaId);
+        writeValue(valueSchema, null, value);
+        entry.writeInt(headerSchemaIds.length);
+        i = 0;
+        for (Header header : headers) {
+            entry.writeInt(headerKeyIds[i]);
+            entry.writeInt(headerSchemaIds[i++]);
+            writeValue(header.schema(), null, header.value());
+        }
+        writeEntry();
+
+        recordCount++;
+    }
+
+    /**
+     * Marks the snapshot as complete. A snapshot that was not finished
+     *  is not a complete history, and should not be replayed.
+     */
+    void finish() throws IOException {
+        entry.writeByte(HistorySnapshot.ENTRY_END);
+        entry.writeLong(recordCount);
+        writeEntry();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+
+    private void writeEntry() throws IOException {
+        out.writeInt(entryBytes.size());
+        entryBytes.writeTo(out);
+        entryBytes.reset();
+    }
+
+    private int schemaId(Schema schema) throws IOException {
+        Integer id = schemaIds.get(schema);
+        if (id == null) {
+            id = schemaIds.size();
+            schemaIds.put(schema, id);
+
+            entry.writeByte(HistorySnapshot.ENTRY_SCHEMA);
+            writeSchema(schema);
+            writeEntry();
+        }
+        return id;
+    }
+
+    private int nameId(String name) throws IOException {
+        Integer id = nameIds.get(name);
+        if (id == null) {
+            id = nameIds.size();
+            nameIds.put(name, id);
+
+            entry.writeByte(HistorySnapshot.ENTRY_NAME);
+            writeString(name);
+            writeEntry();
+        }
+        return id;
+    }
+
+    private void writeSchema(Schema schema) throws IOException {
+        writeString(schema.type().name());
+        entry.writeBoolean(schema.isOptional());
+        writeNullableString(schema.name());
+
+        switch (schema.type()) {
+            case STRUCT:
+                entry.writeInt(schema.fields().size());
+                for (Field field : schema.fields()) {
+                    writeString(field.name());
+                    writeSchema(field.schema());
+                }
+                break;
+            case ARRAY:
+                writeSchema(schema.valueSchema());
+                break;
+            case MAP:
+                writeSchema(schema.keySchema());
+                writeSchema(schema.valueSchema());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * @param fieldName - name of the struct field that the value is for,
+     *                     used to identify timestamps when replaying
+     */
+    private void writeValue(Schema schema, String fieldName, Object value) throws IOException {
+        if (schema.isOptional()) {
+            entry.writeBoolean(value != null);
+            if (value == null) {
+                return;
+            }
+        }
+
+        switch (schema.type()) {
+            case INT8:
+                entry.writeByte((Byte) value);
+                break;
+            case INT16:
+                entry.writeShort((Short) value);
+                break;
+            case INT32:
+                entry.writeInt((Integer) value);
+                break;
+            case INT64:
+                entry.writeLong((Long) value);
+                break;
+            case FLOAT32:
+                entry.writeFloat((Float) value);
+                break;
+            case FLOAT64:
+                entry.writeDouble((Double) value);
+                break;
+            case BOOLEAN:
+                entry.writeBoolean((Boolean) value);
+                break;
+            case STRING:
+                writeStringValue((String) value);
+                break;
+            case BYTES:
+                final byte[] bytes = value instanceof ByteBuffer ? toArray((ByteBuffer) value) : (byte[]) value;
+                entry.writeInt(bytes.length);
+                entry.write(bytes);
+                break;
+            case ARRAY:
+                final List<?> items = (List<?>) value;
+                entry.writeInt(items.size());
+                for (Object item : items) {
+                    writeValue(schema.valueSchema(), fieldName, item);
+                }
+                break;
+            case MAP:
+                final Map<?, ?> map = (Map<?, ?>) value;
+                entry.writeInt(map.size());
+                for (Map.Entry<?, ?> mapEntry : map.entrySet()) {
+                    writeValue(schema.keySchema(), null, mapEntry.getKey());
+                    writeValue(schema.valueSchema(), null, mapEntry.getValue());
+                }
+                break;
+            case STRUCT:
+                final Struct struct = (Struct) value;
+                for (Field field : schema.fields()) {
+                    writeValue(field.schema(), field.name(), struct.get(field));
+                }
+                break;
+        }
+    }
+
+    private void writeStringValue(String value) throws IOException {
+        for (int format = 0; format < timestampFormats.size(); format++) {
+            final Instant timestamp = parseTimestamp(timestampFormats.get(format), value);
+            if (timestamp != null) {
+                entry.writeByte(HistorySnapshot.STRING_TIMESTAMP);
+                entry.writeByte(format);
+                entry.writeLong(timestamp.getEpochSecond());
+                entry.writeInt(timestamp.getNano());
+                return;
+            }
+        }
+        entry.writeByte(HistorySnapshot.STRING_TEXT);
+        writeString(value);
+    }
+
+    /**
+     * Returns the instant represented by a string, or null if the string
+     *  is not a timestamp that can be reproduced exactly from the instant
+     *  using the provided format.
+     */
+    private Instant parseTimestamp(DateTimeFormatter format, String value) {
+        // checking without resolving the fields first avoids the cost
+        //  of an exception for every string that isn't a timestamp
+        final ParsePosition position = new ParsePosition(0);
+        if (format.parseUnresolved(value, position) == null ||
+            position.getErrorIndex() >= 0 || position.getIndex() != value.length())
+        {
+            return null;
+        }
+
+        try {
+            final TemporalAccessor parsed = format.parse(value);
+            final ZonedDateTime timestamp = parsed.query(TemporalQueries.zone()) != null ?
+                ZonedDateTime.from(parsed) :
+                LocalDateTime.from(parsed).atZone(zone);
+
+            if (!format.format(timestamp.withZoneSameInstant(zone)).equals(value)) {
+                return null;
+            }
+            return timestamp.toInstant();
+        }
+        catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        entry.writeInt(bytes.length);
+        entry.write(bytes);
+    }
+
+    private void writeNullableString(String value) throws IOException {
+        entry.writeBoolean(value != null);
+        if (value != null) {
+            writeString(value);
+        }
+    }
+
+    private static byte[] toArray(ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+}
@@ -16,12 +16,12 @@
 package com.ibm.eventautomation.demos.loosehangerjeans.tasks;
 
 import java.util.Queue;
-import java.util.TimerTask;
 
 import org.apache.kafka.common.config.AbstractConfig;
 import org.apache.kafka.connect.source.SourceRecord;
 
 import com.ibm.eventautomation.demos.loosehangerjeans.DatagenSourceConfig;
+import com.ibm.eventautomation.demos.loosehangerjeans.DatagenTaskShard;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.BadgeIn;
 import com.ibm.eventautomation.demos.loosehangerjeans.generators.BadgeInGenerator;
 
@@ -29,7 +29,7 @@ import com.ibm.eventautomation.demos.loosehangerjeans.generators.BadgeInGenerato
  * Timer task intended for repeated execution. Creates new
  *  {@link BadgeIn} events at regular intervals.
  */
-public class BadgeInTask extends TimerTask {
+public class BadgeInTask implements Runnable {
 
     /** Helper class for generating BadgeIn events. */
     private BadgeInGenerator generator;
@@ -43,17 +43,21 @@ public class BadgeInTask extends TimerTask {
     /** Name of the topic to produce door badge-in events to. */
     private String topicname;
 
+    /** Source partition for the generated events. */
+    private String partition;
+
 
     public BadgeInTask(AbstractConfig config, Queue<SourceRecord> queue) {
         this.generator = new BadgeInGenerator(config);
         this.queue = queue;
         this.topicname = config.getString(DatagenSourceConfig.CONFIG_TOPICNAME_BADGEINS);
+        this.partition = new DatagenTaskShard(config).partitionName(BadgeIn.PARTITION);
     }
 
 
     @Override
     public void run() {
-        SourceRecord rec = generator.generate().createSourceRecord(topicname);
+        SourceRecord rec = generator.generate().createSourceRecord(topicname, partition);
         queue.add(rec);
 
         if (generator.shouldDuplicate()) {
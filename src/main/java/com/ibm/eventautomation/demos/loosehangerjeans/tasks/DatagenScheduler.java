@@ -0,0 +1,47 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.tasks;
+
+/**
+ * Schedules the tasks that generate events.
+ *
+ *  Tasks are either run repeatedly, to generate a stream of events,
+ *  or run once after a delay, to generate a follow-up event (such as
+ *  the cancellation of an order, or the next click in a user session).
+ *
+ *  Implementations may run tasks on multiple threads at once, so
+ *  tasks (and the generators they use) must be safe to call from
+ *  multiple threads.
+ */
+public interface DatagenScheduler {
+
+    /**
+     * Runs the provided task repeatedly, starting immediately, and then
+     *  every periodMs milliseconds.
+     */
+    void scheduleAtFixedRate(Runnable task, long periodMs);
+
+    /**
+     * Runs the provided task once, after delayMs milliseconds.
+     */
+    void schedule(Runnable task, long delayMs);
+
+    /**
+     * Stops running tasks. Scheduled tasks that have not yet
+     *  started will not be run.
+     */
+    void shutdown();
+}
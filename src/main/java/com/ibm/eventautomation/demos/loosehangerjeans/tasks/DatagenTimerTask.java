@@ -16,8 +16,6 @@
 package com.ibm.eventautomation.demos.loosehangerjeans.tasks;
 
 import java.util.Queue;
-import java.util.Timer;
-import java.util.TimerTask;
 
 import org.apache.kafka.common.config.AbstractConfig;
 import org.apache.kafka.connect.source.SourceRecord;
@@ -25,6 +23,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.ibm.eventautomation.demos.loosehangerjeans.DatagenSourceConfig;
+import com.ibm.eventautomation.demos.loosehangerjeans.DatagenTaskShard;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.Cancellation;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.Customer;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.Order;
@@ -36,7 +35,7 @@ import com.ibm.eventautomation.demos.loosehangerjeans.utils.Generators;
  * Timer task intended for repeated execution. Creates new
  *  Kafka events at regular intervals.
  */
-public abstract class DatagenTimerTask extends TimerTask {
+public abstract class DatagenTimerTask implements Runnable {
 
     private final Logger log = LoggerFactory.getLogger(DatagenTimerTask.class);
 
@@ -57,7 +56,10 @@ public abstract class DatagenTimerTask extends TimerTask {
     protected final Queue<SourceRecord> queue;
 
     /** Used to schedule message-generation tasks. */
-    private final Timer timer;
+    private final DatagenScheduler scheduler;
+
+    /** Share of the overall workload that this task is responsible for. */
+    protected final DatagenTaskShard shard;
 
 
 
@@ -65,13 +67,14 @@ public abstract class DatagenTimerTask extends TimerTask {
     protected DatagenTimerTask(OrderGenerator orderGenerator,
                                CancellationGenerator cancellationGenerator,
                                Queue<SourceRecord> queue,
-                               Timer generateTimer,
+                               DatagenScheduler scheduler,
                                AbstractConfig config)
     {
         this.orderGenerator = orderGenerator;
         this.cancellationGenerator = cancellationGenerator;
         this.queue = queue;
-        this.timer = generateTimer;
+        this.scheduler = scheduler;
+        this.shard = new DatagenTaskShard(config);
 
         this.ordersTopicName = config.getString(DatagenSourceConfig.CONFIG_TOPICNAME_ORDERS);
         this.cancellationsTopicName = config.getString(DatagenSourceConfig.CONFIG_TOPICNAME_CANCELLATIONS);
@@ -79,13 +82,14 @@ public abstract class DatagenTimerTask extends TimerTask {
 
     protected DatagenTimerTask(OrderGenerator orderGenerator,
                                Queue<SourceRecord> queue,
-                               Timer generateTimer,
+                               DatagenScheduler scheduler,
                                AbstractConfig config)
     {
         this.orderGenerator = orderGenerator;
         this.cancellationGenerator = null;
         this.queue = queue;
-        this.timer = generateTimer;
+        this.scheduler = scheduler;
+        this.shard = new DatagenTaskShard(config);
 
         this.ordersTopicName = config.getString(DatagenSourceConfig.CONFIG_TOPICNAME_ORDERS);
         this.cancellationsTopicName = config.getString(DatagenSourceConfig.CONFIG_TOPICNAME_CANCELLATIONS);
@@ -98,17 +102,14 @@ public abstract class DatagenTimerTask extends TimerTask {
             log.error("Attempting to cancel order without providing a cancellation generator");
         }
 
-        timer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                SourceRecord rec = cancellationGenerator
-                                    .generate(order)
-                                    .createSourceRecord(cancellationsTopicName, origin);
-                queue.add(rec);
+        scheduler.schedule(() -> {
+            SourceRecord rec = cancellationGenerator
+                                .generate(order)
+                                .createSourceRecord(cancellationsTopicName, origin);
+            queue.add(rec);
 
-                if (cancellationGenerator.shouldDuplicate()) {
-                    queue.add(rec);
-                }
+            if (cancellationGenerator.shouldDuplicate()) {
+                queue.add(rec);
             }
         }, Generators.randomInt(minDelay, maxDelay));
     }
@@ -117,12 +118,9 @@ public abstract class DatagenTimerTask extends TimerTask {
     protected void scheduleOrder(final String origin, final int delay,
                                  Customer customer)
     {
-        timer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                Order order = orderGenerator.generate(customer);
-                queue.add(order.createSourceRecord(ordersTopicName, origin));
-            }
+        scheduler.schedule(() -> {
+            Order order = orderGenerator.generate(customer);
+            queue.add(order.createSourceRecord(ordersTopicName, origin));
         }, delay);
     }
 
@@ -164,22 +162,19 @@ public abstract class DatagenTimerTask extends TimerTask {
         String priority,
         String storeId)
     {
-        timer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                Order order = orderGenerator.generate(minNumItems, maxNumItems,
-                                                      unitPrice,
-                                                      region,
-                                                      productDescription,
-                                                      customer,
-                                                      countryCode,
-                                                      priority,
-                                                      storeId);
-                queue.add(order.createSourceRecord(ordersTopicName, origin));
-
-                if (cancelDelayMin != null && cancelDelayMax != null) {
-                    cancelOrder(order, origin, cancelDelayMin, cancelDelayMax);
-                }
+        scheduler.schedule(() -> {
+            Order order = orderGenerator.generate(minNumItems, maxNumItems,
+                                                  unitPrice,
+                                                  region,
+                                                  productDescription,
+                                                  customer,
+                                                  countryCode,
+                                                  priority,
+                                                  storeId);
+            queue.add(order.createSourceRecord(ordersTopicName, origin));
+
+            if (cancelDelayMin != null && cancelDelayMax != null) {
+                cancelOrder(order, origin, cancelDelayMin, cancelDelayMax);
             }
         }, delay);
     }
@@ -16,7 +16,6 @@
 package com.ibm.eventautomation.demos.loosehangerjeans.tasks;
 
 import java.util.Queue;
-import java.util.Timer;
 
 import org.apache.kafka.common.config.AbstractConfig;
 import org.apache.kafka.connect.source.SourceRecord;
@@ -44,7 +43,7 @@ import com.ibm.eventautomation.demos.loosehangerjeans.utils.Generators;
 public class FalsePositivesTask extends DatagenTimerTask {
 
     /** Identifies the task that generated the orders and cancellations */
-    private static final String ORIGIN = FalsePositivesTask.class.getName();
+    private final String origin;
 
     /**
      * minimum time to wait after creating an {@link Order} before
@@ -83,9 +82,11 @@ public class FalsePositivesTask extends DatagenTimerTask {
                               OrderGenerator orderGenerator,
                               CancellationGenerator cancellationGenerator,
                               Queue<SourceRecord> queue,
-                              Timer timer)
+                              DatagenScheduler scheduler)
     {
-        super(orderGenerator, cancellationGenerator, queue, timer, config);
+        super(orderGenerator, cancellationGenerator, queue, scheduler, config);
+
+        origin = shard.partitionName(FalsePositivesTask.class.getName());
 
         cancellationMinDelay = config.getInt(DatagenSourceConfig.CONFIG_SUSPICIOUSCANCELLATIONS_MIN_DELAY);
         cancellationMaxDelay = config.getInt(DatagenSourceConfig.CONFIG_SUSPICIOUSCANCELLATIONS_MAX_DELAY);
@@ -106,15 +107,15 @@ public class FalsePositivesTask extends DatagenTimerTask {
     public void run() {
         // make the initial large order
         Order initialOrder = orderGenerator.generate(largeOrderMinItems, largeOrderMaxItems);
-        queue.add(initialOrder.createSourceRecord(topicname, ORIGIN));
+        queue.add(initialOrder.createSourceRecord(topicname, origin));
 
         // schedule the order cancellation
-        cancelOrder(initialOrder, ORIGIN,
+        cancelOrder(initialOrder, origin,
                     cancellationMinDelay,
                     cancellationMaxDelay);
 
         // schedule a new small order for before the cancellation is complete
-        scheduleOrder(ORIGIN,
+        scheduleOrder(origin,
             Generators.randomInt(30_000, cancellationMinDelay),
             initialOrder.getCustomer(),
             smallOrderMinItems, smallOrderMaxItems,
@@ -16,7 +16,6 @@
 package com.ibm.eventautomation.demos.loosehangerjeans.tasks;
 
 import java.util.Queue;
-import java.util.Timer;
 
 import org.apache.kafka.common.config.AbstractConfig;
 import org.apache.kafka.connect.source.SourceRecord;
@@ -39,7 +38,7 @@ import com.ibm.eventautomation.demos.loosehangerjeans.utils.Generators;
 public class NewCustomerTask extends DatagenTimerTask {
 
     /** Identifies the task that generated the events */
-    private static final String ORIGIN = NewCustomerTask.class.getName();
+    private final String origin;
 
     /**
      * The generator can simulate that some new customers place an order.
@@ -68,9 +67,11 @@ public class NewCustomerTask extends DatagenTimerTask {
     public NewCustomerTask(AbstractConfig config,
                            OrderGenerator orderGenerator,
                            Queue<SourceRecord> queue,
-                           Timer timer)
+                           DatagenScheduler scheduler)
     {
-        super(orderGenerator, queue, timer, config);
+        super(orderGenerator, queue, scheduler, config);
+
+        origin = shard.partitionName(NewCustomerTask.class.getName());
 
         generator = new NewCustomerGenerator(config);
 
@@ -86,7 +87,7 @@ public class NewCustomerTask extends DatagenTimerTask {
     public void run() {
         // create the new customer
         NewCustomer newCustomer = generator.generate();
-        SourceRecord rec = newCustomer.createSourceRecord(topicname, ORIGIN);
+        SourceRecord rec = newCustomer.createSourceRecord(topicname, origin);
         queue.add(rec);
 
         // optionally, duplicate the new customer event
@@ -98,7 +99,7 @@ public class NewCustomerTask extends DatagenTimerTask {
         if (Generators.shouldDo(firstOrderRatio)) {
             int orderDelay = Generators.randomInt(firstOrderMinDelay, firstOrderMaxDelay);
 
-            scheduleOrder(ORIGIN,
+            scheduleOrder(origin,
                           orderDelay,
                           newCustomer.getCustomer());
         }
@@ -16,7 +16,6 @@
 package com.ibm.eventautomation.demos.loosehangerjeans.tasks;
 
 import java.util.Queue;
-import java.util.Timer;
 
 import org.apache.kafka.common.config.AbstractConfig;
 import org.apache.kafka.connect.source.SourceRecord;
@@ -41,7 +40,7 @@ import com.ibm.eventautomation.demos.loosehangerjeans.generators.OrderGenerator;
 public class NormalOrdersTask extends DatagenTimerTask {
 
     /** Identifies the task that generated the orders and cancellations */
-    private static final String ORIGIN = NormalOrdersTask.class.getName();
+    private final String origin;
 
     /**
      * minimum time to wait after creating an {@link Order} before
@@ -67,9 +66,11 @@ public class NormalOrdersTask extends DatagenTimerTask {
                             OrderGenerator orderGenerator,
                             CancellationGenerator cancellationGenerator,
                             Queue<SourceRecord> queue,
-                            Timer timer)
+                            DatagenScheduler scheduler)
     {
-        super(orderGenerator, cancellationGenerator, queue, timer, config);
+        super(orderGenerator, cancellationGenerator, queue, scheduler, config);
+
+        origin = shard.partitionName(NormalOrdersTask.class.getName());
 
         cancellationMinDelay = config.getInt(DatagenSourceConfig.CONFIG_CANCELLATIONS_MIN_DELAY);
         cancellationMaxDelay = config.getInt(DatagenSourceConfig.CONFIG_CANCELLATIONS_MAX_DELAY);
@@ -85,7 +86,7 @@ public class NormalOrdersTask extends DatagenTimerTask {
     public void run() {
         // generate a random order
         Order order = orderGenerator.generate(minItems, maxItems);
-        SourceRecord rec = order.createSourceRecord(topicname, ORIGIN);
+        SourceRecord rec = order.createSourceRecord(topicname, origin);
         queue.add(rec);
 
         // possibly duplicate it
@@ -95,7 +96,7 @@ public class NormalOrdersTask extends DatagenTimerTask {
 
         // sometimes cancel it
         if (orderGenerator.shouldCancel()) {
-            cancelOrder(order, ORIGIN,
+            cancelOrder(order, origin,
                         cancellationMinDelay,
                         cancellationMaxDelay);
         }
@@ -15,10 +15,7 @@
  */
 package com.ibm.eventautomation.demos.loosehangerjeans.tasks;
 
-import java.time.ZonedDateTime;
 import java.util.Queue;
-import java.util.Timer;
-import java.util.TimerTask;
 
 import org.apache.kafka.common.config.AbstractConfig;
 import org.apache.kafka.connect.source.SourceRecord;
@@ -26,6 +23,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.ibm.eventautomation.demos.loosehangerjeans.DatagenSourceConfig;
+import com.ibm.eventautomation.demos.loosehangerjeans.DatagenTaskShard;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.AbandonedOrder;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.ClickEvent;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.NewCustomer;
@@ -43,13 +41,16 @@ import com.ibm.eventautomation.demos.loosehangerjeans.utils.Generators;
  *  a series of events being generated, such as click stream events {@link ClickEvent},
  *  online order events {@link OnlineOrder}, or abandoned shopping carts {@link AbandonedOrder}
  */
-public class OnlineActivityTask extends TimerTask {
+public class OnlineActivityTask implements Runnable {
 
     private static final Logger log = LoggerFactory.getLogger(OnlineActivityTask.class);
 
 
     /** Identifies the task that generated the orders and cancellations */
-    private static final String ORIGIN = OnlineActivityTask.class.getName();
+    private final String origin;
+
+    /** Source partition for the generated OutOfStock events. */
+    private final String outOfStockPartition;
 
     /** Helper class for generating online activity events. */
     private final OnlineActivityGenerator activityGenerator;
@@ -63,8 +64,8 @@ public class OnlineActivityTask extends TimerTask {
      */
     private final Queue<SourceRecord> queue;
 
-    /** Timer used to schedule message-generation tasks. */
-    private final Timer timer;
+    /** Used to schedule message-generation tasks. */
+    private final DatagenScheduler scheduler;
 
     /**
      * Minimum time (in milliseconds) to wait after creating an {@link OnlineOrder} before
@@ -107,7 +108,7 @@ public class OnlineActivityTask extends TimerTask {
     private final double duplicateAbandonedCartRatio;
 
 
-    public OnlineActivityTask(AbstractConfig config, Queue<SourceRecord> queue, Timer generateTimer)
+    public OnlineActivityTask(AbstractConfig config, Queue<SourceRecord> queue, DatagenScheduler scheduler)
     {
         this.activityGenerator = new OnlineActivityGenerator(config);
         this.outOfStockGenerator = new OutOfStockGenerator(config);
@@ -127,8 +128,12 @@ public class OnlineActivityTask extends TimerTask {
         this.duplicateOnlineOrderRatio = config.getDouble(DatagenSourceConfig.CONFIG_DUPLICATE_ONLINEORDERS);
         this.duplicateAbandonedCartRatio = config.getDouble(DatagenSourceConfig.CONFIG_DUPLICATE_ABANDONEDORDERS);
 
+        DatagenTaskShard shard = new DatagenTaskShard(config);
+        this.origin = shard.partitionName(OnlineActivityTask.class.getName());
+        this.outOfStockPartition = shard.partitionName(OutOfStock.PARTITION);
+
         this.queue = queue;
-        this.timer = generateTimer;
+        this.scheduler = scheduler;
     }
 
 
@@ -141,7 +146,7 @@ public class OnlineActivityTask extends TimerTask {
     public void run() {
         final NewCustomer newCustomer = activityGenerator.registerNewOnlineCustomer();
         if (newCustomer != null) {
-            queue.add(newCustomer.createSourceRecord(newCustomersTopicName, ORIGIN));
+            queue.add(newCustomer.createSourceRecord(newCustomersTopicName, origin));
         }
 
         final String sessionId = activityGenerator.startNewSession();
@@ -152,19 +157,19 @@ public class OnlineActivityTask extends TimerTask {
 
 
     private void generateActivity(final String sessionId) {
-        OnlineActivityData nextActivity = activityGenerator.nextActivity(ZonedDateTime.now(), sessionId);
+        OnlineActivityData nextActivity = activityGenerator.nextActivity(Generators.now(), sessionId);
         if (nextActivity == null) {
             return;
         }
 
         if (nextActivity instanceof ClickEvent) {
             // click stream events - e.g. user has clicked on a product
-            SourceRecord clickRecord = nextActivity.createSourceRecord(clickTrackingTopicName, ORIGIN);
+            SourceRecord clickRecord = nextActivity.createSourceRecord(clickTrackingTopicName, origin);
             emitEvent(clickRecord, duplicateClickTrackingRatio);
         }
         else if (nextActivity instanceof OnlineOrder) {
             // order events - e.g. user has completed an online order
-            SourceRecord orderRecord = nextActivity.createSourceRecord(orderTopicName, ORIGIN);
+            SourceRecord orderRecord = nextActivity.createSourceRecord(orderTopicName, origin);
             emitEvent(orderRecord, duplicateOnlineOrderRatio);
 
             if (activityGenerator.shouldGenerateOutOfStockEvent()) {
@@ -177,7 +182,7 @@ public class OnlineActivityTask extends TimerTask {
         }
         else if (nextActivity instanceof AbandonedOrder) {
             // abandoned card events - e.g. user logged in, added at least one product to a basket, but went no further
-            SourceRecord abandonedCartRecord = nextActivity.createSourceRecord(abandonedCartTopicName, ORIGIN);
+            SourceRecord abandonedCartRecord = nextActivity.createSourceRecord(abandonedCartTopicName, origin);
             emitEvent(abandonedCartRecord, duplicateAbandonedCartRatio);
         }
         else {
@@ -203,11 +208,8 @@ public class OnlineActivityTask extends TimerTask {
     }
 
     private void scheduleNextActivity(final String sessionId) {
-        timer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                generateActivity(sessionId);
-            }
+        scheduler.schedule(() -> {
+            generateActivity(sessionId);
         }, Generators.randomInt(3_000, clickTrackingMaxInterval));
     }
 
@@ -215,16 +217,13 @@ public class OnlineActivityTask extends TimerTask {
 
 
     private void generateOutOfStockEvent(final OutOfStock outOfStock) {
-        timer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                SourceRecord rec = outOfStock.createSourceRecord(outOfStockTopicName);
-                queue.add(rec);
+        scheduler.schedule(() -> {
+            SourceRecord rec = outOfStock.createSourceRecord(outOfStockTopicName, outOfStockPartition);
+            queue.add(rec);
 
-                // Possibly duplicate the event.
-                if (outOfStockGenerator.shouldDuplicate()) {
-                    queue.add(rec);
-                }
+            // Possibly duplicate the event.
+            if (outOfStockGenerator.shouldDuplicate()) {
+                queue.add(rec);
             }
         }, Generators.randomInt(outOfStockMinDelay, outOfStockMaxDelay));
     }
@@ -16,19 +16,19 @@
 package com.ibm.eventautomation.demos.loosehangerjeans.tasks;
 
 import com.ibm.eventautomation.demos.loosehangerjeans.DatagenSourceConfig;
+import com.ibm.eventautomation.demos.loosehangerjeans.DatagenTaskShard;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.ProductReview;
 import com.ibm.eventautomation.demos.loosehangerjeans.generators.ProductReviewGenerator;
 import org.apache.kafka.common.config.AbstractConfig;
 import org.apache.kafka.connect.source.SourceRecord;
 
 import java.util.Queue;
-import java.util.TimerTask;
 
 /**
  * Timer task intended for repeated execution. Creates new
  *  {@link ProductReview} events at regular intervals.
  */
-public class ProductReviewsTask extends TimerTask {
+public class ProductReviewsTask implements Runnable {
 
     /** Helper class for generating ProductReview events. */
     private final ProductReviewGenerator productReviewGenerator;
@@ -42,6 +42,9 @@ public class ProductReviewsTask extends TimerTask {
     /** Name of the topic to produce product review events to. */
     private final String productReviewTopicName;
 
+    /** Source partition for the generated events. */
+    private final String partition;
+
     public ProductReviewsTask(AbstractConfig config,
                               Queue<SourceRecord> queue,
                               ProductReviewGenerator productReviewGenerator) {
@@ -49,13 +52,14 @@ public class ProductReviewsTask extends TimerTask {
         this.queue = queue;
 
         this.productReviewTopicName = config.getString(DatagenSourceConfig.CONFIG_TOPICNAME_PRODUCTREVIEWS);
+        this.partition = new DatagenTaskShard(config).partitionName(ProductReview.PARTITION);
     }
 
     @Override
     public void run() {
         // Generate a random product review.
         ProductReview productReview = productReviewGenerator.generate();
-        SourceRecord rec = productReview.createSourceRecord(productReviewTopicName);
+        SourceRecord rec = productReview.createSourceRecord(productReviewTopicName, partition);
         queue.add(rec);
 
         // Possibly duplicate the event.
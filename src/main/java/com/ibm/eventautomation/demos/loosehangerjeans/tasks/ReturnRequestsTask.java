@@ -16,6 +16,7 @@
 package com.ibm.eventautomation.demos.loosehangerjeans.tasks;
 
 import com.ibm.eventautomation.demos.loosehangerjeans.DatagenSourceConfig;
+import com.ibm.eventautomation.demos.loosehangerjeans.DatagenTaskShard;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.Product;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.ProductReview;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.ReturnRequest;
@@ -25,16 +26,13 @@ import com.ibm.eventautomation.demos.loosehangerjeans.utils.Generators;
 import org.apache.kafka.common.config.AbstractConfig;
 import org.apache.kafka.connect.source.SourceRecord;
 
-import java.time.ZonedDateTime;
 import java.util.Queue;
-import java.util.Timer;
-import java.util.TimerTask;
 
 /**
  * Timer task intended for repeated execution. Creates new
  *  {@link ReturnRequest} and {@link ProductReview} events at regular intervals.
  */
-public class ReturnRequestsTask extends TimerTask {
+public class ReturnRequestsTask implements Runnable {
 
     /** Helper class for generating ReturnRequest events. */
     private final ReturnRequestGenerator returnRequestGenerator;
@@ -48,8 +46,8 @@ public class ReturnRequestsTask extends TimerTask {
      */
     private final Queue<SourceRecord> queue;
 
-    /** Timer used to schedule message-generation tasks. */
-    private final Timer timer;
+    /** Used to schedule message-generation tasks. */
+    private final DatagenScheduler scheduler;
 
     /**
      * Minimum time (in milliseconds) to wait after creating a {@link ReturnRequest} before
@@ -69,13 +67,19 @@ public class ReturnRequestsTask extends TimerTask {
     /** Name of the topic to produce product review events to. */
     private final String productReviewTopicName;
 
+    /** Source partition for the generated return request events. */
+    private final String returnRequestPartition;
+
+    /** Source partition for the generated product review events. */
+    private final String productReviewPartition;
+
     public ReturnRequestsTask(AbstractConfig config,
                               Queue<SourceRecord> queue,
-                              Timer generateTimer,
+                              DatagenScheduler scheduler,
                               ProductReviewGenerator productReviewGenerator) {
         this.returnRequestGenerator = new ReturnRequestGenerator(config, productReviewGenerator.getProductsWithSizeIssue());
         this.queue = queue;
-        this.timer = generateTimer;
+        this.scheduler = scheduler;
         this.productReviewGenerator = productReviewGenerator;
 
         this.reviewMinDelay = config.getInt(DatagenSourceConfig.CONFIG_PRODUCTREVIEWS_MIN_DELAY);
@@ -83,13 +87,17 @@ public class ReturnRequestsTask extends TimerTask {
 
         this.returnRequestTopicName = config.getString(DatagenSourceConfig.CONFIG_TOPICNAME_RETURNREQUESTS);
         this.productReviewTopicName = config.getString(DatagenSourceConfig.CONFIG_TOPICNAME_PRODUCTREVIEWS);
+
+        DatagenTaskShard shard = new DatagenTaskShard(config);
+        this.returnRequestPartition = shard.partitionName(ReturnRequest.PARTITION);
+        this.productReviewPartition = shard.partitionName(ProductReview.PARTITION);
     }
 
     @Override
     public void run() {
         // Generate a random return request.
         ReturnRequest returnRequest = returnRequestGenerator.generate();
-        SourceRecord rec = returnRequest.createSourceRecord(returnRequestTopicName);
+        SourceRecord rec = returnRequest.createSourceRecord(returnRequestTopicName, returnRequestPartition);
         queue.add(rec);
 
         // Possibly duplicate the event.
@@ -108,18 +116,15 @@ public class ReturnRequestsTask extends TimerTask {
     }
 
     private void generateProductReview(final Product product) {
-        timer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                SourceRecord rec = productReviewGenerator
-                        .generate(product, ZonedDateTime.now())
-                        .createSourceRecord(productReviewTopicName);
-                queue.add(rec);
+        scheduler.schedule(() -> {
+            SourceRecord rec = productReviewGenerator
+                    .generate(product, Generators.now())
+                    .createSourceRecord(productReviewTopicName, productReviewPartition);
+            queue.add(rec);
 
-                // Possibly duplicate the event.
-                if (productReviewGenerator.shouldDuplicate()) {
-                    queue.add(rec);
-                }
+            // Possibly duplicate the event.
+            if (productReviewGenerator.shouldDuplicate()) {
+                queue.add(rec);
             }
         }, Generators.randomInt(reviewMinDelay, reviewMaxDelay));
     }
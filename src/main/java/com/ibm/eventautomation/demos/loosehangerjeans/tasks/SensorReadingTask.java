@@ -16,19 +16,20 @@
 package com.ibm.eventautomation.demos.loosehangerjeans.tasks;
 
 import java.util.Queue;
-import java.util.TimerTask;
 
 import org.apache.kafka.common.config.AbstractConfig;
 import org.apache.kafka.connect.source.SourceRecord;
 
 import com.ibm.eventautomation.demos.loosehangerjeans.DatagenSourceConfig;
+import com.ibm.eventautomation.demos.loosehangerjeans.DatagenTaskShard;
+import com.ibm.eventautomation.demos.loosehangerjeans.data.SensorReading;
 import com.ibm.eventautomation.demos.loosehangerjeans.generators.SensorReadingGenerator;
 
 /**
  * Timer task intended for repeated execution. Creates new
  *  {@link SensorReading} events at regular intervals.
  */
-public class SensorReadingTask extends TimerTask {
+public class SensorReadingTask implements Runnable {
 
     /** Helper class for generating SensorReading events. */
     private SensorReadingGenerator generator;
@@ -42,6 +43,9 @@ public class SensorReadingTask extends TimerTask {
     /** Name of the topic to produce sensor readings to. */
     private String topicname;
 
+    /** Source partition for the generated events. */
+    private String partition;
+
 
     public SensorReadingTask(AbstractConfig config, Queue<SourceRecord> queue) {
         this(new SensorReadingGenerator(config), queue, config);
@@ -51,12 +55,13 @@ public class SensorReadingTask extends TimerTask {
         this.generator = generator;
         this.queue = queue;
         this.topicname = config.getString(DatagenSourceConfig.CONFIG_TOPICNAME_SENSORREADINGS);
+        this.partition = new DatagenTaskShard(config).partitionName(SensorReading.PARTITION);
     }
 
 
     @Override
     public void run() {
-        SourceRecord rec = generator.generate().createSourceRecord(topicname);
+        SourceRecord rec = generator.generate().createSourceRecord(topicname, partition);
         queue.add(rec);
 
         if (generator.shouldDuplicate()) {
@@ -16,12 +16,12 @@
 package com.ibm.eventautomation.demos.loosehangerjeans.tasks;
 
 import java.util.Queue;
-import java.util.TimerTask;
 
 import org.apache.kafka.common.config.AbstractConfig;
 import org.apache.kafka.connect.source.SourceRecord;
 
 import com.ibm.eventautomation.demos.loosehangerjeans.DatagenSourceConfig;
+import com.ibm.eventautomation.demos.loosehangerjeans.DatagenTaskShard;
 import com.ibm.eventautomation.demos.loosehangerjeans.data.StockMovement;
 import com.ibm.eventautomation.demos.loosehangerjeans.generators.StockMovementGenerator;
 
@@ -29,7 +29,7 @@ import com.ibm.eventautomation.demos.loosehangerjeans.generators.StockMovementGe
  * Timer task intended for repeated execution. Creates new
  *  {@link StockMovement} events at regular intervals.
  */
-public class StockMovementsTask extends TimerTask {
+public class StockMovementsTask implements Runnable {
 
     /** Helper class for generating StockMovement events. */
     private StockMovementGenerator generator;
@@ -43,17 +43,21 @@ public class StockMovementsTask extends TimerTask {
     /** Name of the topic to produce stock movement events to. */
     private String topicname;
 
+    /** Source partition for the generated events. */
+    private String partition;
+
 
     public StockMovementsTask(AbstractConfig config, Queue<SourceRecord> queue) {
         this.generator = new StockMovementGenerator(config);
         this.queue = queue;
         this.topicname = config.getString(DatagenSourceConfig.CONFIG_TOPICNAME_STOCKMOVEMENTS);
+        this.partition = new DatagenTaskShard(config).partitionName(StockMovement.PARTITION);
     }
 
 
     @Override
     public void run() {
-        SourceRecord rec = generator.generate().createSourceRecord(topicname);
+        SourceRecord rec = generator.generate().createSourceRecord(topicname, partition);
         queue.add(rec);
 
         if (generator.shouldDuplicate()) {
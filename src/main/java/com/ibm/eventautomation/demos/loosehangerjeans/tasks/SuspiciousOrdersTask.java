@@ -17,7 +17,6 @@ package com.ibm.eventautomation.demos.loosehangerjeans.tasks;
 
 import java.util.List;
 import java.util.Queue;
-import java.util.Timer;
 
 import org.apache.kafka.common.config.AbstractConfig;
 import org.apache.kafka.connect.source.SourceRecord;
@@ -45,7 +44,7 @@ import com.ibm.eventautomation.demos.loosehangerjeans.utils.Generators;
 public class SuspiciousOrdersTask extends DatagenTimerTask {
 
     /** Identifies the task that generated the orders and cancellations */
-    private static final String ORIGIN = SuspiciousOrdersTask.class.getName();
+    private final String origin;
 
     /**
      * minimum time to wait after creating an {@link Order} before
@@ -94,9 +93,11 @@ public class SuspiciousOrdersTask extends DatagenTimerTask {
                                 OrderGenerator orderGenerator,
                                 CancellationGenerator cancellationGenerator,
                                 Queue<SourceRecord> queue,
-                                Timer timer)
+                                DatagenScheduler scheduler)
     {
-        super(orderGenerator, cancellationGenerator, queue, timer, config);
+        super(orderGenerator, cancellationGenerator, queue, scheduler, config);
+
+        origin = shard.partitionName(SuspiciousOrdersTask.class.getName());
 
         cancellationMinDelay = config.getInt(DatagenSourceConfig.CONFIG_SUSPICIOUSCANCELLATIONS_MIN_DELAY);
         cancellationMaxDelay = config.getInt(DatagenSourceConfig.CONFIG_SUSPICIOUSCANCELLATIONS_MAX_DELAY);
@@ -126,7 +127,7 @@ public class SuspiciousOrdersTask extends DatagenTimerTask {
         for (int i = 0; i < Generators.randomInt(1, maxNumCancelledOrders); i++) {
             int delay = Generators.randomInt(1000, cancellationMinDelay);
 
-            scheduleOrder(ORIGIN, delay,
+            scheduleOrder(origin, delay,
                           null,
                           largeOrderMinItems, largeOrderMaxItems,
                           initialOrder.getUnitPrice(),
@@ -141,7 +142,7 @@ public class SuspiciousOrdersTask extends DatagenTimerTask {
         }
 
         // make a small order at the reduced price
-        scheduleOrder(ORIGIN, suspiciousOrderDelay,
+        scheduleOrder(origin, suspiciousOrderDelay,
             Generators.randomItem(customers),
             smallOrderMinItems, smallOrderMaxItems,
             Generators.randomPrice(initialOrder.getUnitPrice() - maxPriceVariation,
@@ -0,0 +1,110 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.tasks;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.Generators;
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.StreamPosition;
+
+/**
+ * Schedules tasks on a pool of threads, so that a slow generator
+ *  only delays its own stream of events, rather than every stream.
+ *
+ *  Each task is given its own random number generator, split from
+ *  the generator of the thread that scheduled it, so that tasks on
+ *  different threads do not contend for random numbers. Follow-up
+ *  tasks are also given the position of the replayable stream that
+ *  scheduled them, if there is one.
+ */
+public class ThreadPoolScheduler implements DatagenScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadPoolScheduler.class);
+
+    private final ScheduledThreadPoolExecutor executor;
+
+
+    /**
+     * @param threads - number of threads to run tasks on
+     * @param name - used to identify the threads
+     */
+    public ThreadPoolScheduler(int threads, String name) {
+        executor = new ScheduledThreadPoolExecutor(threads, new DatagenThreadFactory(name));
+        executor.setRemoveOnCancelPolicy(true);
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        executor.setContinueExistingPeriodicTasksAfterShutdownPolicy(false);
+    }
+
+
+    @Override
+    public void scheduleAtFixedRate(Runnable task, long periodMs) {
+        executor.scheduleAtFixedRate(logFailures(Generators.withRandom(Generators.split(), task)), 0, periodMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void schedule(Runnable task, long delayMs) {
+        // follow-up events from a replayable stream carry on from
+        //  the logical time of the event that they follow
+        final StreamPosition position = StreamPosition.current();
+        final Runnable followUp = position == null ? task : position.later(delayMs).with(task);
+        executor.schedule(logFailures(Generators.withRandom(Generators.split(), followUp)), delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+
+    /**
+     * An exception thrown by a repeating task would otherwise
+     *  silently prevent it from running again, stopping the
+     *  stream of events it generates.
+     */
+    private static Runnable logFailures(Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            }
+            catch (RuntimeException e) {
+                log.error("Failed to generate events", e);
+            }
+        };
+    }
+
+
+    private static class DatagenThreadFactory implements ThreadFactory {
+        private final String name;
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        private DatagenThreadFactory(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
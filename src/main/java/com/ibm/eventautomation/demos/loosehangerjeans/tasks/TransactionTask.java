@@ -16,15 +16,16 @@
 package com.ibm.eventautomation.demos.loosehangerjeans.tasks;
 
 import java.util.Queue;
-import java.util.TimerTask;
 
 import com.ibm.eventautomation.demos.loosehangerjeans.DatagenSourceConfig;
+import com.ibm.eventautomation.demos.loosehangerjeans.DatagenTaskShard;
+import com.ibm.eventautomation.demos.loosehangerjeans.data.Transaction;
 import com.ibm.eventautomation.demos.loosehangerjeans.generators.TransactionGenerator;
 
 import org.apache.kafka.common.config.AbstractConfig;
 import org.apache.kafka.connect.source.SourceRecord;
 
-public class TransactionTask extends TimerTask {
+public class TransactionTask implements Runnable {
 
     /** Helper class for generating Transaction events. */
     private TransactionGenerator generator;
@@ -38,6 +39,9 @@ public class TransactionTask extends TimerTask {
     /** Name of the topic to produce transaction to. */
     private String topicname;
 
+    /** Source partition for the generated events. */
+    private String partition;
+
 
     public TransactionTask(AbstractConfig config, Queue<SourceRecord> queue) {
         this(new TransactionGenerator(config), queue, config);
@@ -47,10 +51,11 @@ public class TransactionTask extends TimerTask {
         this.generator = transactionGenerator;
         this.queue = queue;
         this.topicname = config.getString(DatagenSourceConfig.CONFIG_TOPICNAME_TRANSACTIONS);
+        this.partition = new DatagenTaskShard(config).partitionName(Transaction.PARTITION);
     }
     @Override
     public void run() {
-        SourceRecord rec = generator.generate().createSourceRecord(topicname);
+        SourceRecord rec = generator.generate().createSourceRecord(topicname, partition);
         queue.add(rec);
 
         if (generator.shouldDuplicate()) {
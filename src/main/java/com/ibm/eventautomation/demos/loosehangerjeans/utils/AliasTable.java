@@ -0,0 +1,117 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.utils;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.random.RandomGenerator;
+
+/**
+ * Chooses a random position, where the chance of each position being
+ *  chosen is given by a weight.
+ *
+ *  This uses Walker's alias method, which prepares a table from the
+ *  weights once, so that each position can then be chosen in the same
+ *  time whatever the number of positions, using a single random number.
+ *
+ *  A table can be shared between threads, as it is not changed after
+ *  it has been prepared.
+ */
+public class AliasTable {
+
+    /** chance of choosing each column's own position rather than its alias */
+    private final double[] probability;
+
+    /** position to choose instead of the column's own position */
+    private final int[] alias;
+
+
+    /**
+     * @param weights - relative chance of choosing each position, which
+     *                   must not be negative and must not all be zero
+     */
+    public AliasTable(double[] weights) {
+        final int size = weights.length;
+        probability = new double[size];
+        alias = new int[size];
+
+        double total = 0;
+        for (double weight : weights) {
+            if (weight < 0 || Double.isNaN(weight)) {
+                throw new IllegalArgumentException("Invalid weight " + weight);
+            }
+            total += weight;
+        }
+        if (size == 0 || total <= 0) {
+            throw new IllegalArgumentException("No positions to choose from");
+        }
+
+        // scale the weights so that the average column is exactly full,
+        //  and fill each column that is less than full with part of one
+        //  that is more than full
+        final double[] scaled = new double[size];
+        final Deque<Integer> small = new ArrayDeque<>();
+        final Deque<Integer> large = new ArrayDeque<>();
+        for (int i = 0; i < size; i++) {
+            scaled[i] = weights[i] * size / total;
+            if (scaled[i] < 1.0) {
+                small.push(i);
+            }
+            else {
+                large.push(i);
+            }
+        }
+        while (!small.isEmpty() && !large.isEmpty()) {
+            final int less = small.pop();
+            final int more = large.pop();
+
+            probability[less] = scaled[less];
+            alias[less] = more;
+
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) {
+                small.push(more);
+            }
+            else {
+                large.push(more);
+            }
+        }
+        // anything left over is full, apart from rounding errors
+        while (!large.isEmpty()) {
+            probability[large.pop()] = 1.0;
+        }
+        while (!small.isEmpty()) {
+            probability[small.pop()] = 1.0;
+        }
+    }
+
+
+    public int size() {
+        return probability.length;
+    }
+
+    /**
+     * Returns a randomly chosen position, from 0 to (size - 1).
+     */
+    public int sample(RandomGenerator rng) {
+        // the top half of the random number picks the column, and
+        //  the bottom half decides between the column and its alias
+        final long random = rng.nextLong();
+        final int column = (int) (((random >>> 32) * probability.length) >>> 32);
+        final double coin = (random & 0xFFFFFFFFL) * 0x1.0p-32;
+        return coin < probability[column] ? column : alias[column];
+    }
+}
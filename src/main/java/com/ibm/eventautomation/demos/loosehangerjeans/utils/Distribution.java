@@ -0,0 +1,157 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.utils;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Shape of the spread of randomly generated values across a range,
+ *  or of the choices made from a list of items.
+ *
+ *  Each distribution has an {@link AliasTable} covering its range,
+ *  so that generating a value takes the same time whatever the shape
+ *  of the distribution.
+ */
+public enum Distribution {
+
+    /**
+     * Values towards the centre of the range are more likely than
+     *  values towards the min or max, with the shape of the average
+     *  of three evenly distributed random values.
+     */
+    BELL,
+
+    /** Every value in the range is equally likely */
+    UNIFORM,
+
+    /**
+     * Normal distribution with its mean at the centre of the range,
+     *  and the min and max three standard deviations away.
+     */
+    NORMAL,
+
+    /**
+     * Values towards the min are most likely, with a long tail of
+     *  less likely values towards the max.
+     */
+    LOGNORMAL,
+
+    /**
+     * The chance of a value is inversely proportional to its position
+     *  in the range, so the values at the start of the range (or the
+     *  first items in a list) are much more likely than the rest.
+     */
+    ZIPF;
+
+
+    /** Number of parts the range is divided into for generating values */
+    private static final int PARTS = 1024;
+
+    /** Median of the lognormal distribution, as a fraction of the range */
+    private static final double LOGNORMAL_MEDIAN = 0.25;
+    /** Standard deviation of the log of the lognormal distribution */
+    private static final double LOGNORMAL_SIGMA = 0.6;
+
+
+    /** Returns the distribution identified by a config value, such as "bell" */
+    public static Distribution fromConfig(String value) {
+        return valueOf(value.toUpperCase());
+    }
+
+
+    /**
+     * Returns a random value between 0 (inclusive) and 1 (exclusive),
+     *  spread using this distribution.
+     */
+    public double sample(RandomGenerator rng) {
+        return (Tables.TABLES[ordinal()].sample(rng) + rng.nextDouble()) / PARTS;
+    }
+
+    /**
+     * Returns the relative chance of a value from each of the provided
+     *  number of equal-sized parts of the range, from the min to the
+     *  max. This can be used to choose items from a list.
+     */
+    public double[] weights(int parts) {
+        final double[] weights = new double[parts];
+        for (int i = 0; i < parts; i++) {
+            if (this == ZIPF) {
+                weights[i] = 1.0 / (i + 1);
+            }
+            else {
+                // values outside of the range are included in the first and last parts
+                final double from = i == 0 ? 0.0 : cumulative((double) i / parts);
+                final double to = i == parts - 1 ? 1.0 : cumulative((double) (i + 1) / parts);
+                weights[i] = Math.max(to - from, 0.0);
+            }
+        }
+        return weights;
+    }
+
+    /**
+     * Returns the chance of a value being less than x, where x is a
+     *  fraction of the range between 0 and 1.
+     */
+    private double cumulative(double x) {
+        switch (this) {
+            case BELL:
+                // Irwin-Hall distribution for the sum of three values
+                final double s = x * 3;
+                if (s < 1) {
+                    return s * s * s / 6;
+                }
+                if (s < 2) {
+                    return (-2 * s * s * s + 9 * s * s - 9 * s + 3) / 6;
+                }
+                return 1 - (3 - s) * (3 - s) * (3 - s) / 6;
+            case NORMAL:
+                return standardNormal((x - 0.5) * 6);
+            case LOGNORMAL:
+                return x <= 0 ? 0 : standardNormal(Math.log(x / LOGNORMAL_MEDIAN) / LOGNORMAL_SIGMA);
+            case UNIFORM:
+            default:
+                return x;
+        }
+    }
+
+    /**
+     * Cumulative distribution function for the standard normal
+     *  distribution, using the approximation of the error function
+     *  from Abramowitz and Stegun (7.1.26).
+     */
+    private static double standardNormal(double z) {
+        final double x = Math.abs(z) / Math.sqrt(2);
+        final double t = 1 / (1 + 0.3275911 * x);
+        final double erf = 1 - t * (0.254829592 + t * (-0.284496736 + t * (1.421413741 + t * (-1.453152027 + t * 1.061405429)))) * Math.exp(-x * x);
+        return z < 0 ? (1 - erf) / 2 : (1 + erf) / 2;
+    }
+
+
+    /**
+     * The alias table for each distribution, built when a distribution
+     *  is first used to generate values. (Enum constants cannot refer
+     *  to static fields while they are being created, so the tables
+     *  are held separately.)
+     */
+    private static class Tables {
+        private static final AliasTable[] TABLES = new AliasTable[values().length];
+        static {
+            for (Distribution distribution : values()) {
+                TABLES[distribution.ordinal()] = new AliasTable(distribution.weights(PARTS));
+            }
+        }
+    }
+}
@@ -15,16 +15,102 @@
  */
 package com.ibm.eventautomation.demos.loosehangerjeans.utils;
 
+import java.time.Instant;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
 
 /**
  * Helper class for generating random data.
+ *
+ *  Random values are generated using the random number generator that
+ *  has been given to the current thread (see {@link #withRandom(RandomGenerator, Supplier)}),
+ *  so that each stream of events has its own sequence of random numbers.
+ *  Threads that have not been given one use their own unseeded
+ *  generator, so threads never contend for a shared generator.
  */
 public class Generators {
 
-    private final static Random RNG = new Random();
+    /** Random number generators that have been given to individual threads */
+    private final static ThreadLocal<RandomGenerator> THREAD_RNG = new ThreadLocal<>();
+
+    /** Draws from the current thread's random number generator, for use by faker */
+    private final static Random FAKER_RANDOM = new ThreadRandom();
+
+
+    /**
+     * Runs the provided task with all of the random values that it gets
+     *  from this class generated using the provided random number
+     *  generator.
+     *
+     * This allows a stream of events to be generated with its own
+     *  independent sequence of random numbers, without contending
+     *  with other threads for a shared random number generator.
+     */
+    public static <T> T withRandom(RandomGenerator rng, Supplier<T> task) {
+        final RandomGenerator previous = THREAD_RNG.get();
+        THREAD_RNG.set(rng);
+        try {
+            return task.get();
+        }
+        finally {
+            if (previous == null) {
+                THREAD_RNG.remove();
+            }
+            else {
+                THREAD_RNG.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Returns a task that runs the provided task with the provided random
+     *  number generator, as with {@link #withRandom(RandomGenerator, Supplier)}.
+     *
+     * The task must not be run on more than one thread at a time.
+     */
+    public static Runnable withRandom(RandomGenerator rng, Runnable task) {
+        return () -> withRandom(rng, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Returns a new random number generator, seeded from the current
+     *  thread's random number generator.
+     *
+     * This is used to give a new stream of events (such as a scheduled
+     *  task, or a follow-up event that will be generated later on a
+     *  different thread) its own sequence of random numbers, which is
+     *  still reproducible if the current thread's generator was seeded.
+     */
+    public static RandomGenerator split() {
+        final RandomGenerator rng = rng();
+        if (rng instanceof SplittableRandom) {
+            return ((SplittableRandom) rng).split();
+        }
+        return new SplittableRandom(rng.nextLong());
+    }
+
+    /**
+     * Returns a java.util.Random that draws from the current thread's
+     *  random number generator, for libraries such as faker that need
+     *  one. This can be shared by generators used on different threads.
+     */
+    public static Random random() {
+        return FAKER_RANDOM;
+    }
+
+    static RandomGenerator rng() {
+        final RandomGenerator threadRng = THREAD_RNG.get();
+        return threadRng != null ? threadRng : ThreadLocalRandom.current();
+    }
 
 
     /**
@@ -34,10 +120,13 @@ public class Generators {
      * selection is skewed to select items towards the centre of the list more
      * frequently than the items at the start or end of the list. The intention for
      * this behaviour is to mimic something like a normal distribution.
+     *
+     * Generators that choose from the same list for every event should use an
+     * {@link ItemSampler} instead, which also allows the distribution to be chosen.
      */
     public static <T> T randomItem(List<T> list) {
         final int listSize = list.size();
-        final double r = (RNG.nextDouble() + RNG.nextDouble() + RNG.nextDouble()) / 3.0;
+        final double r = Distribution.BELL.sample(rng());
 
         int listIndex = (int) (r * listSize);
         listIndex = Math.min(listIndex, listSize - 1);
@@ -57,8 +146,18 @@ public class Generators {
      * believable financial price value.
      */
     public static double randomPrice(double min, double max) {
-        final double r = (RNG.nextDouble() + RNG.nextDouble() + RNG.nextDouble()) / 3.0;
-        final double randomValue = min + (max - min) * r;
+        return randomPrice(min, max, Distribution.BELL);
+    }
+
+    /**
+     * Returns a randomly-selected value from the provided range, spread
+     * across the range using the provided distribution.
+     *
+     * The returned value will be rounded to two-decimal-places to create a
+     * believable financial price value.
+     */
+    public static double randomPrice(double min, double max, Distribution distribution) {
+        final double randomValue = min + (max - min) * distribution.sample(rng());
 
         return Math.round(randomValue * 100.0) / 100.0;
     }
@@ -74,8 +173,17 @@ public class Generators {
      * The returned value will be rounded to one-decimal-place.
      */
     public static double randomDouble(double min, double max) {
-        final double r = (RNG.nextDouble() + RNG.nextDouble() + RNG.nextDouble()) / 3.0;
-        final double randomValue = min + (max - min) * r;
+        return randomDouble(min, max, Distribution.BELL);
+    }
+
+    /**
+     * Returns a randomly-generated value from the provided range, spread
+     * across the range using the provided distribution.
+     *
+     * The returned value will be rounded to one-decimal-place.
+     */
+    public static double randomDouble(double min, double max, Distribution distribution) {
+        final double randomValue = min + (max - min) * distribution.sample(rng());
 
         return Math.round(randomValue * 10.0) / 10.0;
     }
@@ -94,7 +202,7 @@ public class Generators {
      */
     public static double randomDouble(double min, double max, boolean skewed) {
         if (!skewed) {
-            final double randomValue = min + (max - min) * RNG.nextDouble();
+            final double randomValue = min + (max - min) * rng().nextDouble();
             return Math.round(randomValue * 10.0) / 10.0;
         }
         else {
@@ -103,29 +211,46 @@ public class Generators {
     }
 
     public static double randomDouble() {
-        return RNG.nextDouble();
+        return rng().nextDouble();
+    }
+
+    public static long randomLong() {
+        return rng().nextLong();
     }
 
     public static boolean shouldDo(double ratio) {
-        return RNG.nextDouble() < ratio;
+        return rng().nextDouble() < ratio;
     }
 
     public static int randomInt(int min, int max) {
-        return RNG.nextInt(min, max + 1);
+        return rng().nextInt(min, max + 1);
     }
 
     public static boolean randomBoolean() {
-    	return RNG.nextBoolean();
+    	return rng().nextBoolean();
     }
 
     public static String randomString(String validCharacters, int length) {
         final StringBuilder sb = new StringBuilder(length);
         for (int i = 0; i < length; i++) {
-            sb.append(validCharacters.charAt(RNG.nextInt(validCharacters.length())));
+            sb.append(validCharacters.charAt(rng().nextInt(validCharacters.length())));
         }
         return sb.toString();
     }
 
+    /**
+     * Returns the current time, or the logical time of the replayable
+     *  stream that the current thread is generating events for (see
+     *  {@link StreamPosition}).
+     */
+    public static ZonedDateTime now() {
+        final StreamPosition position = StreamPosition.current();
+        if (position == null) {
+            return ZonedDateTime.now();
+        }
+        return ZonedDateTime.ofInstant(Instant.ofEpochMilli(position.timeMs()), ZoneId.systemDefault());
+    }
+
     /**
      * Generator can simulate a delay in events being produced
      *  to Kafka by putting a timestamp in the message payload
@@ -142,7 +267,7 @@ public class Generators {
      * @param maxOffset - maximum delay to introduce in seconds
      */
     public static ZonedDateTime nowWithRandomOffset(int maxOffset) {
-        final ZonedDateTime now = ZonedDateTime.now();
+        final ZonedDateTime now = now();
         if (maxOffset == 0) {
             return now;
         }
@@ -150,4 +275,79 @@ public class Generators {
             return now.minusSeconds(randomInt(0, maxOffset));
         }
     }
+
+
+    /**
+     * A java.util.Random that draws every value from the random number
+     *  generator of the thread that is using it, rather than from a
+     *  seed of its own.
+     */
+    private static class ThreadRandom extends Random {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public synchronized void setSeed(long seed) {
+            // values come from the current thread's generator instead
+        }
+
+        @Override
+        protected int next(int bits) {
+            return rng().nextInt() >>> (32 - bits);
+        }
+
+        @Override
+        public int nextInt() {
+            return rng().nextInt();
+        }
+
+        @Override
+        public int nextInt(int bound) {
+            return rng().nextInt(bound);
+        }
+
+        @Override
+        public int nextInt(int origin, int bound) {
+            return rng().nextInt(origin, bound);
+        }
+
+        @Override
+        public long nextLong() {
+            return rng().nextLong();
+        }
+
+        @Override
+        public long nextLong(long bound) {
+            return rng().nextLong(bound);
+        }
+
+        @Override
+        public long nextLong(long origin, long bound) {
+            return rng().nextLong(origin, bound);
+        }
+
+        @Override
+        public double nextDouble() {
+            return rng().nextDouble();
+        }
+
+        @Override
+        public float nextFloat() {
+            return rng().nextFloat();
+        }
+
+        @Override
+        public boolean nextBoolean() {
+            return rng().nextBoolean();
+        }
+
+        @Override
+        public double nextGaussian() {
+            return rng().nextGaussian();
+        }
+
+        @Override
+        public void nextBytes(byte[] bytes) {
+            rng().nextBytes(bytes);
+        }
+    }
 }
@@ -0,0 +1,169 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.utils;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates unique IDs for events.
+ *
+ *  The format of the IDs for each type of event can be chosen in the
+ *  connector config:
+ *   "default" - the format that the event has always used, such as a
+ *                random (version 4) UUID
+ *   "uuidv7" - a UUID that starts with the current time, so that IDs
+ *                sort in the order that they were generated
+ *   "snowflake" - a 64-bit number made from the current time, the task
+ *                that generated it, and a sequence number, so that it is
+ *                unique across all of the connector's tasks
+ *
+ *  Random values come from ThreadLocalRandom rather than SecureRandom, as
+ *  the IDs only need to be unique, not unpredictable. They are not taken
+ *  from the seeded random numbers used for the rest of the event, so a
+ *  task started again with the same random.seed does not repeat the IDs
+ *  it has already delivered - apart from in replayable streams, which
+ *  use the random numbers of the run so that IDs are replayed too.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    /** Returns a new unique ID */
+    String next();
+
+
+    /**
+     * Returns the ID generator for a config value.
+     *
+     * @param format - name of the ID format, such as "snowflake"
+     * @param taskIndex - index of the task that will use the IDs
+     * @param defaultIds - generates IDs in the default format for the type of event
+     */
+    static IdGenerator fromConfig(String format, int taskIndex, IdGenerator defaultIds) {
+        switch (format) {
+            case "uuidv7":
+                return IdGenerator::uuidV7;
+            case "snowflake":
+                return Snowflake.forTask(taskIndex)::nextString;
+            case "default":
+                return defaultIds;
+            default:
+                throw new IllegalArgumentException("Unknown ID format " + format);
+        }
+    }
+
+
+    /**
+     * Returns a random (version 4) UUID, in the same format as
+     *  {@link UUID#randomUUID()}.
+     */
+    static String randomUUID() {
+        final RandomGenerator rng = random();
+        final long mostSigBits = (rng.nextLong() & ~0xF000L) | 0x4000L;
+        final long leastSigBits = (rng.nextLong() & ~(0xC000000000000000L)) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+
+    /**
+     * Returns a string of random characters from the provided list.
+     */
+    static String randomString(String validCharacters, int length) {
+        final RandomGenerator rng = random();
+        final StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(validCharacters.charAt(rng.nextInt(validCharacters.length())));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns a version 7 UUID, which starts with the current time in
+     *  milliseconds, followed by random bits.
+     */
+    static String uuidV7() {
+        final RandomGenerator rng = random();
+        final long mostSigBits = (System.currentTimeMillis() << 16) | 0x7000L | (rng.nextLong() & 0x0FFFL);
+        final long leastSigBits = (rng.nextLong() & ~(0xC000000000000000L)) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+
+
+    /**
+     * Returns the random number generator for the random parts of IDs.
+     */
+    private static RandomGenerator random() {
+        return StreamPosition.current() != null ? Generators.rng() : ThreadLocalRandom.current();
+    }
+
+
+    /**
+     * Snowflake-style IDs: 41 bits for the time in milliseconds since
+     *  2020, 10 bits for the index of the task, and 12 bits for a
+     *  sequence number for IDs generated in the same millisecond.
+     *
+     * IDs are never repeated by the same task. If more than 4096 IDs
+     *  are needed in a millisecond (such as when generating a history
+     *  of events), the time in the ID moves ahead of the clock until
+     *  it catches up.
+     */
+    final class Snowflake {
+        private static final long EPOCH_MS = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC).toInstant().toEpochMilli();
+
+        private static final int TASK_BITS = 10;
+        private static final int SEQUENCE_BITS = 12;
+        private static final long MAX_TASKS = 1L << TASK_BITS;
+
+        /** shared by every generator for the same task, to keep their IDs unique */
+        private static final Map<Integer, Snowflake> TASKS = new ConcurrentHashMap<>();
+
+        private final long taskBits;
+
+        /** time and sequence number of the last ID generated */
+        private final AtomicLong last = new AtomicLong();
+
+
+        private Snowflake(int taskIndex) {
+            if (taskIndex < 0 || taskIndex >= MAX_TASKS) {
+                throw new IllegalArgumentException("Snowflake IDs support up to " + MAX_TASKS + " tasks");
+            }
+            this.taskBits = (long) taskIndex << SEQUENCE_BITS;
+        }
+
+        static Snowflake forTask(int taskIndex) {
+            return TASKS.computeIfAbsent(taskIndex, Snowflake::new);
+        }
+
+
+        long nextId() {
+            final long now = (System.currentTimeMillis() - EPOCH_MS) << SEQUENCE_BITS;
+            final long timeAndSequence = last.updateAndGet(previous -> Math.max(previous + 1, now));
+
+            final long time = timeAndSequence >>> SEQUENCE_BITS;
+            final long sequence = timeAndSequence & ((1L << SEQUENCE_BITS) - 1);
+            return (time << (TASK_BITS + SEQUENCE_BITS)) | taskBits | sequence;
+        }
+
+        String nextString() {
+            return Long.toString(nextId());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.utils;
+
+import java.util.List;
+
+/**
+ * Chooses random items from a list, using a distribution to decide
+ *  how likely each item is to be chosen based on its position in the
+ *  list.
+ *
+ *  The chance of choosing each item is worked out once, when the
+ *  sampler is created, so that a generator choosing from the same
+ *  list for every event does not need to repeat it.
+ */
+public class ItemSampler<T> {
+
+    private final List<T> items;
+
+    private final AliasTable table;
+
+
+    /**
+     * @param items - list to choose from - the ordering of the list is
+     *                 significant for distributions other than uniform
+     * @param distribution - how likely each item is to be chosen
+     */
+    public ItemSampler(List<T> items, Distribution distribution) {
+        this.items = List.copyOf(items);
+        this.table = items.isEmpty() ? null : new AliasTable(distribution.weights(items.size()));
+    }
+
+
+    /**
+     * Returns a randomly chosen item, using the current thread's
+     *  random number generator.
+     */
+    public T sample() {
+        if (table == null) {
+            throw new IndexOutOfBoundsException("No items to choose from");
+        }
+        return items.get(table.sample(Generators.rng()));
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    public List<T> items() {
+        return items;
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.utils;
+
+import java.util.random.RandomGenerator;
+
+import org.apache.kafka.common.config.ConfigException;
+
+/**
+ * Spread of the target sizes, in bytes, for the records on a topic.
+ *
+ *  Described in config as one of:
+ *   none                - records are left at their natural size
+ *   fixed:SIZE          - every record has the same target size
+ *   uniform:MIN-MAX     - every size in the range is equally likely
+ *   lognormal:MIN-MAX   - favours the start of the range, with a long tail
+ */
+public class RecordSize {
+
+    /** Largest target size that can be configured */
+    public static final int MAX_SIZE = 1024 * 1024;
+
+    /** Records are left at their natural size */
+    public static final RecordSize NONE = new RecordSize(0, 0, null);
+
+    private final int min;
+    private final int max;
+
+    /** Spread of sizes between the min and max, or null for a fixed size */
+    private final Distribution distribution;
+
+
+    private RecordSize(int min, int max, Distribution distribution) {
+        this.min = min;
+        this.max = max;
+        this.distribution = distribution;
+    }
+
+
+    /** Returns the record sizes described by a config value, such as "uniform:100-2000" */
+    public static RecordSize fromConfig(String name, String value) {
+        final String spec = value.trim().toLowerCase();
+        if (spec.equals("none")) {
+            return NONE;
+        }
+
+        final int separator = spec.indexOf(':');
+        if (separator < 0) {
+            throw new ConfigException(name, value, "must be 'none', 'fixed:SIZE', 'uniform:MIN-MAX' or 'lognormal:MIN-MAX'");
+        }
+        final String type = spec.substring(0, separator);
+        final String range = spec.substring(separator + 1);
+        try {
+            if (type.equals("fixed")) {
+                final int size = parseSize(name, value, range);
+                return new RecordSize(size, size, null);
+            }
+            if (type.equals("uniform") || type.equals("lognormal")) {
+                final int dash = range.indexOf('-');
+                if (dash < 0) {
+                    throw new ConfigException(name, value, "must have a range of sizes, such as '" + type + ":100-2000'");
+                }
+                final int min = parseSize(name, value, range.substring(0, dash));
+                final int max = parseSize(name, value, range.substring(dash + 1));
+                if (min > max) {
+                    throw new ConfigException(name, value, "minimum size must not be larger than the maximum size");
+                }
+                return new RecordSize(min, max, Distribution.fromConfig(type));
+            }
+        }
+        catch (NumberFormatException e) {
+            throw new ConfigException(name, value, "sizes must be whole numbers of bytes");
+        }
+        throw new ConfigException(name, value, "must be 'none', 'fixed:SIZE', 'uniform:MIN-MAX' or 'lognormal:MIN-MAX'");
+    }
+
+    private static int parseSize(String name, String value, String size) {
+        final int bytes = Integer.parseInt(size.trim());
+        if (bytes < 0 || bytes > MAX_SIZE) {
+            throw new ConfigException(name, value, "sizes must be between 0 and " + MAX_SIZE + " bytes");
+        }
+        return bytes;
+    }
+
+
+    /** Returns true if records should be left at their natural size */
+    public boolean isNone() {
+        return this == NONE;
+    }
+
+    /** Returns the largest size that this can return */
+    public int max() {
+        return max;
+    }
+
+    /** Returns a random target size */
+    public int sample(RandomGenerator rng) {
+        if (distribution == null) {
+            return min;
+        }
+        return min + (int) (distribution.sample(rng) * (max - min + 1));
+    }
+}
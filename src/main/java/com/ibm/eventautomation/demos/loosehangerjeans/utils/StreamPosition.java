@@ -0,0 +1,206 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Where a replayable stream of events has got to, for the event that
+ *  the current thread is generating.
+ *
+ *  Each run of a replayable stream is numbered, and events generated
+ *  by it (or by the follow-up tasks that it schedules) use the
+ *  logical time of that run instead of the wall-clock time, and are
+ *  delivered using the stream's own source partition.
+ *
+ *  The offset of an event generated by a run records the last run
+ *  before it, which must have been completed, and the number of the
+ *  event within its own run. A restarted task can then generate the
+ *  run again, skipping the events that were already delivered.
+ *  Follow-up events are generated while later runs are in progress,
+ *  so their offsets only record the last run that had been completed.
+ */
+public class StreamPosition {
+
+    private static final String OFFSET_TIMESTAMP = "offset";
+    private static final String OFFSET_COMPLETED = "completed";
+    private static final String OFFSET_EVENT = "event";
+    private static final String OFFSET_EPOCH = "epoch";
+
+    /** Run number used for the positions of follow-up tasks */
+    private static final long FOLLOW_UP = -1L;
+
+    /** Positions of the streams that individual threads are generating events for */
+    private final static ThreadLocal<StreamPosition> THREAD_POSITION = new ThreadLocal<>();
+
+    /** Source partition used for events from the stream */
+    private final Map<String, Object> partition;
+
+    /** Logical time of the first run of the stream, in milliseconds since the epoch */
+    private final long epochMs;
+
+    /** Logical time to use for events generated now, in milliseconds since the epoch */
+    private final long timeMs;
+
+    /** Number of the last completed run of the stream, shared by every position in the stream */
+    private final AtomicLong completed;
+
+    /** Number of the run, or FOLLOW_UP for the position of a follow-up task */
+    private final long run;
+
+    /** Number of events at the start of the run that were delivered before the task was restarted */
+    private final long delivered;
+
+    /** Number of events generated by the run so far - only used by the thread running it */
+    private long events = 0;
+
+
+    /**
+     * @param timeMs - logical time of the run
+     * @param completed - number of the last completed run, updated when this run is completed
+     * @param run - number of the run
+     * @param delivered - number of events at the start of the run to skip, as they have already been delivered
+     */
+    public StreamPosition(Map<String, Object> partition, long epochMs, long timeMs, AtomicLong completed, long run, long delivered) {
+        this.partition = partition;
+        this.epochMs = epochMs;
+        this.timeMs = timeMs;
+        this.completed = completed;
+        this.run = run;
+        this.delivered = delivered;
+    }
+
+
+    /**
+     * Returns the position of the stream that the current thread is
+     *  generating events for, or null if it is not generating events
+     *  for a replayable stream.
+     */
+    public static StreamPosition current() {
+        return THREAD_POSITION.get();
+    }
+
+    /**
+     * Returns a task that runs the provided task with this as the
+     *  position of the current thread.
+     */
+    public Runnable with(Runnable task) {
+        return () -> {
+            final StreamPosition previous = THREAD_POSITION.get();
+            THREAD_POSITION.set(this);
+            try {
+                task.run();
+            }
+            finally {
+                if (previous == null) {
+                    THREAD_POSITION.remove();
+                }
+                else {
+                    THREAD_POSITION.set(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns the position for a follow-up task that will be run
+     *  after the provided delay.
+     */
+    public StreamPosition later(long delayMs) {
+        return new StreamPosition(partition, epochMs, timeMs + delayMs, completed, FOLLOW_UP, 0);
+    }
+
+    /**
+     * Records that every event from the run has been queued, so that
+     *  later follow-up events do not need to have it generated again.
+     */
+    public void complete() {
+        completed.accumulateAndGet(run, Math::max);
+    }
+
+    public long timeMs() {
+        return timeMs;
+    }
+
+    public Map<String, Object> partition() {
+        return partition;
+    }
+
+    /**
+     * Returns the source offset for the next event generated at this
+     *  position, which has the provided timestamp.
+     */
+    public Map<String, Object> nextOffset(long timestamp) {
+        final Map<String, Object> offset = new HashMap<>(5);
+        offset.put(OFFSET_TIMESTAMP, timestamp);
+        if (run == FOLLOW_UP) {
+            offset.put(OFFSET_COMPLETED, completed.get());
+            offset.put(OFFSET_EVENT, 0L);
+        }
+        else {
+            offset.put(OFFSET_COMPLETED, run - 1);
+            offset.put(OFFSET_EVENT, ++events);
+        }
+        offset.put(OFFSET_EPOCH, epochMs);
+        return offset;
+    }
+
+    /**
+     * Returns true if the event with the provided source offset was
+     *  delivered before the task was restarted, so is only being
+     *  generated again to get the run back to where it got to.
+     */
+    public boolean isDelivered(Map<String, ?> offset) {
+        final Long event = event(offset);
+        return delivered > 0 && event != null && event <= delivered;
+    }
+
+    /**
+     * Returns the number of the last completed run recorded in a source
+     *  offset, or null if the offset was not recorded by a replayable
+     *  stream.
+     */
+    public static Long completed(Map<String, ?> offset) {
+        return number(offset, OFFSET_COMPLETED);
+    }
+
+    /**
+     * Returns the number of the event within the run after the last
+     *  completed run recorded in a source offset, or null if the offset
+     *  was not recorded by a replayable stream. This is 0 for follow-up
+     *  events, which are not part of the run.
+     */
+    public static Long event(Map<String, ?> offset) {
+        return number(offset, OFFSET_EVENT);
+    }
+
+    /**
+     * Returns the logical time of the first run recorded in a source
+     *  offset, or null if the offset was not recorded by a replayable
+     *  stream.
+     */
+    public static Long epoch(Map<String, ?> offset) {
+        return number(offset, OFFSET_EPOCH);
+    }
+
+    private static Long number(Map<String, ?> offset, String key) {
+        return offset != null && offset.get(key) instanceof Number ?
+            ((Number) offset.get(key)).longValue() :
+            null;
+    }
+}
@@ -16,17 +16,42 @@
 package com.ibm.eventautomation.demos.loosehangerjeans;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import org.apache.kafka.common.config.AbstractConfig;
 import org.apache.kafka.connect.source.SourceRecord;
+import org.apache.kafka.connect.source.SourceTaskContext;
+import org.apache.kafka.connect.storage.OffsetStorageReader;
+
+import com.ibm.eventautomation.demos.loosehangerjeans.data.BadgeIn;
+import com.ibm.eventautomation.demos.loosehangerjeans.data.LoosehangerData;
+import com.ibm.eventautomation.demos.loosehangerjeans.data.Transaction;
+import com.ibm.eventautomation.demos.loosehangerjeans.history.HistoryProgress;
+import com.ibm.eventautomation.demos.loosehangerjeans.history.HistoryRecord;
+import com.ibm.eventautomation.demos.loosehangerjeans.tasks.NormalOrdersTask;
+import com.ibm.eventautomation.demos.loosehangerjeans.tasks.OnlineActivityTask;
 
 
 
@@ -59,9 +84,17 @@ public class DatagenHistoryGeneratorTest {
             records.size() > 1_100_000,
             "Unexpectedly small number of events (" + records.size() + ") generated");
 
+        long previousTimestamp = 0;
         for (SourceRecord record : records) {
             long timestamp = record.timestamp();
 
+            assertFalse(
+                timestamp < previousTimestamp,
+                "Event timestamp " + timestamp +
+                    " for historical event on " + record.topic() +
+                    " is earlier than the previous event (" + previousTimestamp + ")");
+            previousTimestamp = timestamp;
+
             assertFalse(
                 timestamp > now,
                 "Event timestamp " + timestamp +
@@ -76,5 +109,228 @@ public class DatagenHistoryGeneratorTest {
             "No historical records generated for topics " +
                 String.join(",", expectedTopicNames));
     }
-}
 
+    @Test
+    public void testBackfillEvents() {
+        AbstractConfig config = new AbstractConfig(DatagenSourceConfig.CONFIG_DEF, Collections.EMPTY_MAP);
+        DatagenTaskShard shard = new DatagenTaskShard(config);
+
+        final long now = Instant.now().toEpochMilli();
+        final long lastBadgeIn = now - Duration.ofHours(2).toMillis();
+        final long lastOrder = now - Duration.ofMinutes(30).toMillis();
+        final Map<String, Long> lastTimestamps = Map.of(
+            shard.partitionName(BadgeIn.PARTITION), lastBadgeIn,
+            shard.partitionName(NormalOrdersTask.class.getName()), lastOrder);
+
+        final ForkJoinPool executor = new ForkJoinPool();
+        final List<HistoryRecord> records = new ArrayList<>();
+        try {
+            new DatagenHistoryGenerator().backfill(config, executor, lastTimestamps).forEachRemaining(records::add);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        assertFalse(records.isEmpty(), "No events generated for the gap");
+
+        long previousTimestamp = 0;
+        for (HistoryRecord record : records) {
+            assertTrue(lastTimestamps.containsKey(record.origin()),
+                "Unexpected event generated for " + record.origin());
+            assertTrue(record.timestamp() > lastTimestamps.get(record.origin()),
+                "Event timestamp " + record.timestamp() + " for " + record.origin() + " is before the gap");
+            assertFalse(record.timestamp() > now,
+                "Event timestamp " + record.timestamp() + " is in the future (current time: " + now + ")");
+            assertFalse(record.timestamp() < previousTimestamp,
+                "Event timestamp " + record.timestamp() + " is earlier than the previous event (" + previousTimestamp + ")");
+            previousTimestamp = record.timestamp();
+        }
+    }
+
+    @Test
+    public void testBackfillFromOffsets() {
+        AbstractConfig config = new AbstractConfig(DatagenSourceConfig.CONFIG_DEF, Collections.EMPTY_MAP);
+        DatagenTaskShard shard = new DatagenTaskShard(config);
+
+        // a connector that was only storing heartbeat offsets
+        final long now = Instant.now().toEpochMilli();
+        final long heartbeat = now - Duration.ofHours(1).toMillis();
+        final Map<String, Long> lastTimestamps = new DatagenHistoryGenerator().lastTimestamps(
+            context(Map.of(LoosehangerData.partition(shard.partitionName(DatagenOffsets.HEARTBEAT_PARTITION)),
+                           Map.of("offset", heartbeat))),
+            config);
+
+        // every origin that new events are written under gets filled in
+        assertEquals(heartbeat, lastTimestamps.get(shard.partitionName(OnlineActivityTask.class.getName())));
+        assertEquals(heartbeat, lastTimestamps.get(shard.partitionName(Transaction.PARTITION)));
+        assertEquals(heartbeat, lastTimestamps.get(shard.partitionName(NormalOrdersTask.class.getName())));
+
+        final ForkJoinPool executor = new ForkJoinPool();
+        final Set<String> topics = new HashSet<>();
+        final Set<String> origins = new HashSet<>();
+        try {
+            new DatagenHistoryGenerator().backfill(config, executor, lastTimestamps).forEachRemaining(record -> {
+                topics.add(record.toSourceRecord().topic());
+                origins.add(record.origin());
+            });
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(topics.contains(config.getString(DatagenSourceConfig.CONFIG_TOPICNAME_TRANSACTIONS)), "No transactions for the gap");
+        assertTrue(topics.contains(config.getString(DatagenSourceConfig.CONFIG_TOPICNAME_CLICKTRACKING)), "No click events for the gap");
+        assertTrue(lastTimestamps.keySet().containsAll(origins), "Events generated for unexpected origins " + origins);
+    }
+
+    /**
+     * Describes an event for comparing histories. Unique IDs (used as the
+     *  keys of some events) are not seeded, so events generated again get
+     *  new IDs and are described by when and where they were delivered.
+     */
+    private static String describe(SourceRecord record) {
+        return record.timestamp() + " " + record.topic();
+    }
+
+    /** Returns a task context with the provided stored offsets */
+    private static SourceTaskContext context(Map<Map<String, Object>, Map<String, Object>> storedOffsets) {
+        final OffsetStorageReader offsetReader = new OffsetStorageReader() {
+            @Override
+            public <T> Map<String, Object> offset(Map<String, T> partition) {
+                return storedOffsets.get(partition);
+            }
+
+            @Override
+            public <T> Map<Map<String, T>, Map<String, Object>> offsets(Collection<Map<String, T>> partitions) {
+                final Map<Map<String, T>, Map<String, Object>> offsets = new HashMap<>();
+                for (Map<String, T> partition : partitions) {
+                    offsets.put(partition, storedOffsets.get(partition));
+                }
+                return offsets;
+            }
+        };
+        return new SourceTaskContext() {
+            @Override
+            public Map<String, String> configs() {
+                return Collections.emptyMap();
+            }
+
+            @Override
+            public OffsetStorageReader offsetStorageReader() {
+                return offsetReader;
+            }
+        };
+    }
+
+    @Test
+    public void testResumeHistory() {
+        AbstractConfig config = new AbstractConfig(DatagenSourceConfig.CONFIG_DEF,
+            Map.of(DatagenSourceConfig.CONFIG_BEHAVIOR_STARTUPHISTORY_DAYS, "1"));
+        DatagenHistoryGenerator generator = new DatagenHistoryGenerator();
+        final String partitionName = new DatagenTaskShard(config).partitionName(HistoryProgress.PARTITION);
+
+        final ForkJoinPool executor = new ForkJoinPool();
+        try {
+            // deliver some of the history before stopping
+            final HistoryProgress progress = generator.newHistoryProgress(config);
+            final Iterator<HistoryRecord> history = generator.history(config, executor, progress);
+            SourceRecord lastDelivered = null;
+            for (int i = 0; i < 1_000 && history.hasNext(); i++) {
+                lastDelivered = progress.toSourceRecord(history.next());
+            }
+            assertNotNull(lastDelivered, "No historical events generated");
+            assertEquals(LoosehangerData.partition(partitionName), lastDelivered.sourcePartition());
+
+            // the events that would have been delivered next
+            final List<String> undelivered = new ArrayList<>();
+            for (int i = 0; i < 1_000 && history.hasNext(); i++) {
+                undelivered.add(describe(history.next().toSourceRecord()));
+            }
+
+            // carry on from the offset of the last event delivered
+            final HistoryProgress resumed = HistoryProgress.fromOffset(partitionName, (Map<String, Object>) lastDelivered.sourceOffset());
+            assertNotNull(resumed, "Offset does not record the progress of the history");
+            assertTrue(resumed.isResuming());
+            assertFalse(resumed.isComplete());
+
+            SourceRecord finalRecord = null;
+            final Iterator<HistoryRecord> remaining = generator.history(config, executor, resumed);
+            final List<String> resumedEvents = new ArrayList<>();
+            while (remaining.hasNext()) {
+                finalRecord = resumed.toSourceRecord(remaining.next());
+                if (resumedEvents.size() < undelivered.size()) {
+                    resumedEvents.add(describe(finalRecord));
+                }
+                assertFalse(finalRecord.timestamp() < lastDelivered.timestamp(),
+                    "Event timestamp " + finalRecord.timestamp() + " was before the last event delivered (" + lastDelivered.timestamp() + ")");
+            }
+            assertNotNull(finalRecord, "No historical events generated after resuming");
+            // carrying on gives the same events as if the task had not stopped
+            assertEquals(undelivered, resumedEvents);
+
+            final HistoryProgress finished = HistoryProgress.fromOffset(partitionName, (Map<String, Object>) finalRecord.sourceOffset());
+            assertTrue(finished.isComplete(), "Offset of the last event does not record that the history is complete");
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testResumeHistoryFromSnapshot(@TempDir Path snapshotDir) throws Exception {
+        AbstractConfig config = new AbstractConfig(DatagenSourceConfig.CONFIG_DEF, Map.of(
+            DatagenSourceConfig.CONFIG_BEHAVIOR_STARTUPHISTORY_DAYS, "1",
+            DatagenSourceConfig.CONFIG_BEHAVIOR_STARTUPHISTORY_SNAPSHOT_DIR, snapshotDir.toString()));
+        DatagenHistoryGenerator generator = new DatagenHistoryGenerator();
+        final String partitionName = new DatagenTaskShard(config).partitionName(HistoryProgress.PARTITION);
+
+        final ForkJoinPool executor = new ForkJoinPool();
+        try {
+            // the first history is saved as a snapshot
+            generator.history(config, executor, generator.newHistoryProgress(config)).forEachRemaining(record -> {});
+
+            // deliver some of the history replayed from the snapshot before stopping
+            final HistoryProgress progress = generator.newHistoryProgress(config);
+            final Iterator<HistoryRecord> history = generator.history(config, executor, progress);
+            assertTrue(progress.isFromSnapshot());
+            SourceRecord lastDelivered = null;
+            for (int i = 0; i < 1_000 && history.hasNext(); i++) {
+                lastDelivered = progress.toSourceRecord(history.next());
+            }
+            assertNotNull(lastDelivered, "No historical events replayed");
+            final List<String> undelivered = new ArrayList<>();
+            for (int i = 0; i < 1_000 && history.hasNext(); i++) {
+                undelivered.add(describe(history.next().toSourceRecord()));
+            }
+            ((AutoCloseable) history).close();
+
+            // carrying on replays the same snapshot, with the same timestamps
+            final HistoryProgress stored = HistoryProgress.fromOffset(partitionName, (Map<String, Object>) lastDelivered.sourceOffset());
+            assertTrue(stored.isFromSnapshot(), "Offset does not record that the history came from a snapshot");
+            final HistoryProgress resumed = generator.resumeProgress(config, stored);
+            assertSame(stored, resumed);
+
+            final Iterator<HistoryRecord> remaining = generator.history(config, executor, resumed);
+            final List<String> resumedEvents = new ArrayList<>();
+            while (remaining.hasNext() && resumedEvents.size() < undelivered.size()) {
+                resumedEvents.add(describe(resumed.toSourceRecord(remaining.next())));
+            }
+            ((AutoCloseable) remaining).close();
+            assertEquals(undelivered, resumedEvents);
+
+            // without the snapshot, a new history is started
+            try (DirectoryStream<Path> snapshots = Files.newDirectoryStream(snapshotDir)) {
+                for (Path snapshot : snapshots) {
+                    Files.delete(snapshot);
+                }
+            }
+            final HistoryProgress restarted = generator.resumeProgress(config, stored);
+            assertFalse(restarted.isFromSnapshot());
+            assertFalse(restarted.isResuming());
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+}
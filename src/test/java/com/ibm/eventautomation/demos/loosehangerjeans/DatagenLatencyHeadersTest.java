@@ -0,0 +1,75 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.header.Headers;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.junit.jupiter.api.Test;
+
+import com.ibm.eventautomation.demos.loosehangerjeans.data.GeneratedRecord;
+
+
+public class DatagenLatencyHeadersTest {
+
+    private static final DatagenTaskShard SHARD = new DatagenTaskShard(1, 2);
+
+    private SourceRecord record() {
+        return new GeneratedRecord(null, null,
+                                   "TOPIC", null,
+                                   Schema.STRING_SCHEMA, "key",
+                                   Schema.STRING_SCHEMA, "value",
+                                   1000L, null);
+    }
+
+    private Object header(Headers headers, String name) {
+        return headers.lastWithName(name).value();
+    }
+
+
+    @Test
+    public void testLatencyHeaders() {
+        DatagenLatencyHeaders latency = new DatagenLatencyHeaders(true, SHARD);
+
+        GeneratedRecord generated = (GeneratedRecord) record();
+        SourceRecord first = latency.apply(generated, 5000);
+        SourceRecord second = latency.apply(record(), 6000);
+
+        assertEquals(1, header(first.headers(), DatagenLatencyHeaders.TASK_HEADER));
+        assertEquals(1L, header(first.headers(), DatagenLatencyHeaders.SEQUENCE_HEADER));
+        assertEquals(generated.generatedMs(), header(first.headers(), DatagenLatencyHeaders.GENERATED_HEADER));
+        assertEquals(5000L, header(first.headers(), DatagenLatencyHeaders.POLLED_HEADER));
+        assertEquals("value", first.value());
+        assertEquals(1000L, first.timestamp());
+
+        assertEquals(2L, header(second.headers(), DatagenLatencyHeaders.SEQUENCE_HEADER));
+        assertEquals(6000L, header(second.headers(), DatagenLatencyHeaders.POLLED_HEADER));
+
+        // the headers of the original records are left alone
+        assertTrue(generated.headers().isEmpty());
+    }
+
+    @Test
+    public void testDisabled() {
+        DatagenLatencyHeaders latency = new DatagenLatencyHeaders(false, SHARD);
+        SourceRecord record = record();
+        assertSame(record, latency.apply(record, 5000));
+    }
+}
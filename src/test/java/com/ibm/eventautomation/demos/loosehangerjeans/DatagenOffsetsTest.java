@@ -0,0 +1,87 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Map;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.junit.jupiter.api.Test;
+
+import com.ibm.eventautomation.demos.loosehangerjeans.DatagenOffsets.OffsetMode;
+import com.ibm.eventautomation.demos.loosehangerjeans.data.LoosehangerData;
+import com.ibm.eventautomation.demos.loosehangerjeans.history.HistoryProgress;
+
+
+public class DatagenOffsetsTest {
+
+    private static final DatagenTaskShard SHARD = new DatagenTaskShard(0, 1);
+
+    private SourceRecord record(String origin, long timestamp) {
+        return new SourceRecord(LoosehangerData.partition(origin), LoosehangerData.offset(timestamp),
+                                "TOPIC", null,
+                                Schema.STRING_SCHEMA, "key",
+                                Schema.STRING_SCHEMA, "value",
+                                timestamp);
+    }
+
+
+    @Test
+    public void testRecordOffsets() {
+        DatagenOffsets offsets = new DatagenOffsets(OffsetMode.RECORD, 60_000, SHARD);
+        SourceRecord first = record("a", 1000);
+        SourceRecord second = record("a", 2000);
+        assertSame(first, offsets.apply(first));
+        assertSame(second, offsets.apply(second));
+    }
+
+    @Test
+    public void testPeriodicOffsets() {
+        DatagenOffsets offsets = new DatagenOffsets(OffsetMode.PERIODIC, 60_000, SHARD);
+
+        SourceRecord first = record("a", 1000);
+        assertSame(first, offsets.apply(first));
+        SourceRecord other = record("b", 1000);
+        assertSame(other, offsets.apply(other));
+
+        SourceRecord second = offsets.apply(record("a", 2000));
+        assertNull(second.sourcePartition());
+        assertNull(second.sourceOffset());
+        assertEquals("value", second.value());
+        assertEquals(2000L, second.timestamp());
+
+        // historical events always keep their offsets
+        SourceRecord history = record(HistoryProgress.PARTITION, 3000);
+        assertSame(history, offsets.apply(history));
+    }
+
+    @Test
+    public void testHeartbeatOffsets() {
+        DatagenOffsets offsets = new DatagenOffsets(OffsetMode.HEARTBEAT, 60_000, SHARD);
+
+        SourceRecord first = offsets.apply(record("a", 1000));
+        assertEquals(Map.of("partition", DatagenOffsets.HEARTBEAT_PARTITION), first.sourcePartition());
+        assertEquals(Map.of("offset", 1000L), first.sourceOffset());
+
+        SourceRecord second = offsets.apply(record("b", 2000));
+        assertNull(second.sourcePartition());
+        assertNull(second.sourceOffset());
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.zip.Deflater;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.header.Header;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.junit.jupiter.api.Test;
+
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.RecordSize;
+
+
+public class DatagenPaddingTest {
+
+    private SourceRecord record(String topic, Schema valueSchema, Object value) {
+        return new SourceRecord(null, null,
+                                topic, null,
+                                Schema.STRING_SCHEMA, "key",
+                                valueSchema, value,
+                                1000L);
+    }
+
+    private String padding(SourceRecord record) {
+        Header header = record.headers().lastWithName(DatagenPadding.PADDING_HEADER);
+        return header == null ? null : (String) header.value();
+    }
+
+
+    @Test
+    public void testFixedSize() {
+        DatagenPadding padding = new DatagenPadding(Map.of("TOPIC", RecordSize.fromConfig("sizes", "fixed:100")),
+                                                    1.0, new SplittableRandom(1));
+
+        // encoded values are padded out to the target size
+        SourceRecord bytes = padding.apply(record("TOPIC", Schema.BYTES_SCHEMA, new byte[30]));
+        assertEquals(70, padding(bytes).length());
+
+        // values that are not encoded are padded out from an estimate of their size
+        SourceRecord string = padding.apply(record("TOPIC", Schema.STRING_SCHEMA, "value"));
+        assertEquals(95, padding(string).length());
+
+        Schema schema = SchemaBuilder.struct().field("text", Schema.STRING_SCHEMA).field("count", Schema.INT32_SCHEMA).build();
+        SourceRecord struct = padding.apply(record("TOPIC", schema, new Struct(schema).put("text", "0123456789").put("count", 1)));
+        assertEquals(82, padding(struct).length());
+
+        // values that are already large enough are left alone
+        SourceRecord large = record("TOPIC", Schema.BYTES_SCHEMA, new byte[200]);
+        assertSame(large, padding.apply(large));
+
+        // topics without a target size are left alone
+        SourceRecord other = record("OTHER", Schema.BYTES_SCHEMA, new byte[30]);
+        assertSame(other, padding.apply(other));
+        assertNull(padding(other));
+    }
+
+    @Test
+    public void testRangeOfSizes() {
+        DatagenPadding padding = new DatagenPadding(Map.of("TOPIC", RecordSize.fromConfig("sizes", "lognormal:100-2000")),
+                                                    1.0, new SplittableRandom(1));
+        for (int i = 0; i < 1000; i++) {
+            int size = padding(padding.apply(record("TOPIC", Schema.BYTES_SCHEMA, new byte[0]))).length();
+            assertTrue(size >= 100 && size <= 2000, "Unexpected padding size " + size);
+        }
+    }
+
+    @Test
+    public void testEntropy() {
+        RecordSize size = RecordSize.fromConfig("sizes", "fixed:50000");
+        double random = compressionRatio(new DatagenPadding(Map.of("TOPIC", size), 1.0, new SplittableRandom(1)));
+        double repetitive = compressionRatio(new DatagenPadding(Map.of("TOPIC", size), 0.0, new SplittableRandom(1)));
+
+        assertTrue(random > 0.7, "Random padding compressed to " + random);
+        assertTrue(repetitive < 0.05, "Repetitive padding compressed to " + repetitive);
+    }
+
+    private double compressionRatio(DatagenPadding padding) {
+        byte[] input = padding(padding.apply(record("TOPIC", Schema.STRING_SCHEMA, "value"))).getBytes(StandardCharsets.US_ASCII);
+        Deflater deflater = new Deflater();
+        deflater.setInput(input);
+        deflater.finish();
+        byte[] output = new byte[input.length * 2];
+        int compressed = deflater.deflate(output);
+        deflater.end();
+        return (double) compressed / input.length;
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.source.SourceRecord;
+
+import com.ibm.eventautomation.demos.loosehangerjeans.DatagenQueue.OverflowPolicy;
+
+
+public class DatagenQueueTest {
+
+    private SourceRecord record(String value) {
+        return new SourceRecord(Map.of("partition", "test"), Map.of("offset", 0L),
+                                "TOPIC", Schema.STRING_SCHEMA, value);
+    }
+
+    private List<Object> drain(DatagenQueue queue) {
+        List<SourceRecord> records = new ArrayList<>();
+        queue.drainTo(records, Integer.MAX_VALUE);
+        List<Object> values = new ArrayList<>();
+        records.forEach(r -> values.add(r.value()));
+        return values;
+    }
+
+
+    @Test
+    public void testDropOldest() {
+        DatagenQueue queue = new DatagenQueue(2, 0, OverflowPolicy.DROP_OLDEST);
+        assertTrue(queue.add(record("a")));
+        assertTrue(queue.add(record("b")));
+        assertTrue(queue.add(record("c")));
+
+        assertEquals(1, queue.droppedCount());
+        assertEquals(List.of("b", "c"), drain(queue));
+    }
+
+    @Test
+    public void testDropNewest() {
+        DatagenQueue queue = new DatagenQueue(2, 0, OverflowPolicy.DROP_NEWEST);
+        assertTrue(queue.add(record("a")));
+        assertTrue(queue.add(record("b")));
+        assertFalse(queue.add(record("c")));
+
+        assertEquals(1, queue.droppedCount());
+        assertEquals(List.of("a", "b"), drain(queue));
+    }
+
+    @Test
+    public void testMaxBytes() {
+        DatagenQueue queue = new DatagenQueue(0, 200, OverflowPolicy.DROP_NEWEST);
+        assertTrue(queue.add(record("x".repeat(100))));
+        assertFalse(queue.add(record("x".repeat(100))));
+        assertTrue(queue.sizeInBytes() > 100);
+
+        drain(queue);
+        assertEquals(0, queue.sizeInBytes());
+
+        // a single event bigger than the limit is still allowed
+        assertTrue(queue.add(record("x".repeat(500))));
+    }
+
+    @Test
+    public void testBlock() throws InterruptedException {
+        DatagenQueue queue = new DatagenQueue(1, 0, OverflowPolicy.BLOCK);
+        queue.add(record("a"));
+
+        Thread generator = new Thread(() -> queue.add(record("b")));
+        generator.start();
+        generator.join(200);
+        assertTrue(generator.isAlive());
+        assertEquals(1, queue.size());
+
+        assertEquals("a", queue.poll(1, TimeUnit.SECONDS).value());
+        generator.join(1000);
+        assertFalse(generator.isAlive());
+        assertEquals("b", queue.poll(1, TimeUnit.SECONDS).value());
+        assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+        assertEquals(0, queue.droppedCount());
+    }
+
+    @Test
+    public void testPause() {
+        DatagenQueue queue = new DatagenQueue(1, 0, OverflowPolicy.PAUSE);
+        AtomicInteger runs = new AtomicInteger();
+        Runnable stream = queue.pausable("test", () -> {
+            runs.incrementAndGet();
+            queue.add(record("a"));
+            queue.add(record("b"));
+        });
+
+        stream.run();
+        assertEquals(2, queue.size());
+        stream.run();
+        assertEquals(1, runs.get());
+
+        drain(queue);
+        stream.run();
+        assertEquals(2, runs.get());
+        assertEquals(0, queue.droppedCount());
+    }
+}
@@ -0,0 +1,161 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.kafka.connect.source.SourceRecord;
+import org.apache.kafka.connect.storage.OffsetStorageReader;
+import org.junit.jupiter.api.Test;
+
+import com.ibm.eventautomation.demos.loosehangerjeans.DatagenQueue.OverflowPolicy;
+import com.ibm.eventautomation.demos.loosehangerjeans.data.BadgeIn;
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.Generators;
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.StreamPosition;
+
+
+public class DatagenReplayTest {
+
+    private static final DatagenTaskShard SHARD = new DatagenTaskShard(0, 1);
+    private static final long EPOCH_MS = 1_700_000_000_000L;
+
+    /** Offsets of the events generated by the last call to {@link #generate} */
+    private final List<Map<String, ?>> offsets = new ArrayList<>();
+
+    /** Position of a follow-up task scheduled by the last run of {@link #generate} */
+    private StreamPosition followUp;
+
+    /**
+     * Runs a stream that queues the provided number of events for each
+     *  run, and returns a description of each event that was queued -
+     *  its logical time and a random ID.
+     */
+    private List<String> generate(DatagenReplay replay, String stream, int runs, int eventsPerRun, Map<String, Object> committed) {
+        final DatagenQueue queue = new DatagenQueue(0, 0, OverflowPolicy.BLOCK);
+        final Runnable task = replay.stream(stream, () -> {
+            for (int i = 0; i < eventsPerRun; i++) {
+                final ZonedDateTime now = Generators.now();
+                final String id = Integer.toString(Generators.randomInt(0, 1_000_000));
+                queue.add(new BadgeIn(id, now.toString(), "door", "employee", now).createSourceRecord("DOORS", stream));
+            }
+            followUp = StreamPosition.current().later(500);
+        }, 1000, committed == null ? null : new CommittedOffset(committed));
+        for (int i = 0; i < runs; i++) {
+            task.run();
+        }
+
+        final List<String> events = new ArrayList<>();
+        offsets.clear();
+        for (SourceRecord record = queue.poll(); record != null; record = queue.poll()) {
+            events.add(record.timestamp() + ":" + record.key() + ":" + record.value());
+            offsets.add(record.sourceOffset());
+        }
+        return events;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> offset(int index) {
+        return (Map<String, Object>) offsets.get(index);
+    }
+
+
+    @Test
+    public void testReplay() {
+        DatagenReplay replay = new DatagenReplay(true, 1234, EPOCH_MS, SHARD);
+
+        List<String> first = generate(replay, "orders", 5, 1, null);
+        assertEquals(first, generate(new DatagenReplay(true, 1234, EPOCH_MS, SHARD), "orders", 5, 1, null));
+        assertEquals(EPOCH_MS + ":", first.get(0).substring(0, first.get(0).indexOf(':') + 1));
+        assertEquals(EPOCH_MS + 4000 + ":", first.get(4).substring(0, first.get(4).indexOf(':') + 1));
+
+        // other streams and seeds have their own random numbers
+        assertNotEquals(first, generate(replay, "returns", 5, 1, null));
+        assertNotEquals(first, generate(new DatagenReplay(true, 5678, EPOCH_MS, SHARD), "orders", 5, 1, null));
+    }
+
+    @Test
+    public void testResume() {
+        DatagenReplay replay = new DatagenReplay(true, 1234, EPOCH_MS, SHARD);
+        List<String> uninterrupted = generate(replay, "orders", 5, 1, null);
+
+        generate(replay, "orders", 2, 1, null);
+        Map<String, Object> committed = offset(1);
+        assertEquals(0L, StreamPosition.completed(committed));
+        assertEquals(1L, StreamPosition.event(committed));
+
+        // restarting later, with a different epoch, generates the run of
+        //  the last event delivered again without queueing that event,
+        //  then carries on from the run after it
+        DatagenReplay restarted = new DatagenReplay(true, 1234, EPOCH_MS + 60_000, SHARD);
+        assertEquals(uninterrupted.subList(2, 5), generate(restarted, "orders", 4, 1, committed));
+    }
+
+    @Test
+    public void testResumePartWayThroughRun() {
+        DatagenReplay replay = new DatagenReplay(true, 1234, EPOCH_MS, SHARD);
+        List<String> uninterrupted = generate(replay, "orders", 3, 3, null);
+        assertEquals(9, uninterrupted.size());
+
+        // the first event of a run does not claim the rest of the run
+        generate(replay, "orders", 2, 3, null);
+        Map<String, Object> committed = offset(4);
+        assertEquals(0L, StreamPosition.completed(committed));
+        assertEquals(2L, StreamPosition.event(committed));
+
+        // follow-up events only claim the runs that have been completed
+        Map<String, Object> followUpOffset = followUp.nextOffset(EPOCH_MS);
+        assertEquals(1L, StreamPosition.completed(followUpOffset));
+        assertEquals(0L, StreamPosition.event(followUpOffset));
+
+        DatagenReplay restarted = new DatagenReplay(true, 1234, EPOCH_MS, SHARD);
+        assertEquals(uninterrupted.subList(5, 9), generate(restarted, "orders", 2, 3, committed));
+    }
+
+    @Test
+    public void testDisabled() {
+        DatagenReplay replay = new DatagenReplay(false, 1234, EPOCH_MS, SHARD);
+        Runnable task = () -> assertNull(StreamPosition.current());
+        assertEquals(task, replay.stream("orders", task, 1000, null));
+    }
+
+
+    /** Returns the provided offset for every source partition */
+    private static class CommittedOffset implements OffsetStorageReader {
+        private final Map<String, Object> offset;
+
+        private CommittedOffset(Map<String, Object> offset) {
+            this.offset = offset;
+        }
+
+        @Override
+        public <T> Map<String, Object> offset(Map<String, T> partition) {
+            return offset;
+        }
+
+        @Override
+        public <T> Map<Map<String, T>, Map<String, Object>> offsets(Collection<Map<String, T>> partitions) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.kafka.common.config.AbstractConfig;
+
+
+public class DatagenSourceConnectorTest {
+
+    private List<Map<String, String>> getTaskConfigs(Map<String, String> props, int maxTasks) {
+        DatagenSourceConnector connector = new DatagenSourceConnector();
+        connector.start(props);
+        return connector.taskConfigs(maxTasks);
+    }
+
+
+    @Test
+    public void testSingleTask() {
+        List<Map<String, String>> taskConfigs = getTaskConfigs(Map.of(DatagenSourceConfig.CONFIG_TIMES_ORDERS, "1000"), 1);
+        assertEquals(1, taskConfigs.size());
+
+        AbstractConfig config = new AbstractConfig(DatagenSourceConfig.CONFIG_DEF, taskConfigs.get(0));
+        assertEquals(0, config.getInt(DatagenSourceConfig.CONFIG_TASK_INDEX));
+        assertEquals(1, config.getInt(DatagenSourceConfig.CONFIG_TASK_COUNT));
+        assertEquals(1000, config.getInt(DatagenSourceConfig.CONFIG_TIMES_ORDERS));
+    }
+
+    @Test
+    public void testSharedWorkload() {
+        final int maxTasks = 4;
+        List<Map<String, String>> taskConfigs = getTaskConfigs(Map.of(DatagenSourceConfig.CONFIG_TIMES_ORDERS, "1000"), maxTasks);
+        assertEquals(maxTasks, taskConfigs.size());
+
+        Set<String> partitionNames = new HashSet<>();
+        Set<String> keyPrefixes = new HashSet<>();
+        Set<Long> sharedSeeds = new HashSet<>();
+        for (int i = 0; i < maxTasks; i++) {
+            AbstractConfig config = new AbstractConfig(DatagenSourceConfig.CONFIG_DEF, taskConfigs.get(i));
+            assertEquals(i, config.getInt(DatagenSourceConfig.CONFIG_TASK_INDEX));
+            assertEquals(maxTasks, config.getInt(DatagenSourceConfig.CONFIG_TASK_COUNT));
+
+            // explicitly configured and default rates are both shared between the tasks
+            assertEquals(4000, config.getInt(DatagenSourceConfig.CONFIG_TIMES_ORDERS));
+            assertEquals(2400, config.getInt(DatagenSourceConfig.CONFIG_TIMES_BADGEINS));
+            // the interval within a user session is not
+            assertEquals(15_000, config.getInt(DatagenSourceConfig.CONFIG_TIMES_CLICKTRACKING));
+
+            DatagenTaskShard shard = new DatagenTaskShard(config);
+            partitionNames.add(shard.partitionName("origin"));
+            keyPrefixes.add(shard.keyPrefix());
+            sharedSeeds.add(config.getLong(DatagenSourceConfig.CONFIG_TASK_SHARED_SEED));
+        }
+
+        assertEquals(maxTasks, partitionNames.size());
+        assertEquals(maxTasks, keyPrefixes.size());
+        // random choices that the tasks need to agree on are the same in every task
+        assertEquals(1, sharedSeeds.size());
+    }
+
+    @Test
+    public void testFirstTaskKeepsPartitionNames() {
+        assertEquals("origin", new DatagenTaskShard(0, 1).partitionName("origin"));
+        assertEquals("origin", new DatagenTaskShard(0, 3).partitionName("origin"));
+        assertNotEquals("origin", new DatagenTaskShard(1, 3).partitionName("origin"));
+
+        assertEquals("", new DatagenTaskShard(0, 1).keyPrefix());
+        assertEquals("00", new DatagenTaskShard(0, 40).keyPrefix());
+        assertEquals("13", new DatagenTaskShard(39, 40).keyPrefix());
+    }
+}
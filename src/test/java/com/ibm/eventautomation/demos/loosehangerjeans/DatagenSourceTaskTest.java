@@ -0,0 +1,222 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.source.SourceRecord;
+
+import com.ibm.eventautomation.demos.loosehangerjeans.DatagenQueue.OverflowPolicy;
+import com.ibm.eventautomation.demos.loosehangerjeans.history.HistoryRecord;
+import com.ibm.eventautomation.demos.loosehangerjeans.history.HistoryWarmup;
+import com.ibm.eventautomation.demos.loosehangerjeans.history.HistoryWarmup.InterleavePolicy;
+
+
+public class DatagenSourceTaskTest {
+
+    private static final List<String> TIMINGS = List.of(
+        DatagenSourceConfig.CONFIG_TIMES_ORDERS,
+        DatagenSourceConfig.CONFIG_TIMES_FALSEPOSITIVES,
+        DatagenSourceConfig.CONFIG_TIMES_SUSPICIOUSORDERS,
+        DatagenSourceConfig.CONFIG_TIMES_STOCKMOVEMENTS,
+        DatagenSourceConfig.CONFIG_TIMES_BADGEINS,
+        DatagenSourceConfig.CONFIG_TIMES_NEWCUSTOMERS,
+        DatagenSourceConfig.CONFIG_TIMES_SENSORREADINGS,
+        DatagenSourceConfig.CONFIG_TIMES_HIGHSENSORREADINGS,
+        DatagenSourceConfig.CONFIG_TIMES_ONLINEORDERS,
+        DatagenSourceConfig.CONFIG_TIMES_RETURNREQUESTS,
+        DatagenSourceConfig.CONFIG_TIMES_PRODUCTREVIEWS,
+        DatagenSourceConfig.CONFIG_TIMES_TRANSACTIONS,
+        DatagenSourceConfig.CONFIG_TIMES_CLICKTRACKING);
+
+    private final DatagenSourceTask task = new DatagenSourceTask();
+
+    @AfterEach
+    public void stopTask() {
+        task.stop();
+    }
+
+
+    @Test
+    public void testEmptyPollWaitsForTimeout() {
+        final int timeoutMs = 200;
+
+        // every stream generates events once when the task starts,
+        //  and then not again for as long as the test runs
+        final Map<String, String> props = new HashMap<>();
+        for (String timing : TIMINGS) {
+            props.put(timing, Integer.toString(Integer.MAX_VALUE));
+        }
+        props.put(DatagenSourceConfig.CONFIG_PERFORMANCE_POLL_TIMEOUT, Integer.toString(timeoutMs));
+        task.start(props);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+            // follow-up events can still arrive after the first events
+            //  have been delivered, so poll until nothing is left
+            while (true) {
+                final long startNs = System.nanoTime();
+                final List<SourceRecord> batch = task.poll();
+                final long elapsedMs = (System.nanoTime() - startNs) / 1_000_000;
+
+                assertNotNull(batch);
+                if (batch.isEmpty()) {
+                    assertTrue(elapsedMs >= timeoutMs, "returned after " + elapsedMs + " ms");
+                    break;
+                }
+            }
+        });
+    }
+
+    @Test
+    public void testPollMaxRecords() {
+        final int maxRecords = 3;
+        task.start(Map.of(DatagenSourceConfig.CONFIG_PERFORMANCE_POLL_MAX_RECORDS, Integer.toString(maxRecords)));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+            // leave time between polls for more events to be generated
+            //  than fit in a single batch
+            int size = 0;
+            while (size < maxRecords) {
+                Thread.sleep(1_000);
+                size = task.poll().size();
+                assertTrue(size <= maxRecords, "returned " + size + " events");
+            }
+        });
+    }
+
+    @Test
+    public void testHistoryFirst() throws InterruptedException {
+        final DatagenQueue queue = live(2);
+        final HistoryWarmup history = history(6);
+
+        assertEquals(List.of("HISTORY", "HISTORY", "HISTORY", "HISTORY"),
+                     fillBatch(queue, history, InterleavePolicy.HISTORY_FIRST));
+        assertEquals(List.of("HISTORY", "HISTORY"),
+                     fillBatch(queue, history, InterleavePolicy.HISTORY_FIRST));
+
+        // new messages are held until the history is complete
+        assertEquals(Collections.emptyList(), fillBatch(queue, history, InterleavePolicy.HISTORY_FIRST));
+        assertNull(DatagenSourceTask.waitForNext(queue, history, InterleavePolicy.HISTORY_FIRST, 50));
+        assertTrue(history.isComplete());
+
+        assertEquals(List.of("LIVE", "LIVE"), fillBatch(queue, null, InterleavePolicy.HISTORY_FIRST));
+    }
+
+    @Test
+    public void testLiveFirst() throws InterruptedException {
+        final DatagenQueue queue = live(3);
+        final HistoryWarmup history = history(6);
+
+        // historical events fill the space left by new messages
+        assertEquals(List.of("LIVE", "LIVE", "LIVE", "HISTORY"),
+                     fillBatch(queue, history, InterleavePolicy.LIVE_FIRST));
+        assertEquals(List.of("HISTORY", "HISTORY", "HISTORY", "HISTORY"),
+                     fillBatch(queue, history, InterleavePolicy.LIVE_FIRST));
+
+        queue.add(record("LIVE"));
+        assertEquals("LIVE", DatagenSourceTask.waitForNext(queue, history, InterleavePolicy.LIVE_FIRST, 50).topic());
+    }
+
+    @Test
+    public void testShared() throws InterruptedException {
+        final DatagenQueue queue = live(4);
+        final HistoryWarmup history = history(8);
+
+        // up to half of each batch is used for historical events
+        assertEquals(List.of("HISTORY", "HISTORY", "LIVE", "LIVE"),
+                     fillBatch(queue, history, InterleavePolicy.SHARED));
+        assertEquals(List.of("HISTORY", "HISTORY", "LIVE", "LIVE"),
+                     fillBatch(queue, history, InterleavePolicy.SHARED));
+
+        // with no new messages, historical events use the rest
+        assertEquals(List.of("HISTORY", "HISTORY", "HISTORY", "HISTORY"),
+                     fillBatch(queue, history, InterleavePolicy.SHARED));
+    }
+
+
+    private static final int BATCH_SIZE = 4;
+
+    private static SourceRecord record(String topic) {
+        return new SourceRecord(Map.of("partition", "test"), Map.of("offset", 0L),
+                                topic, Schema.STRING_SCHEMA, "value");
+    }
+
+    /** Returns a queue containing the provided number of new messages */
+    private static DatagenQueue live(int count) {
+        final DatagenQueue queue = new DatagenQueue(0, 0, OverflowPolicy.BLOCK);
+        for (int i = 0; i < count; i++) {
+            queue.add(record("LIVE"));
+        }
+        return queue;
+    }
+
+    /**
+     * Returns a history with the provided number of events, once
+     *  they are all waiting to be delivered.
+     */
+    private static HistoryWarmup history(int count) throws InterruptedException {
+        final CountDownLatch generated = new CountDownLatch(1);
+        final HistoryWarmup history = new HistoryWarmup(() -> new Iterator<HistoryRecord>() {
+            private int remaining = count;
+
+            @Override
+            public boolean hasNext() {
+                if (remaining == 0) {
+                    generated.countDown();
+                }
+                return remaining > 0;
+            }
+
+            @Override
+            public HistoryRecord next() {
+                remaining--;
+                return new HistoryRecord(0, "test") {
+                    @Override
+                    public SourceRecord toSourceRecord(Map<String, ?> sourcePartition, Map<String, ?> sourceOffset) {
+                        return record("HISTORY");
+                    }
+                };
+            }
+        }, count, "interleave-test");
+        history.start();
+        assertTrue(generated.await(10, TimeUnit.SECONDS));
+        return history;
+    }
+
+    /** Returns the topics of the messages in the next batch */
+    private static List<String> fillBatch(DatagenQueue queue, HistoryWarmup history, InterleavePolicy policy) {
+        final List<SourceRecord> batch = new ArrayList<>();
+        DatagenSourceTask.fillBatch(batch, BATCH_SIZE, queue, history, policy);
+        return batch.stream().map(SourceRecord::topic).toList();
+    }
+}
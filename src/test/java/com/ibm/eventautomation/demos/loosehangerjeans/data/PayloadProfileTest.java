@@ -0,0 +1,133 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.ZonedDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.kafka.common.config.AbstractConfig;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.jupiter.api.Test;
+
+import com.ibm.eventautomation.demos.loosehangerjeans.DatagenSourceConfig;
+import com.ibm.eventautomation.demos.loosehangerjeans.generators.OnlineActivityGenerator;
+import com.ibm.eventautomation.demos.loosehangerjeans.generators.ReturnRequestGenerator;
+
+public class PayloadProfileTest {
+
+    @Test
+    public void minimalClickEvents() {
+        final Struct value = value(generate(ClickEvent.class, "minimal"));
+
+        assertEquals("clickstream_minimal", value.schema().name());
+        assertEquals(List.of("sessionid", "eventid", "type", "product", "timestamp"), fieldNames(value));
+        assertNull(value.schema().field("context"));
+        assertNull(value.schema().field("referrer"));
+    }
+
+    @Test
+    public void standardClickEvents() {
+        final Struct value = value(generate(ClickEvent.class, "standard"));
+
+        assertEquals("clickstream_standard", value.schema().name());
+        assertEquals(List.of("sessionid", "eventid", "type", "referrer", "customer", "url", "product", "timestamp"), fieldNames(value));
+        assertNull(value.schema().field("context"));
+    }
+
+    @Test
+    public void minimalOnlineOrders() {
+        final Struct value = value(generate(OnlineOrder.class, "minimal"));
+
+        assertEquals("onlineorder_minimal", value.schema().name());
+        assertEquals(List.of("id", "customer", "products", "ordertime"), fieldNames(value));
+    }
+
+    @Test
+    public void standardOnlineOrders() {
+        final Struct value = value(generate(OnlineOrder.class, "standard"));
+
+        // same schema as the full profile, without the phone numbers
+        assertEquals("onlineorder", value.schema().name());
+        assertEquals(List.of("id", "customer", "products", "address", "ordertime"), fieldNames(value));
+        final Struct address = value.getStruct("address");
+        assertNull(address.getStruct("shippingaddress").getArray("phones"));
+        assertNull(address.getStruct("billingaddress").getArray("phones"));
+    }
+
+    @Test
+    public void minimalReturnRequests() {
+        final Struct value = value(returnRequest("minimal"));
+
+        assertEquals("returnrequest_minimal", value.schema().name());
+        assertEquals(List.of("id", "customer", "returns", "returntime"), fieldNames(value));
+    }
+
+    @Test
+    public void standardReturnRequests() {
+        final Struct value = value(returnRequest("standard"));
+
+        // same schema as the full profile, without the phone numbers
+        assertEquals("returnrequest", value.schema().name());
+        assertEquals(List.of("id", "customer", "addresses", "returns", "returntime"), fieldNames(value));
+        final List<Struct> addresses = value.getArray("addresses");
+        assertNotNull(addresses);
+        for (Struct address : addresses) {
+            assertNull(address.getArray("phones"));
+        }
+    }
+
+
+    private static AbstractConfig config(String profile) {
+        return new AbstractConfig(DatagenSourceConfig.CONFIG_DEF, Map.of(
+            DatagenSourceConfig.CONFIG_PROFILES_CLICKEVENTS, profile,
+            DatagenSourceConfig.CONFIG_PROFILES_ONLINEORDERS, profile,
+            DatagenSourceConfig.CONFIG_PROFILES_RETURNREQUESTS, profile,
+            DatagenSourceConfig.CONFIG_RETURNREQUESTS_PRODUCT_WITH_SIZE_ISSUE_RATIO, "0"));
+    }
+
+    /** Returns the first event of the provided type from a day of online activity */
+    private static <T extends OnlineActivityData> T generate(Class<T> type, String profile) {
+        final ZonedDateTime end = ZonedDateTime.now();
+        final Iterator<OnlineActivityData> events = new OnlineActivityGenerator(config(profile))
+            .historyIterator(60, 1, end.minusDays(1), end);
+        while (events.hasNext()) {
+            final OnlineActivityData event = events.next();
+            if (type.isInstance(event)) {
+                return type.cast(event);
+            }
+        }
+        throw new AssertionError("No " + type.getSimpleName() + " events generated");
+    }
+
+    private static ReturnRequest returnRequest(String profile) {
+        return new ReturnRequestGenerator(config(profile), List.of()).generate();
+    }
+
+    private static Struct value(LoosehangerData event) {
+        return (Struct) event.createSourceRecord("TOPIC", "test").value();
+    }
+
+    private static List<String> fieldNames(Struct value) {
+        return value.schema().fields().stream().map(Field::name).toList();
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.ZonedDateTime;
+import java.util.Iterator;
+
+import org.apache.kafka.connect.header.Header;
+import org.apache.kafka.connect.header.Headers;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.junit.jupiter.api.Test;
+
+
+public class SharedHeadersTest {
+
+    private Order order(String id) {
+        return new Order(id, "2026-01-01 00:00:00.000", new Customer("Customer"),
+                         "Product", 10.0, 1, "EMEA",
+                         ZonedDateTime.now(), "GB", "STANDARD", "1234");
+    }
+
+
+    @Test
+    public void testSharedHeadersCannotBeModified() {
+        SourceRecord first = order("1").createSourceRecord("ORDERS", "origin");
+        SourceRecord second = order("2").createSourceRecord("ORDERS", "origin");
+        assertSame(first.headers(), second.headers());
+
+        Headers headers = first.headers();
+        assertThrows(UnsupportedOperationException.class, () -> headers.addString("leaked", "value"));
+        assertThrows(UnsupportedOperationException.class, () -> headers.remove("priority"));
+        assertThrows(UnsupportedOperationException.class, () -> headers.clear());
+        assertThrows(UnsupportedOperationException.class, () -> headers.apply(header -> null));
+
+        Iterator<Header> iterator = headers.iterator();
+        iterator.next();
+        assertThrows(UnsupportedOperationException.class, iterator::remove);
+
+        assertEquals(2, second.headers().size());
+        assertEquals("1234", second.headers().lastWithName("storeid").value());
+    }
+
+    @Test
+    public void testNoHeaders() {
+        SourceRecord record = new BadgeIn("id", "2026-01-01 00:00:00.000", "door", "employee", ZonedDateTime.now())
+            .createSourceRecord("DOOR", "origin");
+        assertTrue(record.headers().isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> record.headers().addInt("leaked", 1));
+    }
+
+    @Test
+    public void testDuplicateCanBeModified() {
+        Headers headers = order("1").getHeaders();
+        Headers copy = headers.duplicate().addString("added", "value");
+
+        assertEquals(3, copy.size());
+        assertEquals(2, headers.size());
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.formats;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.kafka.common.config.AbstractConfig;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.junit.jupiter.api.Test;
+
+import com.ibm.eventautomation.demos.loosehangerjeans.DatagenHistoryGenerator;
+import com.ibm.eventautomation.demos.loosehangerjeans.DatagenSourceConfig;
+import com.ibm.eventautomation.demos.loosehangerjeans.data.ClickEvent;
+import com.ibm.eventautomation.demos.loosehangerjeans.data.Customer;
+import com.ibm.eventautomation.demos.loosehangerjeans.data.OnlineOrder;
+import com.ibm.eventautomation.demos.loosehangerjeans.data.Order;
+import com.ibm.eventautomation.demos.loosehangerjeans.data.PayloadProfile;
+import com.ibm.eventautomation.demos.loosehangerjeans.data.ReturnRequest;
+
+public class AvroEncoderTest {
+
+    private static final Schema INNER = SchemaBuilder.struct()
+        .name("inner")
+        .field("flag",  Schema.BOOLEAN_SCHEMA)
+        .field("count", Schema.INT32_SCHEMA)
+        .build();
+
+    private static final Schema SCHEMA = SchemaBuilder.struct()
+        .name("outer")
+        .field("text",     Schema.STRING_SCHEMA)
+        .field("price",    Schema.FLOAT64_SCHEMA)
+        .field("optional", Schema.OPTIONAL_STRING_SCHEMA)
+        .field("inner",    INNER)
+        .field("list",     SchemaBuilder.array(Schema.INT64_SCHEMA).build())
+        .build();
+
+    @Test
+    public void testStruct() {
+        final Struct struct = new Struct(SCHEMA);
+        struct.put("text", "café");
+        struct.put("price", 2.0);
+        struct.put("inner", new Struct(INNER).put("flag", true).put("count", -3));
+        struct.put("list", List.of(1L, 64L));
+
+        assertArrayEquals(new byte[] {
+                              // text - length 5, then UTF-8
+                              10, 'c', 'a', 'f', (byte) 0xC3, (byte) 0xA9,
+                              // price - little-endian double
+                              0, 0, 0, 0, 0, 0, 0, 0x40,
+                              // optional - null branch of the union
+                              0,
+                              // inner - true, then zig-zag -3
+                              1, 5,
+                              // list - block of 2 items, then end of the array
+                              4, 2, (byte) 0x80, 0x01, 0
+                          },
+                          new AvroEncoder().encode(SCHEMA, struct));
+    }
+
+    @Test
+    public void testCanonicalForm() {
+        assertEquals("{\"name\":\"outer\",\"type\":\"record\",\"fields\":["
+                        + "{\"name\":\"text\",\"type\":\"string\"},"
+                        + "{\"name\":\"price\",\"type\":\"double\"},"
+                        + "{\"name\":\"optional\",\"type\":[\"null\",\"string\"]},"
+                        + "{\"name\":\"inner\",\"type\":{\"name\":\"inner\",\"type\":\"record\",\"fields\":["
+                            + "{\"name\":\"flag\",\"type\":\"boolean\"},"
+                            + "{\"name\":\"count\",\"type\":\"int\"}]}},"
+                        + "{\"name\":\"list\",\"type\":{\"type\":\"array\",\"items\":\"long\"}}]}",
+                     AvroSchemas.canonicalForm(SCHEMA));
+    }
+
+    @Test
+    public void testFingerprint() {
+        // known answers for Avro's SchemaNormalization.parsingFingerprint64
+        assertEquals(0x7275d51a3f395c8fL, AvroSchemas.fingerprint(Schema.INT32_SCHEMA));
+
+        final Order order = new Order("id", "2026-01-01 00:00:00.000", new Customer("Customer"),
+                                      "Product", 10.0, 1, "EMEA",
+                                      ZonedDateTime.now(), "GB", "STANDARD", "1234");
+        assertEquals(0xd1be7a73b37f99aaL, AvroSchemas.fingerprint(order.createSourceRecord("ORDERS", "origin").valueSchema()));
+    }
+
+    @Test
+    public void testBundledSchemas() throws IOException {
+        AbstractConfig config = new AbstractConfig(DatagenSourceConfig.CONFIG_DEF, Collections.EMPTY_MAP);
+
+        final Map<String, Schema> schemas = new HashMap<>();
+        for (SourceRecord record : new DatagenHistoryGenerator().generateHistory(config)) {
+            schemas.putIfAbsent(record.valueSchema().name(), record.valueSchema());
+        }
+        for (PayloadProfile profile : PayloadProfile.values()) {
+            schemas.putIfAbsent(ClickEvent.schema(profile).name(), ClickEvent.schema(profile));
+            schemas.putIfAbsent(OnlineOrder.schema(profile).name(), OnlineOrder.schema(profile));
+            schemas.putIfAbsent(ReturnRequest.schema(profile).name(), ReturnRequest.schema(profile));
+        }
+
+        for (Schema schema : schemas.values()) {
+            try (InputStream avsc = getClass().getResourceAsStream("/avro/" + schema.name() + ".avsc")) {
+                assertNotNull(avsc, "No Avro schema bundled for " + schema.name());
+                assertEquals(AvroSchemas.toAvsc(schema),
+                             new String(avsc.readAllBytes(), StandardCharsets.UTF_8),
+                             "Bundled Avro schema for " + schema.name() + " is out of date");
+            }
+        }
+    }
+}
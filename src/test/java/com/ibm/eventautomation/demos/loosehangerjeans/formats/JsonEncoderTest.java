@@ -0,0 +1,58 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.formats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.jupiter.api.Test;
+
+public class JsonEncoderTest {
+
+    private static final Schema INNER = SchemaBuilder.struct()
+        .name("inner")
+        .field("flag",  Schema.BOOLEAN_SCHEMA)
+        .field("count", Schema.INT32_SCHEMA)
+        .build();
+
+    private static final Schema SCHEMA = SchemaBuilder.struct()
+        .name("outer")
+        .field("text",     Schema.STRING_SCHEMA)
+        .field("price",    Schema.FLOAT64_SCHEMA)
+        .field("optional", Schema.OPTIONAL_STRING_SCHEMA)
+        .field("inner",    INNER)
+        .field("list",     SchemaBuilder.array(Schema.STRING_SCHEMA).build())
+        .build();
+
+    @Test
+    public void testStruct() {
+        final Struct struct = new Struct(SCHEMA);
+        struct.put("text", "a \"quote\", a \\ backslash\n\u0001 café 👖");
+        struct.put("price", 12.5);
+        struct.put("inner", new Struct(INNER).put("flag", true).put("count", 3));
+        struct.put("list", List.of("x", "y"));
+
+        final String json = new String(new JsonEncoder().encode(SCHEMA, struct), StandardCharsets.UTF_8);
+        assertEquals("{\"text\":\"a \\\"quote\\\", a \\\\ backslash\\n\\u0001 café 👖\","
+                     + "\"price\":12.5,\"optional\":null,\"inner\":{\"flag\":true,\"count\":3},\"list\":[\"x\",\"y\"]}",
+                     json);
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.history;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.kafka.common.config.AbstractConfig;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.header.ConnectHeaders;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.ibm.eventautomation.demos.loosehangerjeans.DatagenSourceConfig;
+import com.ibm.eventautomation.demos.loosehangerjeans.data.LoosehangerData;
+
+public class HistorySnapshotTest {
+
+    private static final Schema SCHEMA = SchemaBuilder.struct()
+        .field("id", Schema.STRING_SCHEMA)
+        .field("ordertime", Schema.STRING_SCHEMA)
+        .field("outofstocktime", Schema.INT64_SCHEMA)
+        .field("restockingdate", Schema.INT32_SCHEMA)
+        .field("quantity", Schema.INT32_SCHEMA)
+        .field("tags", SchemaBuilder.array(Schema.STRING_SCHEMA).build())
+        .field("note", Schema.OPTIONAL_STRING_SCHEMA)
+        .build();
+
+    @TempDir
+    Path snapshotDir;
+
+    @Test
+    public void replayMovesTimestampsForward() {
+        final AbstractConfig config = new AbstractConfig(DatagenSourceConfig.CONFIG_DEF, Collections.emptyMap());
+        final DateTimeFormatter format = DateTimeFormatter.ofPattern(config.getString(DatagenSourceConfig.CONFIG_FORMATS_TIMESTAMPS));
+
+        final ZonedDateTime end = ZonedDateTime.now().minusDays(3).withNano(0);
+        final ZonedDateTime eventTime = end.minusHours(1);
+
+        final List<HistoryRecord> history = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final Struct value = new Struct(SCHEMA)
+                .put("id", "event-" + i)
+                .put("ordertime", format.format(eventTime))
+                .put("outofstocktime", eventTime.toInstant().toEpochMilli())
+                .put("restockingdate", (int) eventTime.toLocalDate().toEpochDay())
+                .put("quantity", i)
+                .put("tags", List.of("a", "b"));
+            final ConnectHeaders headers = new ConnectHeaders();
+            headers.addString("priority", "high");
+            final SourceRecord record = new SourceRecord(LoosehangerData.partition("test"),
+                                                         Collections.singletonMap("offset", eventTime.toInstant().toEpochMilli()),
+                                                         "TEST.TOPIC", null,
+                                                         Schema.STRING_SCHEMA, "key-" + i,
+                                                         SCHEMA, value,
+                                                         eventTime.toInstant().toEpochMilli(),
+                                                         headers);
+            history.add(new HistoryRecord(record.timestamp(), "test") {
+                @Override
+                public SourceRecord toSourceRecord(Map<String, ?> sourcePartition, Map<String, ?> sourceOffset) {
+                    return record;
+                }
+            });
+        }
+
+        final HistorySnapshot snapshot = new HistorySnapshot(snapshotDir, config);
+        assertFalse(snapshot.exists());
+
+        final Iterator<HistoryRecord> recording = snapshot.record(history.iterator(), end.toInstant().toEpochMilli());
+        final List<HistoryRecord> recorded = new ArrayList<>();
+        recording.forEachRemaining(recorded::add);
+        assertEquals(history, recorded);
+        assertTrue(snapshot.exists());
+
+        final Iterator<HistoryRecord> replay = snapshot.replay();
+        assertNotNull(replay);
+        final List<SourceRecord> replayed = new ArrayList<>();
+        replay.forEachRemaining(record -> replayed.add(record.toSourceRecord()));
+        assertEquals(history.size(), replayed.size());
+
+        final SourceRecord first = replayed.get(0);
+        final long shiftMs = first.timestamp() - eventTime.toInstant().toEpochMilli();
+        assertTrue(shiftMs >= Duration.ofDays(3).toMillis() && shiftMs % 1000 == 0,
+            "Unexpected shift of " + shiftMs + "ms");
+        final ZonedDateTime replayedTime = eventTime.plus(Duration.ofMillis(shiftMs));
+
+        assertEquals("TEST.TOPIC", first.topic());
+        assertEquals(Map.of("partition", "test"), first.sourcePartition());
+        assertEquals(Map.of("offset", first.timestamp()), first.sourceOffset());
+        assertEquals("key-0", first.key());
+        assertEquals("high", first.headers().lastWithName("priority").value());
+
+        final Struct value = (Struct) first.value();
+        assertEquals("event-0", value.getString("id"));
+        assertEquals(format.format(replayedTime), value.getString("ordertime"));
+        assertEquals(first.timestamp(), value.getInt64("outofstocktime"));
+        assertEquals((int) eventTime.toLocalDate().toEpochDay() + 3, value.getInt32("restockingdate"));
+        assertEquals(0, value.getInt32("quantity"));
+        assertEquals(List.of("a", "b"), value.getArray("tags"));
+        assertEquals(null, value.getString("note"));
+    }
+
+    @Test
+    public void deliveryOptionsShareSnapshot() {
+        final AbstractConfig config = new AbstractConfig(DatagenSourceConfig.CONFIG_DEF,
+            Map.of(DatagenSourceConfig.CONFIG_TASK_SHARED_SEED, 1234L));
+        final AbstractConfig delivery = new AbstractConfig(DatagenSourceConfig.CONFIG_DEF, Map.of(
+            DatagenSourceConfig.CONFIG_TASK_SHARED_SEED, 5678L,
+            DatagenSourceConfig.CONFIG_PERFORMANCE_OFFSETS_MODE, "heartbeat",
+            DatagenSourceConfig.CONFIG_PERFORMANCE_OFFSETS_INTERVAL, 5,
+            DatagenSourceConfig.CONFIG_PERFORMANCE_LATENCY_HEADERS, true,
+            DatagenSourceConfig.CONFIG_FORMATS_VALUES, "avro",
+            DatagenSourceConfig.CONFIG_FORMATS_AVRO_HEADER, false,
+            DatagenSourceConfig.CONFIG_SIZES_ORDERS, "fixed:1000",
+            DatagenSourceConfig.CONFIG_SIZES_ENTROPY, 0.5));
+        assertEquals(new HistorySnapshot(snapshotDir, config).file(),
+                     new HistorySnapshot(snapshotDir, delivery).file());
+
+        // options that change the events still get their own snapshot
+        final AbstractConfig seeded = new AbstractConfig(DatagenSourceConfig.CONFIG_DEF,
+            Map.of(DatagenSourceConfig.CONFIG_BEHAVIOR_RANDOM_SEED, 1234L));
+        assertNotEquals(new HistorySnapshot(snapshotDir, config).file(),
+                        new HistorySnapshot(snapshotDir, seeded).file());
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.history;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+import org.junit.jupiter.api.Test;
+
+public class HistoryWarmupTest {
+
+    private static final String THREAD_NAME = "history-warmup-test";
+
+    @Test
+    public void stopDuringPrefetch() throws InterruptedException {
+        // behaves like an executor that has been shut down, dropping
+        //  the task that would have generated the next chunk
+        final CountDownLatch submitted = new CountDownLatch(1);
+        final Executor executor = task -> submitted.countDown();
+
+        final HistoryWarmup warmup = new HistoryWarmup(
+            () -> new PrefetchingCursor(Collections::emptyIterator, RandomGenerator.of("L64X128MixRandom"), executor, 10),
+            10,
+            THREAD_NAME);
+        warmup.start();
+        assertTrue(submitted.await(10, TimeUnit.SECONDS));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), warmup::stop);
+
+        assertFalse(Thread.getAllStackTraces().keySet().stream()
+            .anyMatch(thread -> thread.getName().equals(THREAD_NAME)));
+        assertTrue(warmup.isComplete());
+    }
+}
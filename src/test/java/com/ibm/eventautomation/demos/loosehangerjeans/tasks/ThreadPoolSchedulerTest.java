@@ -0,0 +1,116 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.tasks;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.ibm.eventautomation.demos.loosehangerjeans.utils.Generators;
+
+
+public class ThreadPoolSchedulerTest {
+
+    private ThreadPoolScheduler scheduler;
+
+    @AfterEach
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+
+
+    @Test
+    public void testThreads() throws InterruptedException {
+        final int threads = 3;
+        scheduler = new ThreadPoolScheduler(threads, "test");
+
+        final Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        final CountDownLatch running = new CountDownLatch(threads + 1);
+        final CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < threads + 1; i++) {
+            scheduler.schedule(() -> {
+                threadNames.add(Thread.currentThread().getName());
+                running.countDown();
+                try {
+                    release.await();
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, 0);
+        }
+
+        // one task for each thread runs at once, and the extra task
+        //  waits for one of them to finish
+        assertFalse(running.await(500, TimeUnit.MILLISECONDS));
+        assertEquals(1, running.getCount());
+        assertEquals(Set.of("test-1", "test-2", "test-3"), threadNames);
+
+        release.countDown();
+        assertTrue(running.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testFailingTaskKeepsRunning() throws InterruptedException {
+        scheduler = new ThreadPoolScheduler(1, "test");
+
+        final CountDownLatch runs = new CountDownLatch(3);
+        scheduler.scheduleAtFixedRate(() -> {
+            runs.countDown();
+            throw new IllegalStateException("test failure");
+        }, 10);
+
+        assertTrue(runs.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testFollowUpsHaveTheirOwnRandom() throws InterruptedException {
+        scheduler = new ThreadPoolScheduler(2, "test");
+
+        final AtomicLong first = new AtomicLong();
+        final AtomicLong second = new AtomicLong();
+        final CountDownLatch done = new CountDownLatch(2);
+        Generators.withRandom(new SplittableRandom(42), () -> {
+            scheduler.schedule(() -> {
+                first.set(Generators.randomLong());
+                done.countDown();
+            }, 0);
+            scheduler.schedule(() -> {
+                second.set(Generators.randomLong());
+                done.countDown();
+            }, 0);
+        }).run();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+
+        // each follow-up is given the next generator split from the
+        //  generator of the task that scheduled it, whichever thread
+        //  it runs on
+        final SplittableRandom expected = new SplittableRandom(42);
+        assertEquals(expected.split().nextLong(), first.get());
+        assertEquals(expected.split().nextLong(), second.get());
+        assertNotEquals(first.get(), second.get());
+    }
+}
@@ -0,0 +1,140 @@
+/**
+ * Copyright 2026 IBM Corp. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.ibm.eventautomation.demos.loosehangerjeans.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.ibm.eventautomation.demos.datafaker.LoosehangerFaker;
+
+public class GeneratorsTest {
+
+    @Test
+    public void testSeededValues() {
+        final LoosehangerFaker faker = new LoosehangerFaker(Locale.US, Generators.random());
+
+        final List<String> first = Generators.withRandom(new SplittableRandom(42), () -> randomValues(faker));
+        final List<String> second = Generators.withRandom(new SplittableRandom(42), () -> randomValues(faker));
+        final List<String> other = Generators.withRandom(new SplittableRandom(43), () -> randomValues(faker));
+
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+    }
+
+    @Test
+    public void testAliasTable() {
+        final double[] weights = { 1, 0, 3, 4, 2 };
+        final AliasTable table = new AliasTable(weights);
+        final SplittableRandom rng = new SplittableRandom(42);
+
+        final int samples = 1_000_000;
+        final int[] counts = new int[weights.length];
+        for (int i = 0; i < samples; i++) {
+            counts[table.sample(rng)]++;
+        }
+
+        assertEquals(0, counts[1]);
+        for (int i = 0; i < weights.length; i++) {
+            final double expected = samples * weights[i] / 10;
+            assertTrue(Math.abs(counts[i] - expected) < samples * 0.005,
+                "Position " + i + " chosen " + counts[i] + " times (expected " + expected + ")");
+        }
+    }
+
+    @Test
+    public void testDistributions() {
+        final SplittableRandom rng = new SplittableRandom(42);
+        for (Distribution distribution : Distribution.values()) {
+            double total = 0;
+            for (int i = 0; i < 100_000; i++) {
+                final double value = distribution.sample(rng);
+                assertTrue(value >= 0 && value < 1, distribution + " generated " + value);
+                total += value;
+            }
+            final double mean = total / 100_000;
+            switch (distribution) {
+                case BELL:
+                case UNIFORM:
+                case NORMAL:
+                    assertEquals(0.5, mean, 0.01, distribution + " mean");
+                    break;
+                case LOGNORMAL:
+                case ZIPF:
+                    assertTrue(mean < 0.4, distribution + " mean " + mean);
+                    break;
+            }
+        }
+    }
+
+    @Test
+    public void testIdFormats() {
+        final Set<String> ids = new HashSet<>();
+        final IdGenerator snowflakes = IdGenerator.fromConfig("snowflake", 3, IdGenerator::randomUUID);
+        long previous = 0;
+        for (int i = 0; i < 10_000; i++) {
+            final String id = snowflakes.next();
+            assertTrue(ids.add(id), "Repeated ID " + id);
+
+            final long value = Long.parseLong(id);
+            assertTrue(value > previous);
+            assertEquals(3, (value >>> 12) & 0x3FF);
+            previous = value;
+        }
+
+        ids.clear();
+        final IdGenerator uuids = IdGenerator.fromConfig("uuidv7", 0, IdGenerator::randomUUID);
+        for (int i = 0; i < 10_000; i++) {
+            final UUID id = UUID.fromString(uuids.next());
+            assertEquals(7, id.version());
+            assertEquals(2, id.variant());
+            assertTrue(ids.add(id.toString()));
+        }
+
+        final UUID random = UUID.fromString(IdGenerator.randomUUID());
+        assertEquals(4, random.version());
+        assertEquals(2, random.variant());
+    }
+
+    @Test
+    public void testIdsAreNotSeeded() {
+        // a task started again with the same seed does not repeat its IDs
+        final String first = Generators.withRandom(new SplittableRandom(42), IdGenerator::randomUUID);
+        final String second = Generators.withRandom(new SplittableRandom(42), IdGenerator::randomUUID);
+        assertNotEquals(first, second);
+    }
+
+    private static List<String> randomValues(LoosehangerFaker faker) {
+        final List<String> values = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            values.add(faker.name().fullName());
+            values.add(faker.internet().safeEmailAddress());
+            values.add(String.valueOf(Generators.randomInt(0, 1000)));
+            values.add(String.valueOf(Generators.randomPrice(1, 100)));
+        }
+        return values;
+    }
+}